@@ -100,8 +100,9 @@ public final class ReadRecordsRespPars extends AbstractPoResponseParser {
         if (readDataStructure == ReadDataStructure.SINGLE_RECORD_DATA) {
             records.put((int) recordNumber, response.getDataOut());
         } else if (readDataStructure == ReadDataStructure.MULTIPLE_RECORD_DATA) {
-            byte[] apdu = response.getDataOut();
-            int apduLen = apdu.length;
+            /* the data are parsed in place, the records are copied */
+            byte[] apdu = response.getBytes();
+            int apduLen = response.getDataLength();
             int index = 0;
             while (apduLen > 0) {
                 byte recordNb = apdu[index++];
@@ -136,8 +137,8 @@ public final class ReadRecordsRespPars extends AbstractPoResponseParser {
         }
         if (readDataStructure == ReadDataStructure.SINGLE_COUNTER
                 || readDataStructure == ReadDataStructure.MULTIPLE_COUNTER) {
-            byte[] apdu = response.getDataOut();
-            int numberOfCounters = apdu.length / 3;
+            byte[] apdu = response.getBytes();
+            int numberOfCounters = response.getDataLength() / 3;
             int index = 0;
             int key = 1; /* the first counter is indexed 1 */
             for (int i = 0; i < numberOfCounters; i++) {
@@ -56,4 +56,14 @@ public enum SamRevision {
     public byte getClassByte() {
         return classByte;
     }
+
+    /**
+     * Indicates whether the Digest Update Multiple command is supported by this SAM revision (C1
+     * and S1E, the S1D SAM only has Digest Update).
+     *
+     * @return true if the command is supported
+     */
+    public boolean isDigestUpdateMultipleSupported() {
+        return this == C1 || this == S1E;
+    }
 }
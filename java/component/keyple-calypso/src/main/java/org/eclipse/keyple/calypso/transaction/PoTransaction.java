@@ -12,6 +12,8 @@
 package org.eclipse.keyple.calypso.transaction;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.eclipse.keyple.calypso.command.CalypsoBuilderParser;
 import org.eclipse.keyple.calypso.command.po.*;
 import org.eclipse.keyple.calypso.command.po.builder.*;
@@ -57,6 +59,8 @@ public final class PoTransaction {
     private final static byte CHALLENGE_LENGTH_REV32 = (byte) 0x08;
     private final static byte SIGNATURE_LENGTH_REV_INF_32 = (byte) 0x04;
     private final static byte SIGNATURE_LENGTH_REV32 = (byte) 0x08;
+    /** Maximum length of the data field of a SAM command */
+    private final static int SAM_MAX_DATA_LENGTH = 255;
 
     private final static int OFFSET_CLA = 0;
     private final static int OFFSET_INS = 1;
@@ -76,6 +80,8 @@ public final class PoTransaction {
     private final ProxyReader poReader;
     /** The reader for session SAM. */
     private ProxyReader samReader;
+    /** The session SAM resource. */
+    private SamResource samResource;
     /** The SAM default revision. */
     private final SamRevision samRevision = SamRevision.C1;
     /** The security settings. */
@@ -114,6 +120,14 @@ public final class PoTransaction {
     private boolean preparedCommandsProcessed;
     private int preparedCommandIndex;
 
+    /** The digest processor of the current secure session (owned by this transaction) */
+    private final DigestProcessor digestProcessor = new DigestProcessor();
+    /** The pipeline sending the digest commands during the session (asynchronous mode only) */
+    private SamCommandPipeline digestPipeline;
+    /** The anticipated response builder (owned by this transaction) */
+    private final AnticipatedResponseBuilder anticipatedResponseBuilder =
+            new AnticipatedResponseBuilder();
+
     /**
      * PoTransaction with PO and SAM readers.
      * <ul>
@@ -131,6 +145,8 @@ public final class PoTransaction {
 
         this(poResource);
 
+        this.samResource = samResource;
+
         samReader = (ProxyReader) samResource.getSeReader();
 
         this.securitySettings = securitySettings;
@@ -176,6 +192,9 @@ public final class PoTransaction {
      * <li>In case not logical channel is active with the SAM, a channel is open.</li>
      * <li>Then a Select Diversifier (with the PO serial) &amp; a Get Challenge are automatically
      * operated. The SAM challenge is recovered.</li>
+     * <li>If the challenge prefetch is enabled and a challenge obtained while the SAM was already
+     * diversified with the PO serial is available in the {@link SamChallengeCache} of the SAM
+     * resource, the SAM is not requested at all.</li>
      * </ul>
      * </li>
      * <li>The PO Open Session command is built according to the PO revision, the SAM challenge, the
@@ -207,78 +226,36 @@ public final class PoTransaction {
             byte openingRecordNumberToRead, List<PoBuilderParser> poBuilderParsers)
             throws KeypleReaderException {
 
-        /*
-         * counts 'select diversifier' and 'get challenge' commands. At least get challenge is
-         * present
-         */
-        int numberOfSamCmd = 1;
-
-        /* SAM ApduRequest List to hold Select Diversifier and Get Challenge commands */
-        List<ApduRequest> samApduRequestList = new ArrayList<ApduRequest>();
-
         if (logger.isDebugEnabled()) {
             logger.debug("processAtomicOpening => Identification: DFNAME = {}, SERIALNUMBER = {}",
                     ByteArrayUtil.toHex(poCalypsoInstanceAid),
                     ByteArrayUtil.toHex(poCalypsoInstanceSerial));
         }
-        /* diversify only if this has not already been done. */
-        if (!isDiversificationDone) {
-            /* Build the SAM Select Diversifier command to provide the SAM with the PO S/N */
-            AbstractApduCommandBuilder selectDiversifier =
-                    new SelectDiversifierCmdBuild(this.samRevision, poCalypsoInstanceSerial);
 
-            samApduRequestList.add(selectDiversifier.getApduRequest());
-
-            /* increment command number */
-            numberOfSamCmd++;
-
-            /* change the diversification status */
-            isDiversificationDone = true;
-        }
-        /* Build the SAM Get Challenge command */
         byte challengeLength = poRevision.equals(PoRevision.REV3_2) ? CHALLENGE_LENGTH_REV32
                 : CHALLENGE_LENGTH_REV_INF_32;
 
-        AbstractSamCommandBuilder samGetChallenge =
-                new SamGetChallengeCmdBuild(this.samRevision, challengeLength);
-
-        samApduRequestList.add(samGetChallenge.getApduRequest());
+        byte[] sessionTerminalChallenge = null;
 
-        /* Build a SAM SeRequest */
-        SeRequest samSeRequest = new SeRequest(samApduRequestList);
-
-        logger.debug("processAtomicOpening => identification: SAMSEREQUEST = {}", samSeRequest);
-
-        /*
-         * Transmit the SeRequest to the SAM and get back the SeResponse (list of ApduResponse)
-         */
-        SeResponse samSeResponse = samReader.transmit(samSeRequest);
-
-        if (samSeResponse == null) {
-            throw new KeypleCalypsoSecureSessionException("Null response received",
-                    KeypleCalypsoSecureSessionException.Type.SAM, samSeRequest.getApduRequests(),
-                    null);
+        if (securitySettings.isChallengePrefetchEnabled()) {
+            sessionTerminalChallenge = samResource.getChallengeCache().consume(challengeLength,
+                    poCalypsoInstanceSerial);
         }
 
-        logger.debug("processAtomicOpening => identification: SAMSERESPONSE = {}", samSeResponse);
-
-        List<ApduResponse> samApduResponseList = samSeResponse.getApduResponses();
-        byte[] sessionTerminalChallenge;
-
-        if (samApduResponseList.size() == numberOfSamCmd
-                && samApduResponseList.get(numberOfSamCmd - 1).isSuccessful() && samApduResponseList
-                        .get(numberOfSamCmd - 1).getDataOut().length == challengeLength) {
-            SamGetChallengeRespPars samChallengePars =
-                    new SamGetChallengeRespPars(samApduResponseList.get(numberOfSamCmd - 1));
-            sessionTerminalChallenge = samChallengePars.getChallenge();
+        if (sessionTerminalChallenge != null) {
+            /*
+             * A challenge has been obtained in advance while the SAM was diversified with this PO
+             * serial: no SAM exchange is needed here. A Select Diversifier would make the SAM
+             * discard the challenge.
+             */
+            isDiversificationDone = true;
             if (logger.isDebugEnabled()) {
-                logger.debug("processAtomicOpening => identification: TERMINALCHALLENGE = {}",
+                logger.debug(
+                        "processAtomicOpening => identification: PREFETCHED TERMINALCHALLENGE = {}",
                         ByteArrayUtil.toHex(sessionTerminalChallenge));
             }
         } else {
-            throw new KeypleCalypsoSecureSessionException("Invalid message received",
-                    KeypleCalypsoSecureSessionException.Type.SAM, samApduRequestList,
-                    samApduResponseList);
+            sessionTerminalChallenge = getSessionTerminalChallenge(challengeLength);
         }
 
         /* PO ApduRequest List to hold Open Secure Session and other optional commands */
@@ -339,7 +316,7 @@ public final class PoTransaction {
         }
 
         /* Track Read Records for later use to build anticipated responses. */
-        AnticipatedResponseBuilder.storeCommandResponse(poBuilderParsers, poApduRequestList,
+        anticipatedResponseBuilder.storeCommandResponse(poBuilderParsers, poApduRequestList,
                 poApduResponseList, true);
 
         /* Parse the response to Open Secure Session (the first item of poApduResponseList) */
@@ -395,8 +372,10 @@ public final class PoTransaction {
          * Update) until the session closing. AT this moment, all SAM Apdu will be processed at
          * once.
          */
-        DigestProcessor.initialize(poRevision, samRevision, false, false,
+        digestProcessor.initialize(poRevision, samRevision, false, false,
                 poRevision.equals(PoRevision.REV3_2),
+                securitySettings
+                        .getDigestMode() == SecuritySettings.DigestMode.DIGEST_UPDATE_MULTIPLE,
                 securitySettings
                         .getKeyInfo(SecuritySettings.DefaultKeyInfo.SAM_DEFAULT_KEY_RECORD_NUMBER),
                 kif, poKvc, poApduResponseList.get(0).getDataOut());
@@ -412,11 +391,20 @@ public final class PoTransaction {
                 /*
                  * Add requests and responses to the DigestProcessor
                  */
-                DigestProcessor.pushPoExchangeData(poApduRequestList.get(i),
+                digestProcessor.pushPoExchangeData(poApduRequestList.get(i),
                         poApduResponseList.get(i));
             }
         }
 
+        /* In asynchronous mode, the SAM starts the digest computation right now */
+        Executor digestExecutor = securitySettings.getDigestExecutor();
+        if (digestExecutor != null) {
+            digestPipeline = new SamCommandPipeline(samReader, digestExecutor);
+            digestPipeline.submit(digestProcessor.getPendingDigestRequests());
+        } else {
+            digestPipeline = null;
+        }
+
         sessionState = SessionState.SESSION_OPEN;
 
         /* Remove Open Secure Session response and create a new SeResponse */
@@ -425,6 +413,114 @@ public final class PoTransaction {
         return new SeResponse(true, true, poSeResponse.getSelectionStatus(), poApduResponseList);
     }
 
+    /**
+     * Gets the terminal challenge from the SAM.
+     * <p>
+     * The SAM Select Diversifier command is sent along with the Get Challenge command if the
+     * diversification has not already been done.
+     *
+     * @param challengeLength the expected challenge length
+     * @return the terminal challenge
+     * @throws KeypleReaderException the IO reader exception
+     */
+    private byte[] getSessionTerminalChallenge(byte challengeLength)
+            throws KeypleReaderException {
+
+        /*
+         * counts 'select diversifier' and 'get challenge' commands. At least get challenge is
+         * present
+         */
+        int numberOfSamCmd = 1;
+
+        /* the SAM discards a prefetched challenge on Select Diversifier or Get Challenge */
+        samResource.getChallengeCache().invalidate();
+
+        /* SAM ApduRequest List to hold Select Diversifier and Get Challenge commands */
+        List<ApduRequest> samApduRequestList = new ArrayList<ApduRequest>();
+
+        /* diversify only if this has not already been done. */
+        if (!isDiversificationDone) {
+            /* Build the SAM Select Diversifier command to provide the SAM with the PO S/N */
+            AbstractApduCommandBuilder selectDiversifier =
+                    new SelectDiversifierCmdBuild(this.samRevision, poCalypsoInstanceSerial);
+
+            samApduRequestList.add(selectDiversifier.getApduRequest());
+
+            /* the diversifier of the SAM is unknown until the command succeeds */
+            samResource.getChallengeCache().setDiversifier(null);
+
+            /* increment command number */
+            numberOfSamCmd++;
+
+            /* change the diversification status */
+            isDiversificationDone = true;
+        }
+        /* Build the SAM Get Challenge command */
+        AbstractSamCommandBuilder samGetChallenge =
+                new SamGetChallengeCmdBuild(this.samRevision, challengeLength);
+
+        samApduRequestList.add(samGetChallenge.getApduRequest());
+
+        /* Build a SAM SeRequest */
+        SeRequest samSeRequest = new SeRequest(samApduRequestList);
+
+        logger.debug("processAtomicOpening => identification: SAMSEREQUEST = {}", samSeRequest);
+
+        /*
+         * Transmit the SeRequest to the SAM and get back the SeResponse (list of ApduResponse)
+         */
+        SeResponse samSeResponse = samReader.transmit(samSeRequest);
+
+        if (samSeResponse == null) {
+            throw new KeypleCalypsoSecureSessionException("Null response received",
+                    KeypleCalypsoSecureSessionException.Type.SAM, samSeRequest.getApduRequests(),
+                    null);
+        }
+
+        logger.debug("processAtomicOpening => identification: SAMSERESPONSE = {}", samSeResponse);
+
+        List<ApduResponse> samApduResponseList = samSeResponse.getApduResponses();
+        byte[] sessionTerminalChallenge;
+
+        if (samApduResponseList.size() == numberOfSamCmd
+                && samApduResponseList.get(numberOfSamCmd - 1).isSuccessful() && samApduResponseList
+                        .get(numberOfSamCmd - 1).getDataLength() == challengeLength) {
+            SamGetChallengeRespPars samChallengePars =
+                    new SamGetChallengeRespPars(samApduResponseList.get(numberOfSamCmd - 1));
+            sessionTerminalChallenge = samChallengePars.getChallenge();
+            if (numberOfSamCmd > 1 && samApduResponseList.get(0).isSuccessful()) {
+                /* the next challenges obtained from the SAM are valid for this PO only */
+                samResource.getChallengeCache().setDiversifier(poCalypsoInstanceSerial);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("processAtomicOpening => identification: TERMINALCHALLENGE = {}",
+                        ByteArrayUtil.toHex(sessionTerminalChallenge));
+            }
+        } else {
+            throw new KeypleCalypsoSecureSessionException("Invalid message received",
+                    KeypleCalypsoSecureSessionException.Type.SAM, samApduRequestList,
+                    samApduResponseList);
+        }
+
+        return sessionTerminalChallenge;
+    }
+
+    /**
+     * Starts the refresh of the challenge cache of the SAM resource on the refresh executor, if
+     * any.
+     * <p>
+     * The refresh runs after the session has been closed, out of the closing critical path. A
+     * failure does not affect the current session, the next opening will simply get its challenge
+     * from the SAM.
+     */
+    private void refreshSamChallenge() {
+        Executor refreshExecutor = securitySettings.getChallengeRefreshExecutor();
+        if (refreshExecutor != null) {
+            samResource.getChallengeCache().refreshAsync(samReader, samRevision,
+                    SamChallengeCache.getChallengeLength(poRevision), refreshExecutor);
+        }
+    }
+
     /**
      * Change SendableInSession List to ApduRequest List .
      *
@@ -511,7 +607,7 @@ public final class PoTransaction {
         }
 
         /* Track Read Records for later use to build anticipated responses. */
-        AnticipatedResponseBuilder.storeCommandResponse(poBuilderParsers, poApduRequestList,
+        anticipatedResponseBuilder.storeCommandResponse(poBuilderParsers, poApduRequestList,
                 poApduResponseList, false);
 
         /*
@@ -523,9 +619,12 @@ public final class PoTransaction {
                 /*
                  * Add requests and responses to the DigestProcessor
                  */
-                DigestProcessor.pushPoExchangeData(poApduRequestList.get(i),
+                digestProcessor.pushPoExchangeData(poApduRequestList.get(i),
                         poApduResponseList.get(i));
             }
+            if (digestPipeline != null) {
+                digestPipeline.submit(digestProcessor.getPendingDigestRequests());
+            }
         }
         return poSeResponse;
     }
@@ -653,7 +752,7 @@ public final class PoTransaction {
                     /*
                      * Add requests and responses to the DigestProcessor
                      */
-                    DigestProcessor.pushPoExchangeData(poApduRequestList.get(i),
+                    digestProcessor.pushPoExchangeData(poApduRequestList.get(i),
                             poAnticipatedResponses.get(i));
                 }
             } else {
@@ -664,9 +763,14 @@ public final class PoTransaction {
             }
         }
 
-        /* All SAM digest operations will now run at once. */
+        /* Wait for the digest commands sent during the session (asynchronous mode) */
+        if (digestPipeline != null) {
+            digestPipeline.awaitCompletion();
+        }
+
+        /* All remaining SAM digest operations will now run at once. */
         /* Get the SAM Digest request from the cache manager */
-        SeRequest samSeRequest = DigestProcessor.getSamDigestRequest();
+        SeRequest samSeRequest = digestProcessor.getSamDigestRequest();
 
         logger.debug("processAtomicClosing => SAMREQUEST = {}", samSeRequest);
 
@@ -861,6 +965,11 @@ public final class PoTransaction {
 
         sessionState = SessionState.SESSION_CLOSED;
 
+        /* Get the challenge for the next session in the background */
+        if (securitySettings.isChallengePrefetchEnabled()) {
+            refreshSamChallenge();
+        }
+
         /* Remove ratification response if any */
         if (!ratificationAsked) {
             poApduResponseList.remove(poApduResponseList.size() - 1);
@@ -894,7 +1003,7 @@ public final class PoTransaction {
             TransmissionMode transmissionMode, ChannelControl channelControl)
             throws KeypleReaderException {
         List<ApduResponse> poAnticipatedResponses =
-                AnticipatedResponseBuilder.getResponses(poBuilderParsers);
+                anticipatedResponseBuilder.getResponses(poBuilderParsers);
         return processAtomicClosing(poBuilderParsers, poAnticipatedResponses, transmissionMode,
                 channelControl);
     }
@@ -1014,6 +1123,9 @@ public final class PoTransaction {
      * - getTerminalSignature: Digest Close, returns the terminal part of the signature
      *
      * - checkPoSignature: Digest Authenticate, verify the PO part of the signature
+     *
+     * Each {@link PoTransaction} owns its own instance so that several secure sessions can be run
+     * in parallel on different PO/SAM pairs.
      */
     private static class DigestProcessor {
         /*
@@ -1021,15 +1133,18 @@ public final class PoTransaction {
          * 1st buffer is the data buffer to be provided with Digest Init. The following buffers are
          * PO command/response pairs
          */
-        private static final List<byte[]> poDigestDataCache = new ArrayList<byte[]>();
-        private static SamRevision samRevision;
-        private static PoRevision poRevision;
-        private static boolean encryption;
-        private static boolean verification;
-        private static boolean revMode;
-        private static byte keyRecordNumber;
-        private static byte keyKIF;
-        private static byte keyKVC;
+        private final List<byte[]> poDigestDataCache = new ArrayList<byte[]>();
+        private SamRevision samRevision;
+        private PoRevision poRevision;
+        private boolean encryption;
+        private boolean verification;
+        private boolean revMode;
+        private byte keyRecordNumber;
+        private byte keyKIF;
+        private byte keyKVC;
+        private boolean digestUpdateMultiple;
+        /* number of buffers of the cache already turned into SAM commands */
+        private int processedBufferCount;
 
         /**
          * Initializes the digest computation process
@@ -1039,20 +1154,23 @@ public final class PoTransaction {
          * @param sessionEncryption true if the session is encrypted
          * @param verificationMode true if the verification mode is active
          * @param rev3_2Mode true if the REV3.2 mode is active
+         * @param digestUpdateMultipleMode true if Digest Update Multiple commands should be used
+         *        whenever possible
          * @param workKeyRecordNumber the key record number
          * @param workKeyKif the PO KIF
          * @param workKeyKVC the PO KVC
          * @param digestData a first bunch of data to digest.
          */
-        static void initialize(PoRevision poRev, SamRevision samRev, boolean sessionEncryption,
-                boolean verificationMode, boolean rev3_2Mode, byte workKeyRecordNumber,
-                byte workKeyKif, byte workKeyKVC, byte[] digestData) {
+        void initialize(PoRevision poRev, SamRevision samRev, boolean sessionEncryption,
+                boolean verificationMode, boolean rev3_2Mode, boolean digestUpdateMultipleMode,
+                byte workKeyRecordNumber, byte workKeyKif, byte workKeyKVC, byte[] digestData) {
             /* Store work context */
             poRevision = poRev;
             samRevision = samRev;
             encryption = sessionEncryption;
             verification = verificationMode;
             revMode = rev3_2Mode;
+            digestUpdateMultiple = digestUpdateMultipleMode;
             keyRecordNumber = workKeyRecordNumber;
             keyKIF = workKeyKif;
             keyKVC = workKeyKVC;
@@ -1063,6 +1181,9 @@ public final class PoTransaction {
                 logger.debug(
                         "PoTransaction.DigestProcessor => initialize: VERIFICATIONMODE = {}, REV32MODE = {} KEYRECNUMBER = {}",
                         verificationMode, rev3_2Mode, workKeyRecordNumber);
+                logger.debug(
+                        "PoTransaction.DigestProcessor => initialize: DIGESTUPDATEMULTIPLE = {}",
+                        digestUpdateMultipleMode);
                 logger.debug(
                         "PoTransaction.DigestProcessor => initialize: KIF = {}, KVC {}, DIGESTDATA = {}",
                         String.format("%02X", workKeyKif), String.format("%02X", workKeyKVC),
@@ -1071,6 +1192,7 @@ public final class PoTransaction {
 
             /* Clear data cache */
             poDigestDataCache.clear();
+            processedBufferCount = 0;
 
             /*
              * Build Digest Init command as first ApduRequest of the digest computation process
@@ -1084,7 +1206,7 @@ public final class PoTransaction {
          * @param request PO request
          * @param response PO response
          */
-        static void pushPoExchangeData(ApduRequest request, ApduResponse response) {
+        void pushPoExchangeData(ApduRequest request, ApduResponse response) {
 
             logger.debug("PoTransaction.DigestProcessor => pushPoExchangeData: REQUEST = {}",
                     request);
@@ -1109,13 +1231,41 @@ public final class PoTransaction {
         }
 
         /**
-         * Get a unique SAM request for the whole digest computation process.
+         * Get a unique SAM request for the whole digest computation process, or for what remains
+         * of it if some digest commands have already been sent (see getPendingDigestRequests).
          * 
+         * <p>
+         * When the Digest Update Multiple mode is enabled and supported by the SAM, the digest
+         * buffers are packed in as few Digest Update Multiple commands as possible. Each buffer
+         * takes its length plus one byte in the command data.
+         *
          * @return SeRequest all the ApduRequest to send to the SAM in order to get the terminal
          *         signature
          */
-        // TODO optimization with the use of Digest Update Multiple whenever possible.
-        static SeRequest getSamDigestRequest() {
+        SeRequest getSamDigestRequest() {
+            List<ApduRequest> samApduRequestList = getPendingDigestRequests();
+
+            /*
+             * Build and append Digest Close command
+             */
+            samApduRequestList.add((new DigestCloseCmdBuild(samRevision,
+                    poRevision.equals(PoRevision.REV3_2) ? SIGNATURE_LENGTH_REV32
+                            : SIGNATURE_LENGTH_REV_INF_32).getApduRequest()));
+
+
+            return new SeRequest(samApduRequestList);
+        }
+
+        /**
+         * Get the SAM requests for the digest data pushed since the previous call.
+         * <p>
+         * The first call provides the Digest Init command and the following ones the Digest Update
+         * commands. This allows the digest to be computed by the SAM while the session is in
+         * progress.
+         *
+         * @return the list of ApduRequest to send to the SAM (may be empty)
+         */
+        List<ApduRequest> getPendingDigestRequests() {
             List<ApduRequest> samApduRequestList = new ArrayList<ApduRequest>();
 
             if (poDigestDataCache.size() == 0) {
@@ -1131,38 +1281,251 @@ public final class PoTransaction {
                 throw new IllegalStateException("Digest data cache is inconsistent.");
             }
 
-            /*
-             * Build and append Digest Init command as first ApduRequest of the digest computation
-             * process
-             */
-            samApduRequestList.add(new DigestInitCmdBuild(samRevision, verification, revMode,
-                    keyRecordNumber, keyKIF, keyKVC, poDigestDataCache.get(0)).getApduRequest());
+            if (processedBufferCount == 0) {
+                /*
+                 * Build and append Digest Init command as first ApduRequest of the digest
+                 * computation process
+                 */
+                samApduRequestList.add(new DigestInitCmdBuild(samRevision, verification, revMode,
+                        keyRecordNumber, keyKIF, keyKVC, poDigestDataCache.get(0))
+                                .getApduRequest());
+                processedBufferCount = 1;
+            }
 
             /*
              * Build and append Digest Update commands
              *
              * The first command is at index 1.
              */
-            for (int i = 1; i < poDigestDataCache.size(); i++) {
-                samApduRequestList.add(
-                        new DigestUpdateCmdBuild(samRevision, encryption, poDigestDataCache.get(i))
-                                .getApduRequest());
+            if (digestUpdateMultiple && !encryption
+                    && samRevision.isDigestUpdateMultipleSupported()) {
+                appendDigestUpdateMultipleRequests(samApduRequestList, processedBufferCount);
+            } else {
+                for (int i = processedBufferCount; i < poDigestDataCache.size(); i++) {
+                    samApduRequestList.add(new DigestUpdateCmdBuild(samRevision, encryption,
+                            poDigestDataCache.get(i)).getApduRequest());
+                }
             }
+            processedBufferCount = poDigestDataCache.size();
 
-            /*
-             * Build and append Digest Close command
-             */
-            samApduRequestList.add((new DigestCloseCmdBuild(samRevision,
-                    poRevision.equals(PoRevision.REV3_2) ? SIGNATURE_LENGTH_REV32
-                            : SIGNATURE_LENGTH_REV_INF_32).getApduRequest()));
+            return samApduRequestList;
+        }
+
+        /**
+         * Packs the digest buffers into Digest Update Multiple commands.
+         * <p>
+         * A buffer too large to be packed is sent with a single Digest Update command, as is a
+         * buffer left alone in its command.
+         *
+         * @param samApduRequestList the list to which the SAM requests are appended
+         * @param fromIndex the index of the first buffer to pack
+         */
+        private void appendDigestUpdateMultipleRequests(List<ApduRequest> samApduRequestList,
+                int fromIndex) {
+            List<byte[]> pendingBuffers = new ArrayList<byte[]>();
+            int pendingLength = 0;
+            for (int i = fromIndex; i < poDigestDataCache.size(); i++) {
+                byte[] buffer = poDigestDataCache.get(i);
+                if (pendingLength + buffer.length + 1 > SAM_MAX_DATA_LENGTH) {
+                    appendDigestUpdateRequest(samApduRequestList, pendingBuffers, pendingLength);
+                    pendingBuffers.clear();
+                    pendingLength = 0;
+                }
+                if (buffer.length + 1 > SAM_MAX_DATA_LENGTH) {
+                    /* this buffer can't be packed */
+                    samApduRequestList.add(new DigestUpdateCmdBuild(samRevision, encryption, buffer)
+                            .getApduRequest());
+                } else {
+                    pendingBuffers.add(buffer);
+                    pendingLength += buffer.length + 1;
+                }
+            }
+            appendDigestUpdateRequest(samApduRequestList, pendingBuffers, pendingLength);
+        }
 
+        /**
+         * Appends a Digest Update Multiple command containing the provided buffers (or a single
+         * Digest Update command if there is only one buffer)
+         *
+         * @param samApduRequestList the list to which the SAM request is appended
+         * @param buffers the buffers to digest
+         * @param dataLength the total length of the Digest Update Multiple data
+         */
+        private void appendDigestUpdateRequest(List<ApduRequest> samApduRequestList,
+                List<byte[]> buffers, int dataLength) {
+            if (buffers.isEmpty()) {
+                return;
+            }
+            if (buffers.size() == 1) {
+                samApduRequestList.add(new DigestUpdateCmdBuild(samRevision, encryption,
+                        buffers.get(0)).getApduRequest());
+                return;
+            }
+            byte[] digestData = new byte[dataLength];
+            int offset = 0;
+            for (byte[] buffer : buffers) {
+                digestData[offset++] = (byte) buffer.length;
+                System.arraycopy(buffer, 0, digestData, offset, buffer.length);
+                offset += buffer.length;
+            }
+            samApduRequestList.add(
+                    new DigestUpdateMultipleCmdBuild(samRevision, digestData).getApduRequest());
+        }
+    }
 
-            return new SeRequest(samApduRequestList);
+    /**
+     * Sends SAM commands in the background, in the order of their submission.
+     * <p>
+     * The commands are transmitted by the executor provided in the {@link SecuritySettings}. The
+     * first failure stops the transmission and is reported by awaitCompletion.
+     */
+    private static class SamCommandPipeline {
+        private final ProxyReader samReader;
+        private final Executor executor;
+        /* the SAM commands waiting to be transmitted */
+        private final LinkedList<List<ApduRequest>> pendingRequests =
+                new LinkedList<List<ApduRequest>>();
+        /* true while a transmission task is scheduled or running */
+        private boolean active;
+        /* the first transmission failure */
+        private KeypleReaderException failure;
+
+        SamCommandPipeline(ProxyReader samReader, Executor executor) {
+            this.samReader = samReader;
+            this.executor = executor;
+        }
+
+        /**
+         * Schedules the transmission of SAM commands after the ones previously submitted.
+         *
+         * @param samApduRequestList the SAM commands
+         */
+        void submit(List<ApduRequest> samApduRequestList) {
+            if (samApduRequestList.isEmpty()) {
+                return;
+            }
+            synchronized (this) {
+                if (failure != null) {
+                    /* the digest is already broken, no need to go further */
+                    return;
+                }
+                pendingRequests.add(samApduRequestList);
+                if (active) {
+                    return;
+                }
+                active = true;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        transmitPendingRequests();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug(
+                        "PoTransaction.SamCommandPipeline => submit: task rejected, transmitting synchronously.");
+                transmitPendingRequests();
+            }
+        }
+
+        /**
+         * Waits until all the submitted commands have been transmitted.
+         *
+         * @throws KeypleReaderException if the transmission of a command failed or if the thread
+         *         is interrupted
+         */
+        synchronized void awaitCompletion() throws KeypleReaderException {
+            while (active) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new KeypleReaderException("Interrupted while waiting for the SAM", e);
+                }
+            }
+            if (failure != null) {
+                KeypleReaderException ex = failure;
+                failure = null;
+                throw ex;
+            }
+        }
+
+        private void transmitPendingRequests() {
+            while (true) {
+                List<ApduRequest> samApduRequestList;
+                synchronized (this) {
+                    if (pendingRequests.isEmpty()) {
+                        active = false;
+                        notifyAll();
+                        return;
+                    }
+                    samApduRequestList = pendingRequests.removeFirst();
+                }
+                KeypleReaderException ex = transmit(samApduRequestList);
+                if (ex != null) {
+                    synchronized (this) {
+                        failure = ex;
+                        pendingRequests.clear();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Transmits SAM commands and checks the responses.
+         *
+         * @param samApduRequestList the SAM commands
+         * @return the exception describing the failure, null if all commands succeeded
+         */
+        private KeypleReaderException transmit(List<ApduRequest> samApduRequestList) {
+            SeRequest samSeRequest = new SeRequest(samApduRequestList);
+
+            logger.debug("PoTransaction.SamCommandPipeline => transmit: SAMREQUEST = {}",
+                    samSeRequest);
+
+            SeResponse samSeResponse;
+            try {
+                samSeResponse = samReader.transmit(samSeRequest);
+            } catch (KeypleReaderException e) {
+                return e;
+            } catch (RuntimeException e) {
+                return new KeypleReaderException("SAM transmission failure", e);
+            }
+
+            logger.debug("PoTransaction.SamCommandPipeline => transmit: SAMRESPONSE = {}",
+                    samSeResponse);
+
+            if (samSeResponse == null) {
+                return new KeypleCalypsoSecureSessionException("Null response received",
+                        KeypleCalypsoSecureSessionException.Type.SAM, samApduRequestList, null);
+            }
+
+            List<ApduResponse> samApduResponseList = samSeResponse.getApduResponses();
+
+            if (samApduResponseList.size() != samApduRequestList.size()) {
+                return new KeypleCalypsoSecureSessionException(
+                        "Inconsistent requests and responses",
+                        KeypleCalypsoSecureSessionException.Type.SAM, samApduRequestList,
+                        samApduResponseList);
+            }
+
+            for (ApduResponse apduR : samApduResponseList) {
+                if (!apduR.isSuccessful()) {
+                    return new KeypleCalypsoSecureSessionException(
+                            "Digest command failure during the session",
+                            KeypleCalypsoSecureSessionException.Type.SAM, samApduRequestList,
+                            samApduResponseList);
+                }
+            }
+            return null;
         }
     }
 
     /**
      * The class handles the anticipated response computation.
+     * <p>
+     * The Read Record responses are kept per {@link PoTransaction} instance.
      */
     private static class AnticipatedResponseBuilder {
         /**
@@ -1189,7 +1552,7 @@ public final class PoTransaction {
         /**
          * A Map of SFI and Commands/Responses
          */
-        private static Map<Byte, CommandResponse> sfiCommandResponseHashMap =
+        private final Map<Byte, CommandResponse> sfiCommandResponseHashMap =
                 new HashMap<Byte, CommandResponse>();
 
         /**
@@ -1201,7 +1564,7 @@ public final class PoTransaction {
          * @param skipFirstItem a flag to indicate if the first apduRequest/apduResponse pair has to
          *        be ignored or not.
          */
-        static void storeCommandResponse(List<PoBuilderParser> poBuilderParsers,
+        void storeCommandResponse(List<PoBuilderParser> poBuilderParsers,
                 List<ApduRequest> apduRequests, List<ApduResponse> apduResponses,
                 Boolean skipFirstItem) {
             if (poBuilderParsers != null) {
@@ -1249,7 +1612,7 @@ public final class PoTransaction {
          * @return the anticipated responses.
          * @throws KeypleCalypsoSecureSessionException if an response can't be determined.
          */
-        private static List<ApduResponse> getResponses(List<PoBuilderParser> poBuilderParsers)
+        List<ApduResponse> getResponses(List<PoBuilderParser> poBuilderParsers)
                 throws KeypleCalypsoSecureSessionException {
             List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
             if (poBuilderParsers != null) {
@@ -1338,6 +1701,9 @@ public final class PoTransaction {
      * <li>In case not logical channel is active with the SAM, a channel is open.</li>
      * <li>Then a Select Diversifier (with the PO serial) &amp; a Get Challenge are automatically
      * operated. The SAM challenge is recovered.</li>
+     * <li>If the challenge prefetch is enabled and a challenge obtained while the SAM was already
+     * diversified with the PO serial is available in the {@link SamChallengeCache} of the SAM
+     * resource, the SAM is not requested at all.</li>
      * </ul>
      * </li>
      * <li>The PO Open Session command is built according to the PO revision, the SAM challenge, the
@@ -1754,6 +2120,16 @@ public final class PoTransaction {
         /* sets the flag indicating that the commands have been executed */
         preparedCommandsProcessed = true;
 
+        /* let the pending digest commands complete before releasing the SAM */
+        if (digestPipeline != null) {
+            try {
+                digestPipeline.awaitCompletion();
+            } catch (KeypleReaderException e) {
+                logger.debug("processCancel => digest failure ignored: {}", e.getMessage());
+            }
+            digestPipeline = null;
+        }
+
         /*
          * session is now considered closed regardless the previous state or the result of the abort
          * session command sent to the PO.
@@ -0,0 +1,236 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.calypso.transaction;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statistics of the SAM resource allocations made by a {@link SamResourceManager}.
+ * <p>
+ * Provides:
+ * <ul>
+ * <li>the number of successful and rejected allocations (no SAM available in NON_BLOCKING mode,
+ * timeout or interruption in BLOCKING mode),</li>
+ * <li>a histogram of the allocation wait times,</li>
+ * <li>the utilisation rate of each local SAM resource, ie the part of the time during which it was
+ * allocated since it has been added to the manager,</li>
+ * <li>the number of idle SAM checks, re-selections and evictions.</li>
+ * </ul>
+ */
+public class SamAllocationStatistics {
+    /*
+     * upper bounds (exclusive, in milliseconds) of the wait time histogram buckets, the last bucket
+     * is unbounded
+     */
+    private static final long[] WAIT_TIME_BUCKET_BOUNDS = {1, 5, 10, 50, 100, 500, 1000};
+
+    private final long[] waitTimeHistogram = new long[WAIT_TIME_BUCKET_BOUNDS.length + 1];
+    private long allocationCount;
+    private long rejectedAllocationCount;
+    private long totalWaitTimeNanos;
+    private long maxWaitTimeNanos;
+    private long validationCount;
+    private long failedValidationCount;
+    private long reselectionCount;
+    private long evictionCount;
+    private final Map<SamResource, UsageCounter> usageCounters =
+            new LinkedHashMap<SamResource, UsageCounter>();
+
+    /**
+     * Busy time accounting of a SAM resource
+     */
+    private static class UsageCounter {
+        final long addedTime;
+        long busyTime;
+        /* start of the current allocation, 0 if the resource is free */
+        long allocationTime;
+
+        UsageCounter(long now) {
+            addedTime = now;
+        }
+
+        double getUtilization(long now) {
+            long busy = busyTime + (allocationTime != 0 ? now - allocationTime : 0);
+            long elapsed = now - addedTime;
+            return elapsed <= 0 ? 0 : (double) busy / elapsed;
+        }
+    }
+
+    synchronized void recordAllocation(long waitTimeNanos) {
+        allocationCount++;
+        totalWaitTimeNanos += waitTimeNanos;
+        if (waitTimeNanos > maxWaitTimeNanos) {
+            maxWaitTimeNanos = waitTimeNanos;
+        }
+        long waitTimeMillis = waitTimeNanos / 1000000;
+        int bucket = 0;
+        while (bucket < WAIT_TIME_BUCKET_BOUNDS.length
+                && waitTimeMillis >= WAIT_TIME_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        waitTimeHistogram[bucket]++;
+    }
+
+    synchronized void recordRejection() {
+        rejectedAllocationCount++;
+    }
+
+    synchronized void recordValidation(boolean successful) {
+        validationCount++;
+        if (!successful) {
+            failedValidationCount++;
+        }
+    }
+
+    synchronized void recordReselection() {
+        reselectionCount++;
+    }
+
+    synchronized void recordEviction() {
+        evictionCount++;
+    }
+
+    synchronized void samResourceAdded(SamResource samResource) {
+        usageCounters.put(samResource, new UsageCounter(System.nanoTime()));
+    }
+
+    synchronized void samResourceRemoved(SamResource samResource) {
+        usageCounters.remove(samResource);
+    }
+
+    synchronized void samResourceAllocated(SamResource samResource) {
+        UsageCounter usageCounter = usageCounters.get(samResource);
+        if (usageCounter != null) {
+            usageCounter.allocationTime = System.nanoTime();
+        }
+    }
+
+    synchronized void samResourceFreed(SamResource samResource) {
+        UsageCounter usageCounter = usageCounters.get(samResource);
+        if (usageCounter != null && usageCounter.allocationTime != 0) {
+            usageCounter.busyTime += System.nanoTime() - usageCounter.allocationTime;
+            usageCounter.allocationTime = 0;
+        }
+    }
+
+    /**
+     * @return the number of successful allocations
+     */
+    public synchronized long getAllocationCount() {
+        return allocationCount;
+    }
+
+    /**
+     * @return the number of allocations that did not provide a SAM resource
+     */
+    public synchronized long getRejectedAllocationCount() {
+        return rejectedAllocationCount;
+    }
+
+    /**
+     * @return the number of idle SAM resources checked before being allocated
+     */
+    public synchronized long getValidationCount() {
+        return validationCount;
+    }
+
+    /**
+     * @return the number of idle SAM resources that did not respond when checked
+     */
+    public synchronized long getFailedValidationCount() {
+        return failedValidationCount;
+    }
+
+    /**
+     * @return the number of SAM successfully re-selected after a failure
+     */
+    public synchronized long getReselectionCount() {
+        return reselectionCount;
+    }
+
+    /**
+     * @return the number of SAM resources removed after a failed re-selection
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the average wait time of the successful allocations in nanoseconds
+     */
+    public synchronized long getAverageWaitTimeNanos() {
+        return allocationCount == 0 ? 0 : totalWaitTimeNanos / allocationCount;
+    }
+
+    /**
+     * @return the longest wait time of the successful allocations in nanoseconds
+     */
+    public synchronized long getMaxWaitTimeNanos() {
+        return maxWaitTimeNanos;
+    }
+
+    /**
+     * Gets the upper bounds of the wait time histogram buckets.
+     * <p>
+     * The bucket i counts the allocations whose wait time is lower than the bound i (and greater
+     * than or equal to the bound i-1). The last bucket counts the allocations whose wait time is
+     * greater than or equal to the last bound.
+     *
+     * @return the bucket bounds in milliseconds
+     */
+    public long[] getWaitTimeBucketBounds() {
+        return WAIT_TIME_BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * @return the number of successful allocations in each wait time bucket
+     */
+    public synchronized long[] getWaitTimeHistogram() {
+        return waitTimeHistogram.clone();
+    }
+
+    /**
+     * Gets the utilisation rate of the local SAM resources currently managed.
+     *
+     * @return a map associating the SAM reader names to the utilisation rate (0 to 1)
+     */
+    public synchronized Map<String, Double> getSamUtilization() {
+        long now = System.nanoTime();
+        Map<String, Double> samUtilization = new HashMap<String, Double>();
+        for (Map.Entry<SamResource, UsageCounter> entry : usageCounters.entrySet()) {
+            samUtilization.put(entry.getKey().getSeReader().getName(),
+                    entry.getValue().getUtilization(now));
+        }
+        return samUtilization;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < waitTimeHistogram.length; i++) {
+            if (i > 0) {
+                histogram.append(", ");
+            }
+            histogram.append(i < WAIT_TIME_BUCKET_BOUNDS.length
+                    ? "<" + WAIT_TIME_BUCKET_BOUNDS[i]
+                    : ">=" + WAIT_TIME_BUCKET_BOUNDS[i - 1]).append("ms: ")
+                    .append(waitTimeHistogram[i]);
+        }
+        return String.format(
+                "SamAllocationStatistics{ALLOCATIONS = %d, REJECTED = %d, AVGWAIT = %d us, MAXWAIT = %d us, HISTOGRAM = [%s], VALIDATIONS = %d, FAILEDVALIDATIONS = %d, RESELECTIONS = %d, EVICTIONS = %d}",
+                allocationCount, rejectedAllocationCount, getAverageWaitTimeNanos() / 1000,
+                maxWaitTimeNanos / 1000, histogram, validationCount, failedValidationCount,
+                reselectionCount, evictionCount);
+    }
+}
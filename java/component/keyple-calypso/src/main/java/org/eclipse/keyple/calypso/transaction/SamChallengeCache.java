@@ -0,0 +1,314 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.calypso.transaction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.keyple.calypso.command.po.PoRevision;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
+import org.eclipse.keyple.calypso.command.sam.builder.security.SamGetChallengeCmdBuild;
+import org.eclipse.keyple.calypso.command.sam.parser.security.SamGetChallengeRespPars;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds a terminal challenge obtained from a SAM in advance, so that the opening of the next secure
+ * session does not have to wait for a SAM Get Challenge exchange.
+ * <p>
+ * The cache is attached to a {@link SamResource}. It is filled in the background after each
+ * session when a refresh executor is set in the {@link SecuritySettings} (see
+ * {@link SecuritySettings#setChallengeRefreshExecutor(Executor)}), and by the idle check of the
+ * {@link SamResourceManager}.
+ * <p>
+ * A Get Challenge or a Select Diversifier makes the SAM discard its challenge, and the Select
+ * Diversifier has to precede the Get Challenge of a session. A prefetched challenge is therefore
+ * only used for a PO whose serial number is the diversifier of the SAM when the challenge was
+ * obtained, i.e. the PO of the previous session: the cache only speeds up the repeated sessions
+ * with the same PO, the first session with a new PO always gets its challenge from the SAM. No SAM
+ * command is sent between the Get Challenge and the Digest Init. The {@link PoTransaction}
+ * invalidates the cache whenever it sends these commands itself, an application sending its own
+ * commands to the SAM must call {@link #clear()}.
+ * <p>
+ * The cache also provides hit/miss counters and the total opening time saved.
+ */
+public class SamChallengeCache {
+    private static final Logger logger = LoggerFactory.getLogger(SamChallengeCache.class);
+
+    final static byte CHALLENGE_LENGTH_REV_INF_32 = (byte) 0x04;
+    private final static byte CHALLENGE_LENGTH_REV32 = (byte) 0x08;
+
+    /** the terminal challenge ready to be used, null if none */
+    private byte[] challenge;
+    /** the PO serial number the SAM is diversified with, null if unknown */
+    private byte[] diversifier;
+    /** the diversifier of the SAM when the current challenge was obtained */
+    private byte[] challengeDiversifier;
+    /** the duration of the SAM exchange that provided the current challenge */
+    private long challengeFetchTimeNanos;
+    /** the background refresh in progress, null if none */
+    private FutureTask<Boolean> pendingRefresh;
+
+    /* statistics */
+    private long hitCount;
+    private long missCount;
+    private long savedOpeningTimeNanos;
+
+    /**
+     * Sends a Get Challenge command to the SAM and keeps the resulting challenge.
+     * <p>
+     * Any previously stored challenge is discarded. A background refresh in progress is awaited
+     * first.
+     *
+     * @param samReader the reader of the SAM
+     * @param samRevision the SAM revision
+     * @param challengeLength the expected challenge length (4 or 8)
+     * @return true if a challenge has been obtained
+     * @throws KeypleReaderException if a reader error occurs
+     */
+    boolean refresh(ProxyReader samReader, SamRevision samRevision, byte challengeLength)
+            throws KeypleReaderException {
+        awaitRefresh();
+        return fetch(samReader, samRevision, challengeLength);
+    }
+
+    /**
+     * Starts a refresh of the challenge on the provided executor.
+     * <p>
+     * The next use of the cache ({@link #consume(byte)}, {@link #refresh}, {@link #invalidate()})
+     * waits for the end of the refresh, so that no other command is sent to the SAM in the
+     * meantime by the {@link PoTransaction}. A failed refresh only leaves the cache empty.
+     *
+     * @param samReader the reader of the SAM
+     * @param samRevision the SAM revision
+     * @param challengeLength the expected challenge length (4 or 8)
+     * @param executor the executor running the refresh
+     */
+    void refreshAsync(final ProxyReader samReader, final SamRevision samRevision,
+            final byte challengeLength, Executor executor) {
+        awaitRefresh();
+        FutureTask<Boolean> refreshTask = new FutureTask<Boolean>(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                try {
+                    return fetch(samReader, samRevision, challengeLength);
+                } catch (KeypleReaderException e) {
+                    logger.debug("SamChallengeCache => refresh failed: {}", e.getMessage());
+                    clear();
+                    return false;
+                }
+            }
+        });
+        synchronized (this) {
+            pendingRefresh = refreshTask;
+        }
+        try {
+            executor.execute(refreshTask);
+        } catch (RejectedExecutionException e) {
+            logger.debug("SamChallengeCache => refresh rejected: {}", e.getMessage());
+            synchronized (this) {
+                pendingRefresh = null;
+            }
+        }
+    }
+
+    /**
+     * Waits for the end of the background refresh, if any
+     */
+    void awaitRefresh() {
+        FutureTask<Boolean> refreshTask;
+        synchronized (this) {
+            refreshTask = pendingRefresh;
+        }
+        if (refreshTask == null) {
+            return;
+        }
+        try {
+            refreshTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug("SamChallengeCache => refresh failed: {}", e.getMessage());
+        }
+        synchronized (this) {
+            if (pendingRefresh == refreshTask) {
+                pendingRefresh = null;
+            }
+        }
+    }
+
+    /**
+     * Waits for the background refresh, if any, and discards the stored challenge.
+     * <p>
+     * Called when a command that makes the SAM discard its challenge is about to be sent.
+     */
+    void invalidate() {
+        awaitRefresh();
+        synchronized (this) {
+            challenge = null;
+        }
+    }
+
+    /**
+     * Records the PO serial number the SAM is diversified with, after a Select Diversifier.
+     *
+     * @param diversifier the PO serial number, null if unknown
+     */
+    synchronized void setDiversifier(byte[] diversifier) {
+        this.diversifier = diversifier;
+    }
+
+    private boolean fetch(ProxyReader samReader, SamRevision samRevision, byte challengeLength)
+            throws KeypleReaderException {
+        synchronized (this) {
+            challenge = null;
+        }
+
+        List<ApduRequest> samApduRequestList = new ArrayList<ApduRequest>();
+        samApduRequestList.add(
+                new SamGetChallengeCmdBuild(samRevision, challengeLength).getApduRequest());
+
+        long start = System.nanoTime();
+        SeResponse samSeResponse = samReader.transmit(new SeRequest(samApduRequestList));
+        long fetchTimeNanos = System.nanoTime() - start;
+
+        if (samSeResponse == null || samSeResponse.getApduResponses().size() != 1) {
+            logger.debug("SamChallengeCache => refresh: no response from the SAM");
+            return false;
+        }
+
+        ApduResponse samApduResponse = samSeResponse.getApduResponses().get(0);
+        if (samApduResponse.isSuccessful() && samApduResponse.getDataLength() == challengeLength) {
+            synchronized (this) {
+                challenge = new SamGetChallengeRespPars(samApduResponse).getChallenge();
+                challengeDiversifier = diversifier;
+                challengeFetchTimeNanos = fetchTimeNanos;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("SamChallengeCache => refresh: TERMINALCHALLENGE = {}",
+                        ByteArrayUtil.toHex(challenge));
+            }
+            return true;
+        }
+        logger.debug("SamChallengeCache => refresh: invalid response {}", samApduResponse);
+        return false;
+    }
+
+    /**
+     * Retrieves and removes the stored challenge if it has the expected length and was obtained
+     * while the SAM was diversified with the provided PO serial number.
+     * <p>
+     * Waits for the background refresh, if any, and updates the hit/miss statistics.
+     *
+     * @param challengeLength the expected challenge length
+     * @param poSerialNumber the serial number of the PO of the session
+     * @return the challenge or null if no suitable challenge is available
+     */
+    byte[] consume(byte challengeLength, byte[] poSerialNumber) {
+        awaitRefresh();
+        synchronized (this) {
+            byte[] result = null;
+            if (challenge != null && challenge.length == challengeLength
+                    && challengeDiversifier != null
+                    && Arrays.equals(challengeDiversifier, poSerialNumber)) {
+                result = challenge;
+                hitCount++;
+                savedOpeningTimeNanos += challengeFetchTimeNanos;
+            } else {
+                missCount++;
+            }
+            challenge = null;
+            return result;
+        }
+    }
+
+    /**
+     * Discards the stored challenge and forgets the diversifier of the SAM
+     */
+    public synchronized void clear() {
+        challenge = null;
+        diversifier = null;
+    }
+
+    /**
+     * Waits for the background refresh, if any, and tells if a challenge is ready to be used.
+     *
+     * @return true if a challenge is ready to be used
+     */
+    public boolean isChallengeAvailable() {
+        awaitRefresh();
+        synchronized (this) {
+            return challenge != null;
+        }
+    }
+
+    /**
+     * @return the number of session openings that used a prefetched challenge
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of session openings that had to get a challenge from the SAM
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of session openings that used a prefetched challenge (0 if no opening was
+     *         made)
+     */
+    public synchronized double getHitRate() {
+        long total = hitCount + missCount;
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return the sum of the SAM exchange durations removed from the session openings, in
+     *         nanoseconds
+     */
+    public synchronized long getSavedOpeningTimeNanos() {
+        return savedOpeningTimeNanos;
+    }
+
+    /**
+     * Determines the challenge length expected by a PO
+     *
+     * @param poRevision the PO revision
+     * @return the challenge length
+     */
+    static byte getChallengeLength(PoRevision poRevision) {
+        return poRevision == PoRevision.REV3_2 ? CHALLENGE_LENGTH_REV32
+                : CHALLENGE_LENGTH_REV_INF_32;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(
+                "SamChallengeCache{AVAILABLE = %b, HITS = %d, MISSES = %d, SAVEDTIME = %d us}",
+                challenge != null, hitCount, missCount, savedOpeningTimeNanos / 1000);
+    }
+}
@@ -100,4 +100,28 @@ public class SamIdentifier {
         }
         return true;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SamIdentifier)) {
+            return false;
+        }
+        SamIdentifier that = (SamIdentifier) o;
+        return samRevision == that.samRevision
+                && (serialNumber == null ? that.serialNumber == null
+                        : serialNumber.equals(that.serialNumber))
+                && (groupReference == null ? that.groupReference == null
+                        : groupReference.equals(that.groupReference));
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = samRevision == null ? 0 : samRevision.hashCode();
+        hash = 31 * hash + (serialNumber == null ? 0 : serialNumber.hashCode());
+        hash = 31 * hash + (groupReference == null ? 0 : groupReference.hashCode());
+        return hash;
+    }
 }
@@ -13,6 +13,8 @@ package org.eclipse.keyple.calypso.transaction;
 
 import org.eclipse.keyple.core.selection.SeResource;
 import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
 
 public class SamResource extends SeResource<CalypsoSam> {
     /** the free/busy enum status */
@@ -26,6 +28,12 @@ public class SamResource extends SeResource<CalypsoSam> {
     /** the sam identifier */
     private SamIdentifier samIdentifier;
 
+    /** the terminal challenge obtained in advance */
+    private final SamChallengeCache challengeCache = new SamChallengeCache();
+
+    /** the time (System.nanoTime) at which the resource was last set free */
+    private long freeSince;
+
     /**
      * Constructor
      *
@@ -37,6 +45,7 @@ public class SamResource extends SeResource<CalypsoSam> {
 
         samResourceStatus = SamResourceStatus.FREE;
         samIdentifier = null;
+        freeSince = System.nanoTime();
     }
 
     /**
@@ -82,6 +91,46 @@ public class SamResource extends SeResource<CalypsoSam> {
      * @param samResourceStatus FREE/BUSY enum value
      */
     public void setSamResourceStatus(SamResourceStatus samResourceStatus) {
+        if (samResourceStatus == SamResourceStatus.FREE
+                && this.samResourceStatus != SamResourceStatus.FREE) {
+            freeSince = System.nanoTime();
+        }
         this.samResourceStatus = samResourceStatus;
     }
+
+    /**
+     * @return the time (System.nanoTime) at which the resource was last set free
+     */
+    long getFreeSince() {
+        return freeSince;
+    }
+
+    /**
+     * Checks that the SAM is still responding by sending it a Get Challenge command.
+     * <p>
+     * The resulting challenge is kept in the challenge cache.
+     *
+     * @return true if the SAM responded successfully
+     */
+    boolean validate() {
+        try {
+            return challengeCache.refresh((ProxyReader) getSeReader(),
+                    getMatchingSe().getSamRevision(),
+                    SamChallengeCache.CHALLENGE_LENGTH_REV_INF_32);
+        } catch (KeypleReaderException e) {
+            return false;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the cache holding the terminal challenge obtained in advance from this SAM, and the
+     * associated statistics.
+     *
+     * @return the {@link SamChallengeCache}
+     */
+    public SamChallengeCache getChallengeCache() {
+        return challengeCache;
+    }
 }
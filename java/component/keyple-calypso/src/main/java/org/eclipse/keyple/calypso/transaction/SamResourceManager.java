@@ -13,6 +13,9 @@ package org.eclipse.keyple.calypso.transaction;
 
 import static org.eclipse.keyple.calypso.command.sam.SamRevision.AUTO;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import org.eclipse.keyple.core.selection.SeSelection;
 import org.eclipse.keyple.core.selection.SelectionsResult;
@@ -22,6 +25,9 @@ import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.event.PluginEvent;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.*;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.slf4j.Logger;
@@ -40,11 +46,63 @@ public class SamResourceManager {
         BLOCKING, NON_BLOCKING
     }
 
-    /* the maximum time (in tenths of a second) during which the BLOCKING mode will wait */
-    private final static int MAX_BLOCKING_TIME = 1000; // 10 sec
+    /* the default maximum time (in milliseconds) during which the BLOCKING mode will wait */
+    private final static long DEFAULT_ALLOCATION_TIMEOUT = 1000;
+    /* the maximum time (in milliseconds) between two reader pool allocation attempts */
+    private final static long POOL_ALLOCATION_RETRY_PERIOD = 10;
+    /* the default idle time (in milliseconds) after which a SAM resource is checked, 0: never */
+    private final static long DEFAULT_IDLE_VALIDATION_PERIOD = 0;
+    /* the default number of idle SAM resources kept for each group of the reader pool plugin */
+    private final static int DEFAULT_MAX_IDLE_POOL_SAM_RESOURCES = 4;
     private final ReaderPlugin samReaderPlugin;
+    /* all the local SAM resources, free or busy */
     private final List<SamResource> localSamResources = new ArrayList<SamResource>();
+    /* the free local SAM resources that no waiting allocation request matches, in freeing order */
+    private final Set<SamResource> freeSamResources = new LinkedHashSet<SamResource>();
+    /*
+     * the same free resources indexed by the SAM identifiers already requested: the queue of an
+     * identifier holds, in freeing order, the free resources matching it (an identifier is matched
+     * against a resource rather than compared to it, so a resource may be in several queues)
+     */
+    private final Map<SamIdentifier, Set<SamResource>> freeSamResourcesByIdentifier =
+            new HashMap<SamIdentifier, Set<SamResource>>();
+    /* the waiting allocation requests, in arrival order for each SAM identifier */
+    private final Map<SamIdentifier, LinkedList<AllocationRequest>> waitingRequests =
+            new HashMap<SamIdentifier, LinkedList<AllocationRequest>>();
+    /* guards the SAM resource lists and the waiting requests */
+    private final ReentrantLock lock = new ReentrantLock();
+    /* signaled when a reader is released to the reader pool plugin */
+    private final Condition poolReaderReleased = lock.newCondition();
     private final boolean dynamicAllocationPlugin;
+    /* the selected SAM resources kept allocated from the reader pool plugin, by group reference */
+    private final Map<String, LinkedList<SamResource>> idlePoolSamResources =
+            new HashMap<String, LinkedList<SamResource>>();
+    /* the group reference of the SAM resources allocated from the reader pool plugin */
+    private final Map<SamResource, String> poolSamResourceGroups =
+            new HashMap<SamResource, String>();
+    private final SamAllocationStatistics statistics = new SamAllocationStatistics();
+    private volatile long allocationTimeout = DEFAULT_ALLOCATION_TIMEOUT;
+    private volatile long idleValidationPeriod = DEFAULT_IDLE_VALIDATION_PERIOD;
+    private volatile int maxIdlePoolSamResources = DEFAULT_MAX_IDLE_POOL_SAM_RESOURCES;
+    /* arrival counter of the waiting allocation requests */
+    private long requestSequence;
+
+    /**
+     * A waiting allocation request
+     */
+    private static class AllocationRequest {
+        final SamIdentifier samIdentifier;
+        final Condition condition;
+        final long sequence;
+        /* the SAM resource handed over to the request, null while waiting */
+        SamResource samResource;
+
+        AllocationRequest(SamIdentifier samIdentifier, Condition condition, long sequence) {
+            this.samIdentifier = samIdentifier;
+            this.condition = condition;
+            this.sequence = sequence;
+        }
+    }
 
     /**
      * Instantiate a new SamResourceManager.
@@ -88,7 +146,7 @@ public class SamResourceManager {
                     Pattern p = Pattern.compile(samReaderFilter);
                     if (p.matcher(readerName).matches()) {
                         logger.debug("Add reader: {}", readerName);
-                        localSamResources.add(createSamResource(samReader));
+                        addResource(createSamResource(samReader));
                     } else {
                         logger.debug("Reader not matching: {}", readerName);
                     }
@@ -127,12 +185,144 @@ public class SamResourceManager {
         return new SamResource(samReader, calypsoSam);
     }
 
+    /**
+     * Sets the maximum time during which the BLOCKING allocation mode waits for a SAM resource.
+     *
+     * @param allocationTimeout the timeout in milliseconds (1000 ms by default)
+     */
+    public void setAllocationTimeout(long allocationTimeout) {
+        this.allocationTimeout = allocationTimeout;
+    }
+
+    /**
+     * @return the maximum time in milliseconds during which the BLOCKING allocation mode waits for
+     *         a SAM resource
+     */
+    public long getAllocationTimeout() {
+        return allocationTimeout;
+    }
+
+    /**
+     * Sets the idle time after which a SAM resource is checked before being allocated.
+     * <p>
+     * The check consists in a Get Challenge command (the challenge obtained is kept in the
+     * {@link SamChallengeCache} of the resource). A SAM that does not respond is re-selected, and
+     * removed if the re-selection fails.
+     *
+     * @param idleValidationPeriod the idle time in milliseconds, 0 to disable the check (default)
+     */
+    public void setIdleValidationPeriod(long idleValidationPeriod) {
+        this.idleValidationPeriod = idleValidationPeriod;
+    }
+
+    /**
+     * @return the idle time in milliseconds after which a SAM resource is checked before being
+     *         allocated
+     */
+    public long getIdleValidationPeriod() {
+        return idleValidationPeriod;
+    }
+
+    /**
+     * Sets the number of selected SAM resources kept for each group when the SAM readers are
+     * provided by a {@link ReaderPoolPlugin}.
+     * <p>
+     * A freed SAM resource keeps its reader and its selection and is reused by the next allocation
+     * of the same group. Beyond this number, the reader is released to the plugin.
+     *
+     * @param maxIdlePoolSamResources the number of idle SAM resources per group (4 by default)
+     */
+    public void setMaxIdlePoolSamResources(int maxIdlePoolSamResources) {
+        this.maxIdlePoolSamResources = maxIdlePoolSamResources;
+    }
+
+    /**
+     * @return the number of selected SAM resources kept for each group of the reader pool plugin
+     */
+    public int getMaxIdlePoolSamResources() {
+        return maxIdlePoolSamResources;
+    }
+
+    /**
+     * Allocates readers from the {@link ReaderPoolPlugin} and selects their SAM in advance, so that
+     * the next allocations of the group do not have to.
+     * <p>
+     * Has no effect with a plugin that is not a reader pool plugin.
+     *
+     * @param groupReference the group reference
+     * @param count the number of SAM resources to prepare
+     * @return the number of SAM resources actually prepared
+     * @throws KeypleReaderException if a reader error occurs
+     */
+    public int warmUp(String groupReference, int count) throws KeypleReaderException {
+        if (!dynamicAllocationPlugin) {
+            return 0;
+        }
+        int prepared = 0;
+        while (prepared < count) {
+            SeReader samReader =
+                    ((ReaderPoolPlugin) samReaderPlugin).allocateReader(groupReference);
+            if (samReader == null) {
+                break;
+            }
+            SamResource samResource;
+            try {
+                samResource = createSamResource(samReader);
+            } catch (KeypleReaderException e) {
+                ((ReaderPoolPlugin) samReaderPlugin).releaseReader(samReader);
+                throw e;
+            }
+            lock.lock();
+            try {
+                poolSamResourceGroups.put(samResource, groupReference);
+                getIdlePoolSamResources(groupReference).add(samResource);
+                poolReaderReleased.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            prepared++;
+        }
+        logger.debug("{} SAM resources prepared for group {}", prepared, groupReference);
+        return prepared;
+    }
+
+    /**
+     * Releases the readers of all the idle SAM resources to the {@link ReaderPoolPlugin}.
+     */
+    public void releaseIdleSamResources() {
+        List<SamResource> idleSamResources = new ArrayList<SamResource>();
+        lock.lock();
+        try {
+            for (LinkedList<SamResource> samResources : idlePoolSamResources.values()) {
+                idleSamResources.addAll(samResources);
+            }
+            idlePoolSamResources.clear();
+            for (SamResource samResource : idleSamResources) {
+                poolSamResourceGroups.remove(samResource);
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (SamResource samResource : idleSamResources) {
+            ((ReaderPoolPlugin) samReaderPlugin).releaseReader(samResource.getSeReader());
+        }
+    }
+
+    /**
+     * @return the allocation statistics of this manager
+     */
+    public SamAllocationStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Allocate a SAM resource from the specified SAM group.
      * <p>
      * In the case where the allocation mode is BLOCKING, this method will wait until a SAM resource
      * becomes free and then return the reference to the allocated resource. However, the BLOCKING
-     * mode will wait a maximum time defined in tenths of a second by MAX_BLOCKING_TIME.
+     * mode will wait a maximum time defined in milliseconds by {@link #setAllocationTimeout(long)}.
+     * The waiting requests are served in their arrival order: a freed SAM resource is directly
+     * handed over to the oldest waiting request it matches.
      * <p>
      * In the case where the allocation mode is NON_BLOCKING and no SAM resource is available, this
      * method will return null.
@@ -147,57 +337,165 @@ public class SamResourceManager {
      */
     public SamResource allocateSamResource(AllocationMode allocationMode,
             SamIdentifier samIdentifier) throws KeypleReaderException {
-        long maxBlockingDate = System.currentTimeMillis() + MAX_BLOCKING_TIME;
-        boolean noSamResourceLogged = false;
         logger.debug("Allocating SAM reader channel...");
-        while (true) {
+        long startTime = System.nanoTime();
+        SamResource samResource;
+        do {
             if (dynamicAllocationPlugin) {
-                // virtually infinite number of readers
-                SeReader samReader = ((ReaderPoolPlugin) samReaderPlugin)
-                        .allocateReader(samIdentifier.getGroupReference());
-                if (samReader != null) {
-                    SamResource samResource = createSamResource(samReader);
-                    logger.debug("Allocation succeeded. SAM resource created.");
+                samResource = allocatePoolSamResource(allocationMode, samIdentifier);
+            } else {
+                samResource = allocateLocalSamResource(allocationMode, samIdentifier);
+            }
+            if (samResource == null) {
+                break;
+            }
+            /* a SAM resource that failed its check and could not be re-selected is replaced */
+            samResource = checkIdleSamResource(samResource);
+        } while (samResource == null);
+        if (samResource != null) {
+            statistics.recordAllocation(System.nanoTime() - startTime);
+        } else {
+            statistics.recordRejection();
+        }
+        return samResource;
+    }
+
+    /**
+     * Take an idle SAM resource of the group or allocate a reader from the reader pool plugin and
+     * create the corresponding SAM resource.
+     * <p>
+     * In BLOCKING mode, a new attempt is made as soon as a reader is released through this manager
+     * (and at least every POOL_ALLOCATION_RETRY_PERIOD milliseconds).
+     *
+     * @param allocationMode the blocking/non-blocking mode
+     * @param samIdentifier the targeted SAM identifier
+     * @return a SAM resource or null if none could be allocated
+     * @throws KeypleReaderException if a reader error occurs
+     */
+    private SamResource allocatePoolSamResource(AllocationMode allocationMode,
+            SamIdentifier samIdentifier) throws KeypleReaderException {
+        String groupReference = samIdentifier.getGroupReference();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(allocationTimeout);
+        while (true) {
+            lock.lock();
+            try {
+                /* the most recently used resource is taken first */
+                SamResource samResource = getIdlePoolSamResources(groupReference).pollLast();
+                if (samResource != null) {
+                    samResource.setSamResourceStatus(SamResource.SamResourceStatus.BUSY);
+                    logger.debug("Allocation succeeded. Idle SAM resource reused.");
                     return samResource;
                 }
-            } else {
-                synchronized (localSamResources) {
-                    for (SamResource samResource : localSamResources) {
-                        if (samResource.isSamResourceFree()) {
-                            if (samResource.isSamMatching(samIdentifier)) {
-                                samResource
-                                        .setSamResourceStatus(SamResource.SamResourceStatus.BUSY);
-                                logger.debug("Allocation succeeded. SAM resource created.");
-                                return samResource;
-                            }
-                        }
-                    }
+            } finally {
+                lock.unlock();
+            }
+            // virtually infinite number of readers
+            SeReader samReader =
+                    ((ReaderPoolPlugin) samReaderPlugin).allocateReader(groupReference);
+            if (samReader != null) {
+                SamResource samResource;
+                try {
+                    samResource = createSamResource(samReader);
+                } catch (KeypleReaderException e) {
+                    ((ReaderPoolPlugin) samReaderPlugin).releaseReader(samReader);
+                    throw e;
+                }
+                samResource.setSamResourceStatus(SamResource.SamResourceStatus.BUSY);
+                lock.lock();
+                try {
+                    poolSamResourceGroups.put(samResource, groupReference);
+                } finally {
+                    lock.unlock();
                 }
+                logger.debug("Allocation succeeded. SAM resource created.");
+                return samResource;
             }
-            // loop until MAX_BLOCKING_TIME in blocking mode, only once in non-blocking mode
             if (allocationMode == AllocationMode.NON_BLOCKING) {
                 logger.trace("No SAM resources available at the moment.");
-                break;
-            } else {
-                if (!noSamResourceLogged) {
-                    /* log once the first time */
-                    logger.trace("No SAM resources available at the moment.");
-                    noSamResourceLogged = true;
-                }
-                try {
-                    Thread.sleep(10);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt(); // set interrupt flag
-                    logger.error("Interrupt exception in Thread.sleep.");
+                return null;
+            }
+            long remainingTime = deadline - System.nanoTime();
+            if (remainingTime <= 0) {
+                logger.error("The allocation process failed. Timeout {} ms exceeded.",
+                        allocationTimeout);
+                return null;
+            }
+            lock.lock();
+            try {
+                poolReaderReleased.await(Math.min(remainingTime,
+                        TimeUnit.MILLISECONDS.toNanos(POOL_ALLOCATION_RETRY_PERIOD)),
+                        TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // set interrupt flag
+                logger.error("The allocation process was interrupted.");
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Allocate a local SAM resource.
+     *
+     * @param allocationMode the blocking/non-blocking mode
+     * @param samIdentifier the targeted SAM identifier
+     * @return a SAM resource or null if none could be allocated
+     */
+    private SamResource allocateLocalSamResource(AllocationMode allocationMode,
+            SamIdentifier samIdentifier) {
+        lock.lock();
+        try {
+            /*
+             * a free resource is not matched by any waiting request, taking it does not overtake
+             * anyone
+             */
+            SamResource samResource = pollFreeResource(samIdentifier);
+            if (samResource != null) {
+                setBusy(samResource);
+                logger.debug("Allocation succeeded. SAM resource created.");
+                return samResource;
+            }
+
+            if (allocationMode == AllocationMode.NON_BLOCKING) {
+                logger.trace("No SAM resources available at the moment.");
+                return null;
+            }
+
+            logger.trace("No SAM resources available at the moment.");
+
+            AllocationRequest request =
+                    new AllocationRequest(samIdentifier, lock.newCondition(), requestSequence++);
+            LinkedList<AllocationRequest> requests = waitingRequests.get(samIdentifier);
+            if (requests == null) {
+                requests = new LinkedList<AllocationRequest>();
+                waitingRequests.put(samIdentifier, requests);
+            }
+            requests.add(request);
+
+            long remainingTime = TimeUnit.MILLISECONDS.toNanos(allocationTimeout);
+            try {
+                while (request.samResource == null && remainingTime > 0) {
+                    remainingTime = request.condition.awaitNanos(remainingTime);
                 }
-                if (System.currentTimeMillis() >= maxBlockingDate) {
-                    logger.error("The allocation process failed. Timeout {} sec exceeded .",
-                            (MAX_BLOCKING_TIME / 100.0));
-                    return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt(); // set interrupt flag
+                logger.error("The allocation process was interrupted.");
+            }
+
+            if (request.samResource == null) {
+                removeWaitingRequest(request);
+                if (!Thread.currentThread().isInterrupted()) {
+                    logger.error("The allocation process failed. Timeout {} ms exceeded.",
+                            allocationTimeout);
                 }
+                return null;
             }
+            logger.debug("Allocation succeeded. SAM resource created.");
+            return request.samResource;
+        } finally {
+            lock.unlock();
         }
-        return null;
     }
 
     /**
@@ -206,15 +504,318 @@ public class SamResourceManager {
      * @param samResource the SAM resource reference to free
      */
     public void freeSamResource(SamResource samResource) {
+        freeSamResource(samResource, false);
+    }
+
+    /**
+     * Free a previously allocated SAM resource, indicating whether a SAM communication error
+     * occurred while it was in use.
+     * <p>
+     * In case of error, the SAM is re-selected before being made available again. It is removed
+     * from the managed resources if the re-selection fails.
+     * <p>
+     * Freeing a resource that is already free has no effect.
+     *
+     * @param samResource the SAM resource reference to free
+     * @param ioError true if a SAM communication error occurred
+     */
+    public void freeSamResource(SamResource samResource, boolean ioError) {
+        if (samResource.isSamResourceFree()) {
+            /* queued a second time, it could be allocated twice */
+            logger.warn("SAM resource already free READER = {}",
+                    samResource.getSeReader().getName());
+            return;
+        }
+        if (ioError) {
+            logger.warn("SAM error reported, re-selecting READER = {}",
+                    samResource.getSeReader().getName());
+            samResource = reselectSamResource(samResource);
+            if (samResource == null) {
+                return;
+            }
+        }
         if (dynamicAllocationPlugin) {
-            // virtually infinite number of readers
             logger.debug("Freeing HSM SAM resource.");
-            ((ReaderPoolPlugin) samReaderPlugin).releaseReader(samResource.getSeReader());
+            boolean kept = false;
+            lock.lock();
+            try {
+                String groupReference = poolSamResourceGroups.get(samResource);
+                LinkedList<SamResource> idleSamResources =
+                        getIdlePoolSamResources(groupReference);
+                if (idleSamResources.size() < maxIdlePoolSamResources) {
+                    /* keep the reader and the SAM selection for the next allocation */
+                    samResource.setSamResourceStatus(SamResource.SamResourceStatus.FREE);
+                    idleSamResources.add(samResource);
+                    kept = true;
+                } else {
+                    poolSamResourceGroups.remove(samResource);
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (!kept) {
+                // virtually infinite number of readers
+                ((ReaderPoolPlugin) samReaderPlugin).releaseReader(samResource.getSeReader());
+            }
+            lock.lock();
+            try {
+                poolReaderReleased.signal();
+            } finally {
+                lock.unlock();
+            }
         } else {
-            synchronized (localSamResources) {
+            lock.lock();
+            try {
                 logger.debug("Freeing local SAM resource.");
                 samResource.setSamResourceStatus(SamResource.SamResourceStatus.FREE);
+                statistics.samResourceFreed(samResource);
+                if (localSamResources.contains(samResource)) {
+                    offerResource(samResource);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Hands a free SAM resource over to the oldest waiting request it matches, or adds it to the
+     * free resources if no waiting request matches.
+     * <p>
+     * Must be called with the lock held.
+     *
+     * @param samResource the free SAM resource
+     */
+    private void offerResource(SamResource samResource) {
+        AllocationRequest oldestRequest = null;
+        for (LinkedList<AllocationRequest> requests : waitingRequests.values()) {
+            /* all the requests of a queue have the same identifier, the first is the oldest */
+            AllocationRequest request = requests.getFirst();
+            if ((oldestRequest == null || request.sequence < oldestRequest.sequence)
+                    && isMatching(samResource, request.samIdentifier)) {
+                oldestRequest = request;
+            }
+        }
+        if (oldestRequest == null) {
+            addFreeResource(samResource);
+            return;
+        }
+        removeWaitingRequest(oldestRequest);
+        setBusy(samResource);
+        oldestRequest.samResource = samResource;
+        oldestRequest.condition.signal();
+    }
+
+    /**
+     * Adds a resource to the free resources and to the queues of the identifiers it matches.
+     * <p>
+     * Must be called with the lock held.
+     *
+     * @param samResource the free SAM resource
+     */
+    private void addFreeResource(SamResource samResource) {
+        freeSamResources.add(samResource);
+        for (Map.Entry<SamIdentifier, Set<SamResource>> queue : freeSamResourcesByIdentifier
+                .entrySet()) {
+            if (isMatching(samResource, queue.getKey())) {
+                queue.getValue().add(samResource);
+            }
+        }
+    }
+
+    /**
+     * Removes a resource from the free resources and from the identifier queues.
+     * <p>
+     * Must be called with the lock held.
+     *
+     * @param samResource the SAM resource
+     */
+    private void removeFreeResource(SamResource samResource) {
+        if (freeSamResources.remove(samResource)) {
+            for (Set<SamResource> queue : freeSamResourcesByIdentifier.values()) {
+                queue.remove(samResource);
+            }
+        }
+    }
+
+    /**
+     * Takes the free resource freed first among those matching an identifier.
+     * <p>
+     * The queue of an identifier is built from the free resources on its first request, then kept
+     * up to date by {@link #addFreeResource} and {@link #removeFreeResource}.
+     * <p>
+     * Must be called with the lock held.
+     *
+     * @param samIdentifier the targeted SAM identifier (may be null)
+     * @return the SAM resource or null if no free resource matches
+     */
+    private SamResource pollFreeResource(SamIdentifier samIdentifier) {
+        Set<SamResource> queue = freeSamResourcesByIdentifier.get(samIdentifier);
+        if (queue == null) {
+            queue = new LinkedHashSet<SamResource>();
+            for (SamResource samResource : freeSamResources) {
+                if (isMatching(samResource, samIdentifier)) {
+                    queue.add(samResource);
+                }
+            }
+            freeSamResourcesByIdentifier.put(samIdentifier, queue);
+        }
+        if (queue.isEmpty()) {
+            return null;
+        }
+        SamResource samResource = queue.iterator().next();
+        removeFreeResource(samResource);
+        return samResource;
+    }
+
+    /**
+     * Removes a request from the waiting requests.
+     * <p>
+     * Must be called with the lock held.
+     *
+     * @param request the request to remove
+     */
+    private void removeWaitingRequest(AllocationRequest request) {
+        LinkedList<AllocationRequest> requests = waitingRequests.get(request.samIdentifier);
+        if (requests != null) {
+            requests.remove(request);
+            if (requests.isEmpty()) {
+                waitingRequests.remove(request.samIdentifier);
+            }
+        }
+    }
+
+    /**
+     * Checks an allocated SAM resource that has been idle for longer than the validation period.
+     *
+     * @param samResource the allocated SAM resource
+     * @return the SAM resource to use (a new resource on the same reader if the SAM had to be
+     *         re-selected) or null if the SAM has been removed
+     */
+    private SamResource checkIdleSamResource(SamResource samResource) {
+        long validationPeriod = idleValidationPeriod;
+        long idleTime = System.nanoTime() - samResource.getFreeSince();
+        if (validationPeriod <= 0
+                || idleTime < TimeUnit.MILLISECONDS.toNanos(validationPeriod)) {
+            return samResource;
+        }
+        boolean valid = samResource.validate();
+        statistics.recordValidation(valid);
+        if (valid) {
+            return samResource;
+        }
+        logger.warn("SAM resource check failed, re-selecting READER = {}",
+                samResource.getSeReader().getName());
+        return reselectSamResource(samResource);
+    }
+
+    /**
+     * Selects again the SAM of an allocated SAM resource.
+     * <p>
+     * The SAM resource is replaced by the new one in the managed resources, or removed if the
+     * selection fails (in this case, a reader allocated from a {@link ReaderPoolPlugin} is
+     * released).
+     *
+     * @param samResource the allocated SAM resource
+     * @return the new allocated SAM resource or null if the selection failed
+     */
+    private SamResource reselectSamResource(SamResource samResource) {
+        SeReader samReader = samResource.getSeReader();
+        SamResource newSamResource = null;
+        try {
+            /* the selection is done again from a closed channel */
+            ((ProxyReader) samReader).transmit(new SeRequest(new ArrayList<ApduRequest>()),
+                    ChannelControl.CLOSE_AFTER);
+        } catch (KeypleReaderException e) {
+            logger.debug("Closing of the SAM channel failed READER = {}: {}", samReader.getName(),
+                    e.getMessage());
+        } catch (IllegalStateException e) {
+            /* the channel has already been closed */
+            logger.debug("Closing of the SAM channel failed READER = {}: {}", samReader.getName(),
+                    e.getMessage());
+        }
+        try {
+            newSamResource = createSamResource(samReader);
+            newSamResource.setSamResourceStatus(SamResource.SamResourceStatus.BUSY);
+            statistics.recordReselection();
+        } catch (KeypleReaderException e) {
+            logger.error("Unable to re-select the SAM READER = {}: {}", samReader.getName(),
+                    e.getMessage());
+        } catch (IllegalStateException e) {
+            logger.error("Unable to re-select the SAM READER = {}: {}", samReader.getName(),
+                    e.getMessage());
+        }
+        if (newSamResource == null) {
+            statistics.recordEviction();
+        }
+        lock.lock();
+        try {
+            if (dynamicAllocationPlugin) {
+                String groupReference = poolSamResourceGroups.remove(samResource);
+                if (newSamResource != null) {
+                    poolSamResourceGroups.put(newSamResource, groupReference);
+                }
+            } else {
+                int index = localSamResources.indexOf(samResource);
+                if (index >= 0) {
+                    statistics.samResourceRemoved(samResource);
+                    if (newSamResource != null) {
+                        localSamResources.set(index, newSamResource);
+                        statistics.samResourceAdded(newSamResource);
+                        statistics.samResourceAllocated(newSamResource);
+                    } else {
+                        localSamResources.remove(index);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (newSamResource == null && dynamicAllocationPlugin) {
+            ((ReaderPoolPlugin) samReaderPlugin).releaseReader(samReader);
+        }
+        return newSamResource;
+    }
+
+    /**
+     * Must be called with the lock held.
+     *
+     * @param groupReference the group reference (may be null)
+     * @return the list of idle SAM resources of the group
+     */
+    private LinkedList<SamResource> getIdlePoolSamResources(String groupReference) {
+        LinkedList<SamResource> idleSamResources = idlePoolSamResources.get(groupReference);
+        if (idleSamResources == null) {
+            idleSamResources = new LinkedList<SamResource>();
+            idlePoolSamResources.put(groupReference, idleSamResources);
+        }
+        return idleSamResources;
+    }
+
+    private void setBusy(SamResource samResource) {
+        samResource.setSamResourceStatus(SamResource.SamResourceStatus.BUSY);
+        statistics.samResourceAllocated(samResource);
+    }
+
+    private static boolean isMatching(SamResource samResource, SamIdentifier samIdentifier) {
+        return samIdentifier == null || samResource.isSamMatching(samIdentifier);
+    }
+
+    /**
+     * Add a {@link SamResource} to the current SamResource list and make it available
+     *
+     * @param samResource the SAM resource to add
+     */
+    private void addResource(SamResource samResource) {
+        lock.lock();
+        try {
+            localSamResources.add(samResource);
+            statistics.samResourceAdded(samResource);
+            if (samResource.isSamResourceFree()) {
+                offerResource(samResource);
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -224,19 +825,27 @@ public class SamResourceManager {
      * @param samReader the SAM reader of the resource to remove from the list.
      */
     private void removeResource(SeReader samReader) {
-        ListIterator<SamResource> iterator = localSamResources.listIterator();
-        while (iterator.hasNext()) {
-            SamResource currentSamResource = iterator.next();
-            if (currentSamResource.getSeReader().equals(samReader)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info(
-                            "Freed SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
-                            samReader.getName(),
-                            currentSamResource.getMatchingSe().getSamRevision(), ByteArrayUtil
-                                    .toHex(currentSamResource.getMatchingSe().getSerialNumber()));
+        lock.lock();
+        try {
+            ListIterator<SamResource> iterator = localSamResources.listIterator();
+            while (iterator.hasNext()) {
+                SamResource currentSamResource = iterator.next();
+                if (currentSamResource.getSeReader().equals(samReader)) {
+                    if (logger.isInfoEnabled()) {
+                        logger.info(
+                                "Freed SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
+                                samReader.getName(),
+                                currentSamResource.getMatchingSe().getSamRevision(),
+                                ByteArrayUtil.toHex(
+                                        currentSamResource.getMatchingSe().getSerialNumber()));
+                    }
+                    iterator.remove();
+                    removeFreeResource(currentSamResource);
+                    statistics.samResourceRemoved(currentSamResource);
                 }
-                iterator.remove();
             }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -309,9 +918,7 @@ public class SamResourceManager {
                                 try {
                                     if (samReader.isSePresent()) {
                                         logger.debug("Create SAM resource: {}", readerName);
-                                        synchronized (localSamResources) {
-                                            localSamResources.add(createSamResource(samReader));
-                                        }
+                                        addResource(createSamResource(samReader));
                                     }
                                 } catch (KeypleIOReaderException e) {
                                     logger.error("Error in reader", e);
@@ -383,40 +990,38 @@ public class SamResourceManager {
             } catch (KeypleReaderNotFoundException e) {
                 e.printStackTrace();
             }
-            synchronized (localSamResources) {
-                switch (event.getEventType()) {
-                    case SE_MATCHED:
-                    case SE_INSERTED:
-                        SamResource newSamResource = null;
-                        try {
-                            /*
-                             * although the reader allocation is dynamic, the SAM resource type is
-                             * STATIC
-                             */
-                            newSamResource = createSamResource(samReader);
-                        } catch (KeypleReaderException e) {
-                            logger.error("Reader failure while creating a SamResource from {}",
-                                    samReader.getName());
-                            e.printStackTrace();
-                        }
-                        /* failures are ignored */
-                        if (newSamResource != null) {
-                            if (logger.isInfoEnabled()) {
-                                logger.info(
-                                        "Created SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
-                                        event.getReaderName(),
-                                        newSamResource.getMatchingSe().getSamRevision(),
-                                        ByteArrayUtil.toHex(
-                                                newSamResource.getMatchingSe().getSerialNumber()));
-                            }
-                            localSamResources.add(newSamResource);
+            switch (event.getEventType()) {
+                case SE_MATCHED:
+                case SE_INSERTED:
+                    SamResource newSamResource = null;
+                    try {
+                        /*
+                         * although the reader allocation is dynamic, the SAM resource type is
+                         * STATIC
+                         */
+                        newSamResource = createSamResource(samReader);
+                    } catch (KeypleReaderException e) {
+                        logger.error("Reader failure while creating a SamResource from {}",
+                                samReader.getName());
+                        e.printStackTrace();
+                    }
+                    /* failures are ignored */
+                    if (newSamResource != null) {
+                        if (logger.isInfoEnabled()) {
+                            logger.info(
+                                    "Created SAM resource: READER = {}, SAM_REVISION = {}, SAM_SERIAL_NUMBER = {}",
+                                    event.getReaderName(),
+                                    newSamResource.getMatchingSe().getSamRevision(),
+                                    ByteArrayUtil.toHex(
+                                            newSamResource.getMatchingSe().getSerialNumber()));
                         }
-                        break;
-                    case SE_REMOVED:
-                    case TIMEOUT_ERROR:
-                        removeResource(samReader);
-                        break;
-                }
+                        addResource(newSamResource);
+                    }
+                    break;
+                case SE_REMOVED:
+                case TIMEOUT_ERROR:
+                    removeResource(samReader);
+                    break;
             }
         }
     }
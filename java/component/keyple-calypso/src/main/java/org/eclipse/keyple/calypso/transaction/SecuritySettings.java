@@ -13,6 +13,7 @@ package org.eclipse.keyple.calypso.transaction;
 
 import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.eclipse.keyple.calypso.transaction.exception.KeypleCalypsoSecureSessionUnauthorizedKvcException;
 
 /**
@@ -38,6 +39,22 @@ public class SecuritySettings {
         SAM_DEFAULT_KEY_RECORD_NUMBER
     }
 
+    /**
+     * The way the PO exchanges are provided to the SAM when closing a secure session.
+     */
+    public enum DigestMode {
+        /** One Digest Update command per PO command and per PO response */
+        DIGEST_UPDATE,
+        /**
+         * As many PO commands and responses as possible packed in each Digest Update Multiple
+         * command.
+         * <p>
+         * Single Digest Update commands are still used when the SAM revision does not support
+         * Digest Update Multiple, when the session is encrypted or when a buffer is too large.
+         */
+        DIGEST_UPDATE_MULTIPLE
+    }
+
     /** The default KIF value for personalization */
     private final static byte DEFAULT_KIF_PERSO = (byte) 0x21;
     /** The default KIF value for loading */
@@ -48,6 +65,14 @@ public class SecuritySettings {
     private final static byte DEFAULT_KEY_RECORD_NUMER = (byte) 0x00;
     /** List of authorized KVCs */
     private List<Byte> authorizedKvcList;
+    /** The digest mode, single Digest Update by default */
+    private DigestMode digestMode = DigestMode.DIGEST_UPDATE;
+    /** The SAM challenge prefetch status, disabled by default */
+    private boolean challengePrefetch;
+    /** The executor sending the digest commands during the session, null if not used */
+    private Executor digestExecutor;
+    /** The executor getting the next SAM challenge after a session, none by default */
+    private Executor challengeRefreshExecutor;
 
     /** Enummap containing the key information */
     private final EnumMap<DefaultKeyInfo, Byte> keySettings =
@@ -115,4 +140,96 @@ public class SecuritySettings {
     public boolean isAuthorizedKvc(byte kvc) {
         return authorizedKvcList == null || authorizedKvcList.contains(kvc);
     }
+
+    /**
+     * Defines how the digest data are sent to the SAM when closing a secure session.
+     * <p>
+     * If this method is not called, one Digest Update command is sent per PO command and per PO
+     * response.
+     *
+     * @param digestMode the {@link DigestMode} to use
+     */
+    public void setDigestMode(DigestMode digestMode) {
+        this.digestMode = digestMode;
+    }
+
+    /**
+     * @return the current {@link DigestMode}
+     */
+    public DigestMode getDigestMode() {
+        return digestMode;
+    }
+
+    /**
+     * Enables or disables the SAM challenge prefetch.
+     * <p>
+     * When enabled, the session opening uses the challenge kept in the {@link SamChallengeCache}
+     * of the {@link SamResource} when available and obtained while the SAM was already diversified
+     * with the serial number of the PO. The cache is filled after each session by the refresh
+     * executor (see {@link #setChallengeRefreshExecutor}).
+     * <p>
+     * This only speeds up the repeated sessions with the same PO (e.g. a card tapped again on the
+     * same terminal): a challenge cannot be obtained before the Select Diversifier of a new PO,
+     * whose first session always exchanges with the SAM.
+     *
+     * @param challengePrefetch true to enable the prefetch
+     */
+    public void setChallengePrefetch(boolean challengePrefetch) {
+        this.challengePrefetch = challengePrefetch;
+    }
+
+    /**
+     * @return true if the SAM challenge prefetch is enabled
+     */
+    public boolean isChallengePrefetchEnabled() {
+        return challengePrefetch;
+    }
+
+    /**
+     * Enables or disables the asynchronous digest computation.
+     * <p>
+     * When an executor is provided, the Digest Init and Digest Update commands are sent to the SAM
+     * by the executor as soon as the corresponding PO responses are received, so that the SAM
+     * processing overlaps the PO exchanges. When closing the session, only the Digest Close
+     * command remains to be sent (preceded by the digest of the closing PO commands if any).
+     * <p>
+     * This mode is relevant when the PO and the SAM are handled by different readers. The executor
+     * may be shared by several transactions, it is never shut down by the transactions.
+     *
+     * @param digestExecutor the executor to use, null to send all the digest commands when closing
+     *        the session (default)
+     */
+    public void setDigestExecutor(Executor digestExecutor) {
+        this.digestExecutor = digestExecutor;
+    }
+
+    /**
+     * @return the executor sending the digest commands during the session, null if the
+     *         asynchronous digest computation is disabled
+     */
+    public Executor getDigestExecutor() {
+        return digestExecutor;
+    }
+
+    /**
+     * Sets the executor used to get the challenge of the next session from the SAM once a session
+     * is closed, when the challenge prefetch is enabled.
+     * <p>
+     * The Get Challenge exchange then runs in the background instead of delaying the closing; the
+     * next opening waits for its end before using the SAM. Without executor, no challenge is
+     * requested after the sessions. The executor is never shut down by the transactions.
+     *
+     * @param challengeRefreshExecutor the executor to use, null to disable the automatic refresh
+     *        (default)
+     */
+    public void setChallengeRefreshExecutor(Executor challengeRefreshExecutor) {
+        this.challengeRefreshExecutor = challengeRefreshExecutor;
+    }
+
+    /**
+     * @return the executor refreshing the SAM challenge after each session, null if none
+     */
+    public Executor getChallengeRefreshExecutor() {
+        return challengeRefreshExecutor;
+    }
 }
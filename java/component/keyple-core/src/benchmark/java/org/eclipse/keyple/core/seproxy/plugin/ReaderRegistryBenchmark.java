@@ -0,0 +1,163 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.eclipse.keyple.core.seproxy.AbstractPluginFactory;
+import org.eclipse.keyple.core.seproxy.ReaderPlugin;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.plugin.mock.BlankAbstractLocalReader;
+import org.eclipse.keyple.core.seproxy.plugin.mock.MockAbstractThreadedPlugin;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Throughput of the reader lookups by name (SeProxyService.getPlugin then ReaderPlugin.getReader)
+ * with 10 plugins of 100 readers, compared to a linear scan of the plugins and readers lists as
+ * previously done.
+ * <p>
+ * The figures are logged.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class ReaderRegistryBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReaderRegistryBenchmark.class);
+
+    private static final int NB_PLUGINS = 10;
+    private static final int NB_READERS_PER_PLUGIN = 100;
+    private static final int NB_LOOKUPS = 200000;
+
+    private final SeProxyService seProxyService = SeProxyService.getInstance();
+
+    /**
+     * Plugin created with NB_READERS_PER_PLUGIN readers
+     */
+    private static final class BenchmarkPlugin extends MockAbstractThreadedPlugin {
+        BenchmarkPlugin(String name) {
+            super(name);
+        }
+
+        @Override
+        protected SortedSet<SeReader> initNativeReaders() throws KeypleReaderException {
+            SortedSet<SeReader> readers = new TreeSet<SeReader>();
+            for (int i = 0; i < NB_READERS_PER_PLUGIN; i++) {
+                readers.add(new BlankAbstractLocalReader(getName(), readerName(i)));
+            }
+            return readers;
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        for (int p = 0; p < NB_PLUGINS; p++) {
+            final String pluginName = pluginName(p);
+            seProxyService.registerPlugin(new AbstractPluginFactory() {
+                @Override
+                public String getPluginName() {
+                    return pluginName;
+                }
+
+                @Override
+                protected ReaderPlugin getPluginInstance() {
+                    return new BenchmarkPlugin(pluginName);
+                }
+            });
+        }
+    }
+
+    @After
+    public void tearDown() {
+        for (int p = 0; p < NB_PLUGINS; p++) {
+            seProxyService.unregisterPlugin(pluginName(p));
+        }
+    }
+
+    @Test
+    public void lookupThroughput() throws Exception {
+        Assert.assertEquals(NB_PLUGINS * NB_READERS_PER_PLUGIN, countReaders());
+
+        /* warm up, then measure */
+        long indexedNanos = 0;
+        long scanNanos = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            indexedNanos = indexedLookups();
+            scanNanos = scanLookups();
+        }
+        logger.info("Reader lookups per second with {} readers: indexed = {}, linear scan = {}",
+                countReaders(), NB_LOOKUPS * 1000000000L / indexedNanos,
+                NB_LOOKUPS * 1000000000L / scanNanos);
+    }
+
+    private long indexedLookups() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_LOOKUPS; i++) {
+            String readerName = readerName(i % NB_READERS_PER_PLUGIN);
+            SeReader reader =
+                    seProxyService.getPlugin(pluginName(i % NB_PLUGINS)).getReader(readerName);
+            Assert.assertSame(readerName, reader.getName());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long scanLookups() {
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_LOOKUPS; i++) {
+            String pluginName = pluginName(i % NB_PLUGINS);
+            String readerName = readerName(i % NB_READERS_PER_PLUGIN);
+            SeReader found = null;
+            for (ReaderPlugin plugin : seProxyService.getPlugins()) {
+                if (plugin.getName().equals(pluginName)) {
+                    for (SeReader reader : plugin.getReaders()) {
+                        if (reader.getName().equals(readerName)) {
+                            found = reader;
+                            break;
+                        }
+                    }
+                }
+            }
+            Assert.assertSame(readerName, found.getName());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private int countReaders() {
+        int count = 0;
+        for (ReaderPlugin plugin : seProxyService.getPlugins()) {
+            if (plugin.getName().startsWith("BenchmarkPlugin")) {
+                count += plugin.getReaders().size();
+            }
+        }
+        return count;
+    }
+
+    private static String pluginName(int index) {
+        return "BenchmarkPlugin" + index;
+    }
+
+    private static final String[] READER_NAMES = new String[NB_READERS_PER_PLUGIN];
+    static {
+        for (int i = 0; i < NB_READERS_PER_PLUGIN; i++) {
+            READER_NAMES[i] = "BenchmarkReader" + i;
+        }
+    }
+
+    private static String readerName(int index) {
+        return READER_NAMES[index];
+    }
+}
@@ -15,11 +15,13 @@ import java.util.*;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsResponse;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.message.*;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsResponse;
+import org.eclipse.keyple.core.seproxy.plugin.AbstractReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,8 @@ public final class SeSelection {
     private int selectionIndex;
     private MultiSeRequestProcessing multiSeRequestProcessing;
     private ChannelControl channelControl;
+    private SelectionOrdering selectionOrdering = SelectionOrdering.DECLARED;
+    private SelectionCache selectionCache;
 
     /**
      * Constructor.
@@ -62,6 +66,31 @@ public final class SeSelection {
         this(MultiSeRequestProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN);
     }
 
+    /**
+     * Set the order in which the reader tries the selection cases, e.g.
+     * {@link SelectionOrdering#MOST_RECENTLY_MATCHED_FIRST} to try first the kind of SE the reader
+     * usually gets.
+     * <p>
+     * The selection indexes and the order of the results are not affected.
+     *
+     * @param selectionOrdering the selection ordering ({@link SelectionOrdering#DECLARED} by
+     *        default)
+     */
+    public void setSelectionOrdering(SelectionOrdering selectionOrdering) {
+        this.selectionOrdering = selectionOrdering;
+    }
+
+    /**
+     * Set a cache of the selection results: a SE giving the same responses as a previously
+     * selected SE gets the {@link AbstractMatchingSe} built for it, without parsing the responses
+     * again.
+     *
+     * @param selectionCache the cache, null to disable caching (default)
+     */
+    public void setSelectionCache(SelectionCache selectionCache) {
+        this.selectionCache = selectionCache;
+    }
+
     /**
      * Prepare a selection: add the selection request from the provided selector to the selection
      * request set.
@@ -114,7 +143,7 @@ public final class SeSelection {
                  * create a AbstractMatchingSe with the class deduced from the selection request
                  * during the selection preparation
                  */
-                AbstractMatchingSe matchingSe = seSelectionRequestList.get(index).parse(seResponse);
+                AbstractMatchingSe matchingSe = parse(index, seResponse);
 
                 selectionsResult.addMatchingSelection(new MatchingSelection(index,
                         seSelectionRequestList.get(index), matchingSe, seResponse));
@@ -124,6 +153,22 @@ public final class SeSelection {
         return selectionsResult;
     }
 
+    /**
+     * Build the {@link AbstractMatchingSe} of a selection case, or get it from the cache if any
+     */
+    private AbstractMatchingSe parse(int index, SeResponse seResponse) {
+        AbstractSeSelectionRequest seSelectionRequest = seSelectionRequestList.get(index);
+        if (selectionCache == null) {
+            return seSelectionRequest.parse(seResponse);
+        }
+        AbstractMatchingSe matchingSe = selectionCache.get(index, seSelectionRequest, seResponse);
+        if (matchingSe == null) {
+            matchingSe = seSelectionRequest.parse(seResponse);
+            selectionCache.put(index, seSelectionRequest, seResponse, matchingSe);
+        }
+        return matchingSe;
+    }
+
     /**
      * Parses the response to a selection operation sent to a SE and return a list of
      * {@link AbstractMatchingSe}
@@ -177,8 +222,15 @@ public final class SeSelection {
         }
 
         /* Communicate with the SE to do the selection */
-        List<SeResponse> seResponseList = ((ProxyReader) seReader).transmitSet(selectionRequestSet,
-                multiSeRequestProcessing, channelControl);
+        List<SeResponse> seResponseList;
+        if (seReader instanceof AbstractReader) {
+            seResponseList = ((AbstractReader) seReader).transmitSet(selectionRequestSet,
+                    multiSeRequestProcessing, channelControl, selectionOrdering);
+        } else {
+            /* the other readers try the requests in the declared order */
+            seResponseList = ((ProxyReader) seReader).transmitSet(selectionRequestSet,
+                    multiSeRequestProcessing, channelControl);
+        }
 
         return processSelection(new DefaultSelectionsResponse(seResponseList));
     }
@@ -193,6 +245,6 @@ public final class SeSelection {
      */
     public AbstractDefaultSelectionsRequest getSelectionOperation() {
         return new DefaultSelectionsRequest(selectionRequestSet, multiSeRequestProcessing,
-                channelControl);
+                channelControl, selectionOrdering);
     }
 }
@@ -0,0 +1,200 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.selection;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+
+/**
+ * Keeps the {@link AbstractMatchingSe} built from the previous selections so that a SE presented
+ * again (e.g. the same card tapped several times a day) is not parsed again.
+ * <p>
+ * The entries are identified by the selection case (its index and the class of its selection
+ * request), the ATR and the selected AID. An entry is reused only if the new selection response is
+ * identical to the cached one (same FCI, same responses to the additional commands); the selection
+ * commands themselves are always sent to the SE.
+ * <p>
+ * The cache is bounded: the least recently used entry is evicted when it is full and the entries
+ * expire after a time to live.
+ * <p>
+ * A cache is set on a {@link SeSelection} with {@link SeSelection#setSelectionCache}, it may be
+ * shared by the threads processing the selections.
+ */
+public final class SelectionCache {
+    private final long timeToLiveNanos;
+    private final Map<String, CacheEntry> entries;
+    private long hitCount;
+    private long missCount;
+
+    private static final class CacheEntry {
+        private final SeResponse selectionResponse;
+        private final AbstractMatchingSe matchingSe;
+        private final long expiryTime;
+
+        private CacheEntry(SeResponse selectionResponse, AbstractMatchingSe matchingSe,
+                long expiryTime) {
+            this.selectionResponse = selectionResponse;
+            this.matchingSe = matchingSe;
+            this.expiryTime = expiryTime;
+        }
+    }
+
+    /**
+     * Map in access order evicting the least recently used entry beyond maxEntries
+     */
+    private static final class LruMap extends LinkedHashMap<String, CacheEntry> {
+        private static final long serialVersionUID = 1L;
+        private final int maxEntries;
+
+        private LruMap(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries the maximum number of entries kept (at least 1)
+     * @param timeToLiveMillis the time in milliseconds during which an entry can be reused (at
+     *        least 1)
+     */
+    public SelectionCache(int maxEntries, long timeToLiveMillis) {
+        if (maxEntries < 1 || timeToLiveMillis < 1) {
+            throw new IllegalArgumentException(
+                    "maxEntries and timeToLiveMillis must be strictly positive");
+        }
+        this.timeToLiveNanos = timeToLiveMillis * 1000000L;
+        this.entries = new LruMap(maxEntries);
+    }
+
+    /**
+     * Gets the matching SE built from an identical selection response, if any.
+     *
+     * @param selectionIndex the index of the selection case
+     * @param seSelectionRequest the selection request of the selection case
+     * @param selectionResponse the response to the selection
+     * @return the cached matching SE or null
+     */
+    synchronized AbstractMatchingSe get(int selectionIndex,
+            AbstractSeSelectionRequest seSelectionRequest, SeResponse selectionResponse) {
+        String key = key(selectionIndex, seSelectionRequest, selectionResponse);
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.expiryTime - System.nanoTime() < 0) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null || !sameResponse(entry.selectionResponse, selectionResponse)) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.matchingSe;
+    }
+
+    /**
+     * Keeps the matching SE built from a selection response.
+     *
+     * @param selectionIndex the index of the selection case
+     * @param seSelectionRequest the selection request of the selection case
+     * @param selectionResponse the response to the selection
+     * @param matchingSe the matching SE built from the response
+     */
+    synchronized void put(int selectionIndex, AbstractSeSelectionRequest seSelectionRequest,
+            SeResponse selectionResponse, AbstractMatchingSe matchingSe) {
+        entries.put(key(selectionIndex, seSelectionRequest, selectionResponse),
+                new CacheEntry(selectionResponse, matchingSe, System.nanoTime() + timeToLiveNanos));
+    }
+
+    /**
+     * Compares two selection responses having the same ATR (the ATR is part of the key)
+     */
+    private static boolean sameResponse(SeResponse response1, SeResponse response2) {
+        SelectionStatus status1 = response1.getSelectionStatus();
+        SelectionStatus status2 = response2.getSelectionStatus();
+        return status1.hasMatched() == status2.hasMatched()
+                && (status1.getFci() == null ? status2.getFci() == null
+                        : status1.getFci().equals(status2.getFci()))
+                && (response1.getApduResponses() == null ? response2.getApduResponses() == null
+                        : response1.getApduResponses().equals(response2.getApduResponses()))
+                && response1.isLogicalChannelOpen() == response2.isLogicalChannelOpen()
+                && response1.wasChannelPreviouslyOpen() == response2.wasChannelPreviouslyOpen();
+    }
+
+    /*
+     * the class of the request is part of the key: the same index in another SeSelection may
+     * build another kind of matching SE from the same responses
+     */
+    private static String key(int selectionIndex, AbstractSeSelectionRequest seSelectionRequest,
+            SeResponse selectionResponse) {
+        StringBuilder key = new StringBuilder().append(selectionIndex).append(':')
+                .append(seSelectionRequest.getClass().getName()).append(':');
+        if (selectionResponse.getSelectionStatus().getAtr() != null) {
+            key.append(ByteArrayUtil
+                    .toHex(selectionResponse.getSelectionStatus().getAtr().getBytes()));
+        }
+        key.append(':');
+        SeSelector seSelector = seSelectionRequest.getSeSelector();
+        if (seSelector.getAidSelector() != null) {
+            key.append(ByteArrayUtil
+                    .toHex(seSelector.getAidSelector().getAidToSelect().getValue()));
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the number of entries currently kept
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of selections for which a matching SE has been reused
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of selections for which a matching SE had to be built
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the ratio of hits over the cache lookups, 0 if no lookup has been made
+     */
+    public synchronized double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Removes all the entries and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hitCount = 0;
+        missCount = 0;
+    }
+}
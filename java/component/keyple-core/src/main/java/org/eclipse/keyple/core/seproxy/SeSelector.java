@@ -256,13 +256,21 @@ public class SeSelector {
          */
         private String atrRegex;
 
+        /**
+         * Compiled form of the regular expression (not serialized, built again when needed)
+         */
+        private transient Pattern atrPattern;
+
         /**
          * Regular expression based filter
+         * <p>
+         * The expression is compiled here once for all the ATR checks.
          *
          * @param atrRegex String hex regular expression
          */
         public AtrFilter(String atrRegex) {
             this.atrRegex = atrRegex;
+            this.atrPattern = compile(atrRegex);
         }
 
         /**
@@ -272,6 +280,11 @@ public class SeSelector {
          */
         public void setAtrRegex(String atrRegex) {
             this.atrRegex = atrRegex;
+            this.atrPattern = compile(atrRegex);
+        }
+
+        private static Pattern compile(String atrRegex) {
+            return atrRegex == null || atrRegex.length() == 0 ? null : Pattern.compile(atrRegex);
         }
 
         /**
@@ -292,15 +305,30 @@ public class SeSelector {
          * @return a boolean true the ATR matches the current regex
          */
         public boolean atrMatches(byte[] atr) {
-            boolean m;
-            if (atrRegex.length() != 0) {
-                Pattern p = Pattern.compile(atrRegex);
-                String atrString = ByteArrayUtil.toHex(atr);
-                m = p.matcher(atrString).matches();
-            } else {
-                m = true;
+            if (atrRegex.length() == 0) {
+                return true;
+            }
+            return atrMatches(ByteArrayUtil.toHex(atr));
+        }
+
+        /**
+         * Tells if the provided ATR, already converted to its hex string form, matches the
+         * registered regular expression
+         * <p>
+         * This variant avoids converting the same ATR again when several filters are checked.
+         *
+         * @param atrHex the ATR as an hex string (see {@link ByteArrayUtil#toHex(byte[])})
+         * @return a boolean true the ATR matches the current regex
+         */
+        public boolean atrMatches(String atrHex) {
+            if (atrRegex.length() == 0) {
+                return true;
+            }
+            if (atrPattern == null) {
+                // deserialized filter
+                atrPattern = Pattern.compile(atrRegex);
             }
-            return m;
+            return atrPattern.matcher(atrHex).matches();
         }
 
         /**
@@ -0,0 +1,38 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy;
+
+/**
+ * indicates in which order a local reader tries the selection cases of a SeRequest Set
+ * <p>
+ * The reader keeps statistics on the selection cases that matched its SE. Whatever the order, the
+ * responses are returned in the order of the SeRequest Set (the declared index order).
+ * <p>
+ * The reordering applies only to {@link MultiSeRequestProcessing#FIRST_MATCH} selections made of
+ * selection cases targeting the first occurrence of the application (a NEXT occurrence depends on
+ * the previous selection).
+ */
+public enum SelectionOrdering {
+    /**
+     * The selection cases are tried in the order of the SeRequest Set.
+     */
+    DECLARED,
+    /**
+     * The selection case that matched last on the reader is tried first, then the other ones in
+     * the order of their latest match.
+     */
+    MOST_RECENTLY_MATCHED_FIRST,
+    /**
+     * The selection cases are tried by decreasing number of matches on the reader.
+     */
+    MOST_FREQUENTLY_MATCHED_FIRST
+}
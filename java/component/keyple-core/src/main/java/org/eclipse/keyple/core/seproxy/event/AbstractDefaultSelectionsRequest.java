@@ -14,6 +14,7 @@ package org.eclipse.keyple.core.seproxy.event;
 import java.util.Set;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 
 /**
@@ -27,6 +28,7 @@ import org.eclipse.keyple.core.seproxy.message.SeRequest;
  * be executed or whether to stop at the first one that is successful
  * <li>an indicator to control the physical channel to stipulate whether it should be closed or left
  * open at the end of the selection process
+ * <li>a {@link SelectionOrdering} indicator specifying in which order the selection cases are tried
  * </ul>
  */
 
@@ -45,4 +47,9 @@ public abstract class AbstractDefaultSelectionsRequest {
      * @return the channel control
      */
     protected abstract ChannelControl getChannelControl();
+
+    /**
+     * @return the selection ordering
+     */
+    protected abstract SelectionOrdering getSelectionOrdering();
 }
@@ -11,6 +11,7 @@
  ********************************************************************************/
 package org.eclipse.keyple.core.seproxy.event;
 
+import java.util.concurrent.Executor;
 import org.eclipse.keyple.core.seproxy.ReaderPlugin;
 import org.eclipse.keyple.core.util.Observable;
 
@@ -26,4 +27,23 @@ public interface ObservablePlugin extends ReaderPlugin {
     void notifyObservers(PluginEvent event);
 
     int countObservers();
+
+    /**
+     * Deliver the events to the observers asynchronously through a bounded queue per observer.
+     *
+     * @param executor the executor delivering the events, null to go back to the synchronous
+     *        delivery (default)
+     * @param queueCapacity the maximum number of pending events per observer
+     */
+    void setAsynchronousDelivery(Executor executor, int queueCapacity);
+
+    /**
+     * Get the statistics of the asynchronous delivery to an observer, once
+     * {@link #setAsynchronousDelivery(Executor, int)} is used.
+     *
+     * @param observer the observer
+     * @return the statistics (pending and dropped events, lag) of the asynchronous delivery to the
+     *         observer, null if it is not registered or if the delivery is synchronous
+     */
+    Observable.DeliveryStats getDeliveryStats(PluginObserver observer);
 }
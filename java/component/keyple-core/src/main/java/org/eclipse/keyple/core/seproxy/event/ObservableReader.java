@@ -13,6 +13,7 @@ package org.eclipse.keyple.core.seproxy.event;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.util.Observable;
 
@@ -140,6 +141,29 @@ public interface ObservableReader extends SeReader {
      */
     int countObservers();
 
+    /**
+     * Deliver the events to the observers asynchronously.
+     * <p>
+     * Each observer gets its own bounded queue of pending events, drained by the executor, so that
+     * a slow observer does not delay the SE detection. When the queue of an observer is full, its
+     * oldest pending event is dropped.
+     *
+     * @param executor the executor delivering the events, null to go back to the synchronous
+     *        delivery (default)
+     * @param queueCapacity the maximum number of pending events per observer
+     */
+    void setAsynchronousDelivery(Executor executor, int queueCapacity);
+
+    /**
+     * Get the statistics of the asynchronous delivery to an observer, to monitor the observers
+     * slower than the SE events once {@link #setAsynchronousDelivery(Executor, int)} is used.
+     *
+     * @param observer the observer
+     * @return the statistics (pending and dropped events, lag) of the asynchronous delivery to the
+     *         observer, null if it is not registered or if the delivery is synchronous
+     */
+    Observable.DeliveryStats getDeliveryStats(ReaderObserver observer);
+
     /**
      * Starts the SE detection. Once activated, the application can be notified of the arrival of an
      * SE.
@@ -12,6 +12,7 @@
 package org.eclipse.keyple.core.seproxy.message;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Set;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -36,6 +37,11 @@ public final class ApduResponse implements Serializable {
      */
     private final byte[] bytes;
 
+    /**
+     * status word computed once, 0 until known (e.g. for an instance built by deserialization)
+     */
+    private transient int statusCode;
+
 
     /**
      * Create a new ApduResponse from the provided byte array
@@ -61,12 +67,7 @@ public final class ApduResponse implements Serializable {
                         "Building an ApduResponse with a illegal buffer (length must be > 2): "
                                 + buffer.length);
             }
-            int statusCode = ((buffer[buffer.length - 2] & 0x000000FF) << 8)
-                    + (buffer[buffer.length - 1] & 0x000000FF);
-            // java is signed only
-            if (statusCode < 0) {
-                statusCode += -2 * Short.MIN_VALUE;
-            }
+            statusCode = computeStatusCode(buffer);
             if (successfulStatusCodes != null) {
                 this.successful =
                         statusCode == 0x9000 || successfulStatusCodes.contains(statusCode);
@@ -85,13 +86,16 @@ public final class ApduResponse implements Serializable {
         return successful;
     }
 
-    public int getStatusCode() {
-        int s = ((bytes[bytes.length - 2] & 0x000000FF) << 8)
-                + (bytes[bytes.length - 1] & 0x000000FF);
+    private static int computeStatusCode(byte[] buffer) {
+        return ((buffer[buffer.length - 2] & 0x000000FF) << 8)
+                + (buffer[buffer.length - 1] & 0x000000FF);
+    }
 
-        // java is signed only
-        if (s < 0) {
-            s += -2 * Short.MIN_VALUE;
+    public int getStatusCode() {
+        int s = statusCode;
+        if (s == 0) {
+            s = computeStatusCode(bytes);
+            statusCode = s;
         }
         return s;
     }
@@ -109,6 +113,39 @@ public final class ApduResponse implements Serializable {
         return Arrays.copyOfRange(this.bytes, 0, this.bytes.length - 2);
     }
 
+    /**
+     * Get the length of the data before the statusCode, without copying them
+     *
+     * @return the number of data bytes
+     */
+    public int getDataLength() {
+        return this.bytes.length - 2;
+    }
+
+    /**
+     * Get a read-only view of the data before the statusCode, without copying them
+     *
+     * @return a buffer whose remaining bytes are the data
+     */
+    public ByteBuffer getDataOutView() {
+        return ByteBuffer.wrap(this.bytes, 0, this.bytes.length - 2).asReadOnlyBuffer();
+    }
+
+    /**
+     * Copy the data before the statusCode into a buffer provided by the caller (possibly reused
+     * from one response to the next)
+     *
+     * @param destination the destination buffer
+     * @param offset the position of the first data byte in the destination buffer
+     * @return the number of bytes copied
+     * @throws IndexOutOfBoundsException if the destination buffer is too short
+     */
+    public int copyDataOut(byte[] destination, int offset) {
+        int length = this.bytes.length - 2;
+        System.arraycopy(this.bytes, 0, destination, offset, length);
+        return length;
+    }
+
     @Override
     public String toString() {
         String prefix;
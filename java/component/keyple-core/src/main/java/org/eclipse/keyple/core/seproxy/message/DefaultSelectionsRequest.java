@@ -14,6 +14,7 @@ package org.eclipse.keyple.core.seproxy.message;
 import java.util.Set;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 
@@ -29,11 +30,21 @@ public final class DefaultSelectionsRequest extends AbstractDefaultSelectionsReq
 
     private ChannelControl channelControl;
 
+    private SelectionOrdering selectionOrdering;
+
     public DefaultSelectionsRequest(Set<SeRequest> selectionSeRequestSet,
-            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl) {
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl,
+            SelectionOrdering selectionOrdering) {
         this.selectionSeRequestSet = selectionSeRequestSet;
         this.multiSeRequestProcessing = multiSeRequestProcessing;
         this.channelControl = channelControl;
+        this.selectionOrdering = selectionOrdering;
+    }
+
+    public DefaultSelectionsRequest(Set<SeRequest> selectionSeRequestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl) {
+        this(selectionSeRequestSet, multiSeRequestProcessing, channelControl,
+                SelectionOrdering.DECLARED);
     }
 
     public DefaultSelectionsRequest(Set<SeRequest> selectionSeRequestSet) {
@@ -50,6 +61,12 @@ public final class DefaultSelectionsRequest extends AbstractDefaultSelectionsReq
         return channelControl;
     }
 
+    @Override
+    public SelectionOrdering getSelectionOrdering() {
+        /* may be missing from a request serialized by a previous version */
+        return selectionOrdering != null ? selectionOrdering : SelectionOrdering.DECLARED;
+    }
+
     @Override
     public Set<SeRequest> getSelectionSeRequestSet() {
         return selectionSeRequestSet;
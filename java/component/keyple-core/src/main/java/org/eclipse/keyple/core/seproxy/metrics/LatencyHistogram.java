@@ -0,0 +1,129 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations.
+ * <p>
+ * The durations are counted in buckets whose bounds are powers of two microseconds: bucket 0
+ * counts the durations under 1 µs, bucket n the durations from 2^(n-1) µs to 2^n µs (excluded).
+ * The percentiles are therefore approximated by the upper bound of their bucket.
+ */
+public final class LatencyHistogram {
+
+    /** Number of buckets, the last one counts all the durations above 2^(BUCKET_COUNT-2) µs */
+    public static final int BUCKET_COUNT = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a duration
+     *
+     * @param durationNanos the duration in nanoseconds
+     */
+    public void record(long durationNanos) {
+        if (durationNanos < 0) {
+            durationNanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(durationNanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(durationNanos);
+        long max = maxNanos.get();
+        while (durationNanos > max && !maxNanos.compareAndSet(max, durationNanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    private static int bucketIndex(long durationNanos) {
+        long micros = durationNanos / 1000;
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the mean duration in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / n;
+    }
+
+    /**
+     * Gets an approximation by excess of a percentile
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the upper bound of the bucket holding the percentile (limited to the maximum
+     *         duration) in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Bad percentile: " + percentile);
+        }
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long bucketCount : counts) {
+            total += bucketCount;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long cumulated = 0;
+        int index = 0;
+        while (index < BUCKET_COUNT - 1) {
+            cumulated += counts[index];
+            if (cumulated >= rank && cumulated > 0) {
+                break;
+            }
+            index++;
+        }
+        if (index == BUCKET_COUNT - 1) {
+            return maxNanos.get();
+        }
+        return Math.min(maxNanos.get(), (1L << index) * 1000);
+    }
+
+    /**
+     * @return a copy of the bucket counters
+     */
+    public long[] getBucketCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{COUNT = " + getCount() + ", MEAN = " + getMeanNanos() / 1000
+                + " us, P99 = " + getPercentileNanos(99) / 1000 + " us, MAX = "
+                + getMaxNanos() / 1000 + " us}";
+    }
+}
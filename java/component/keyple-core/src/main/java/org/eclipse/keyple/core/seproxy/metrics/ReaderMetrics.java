@@ -0,0 +1,259 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ReaderMetricsListener} collecting, for each reader, latency histograms (APDU, SeRequest,
+ * selection) and counters (errors by status word, IO errors, channel openings and closings).
+ * <p>
+ * A single instance may be set on several readers. The collection is lock-free; the values are
+ * read at any time with {@link #getReaderStatistics(String)}, or exported as a flat map of named
+ * values with {@link ReaderStatistics#getSnapshot()} to feed a metrics facade.
+ */
+public class ReaderMetrics implements ReaderMetricsListener {
+
+    private final ConcurrentMap<String, ReaderStatistics> statistics =
+            new ConcurrentHashMap<String, ReaderStatistics>();
+
+    /**
+     * Gets the statistics of a reader
+     *
+     * @param readerName the name of the reader
+     * @return the statistics, null if nothing has been measured for this reader
+     */
+    public ReaderStatistics getReaderStatistics(String readerName) {
+        return statistics.get(readerName);
+    }
+
+    /**
+     * @return the names of the readers having statistics
+     */
+    public SortedSet<String> getReaderNames() {
+        return new TreeSet<String>(statistics.keySet());
+    }
+
+    /**
+     * Clear the statistics of all the readers
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    private ReaderStatistics statisticsOf(String readerName) {
+        ReaderStatistics readerStatistics = statistics.get(readerName);
+        if (readerStatistics == null) {
+            ReaderStatistics newStatistics = new ReaderStatistics();
+            readerStatistics = statistics.putIfAbsent(readerName, newStatistics);
+            if (readerStatistics == null) {
+                readerStatistics = newStatistics;
+            }
+        }
+        return readerStatistics;
+    }
+
+    @Override
+    public void onApduProcessed(String readerName, long durationNanos, int statusCode,
+            boolean successful) {
+        ReaderStatistics readerStatistics = statisticsOf(readerName);
+        readerStatistics.apduLatency.record(durationNanos);
+        if (!successful) {
+            readerStatistics.countError(statusCode);
+        }
+    }
+
+    @Override
+    public void onApduFailed(String readerName, long durationNanos) {
+        ReaderStatistics readerStatistics = statisticsOf(readerName);
+        readerStatistics.apduLatency.record(durationNanos);
+        readerStatistics.ioErrors.incrementAndGet();
+    }
+
+    @Override
+    public void onSeRequestProcessed(String readerName, int seRequestCount, long durationNanos,
+            boolean successful) {
+        ReaderStatistics readerStatistics = statisticsOf(readerName);
+        readerStatistics.seRequestLatency.record(durationNanos);
+        if (!successful) {
+            readerStatistics.seRequestFailures.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onSelectionProcessed(String readerName, long durationNanos, boolean matched) {
+        ReaderStatistics readerStatistics = statisticsOf(readerName);
+        readerStatistics.selectionLatency.record(durationNanos);
+        if (matched) {
+            readerStatistics.matchedSelections.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onLogicalChannelOpened(String readerName) {
+        statisticsOf(readerName).logicalChannelOpenings.incrementAndGet();
+    }
+
+    @Override
+    public void onLogicalChannelClosed(String readerName) {
+        statisticsOf(readerName).logicalChannelClosings.incrementAndGet();
+    }
+
+    @Override
+    public void onPhysicalChannelOpened(String readerName) {
+        statisticsOf(readerName).physicalChannelOpenings.incrementAndGet();
+    }
+
+    @Override
+    public void onPhysicalChannelClosed(String readerName) {
+        statisticsOf(readerName).physicalChannelClosings.incrementAndGet();
+    }
+
+    /**
+     * The measurements of a reader
+     */
+    public static final class ReaderStatistics {
+        private final LatencyHistogram apduLatency = new LatencyHistogram();
+        private final LatencyHistogram seRequestLatency = new LatencyHistogram();
+        private final LatencyHistogram selectionLatency = new LatencyHistogram();
+        private final ConcurrentMap<Integer, AtomicLong> errorsByStatusCode =
+                new ConcurrentHashMap<Integer, AtomicLong>();
+        private final AtomicLong ioErrors = new AtomicLong();
+        private final AtomicLong seRequestFailures = new AtomicLong();
+        private final AtomicLong matchedSelections = new AtomicLong();
+        private final AtomicLong logicalChannelOpenings = new AtomicLong();
+        private final AtomicLong logicalChannelClosings = new AtomicLong();
+        private final AtomicLong physicalChannelOpenings = new AtomicLong();
+        private final AtomicLong physicalChannelClosings = new AtomicLong();
+
+        private ReaderStatistics() {}
+
+        private void countError(int statusCode) {
+            AtomicLong counter = errorsByStatusCode.get(statusCode);
+            if (counter == null) {
+                AtomicLong newCounter = new AtomicLong();
+                counter = errorsByStatusCode.putIfAbsent(statusCode, newCounter);
+                if (counter == null) {
+                    counter = newCounter;
+                }
+            }
+            counter.incrementAndGet();
+        }
+
+        /**
+         * @return the durations of the APDU exchanges (successful or not)
+         */
+        public LatencyHistogram getApduLatency() {
+            return apduLatency;
+        }
+
+        /**
+         * @return the durations of the transmissions of SeRequest (transmit and transmitSet)
+         */
+        public LatencyHistogram getSeRequestLatency() {
+            return seRequestLatency;
+        }
+
+        /**
+         * @return the durations of the selections
+         */
+        public LatencyHistogram getSelectionLatency() {
+            return selectionLatency;
+        }
+
+        /**
+         * @return the number of unsuccessful APDU responses by status word
+         */
+        public SortedMap<Integer, Long> getErrorCountsByStatusCode() {
+            SortedMap<Integer, Long> errorCounts = new TreeMap<Integer, Long>();
+            for (Map.Entry<Integer, AtomicLong> entry : errorsByStatusCode.entrySet()) {
+                errorCounts.put(entry.getKey(), entry.getValue().get());
+            }
+            return errorCounts;
+        }
+
+        public long getIoErrorCount() {
+            return ioErrors.get();
+        }
+
+        public long getSeRequestFailureCount() {
+            return seRequestFailures.get();
+        }
+
+        public long getMatchedSelectionCount() {
+            return matchedSelections.get();
+        }
+
+        public long getLogicalChannelOpeningCount() {
+            return logicalChannelOpenings.get();
+        }
+
+        public long getLogicalChannelClosingCount() {
+            return logicalChannelClosings.get();
+        }
+
+        public long getPhysicalChannelOpeningCount() {
+            return physicalChannelOpenings.get();
+        }
+
+        public long getPhysicalChannelClosingCount() {
+            return physicalChannelClosings.get();
+        }
+
+        /**
+         * Export the current values as named values (e.g. "apdu.count", "apdu.p99.ns",
+         * "apdu.error.6A82"), to be polled by an adapter to a metrics facade.
+         *
+         * @return the values sorted by name
+         */
+        public SortedMap<String, Long> getSnapshot() {
+            SortedMap<String, Long> snapshot = new TreeMap<String, Long>();
+            putLatency(snapshot, "apdu", apduLatency);
+            putLatency(snapshot, "seRequest", seRequestLatency);
+            putLatency(snapshot, "selection", selectionLatency);
+            for (Map.Entry<Integer, Long> entry : getErrorCountsByStatusCode().entrySet()) {
+                snapshot.put(String.format("apdu.error.%04X", entry.getKey()), entry.getValue());
+            }
+            snapshot.put("apdu.ioError", getIoErrorCount());
+            snapshot.put("seRequest.failure", getSeRequestFailureCount());
+            snapshot.put("selection.matched", getMatchedSelectionCount());
+            snapshot.put("logicalChannel.opened", getLogicalChannelOpeningCount());
+            snapshot.put("logicalChannel.closed", getLogicalChannelClosingCount());
+            snapshot.put("physicalChannel.opened", getPhysicalChannelOpeningCount());
+            snapshot.put("physicalChannel.closed", getPhysicalChannelClosingCount());
+            return snapshot;
+        }
+
+        private static void putLatency(SortedMap<String, Long> snapshot, String prefix,
+                LatencyHistogram histogram) {
+            snapshot.put(prefix + ".count", histogram.getCount());
+            snapshot.put(prefix + ".mean.ns", histogram.getMeanNanos());
+            snapshot.put(prefix + ".p50.ns", histogram.getPercentileNanos(50));
+            snapshot.put(prefix + ".p99.ns", histogram.getPercentileNanos(99));
+            snapshot.put(prefix + ".max.ns", histogram.getMaxNanos());
+        }
+
+        @Override
+        public String toString() {
+            return "ReaderStatistics{APDU = " + apduLatency + ", SEREQUEST = " + seRequestLatency
+                    + ", SELECTION = " + selectionLatency + ", ERRORS = "
+                    + getErrorCountsByStatusCode() + ", IOERRORS = " + getIoErrorCount() + "}";
+        }
+    }
+}
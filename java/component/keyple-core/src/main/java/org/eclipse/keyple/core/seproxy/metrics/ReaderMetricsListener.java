@@ -0,0 +1,95 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.metrics;
+
+/**
+ * Receives the measurements made by a reader on its transmission path.
+ * <p>
+ * A listener is set on a reader with
+ * {@link org.eclipse.keyple.core.seproxy.plugin.AbstractReader#setMetricsListener}; without
+ * listener the reader does no measurement at all.
+ * <p>
+ * The methods are called synchronously by the thread performing the transmission, they must
+ * return quickly and must not call the reader. The durations are given in nanoseconds.
+ * <p>
+ * {@link ReaderMetrics} is a ready-made implementation collecting latency histograms and counters.
+ */
+public interface ReaderMetricsListener {
+
+    /**
+     * An APDU has been exchanged with the SE.
+     *
+     * @param readerName the name of the reader
+     * @param durationNanos the duration of the exchange (including a possible get response)
+     * @param statusCode the status word of the response
+     * @param successful true if the status word is one of the expected ones
+     */
+    void onApduProcessed(String readerName, long durationNanos, int statusCode,
+            boolean successful);
+
+    /**
+     * The exchange of an APDU failed (communication error, SE removed).
+     *
+     * @param readerName the name of the reader
+     * @param durationNanos the duration until the failure
+     */
+    void onApduFailed(String readerName, long durationNanos);
+
+    /**
+     * A transmission of SeRequest has been processed.
+     *
+     * @param readerName the name of the reader
+     * @param seRequestCount the number of SeRequest transmitted together (1 for transmit, the size
+     *        of the set for transmitSet)
+     * @param durationNanos the duration of the transmission
+     * @param successful false if the transmission ended with an exception
+     */
+    void onSeRequestProcessed(String readerName, int seRequestCount, long durationNanos,
+            boolean successful);
+
+    /**
+     * A selection (ATR filtering and/or application selection) has been processed.
+     *
+     * @param readerName the name of the reader
+     * @param durationNanos the duration of the selection
+     * @param matched true if the SE matched the selector
+     */
+    void onSelectionProcessed(String readerName, long durationNanos, boolean matched);
+
+    /**
+     * A logical channel has been opened (successful selection).
+     *
+     * @param readerName the name of the reader
+     */
+    void onLogicalChannelOpened(String readerName);
+
+    /**
+     * The logical channel has been closed.
+     *
+     * @param readerName the name of the reader
+     */
+    void onLogicalChannelClosed(String readerName);
+
+    /**
+     * The physical channel has been opened.
+     *
+     * @param readerName the name of the reader
+     */
+    void onPhysicalChannelOpened(String readerName);
+
+    /**
+     * The physical channel has been closed.
+     *
+     * @param readerName the name of the reader
+     */
+    void onPhysicalChannelClosed(String readerName);
+}
@@ -38,6 +38,8 @@ public abstract class AbstractPlugin extends Observable<PluginEvent>
 
     /**
      * The list of readers
+     * <p>
+     * The set returned by initNativeReaders is replaced by a set indexed by reader name.
      */
     protected SortedSet<SeReader> readers = null;
 
@@ -55,7 +57,10 @@ public abstract class AbstractPlugin extends Observable<PluginEvent>
         this.name = name;
 
         try {
-            readers = initNativeReaders();
+            SortedSet<SeReader> nativeReaders = initNativeReaders();
+            if (nativeReaders != null) {
+                readers = new IndexedReaderSet(nativeReaders);
+            }
         } catch (KeypleReaderException e) {
             throw new KeypleRuntimeException("Could not instantiate readers in plugin constructor",
                     e);
@@ -94,10 +99,13 @@ public abstract class AbstractPlugin extends Observable<PluginEvent>
      *
      * The list of names is built from the current readers list
      *
-     * @return a list of String
+     * @return a list of String (immutable, it is not updated when the readers list changes)
      */
     @Override
     public final SortedSet<String> getReaderNames() {
+        if (readers instanceof IndexedReaderSet) {
+            return ((IndexedReaderSet) readers).getNames();
+        }
         SortedSet<String> readerNames = new ConcurrentSkipListSet<String>();
         for (SeReader reader : readers) {
             readerNames.add(reader.getName());
@@ -141,6 +149,14 @@ public abstract class AbstractPlugin extends Observable<PluginEvent>
      */
     @Override
     public final SeReader getReader(String name) throws KeypleReaderNotFoundException {
+        if (readers instanceof IndexedReaderSet) {
+            SeReader reader = ((IndexedReaderSet) readers).get(name);
+            if (reader == null) {
+                throw new KeypleReaderNotFoundException(name);
+            }
+            return reader;
+        }
+        /* the readers list has been replaced by the plugin */
         for (SeReader reader : readers) {
             if (reader.getName().equals(name)) {
                 return reader;
@@ -176,6 +192,22 @@ public abstract class AbstractPlugin extends Observable<PluginEvent>
         super.removeObserver(observer);
     }
 
+    /**
+     * Get the statistics of the asynchronous delivery of the plugin events to an observer.
+     * <p>
+     * This class does not implement {@link ObservablePlugin} itself: the method is declared by that
+     * interface, the observable plugins (e.g. StubPlugin, PcscPlugin) get it from here, and the
+     * application reaches it through ObservablePlugin.
+     *
+     * @param observer the observer
+     * @return a snapshot of the statistics, null if the observer is not registered or if the events
+     *         are delivered synchronously
+     * @see ObservablePlugin#setAsynchronousDelivery
+     */
+    public Observable.DeliveryStats getDeliveryStats(ObservablePlugin.PluginObserver observer) {
+        return super.getDeliveryStats(observer);
+    }
+
     /**
      * This method shall be called only from a SE Proxy plugin implementing AbstractPlugin. Push a
      * PluginEvent of the selected AbstractPlugin to its registered Observer.
@@ -19,6 +19,7 @@ import java.util.Set;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader.ReaderObserver;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.KeypleBaseException;
@@ -28,6 +29,7 @@ import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.message.ProxyReader;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetricsListener;
 import org.eclipse.keyple.core.util.Configurable;
 import org.eclipse.keyple.core.util.Nameable;
 import org.eclipse.keyple.core.util.Observable;
@@ -39,6 +41,7 @@ import org.slf4j.LoggerFactory;
  * Abstract definition of an observable reader.
  * <ul>
  * <li>High level logging and benchmarking of Set of SeRequest and SeRequest transmission</li>
+ * <li>Measurements reported to an optional {@link ReaderMetricsListener}</li>
  * <li>Observability management</li>
  * <li>Name-based comparison of ProxyReader (required for SortedSet&lt;ProxyReader&gt;)</li>
  * <li>Plugin naming management</li>
@@ -51,9 +54,6 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
     /** logger */
     private static final Logger logger = LoggerFactory.getLogger(AbstractReader.class);
 
-    /** Timestamp recorder */
-    private long before;
-
     /** Contains the name of the plugin */
     protected final String pluginName;
 
@@ -69,12 +69,13 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
      */
     private boolean forceClosing = true;
 
+    /** Receives the measurements of the transmission path, null when not measured */
+    private volatile ReaderMetricsListener metricsListener;
+
     /* ==== Constructor =================================================== */
 
     /**
      * Reader constructor
-     * <p>
-     * Initialize the time measurement
      *
      * @param pluginName the name of the plugin that instantiated the reader
      * @param name the name of the reader
@@ -82,11 +83,6 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
     protected AbstractReader(String pluginName, String name) {
         this.name = name;
         this.pluginName = pluginName;
-        this.before = System.nanoTime(); /*
-                                          * provides an initial value for measuring the
-                                          * inter-exchange time. The first measurement gives the
-                                          * time elapsed since the plugin was loaded.
-                                          */
     }
 
     /* ==== Utility methods =============================================== */
@@ -152,6 +148,29 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
     public final List<SeResponse> transmitSet(Set<SeRequest> requestSet,
             MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl)
             throws KeypleReaderException {
+        return transmitSet(requestSet, multiSeRequestProcessing, channelControl,
+                SelectionOrdering.DECLARED);
+    }
+
+    /**
+     * Version of transmitSet trying the requests in the order defined by the
+     * {@link SelectionOrdering}.
+     * <p>
+     * Not part of {@link ProxyReader}: {@link org.eclipse.keyple.core.selection.SeSelection} uses
+     * it when the reader is an AbstractReader. The responses are returned in the order of the
+     * request set, a request that has not been processed (e.g. because another one matched first)
+     * gets a null response.
+     *
+     * @param requestSet the request set
+     * @param multiSeRequestProcessing the multi SE request processing mode
+     * @param channelControl the channel control indicator
+     * @param selectionOrdering the order in which the requests are tried
+     * @return the response set, in the order of the request set
+     * @throws KeypleReaderException if a reader error occurs
+     */
+    public final List<SeResponse> transmitSet(Set<SeRequest> requestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl,
+            SelectionOrdering selectionOrdering) throws KeypleReaderException {
         if (requestSet == null) {
             throw new IllegalArgumentException("seRequestSet must not be null");
         }
@@ -161,40 +180,35 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
 
         List<SeResponse> responseSet;
 
+        ReaderMetricsListener listener = metricsListener;
+        long start = listener != null ? System.nanoTime() : 0;
+        boolean successful = false;
+
         if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SEREQUESTSET = {}, elapsed {} ms.", this.getName(),
-                    requestSet, elapsedMs);
+            logger.debug("[{}] transmit => SEREQUESTSET = {}", this.getName(), requestSet);
         }
 
         try {
-            responseSet = processSeRequestSet(requestSet, multiSeRequestProcessing, channelControl);
+            responseSet = processSeRequestSet(requestSet, multiSeRequestProcessing, channelControl,
+                    selectionOrdering);
+            successful = true;
         } catch (KeypleChannelControlException ex) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SEREQUESTSET channel failure. elapsed {}",
-                    this.getName(), elapsedMs);
+            logger.debug("[{}] transmit => SEREQUESTSET channel failure", this.getName());
             /* Throw an exception with the responses collected so far. */
             throw ex;
         } catch (KeypleIOReaderException ex) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SEREQUESTSET IO failure. elapsed {}", this.getName(),
-                    elapsedMs);
+            logger.debug("[{}] transmit => SEREQUESTSET IO failure", this.getName());
             /* Throw an exception with the responses collected so far. */
             throw ex;
+        } finally {
+            if (listener != null) {
+                listener.onSeRequestProcessed(name, requestSet.size(), System.nanoTime() - start,
+                        successful);
+            }
         }
 
         if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SERESPONSESET = {}, elapsed {} ms.", this.getName(),
-                    responseSet, elapsedMs);
+            logger.debug("[{}] transmit => SERESPONSESET = {}", this.getName(), responseSet);
         }
 
         return responseSet;
@@ -229,11 +243,30 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
             MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl)
             throws KeypleReaderException;
 
+    /**
+     * Version of processSeRequestSet with a {@link SelectionOrdering}.
+     * <p>
+     * Readers keeping no selection statistics (e.g. remote readers) process the requests in the
+     * declared order.
+     *
+     * @param requestSet the Set of {@link SeRequest} to be processed
+     * @param multiSeRequestProcessing the multi se processing mode
+     * @param channelControl indicates if the channel has to be closed at the end of the processing
+     * @param selectionOrdering the order in which the requests are tried
+     * @return the List of {@link SeResponse} (responses to the Set of {@link SeRequest})
+     * @throws KeypleReaderException if reader error occurs
+     */
+    protected List<SeResponse> processSeRequestSet(Set<SeRequest> requestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl,
+            SelectionOrdering selectionOrdering) throws KeypleReaderException {
+        return processSeRequestSet(requestSet, multiSeRequestProcessing, channelControl);
+    }
+
     /**
      * Execute the transmission of a {@link SeRequest} and returns a {@link SeResponse}
      * <p>
-     * The individual execution time (inter-exchange and communication) and the {@link SeRequest}
-     * content is logged (DEBUG level).
+     * The {@link SeRequest} content is logged (DEBUG level), the execution time is reported to the
+     * {@link ReaderMetricsListener} when one is set.
      * <p>
      * As the method is final, it cannot be extended.
      *
@@ -254,40 +287,33 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
 
         SeResponse seResponse;
 
+        ReaderMetricsListener listener = metricsListener;
+        long start = listener != null ? System.nanoTime() : 0;
+        boolean successful = false;
+
         if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SEREQUEST = {}, elapsed {} ms.", this.getName(),
-                    seRequest, elapsedMs);
+            logger.debug("[{}] transmit => SEREQUEST = {}", this.getName(), seRequest);
         }
 
         try {
             seResponse = processSeRequest(seRequest, channelControl);
+            successful = true;
         } catch (KeypleChannelControlException ex) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SEREQUEST channel failure. elapsed {}", this.getName(),
-                    elapsedMs);
+            logger.debug("[{}] transmit => SEREQUEST channel failure", this.getName());
             /* Throw an exception with the responses collected so far (ex.getSeResponse()). */
             throw ex;
         } catch (KeypleIOReaderException ex) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SEREQUEST IO failure. elapsed {}", this.getName(),
-                    elapsedMs);
+            logger.debug("[{}] transmit => SEREQUEST IO failure", this.getName());
             /* Throw an exception with the responses collected so far (ex.getSeResponse()). */
             throw ex;
+        } finally {
+            if (listener != null) {
+                listener.onSeRequestProcessed(name, 1, System.nanoTime() - start, successful);
+            }
         }
 
         if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] transmit => SERESPONSE = {}, elapsed {} ms.", this.getName(),
-                    seResponse, elapsedMs);
+            logger.debug("[{}] transmit => SERESPONSE = {}", this.getName(), seResponse);
         }
 
         return seResponse;
@@ -319,6 +345,28 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
     protected abstract SeResponse processSeRequest(SeRequest seRequest,
             ChannelControl channelControl) throws KeypleReaderException;
 
+    /* ==== Measurements ================================================== */
+
+    /**
+     * Sets the listener receiving the measurements made on the transmission path of this reader
+     * (APDU, SeRequest and selection durations, status words, channel openings and closings).
+     * <p>
+     * No measurement is made while no listener is set. Not part of {@link ProxyReader}: the readers
+     * of the plugins built on this class are cast to AbstractReader to be measured.
+     *
+     * @param metricsListener the listener, null to stop the measurements
+     */
+    public final void setMetricsListener(ReaderMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * @return the listener receiving the measurements, null if none
+     */
+    public final ReaderMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
     /* ==== Methods specific to observability ============================= */
 
     /**
@@ -357,6 +405,22 @@ public abstract class AbstractReader extends Observable<ReaderEvent>
         super.removeObserver(observer);
     }
 
+    /**
+     * Get the statistics of the asynchronous delivery of the reader events to an observer.
+     * <p>
+     * This class does not implement {@link org.eclipse.keyple.core.seproxy.event.ObservableReader}
+     * itself: the method is declared by that interface, the observable readers (e.g. StubReader,
+     * PcscReader) get it from here, and the application reaches it through ObservableReader.
+     *
+     * @param observer the observer
+     * @return a snapshot of the statistics, null if the observer is not registered or if the events
+     *         are delivered synchronously
+     * @see org.eclipse.keyple.core.seproxy.event.ObservableReader#setAsynchronousDelivery
+     */
+    public Observable.DeliveryStats getDeliveryStats(ReaderObserver observer) {
+        return super.getDeliveryStats(observer);
+    }
+
     @Override
     public final void notifyObservers(final ReaderEvent event) {
 
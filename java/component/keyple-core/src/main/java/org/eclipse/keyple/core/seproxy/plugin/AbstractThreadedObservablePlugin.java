@@ -109,6 +109,26 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractPlugin {
         }
     }
 
+    /**
+     * Sets the delays between two fetches of the reader list. An adaptive strategy polls quickly
+     * after a reader connection or disconnection and slows down while the list is unchanged.
+     * <p>
+     * The strategy is taken into account when the monitoring thread starts.
+     *
+     * @param pollingStrategy the strategy, null to restore the default fixed delay
+     */
+    public void setPollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
+    }
+
+    /**
+     * @return the strategy of the reader list polling
+     */
+    public PollingStrategy getPollingStrategy() {
+        PollingStrategy strategy = pollingStrategy;
+        return strategy != null ? strategy : PollingStrategy.fixed(threadWaitTimeout);
+    }
+
     /**
      * Check weither the background job is monitoring for new readers
      * 
@@ -133,6 +153,11 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractPlugin {
      */
     protected long threadWaitTimeout = SETTING_THREAD_TIMEOUT_DEFAULT;
 
+    /**
+     * Strategy of the reader list polling, null to poll every threadWaitTimeout
+     */
+    private volatile PollingStrategy pollingStrategy;
+
     /**
      * List of names of the physical (native) connected readers This list helps synchronizing
      * physical readers managed by third-party library such as smardcard.io and the list of keyple
@@ -167,6 +192,7 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractPlugin {
         @Override
         public void run() {
             SortedSet<String> changedReaderNames = new ConcurrentSkipListSet<String>();
+            PollingStrategy.Interval interval = getPollingStrategy().newInterval();
             try {
                 while (running) {
                     /* retrieves the current readers names list */
@@ -176,6 +202,8 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractPlugin {
                      * checks if it has changed this algorithm favors cases where nothing change
                      */
                     if (!nativeReadersNames.equals(actualNativeReadersNames)) {
+                        /* poll quickly again after a change */
+                        interval.reset();
                         /*
                          * parse the current readers list, notify for disappeared readers, update
                          * readers list
@@ -242,7 +270,7 @@ public abstract class AbstractThreadedObservablePlugin extends AbstractPlugin {
                         }
                     }
                     /* sleep for a while. */
-                    Thread.sleep(threadWaitTimeout);
+                    Thread.sleep(interval.next());
                 }
             } catch (InterruptedException e) {
                 logger.warn("[{}] An exception occurred while monitoring plugin: {}, cause {}",
@@ -0,0 +1,188 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.keyple.core.seproxy.SeReader;
+
+/**
+ * Readers list of a plugin, indexed by reader name.
+ * <p>
+ * Lookups by name and iterations take no lock: the readers are iterated from an immutable snapshot
+ * rebuilt on each change (readers are seldom plugged or unplugged, often looked up). A reader may
+ * therefore be removed while iterating over the list.
+ * <p>
+ * As in the sorted set it replaces, readers are ordered and identified by their name.
+ */
+final class IndexedReaderSet extends AbstractSet<SeReader> implements SortedSet<SeReader> {
+
+    private final ConcurrentMap<String, SeReader> readersByName =
+            new ConcurrentHashMap<String, SeReader>();
+
+    /** readers sorted by name, replaced on each change */
+    private volatile SortedSet<SeReader> snapshot =
+            Collections.unmodifiableSortedSet(new TreeSet<SeReader>());
+
+    /** reader names sorted, replaced on each change */
+    private volatile SortedSet<String> names =
+            Collections.unmodifiableSortedSet(new TreeSet<String>());
+
+    IndexedReaderSet(Collection<? extends SeReader> readers) {
+        addAll(readers);
+    }
+
+    /**
+     * Gets a reader by its name
+     *
+     * @param name the reader name
+     * @return the reader, null if not found
+     */
+    SeReader get(String name) {
+        return name == null ? null : readersByName.get(name);
+    }
+
+    /**
+     * @return the sorted reader names, the returned set is immutable
+     */
+    SortedSet<String> getNames() {
+        return names;
+    }
+
+    @Override
+    public synchronized boolean add(SeReader reader) {
+        if (readersByName.putIfAbsent(reader.getName(), reader) != null) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends SeReader> readers) {
+        boolean changed = false;
+        for (SeReader reader : readers) {
+            changed |= readersByName.putIfAbsent(reader.getName(), reader) == null;
+        }
+        if (changed) {
+            refresh();
+        }
+        return changed;
+    }
+
+    @Override
+    public synchronized boolean remove(Object o) {
+        if (!(o instanceof SeReader) || readersByName.remove(((SeReader) o).getName()) == null) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (Object o : c) {
+            changed |= o instanceof SeReader
+                    && readersByName.remove(((SeReader) o).getName()) != null;
+        }
+        if (changed) {
+            refresh();
+        }
+        return changed;
+    }
+
+    @Override
+    public synchronized void clear() {
+        readersByName.clear();
+        refresh();
+    }
+
+    private void refresh() {
+        snapshot = Collections.unmodifiableSortedSet(new TreeSet<SeReader>(readersByName.values()));
+        names = Collections.unmodifiableSortedSet(new TreeSet<String>(readersByName.keySet()));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof SeReader && readersByName.containsKey(((SeReader) o).getName());
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Iterates over the readers present when the iteration starts
+     */
+    @Override
+    public Iterator<SeReader> iterator() {
+        final Iterator<SeReader> iterator = snapshot.iterator();
+        return new Iterator<SeReader>() {
+            private SeReader current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public SeReader next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                if (current == null) {
+                    throw new IllegalStateException();
+                }
+                IndexedReaderSet.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super SeReader> comparator() {
+        return null;
+    }
+
+    /* the views are immutable, taken from the current snapshot */
+
+    @Override
+    public SortedSet<SeReader> subSet(SeReader fromElement, SeReader toElement) {
+        return snapshot.subSet(fromElement, toElement);
+    }
+
+    @Override
+    public SortedSet<SeReader> headSet(SeReader toElement) {
+        return snapshot.headSet(toElement);
+    }
+
+    @Override
+    public SortedSet<SeReader> tailSet(SeReader fromElement) {
+        return snapshot.tailSet(fromElement);
+    }
+
+    @Override
+    public SeReader first() {
+        return snapshot.first();
+    }
+
+    @Override
+    public SeReader last() {
+        return snapshot.last();
+    }
+}
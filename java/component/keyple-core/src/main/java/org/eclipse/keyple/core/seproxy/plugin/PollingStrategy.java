@@ -0,0 +1,117 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin;
+
+/**
+ * Defines the delays between the successive hits of a polling loop (SE presence, reader list).
+ * <p>
+ * An adaptive strategy polls quickly when the loop starts or when an event has just occurred, then
+ * increases the delay exponentially while nothing happens, up to a ceiling. A fixed strategy always
+ * waits the same delay.
+ * <p>
+ * A strategy is immutable and may be shared; each polling loop gets its own {@link Interval}.
+ */
+public final class PollingStrategy {
+
+    private final long minPeriod;
+    private final long maxPeriod;
+    private final double backoffFactor;
+
+    private PollingStrategy(long minPeriod, long maxPeriod, double backoffFactor) {
+        this.minPeriod = minPeriod;
+        this.maxPeriod = maxPeriod;
+        this.backoffFactor = backoffFactor;
+    }
+
+    /**
+     * Create a strategy polling with a constant delay
+     *
+     * @param period the delay between two hits in milliseconds
+     * @return the strategy
+     */
+    public static PollingStrategy fixed(long period) {
+        return adaptive(period, period, 1);
+    }
+
+    /**
+     * Create a strategy increasing the delay between two hits while no event occurs
+     *
+     * @param minPeriod the first delay in milliseconds, used again after an event
+     * @param maxPeriod the ceiling of the delay in milliseconds
+     * @param backoffFactor the factor applied to the delay after each hit without event
+     * @return the strategy
+     * @throws IllegalArgumentException if the parameters are inconsistent
+     */
+    public static PollingStrategy adaptive(long minPeriod, long maxPeriod, double backoffFactor) {
+        if (minPeriod < 0 || maxPeriod < minPeriod) {
+            throw new IllegalArgumentException(
+                    "Bad polling periods: min = " + minPeriod + ", max = " + maxPeriod);
+        }
+        if (backoffFactor < 1) {
+            throw new IllegalArgumentException("Bad backoff factor: " + backoffFactor);
+        }
+        return new PollingStrategy(minPeriod, maxPeriod, backoffFactor);
+    }
+
+    public long getMinPeriod() {
+        return minPeriod;
+    }
+
+    public long getMaxPeriod() {
+        return maxPeriod;
+    }
+
+    public double getBackoffFactor() {
+        return backoffFactor;
+    }
+
+    /**
+     * @return a new interval sequence starting with the minimum delay
+     */
+    public Interval newInterval() {
+        return new Interval();
+    }
+
+    @Override
+    public String toString() {
+        return "PollingStrategy{MIN = " + minPeriod + " ms, MAX = " + maxPeriod + " ms, FACTOR = "
+                + backoffFactor + "}";
+    }
+
+    /**
+     * The sequence of delays of a polling loop
+     */
+    public final class Interval {
+        private long currentPeriod = minPeriod;
+
+        private Interval() {}
+
+        /**
+         * Gets the delay to wait before the next hit and increases the following one.
+         *
+         * @return the delay in milliseconds
+         */
+        public long next() {
+            long period = currentPeriod;
+            currentPeriod = Math.min(maxPeriod,
+                    Math.max(currentPeriod + 1, (long) (currentPeriod * backoffFactor)));
+            return period;
+        }
+
+        /**
+         * Restart the sequence from the minimum delay, to be called when an event occurs.
+         */
+        public void reset() {
+            currentPeriod = minPeriod;
+        }
+    }
+}
@@ -12,12 +12,16 @@
 package org.eclipse.keyple.core.seproxy.plugin.local;
 
 import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.exception.*;
 import org.eclipse.keyple.core.seproxy.message.*;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetricsListener;
 import org.eclipse.keyple.core.seproxy.plugin.AbstractReader;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -38,6 +42,9 @@ public abstract class AbstractLocalReader extends AbstractReader {
     /** predefined "get response" byte array */
     private static final byte[] getResponseHackRequestBytes = ByteArrayUtil.fromHex("00C0000000");
 
+    /** predefined "get data" byte array (P2: 0x6F FCI for the current DF) */
+    private static final byte[] getDataFciRequestBytes = ByteArrayUtil.fromHex("00CA006F00");
+
     /** logical channel status flag */
     private boolean logicalChannelIsOpen = false;
 
@@ -47,8 +54,13 @@ public abstract class AbstractLocalReader extends AbstractReader {
     /** current selection status */
     private SelectionStatus currentSelectionStatus;
 
-    /** Timestamp recorder */
-    private long before;
+    /** last select application command, reused while the same AID selector is used */
+    private byte[] selectApplicationCommand;
+    private SeSelector.AidSelector selectApplicationAidSelector;
+
+    /** ATR of the current physical channel and its hex form, converted once per channel */
+    private byte[] currentAtr;
+    private String currentAtrHex;
 
     /** ==== Constructor =================================================== */
 
@@ -56,19 +68,12 @@ public abstract class AbstractLocalReader extends AbstractReader {
      * Reader constructor
      * <p>
      * Force the definition of a name through the use of super method.
-     * <p>
-     * Initialize the time measurement
      *
      * @param pluginName the name of the plugin that instantiated the reader
      * @param readerName the name of the reader
      */
     public AbstractLocalReader(String pluginName, String readerName) {
         super(pluginName, readerName);
-        this.before = System.nanoTime(); /*
-                                          * provides an initial value for measuring the
-                                          * inter-exchange time. The first measurement gives the
-                                          * time elapsed since the plugin was loaded.
-                                          */
     }
 
     /** ==== Card presence management ====================================== */
@@ -110,7 +115,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
     protected void closeLogicalAndPhysicalChannels() {
         closeLogicalChannel();
         try {
-            closePhysicalChannel();
+            closePhysicalChannelAndReport();
         } catch (KeypleChannelControlException e) {
             logger.debug("[{}] Exception occurred in closeLogicalAndPhysicalChannels. Message: {}",
                     this.getName(), e.getMessage());
@@ -127,6 +132,29 @@ public abstract class AbstractLocalReader extends AbstractReader {
      */
     protected abstract byte[] getATR();
 
+    /**
+     * Gets the SE Answer to reset as an hex string.
+     * <p>
+     * The conversion is done once for the current physical channel: the ATR is checked against
+     * several filters and protocol rules during a selection.
+     *
+     * @return the ATR hex string, null if no ATR is available
+     */
+    protected final String getAtrHex() {
+        return toAtrHex(getATR());
+    }
+
+    private String toAtrHex(byte[] atr) {
+        if (atr == null) {
+            return null;
+        }
+        if (!Arrays.equals(atr, currentAtr)) {
+            currentAtrHex = ByteArrayUtil.toHex(atr);
+            currentAtr = atr;
+        }
+        return currentAtrHex;
+    }
+
     /** ==== Physical and logical channels management ====================== */
     /* Selection management */
 
@@ -141,14 +169,12 @@ public abstract class AbstractLocalReader extends AbstractReader {
     private ApduResponse recoverSelectionFciData(SeSelector.AidSelector aidSelector)
             throws KeypleIOReaderException {
         ApduResponse fciResponse;
-        // Get Data APDU: CLA, INS, P1: always 0, P2: 0x6F FCI for the current DF, LC: 0
-        byte[] getDataCommand = {(byte) 0x00, (byte) 0xCA, (byte) 0x00, (byte) 0x6F, (byte) 0x00};
 
         /*
          * The successful status codes list for this command is provided.
          */
-        fciResponse = processApduRequest(new ApduRequest("Internal Get Data", getDataCommand, false,
-                aidSelector.getSuccessfulSelectionStatusCodes()));
+        fciResponse = processApduRequest(new ApduRequest("Internal Get Data",
+                getDataFciRequestBytes, false, aidSelector.getSuccessfulSelectionStatusCodes()));
 
         if (!fciResponse.isSuccessful()) {
             logger.debug("[{}] selectionGetData => Get data failed. SELECTOR = {}", this.getName(),
@@ -179,18 +205,24 @@ public abstract class AbstractLocalReader extends AbstractReader {
         /*
          * build a get response command the actual length expected by the SE in the get response
          * command is handled in transmitApdu
+         *
+         * the command is built again only when the AID selector changes (the same selector is
+         * usually presented to each new SE)
          */
-        byte[] selectApplicationCommand = new byte[6 + aid.length];
-        selectApplicationCommand[0] = (byte) 0x00; // CLA
-        selectApplicationCommand[1] = (byte) 0xA4; // INS
-        selectApplicationCommand[2] = (byte) 0x04; // P1: select by name
-        // P2: b0,b1 define the File occurrence, b2,b3 define the File control information
-        // we use the bitmask defined in the respective enums
-        selectApplicationCommand[3] = (byte) (aidSelector.getFileOccurrence().getIsoBitMask()
-                | aidSelector.getFileControlInformation().getIsoBitMask());
-        selectApplicationCommand[4] = (byte) (aid.length); // Lc
-        System.arraycopy(aid, 0, selectApplicationCommand, 5, aid.length); // data
-        selectApplicationCommand[5 + aid.length] = (byte) 0x00; // Le
+        if (aidSelector != selectApplicationAidSelector) {
+            selectApplicationCommand = new byte[6 + aid.length];
+            selectApplicationCommand[0] = (byte) 0x00; // CLA
+            selectApplicationCommand[1] = (byte) 0xA4; // INS
+            selectApplicationCommand[2] = (byte) 0x04; // P1: select by name
+            // P2: b0,b1 define the File occurrence, b2,b3 define the File control information
+            // we use the bitmask defined in the respective enums
+            selectApplicationCommand[3] = (byte) (aidSelector.getFileOccurrence().getIsoBitMask()
+                    | aidSelector.getFileControlInformation().getIsoBitMask());
+            selectApplicationCommand[4] = (byte) (aid.length); // Lc
+            System.arraycopy(aid, 0, selectApplicationCommand, 5, aid.length); // data
+            selectApplicationCommand[5 + aid.length] = (byte) 0x00; // Le
+            selectApplicationAidSelector = aidSelector;
+        }
 
         /*
          * we use here processApduRequest to manage case 4 hack. The successful status codes list
@@ -242,16 +274,11 @@ public abstract class AbstractLocalReader extends AbstractReader {
                 throw new KeypleIOReaderException("Didn't get an ATR from the SE.");
             }
 
-            if (logger.isDebugEnabled()) {
-                logger.debug("[{}] openLogicalChannel => ATR = {}", this.getName(),
-                        ByteArrayUtil.toHex(atr));
-            }
-            if (!seSelector.getAtrFilter().atrMatches(atr)) {
-                if (logger.isInfoEnabled()) {
-                    logger.info(
-                            "[{}] openLogicalChannel => ATR didn't match. SELECTOR = {}, ATR = {}",
-                            this.getName(), seSelector, ByteArrayUtil.toHex(atr));
-                }
+            String atrHex = toAtrHex(atr);
+            logger.debug("[{}] openLogicalChannel => ATR = {}", this.getName(), atrHex);
+            if (!seSelector.getAtrFilter().atrMatches(atrHex)) {
+                logger.info("[{}] openLogicalChannel => ATR didn't match. SELECTOR = {}, ATR = {}",
+                        this.getName(), seSelector, atrHex);
                 selectionHasMatched = false;
             }
         }
@@ -270,7 +297,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
                 fciResponse = processExplicitAidSelection(seSelector.getAidSelector());
             }
 
-            if (fciResponse.isSuccessful() && fciResponse.getDataOut().length == 0) {
+            if (fciResponse.isSuccessful() && fciResponse.getDataLength() == 0) {
                 /**
                  * The selection didn't provide data (e.g. OMAPI), we get the FCI using a Get Data
                  * command.
@@ -335,7 +362,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
              * channel
              */
             if (!isPhysicalChannelOpen()) {
-                openPhysicalChannel();
+                openPhysicalChannelAndReport();
             }
             if (!isPhysicalChannelOpen()) {
                 throw new KeypleChannelControlException("Fail to open physical channel.");
@@ -372,6 +399,44 @@ public abstract class AbstractLocalReader extends AbstractReader {
      */
     protected abstract boolean isPhysicalChannelOpen();
 
+    /**
+     * Opens the physical channel and reports the opening to the metrics listener if any.
+     * <p>
+     * The plugins opening the physical channel by themselves (ATR based protocol filtering for
+     * example) must use this method instead of {@link #openPhysicalChannel()}.
+     *
+     * @throws KeypleChannelControlException if the channel opening fails
+     */
+    protected final void openPhysicalChannelAndReport() throws KeypleChannelControlException {
+        openPhysicalChannel();
+        if (getMetricsListener() != null && isPhysicalChannelOpen()) {
+            getMetricsListener().onPhysicalChannelOpened(getName());
+        }
+    }
+
+    /**
+     * Closes the physical channel and reports the closing to the metrics listener if any.
+     * <p>
+     * The plugins closing the physical channel by themselves must use this method instead of
+     * {@link #closePhysicalChannel()}.
+     *
+     * @throws KeypleChannelControlException if a reader error occurs
+     */
+    protected final void closePhysicalChannelAndReport() throws KeypleChannelControlException {
+        currentAtr = null;
+        currentAtrHex = null;
+        ReaderMetricsListener listener = getMetricsListener();
+        if (listener == null) {
+            closePhysicalChannel();
+            return;
+        }
+        boolean wasOpen = isPhysicalChannelOpen();
+        closePhysicalChannel();
+        if (wasOpen && !isPhysicalChannelOpen()) {
+            listener.onPhysicalChannelClosed(getName());
+        }
+    }
+
     /**
      * Tells if a logical channel is open
      *
@@ -386,6 +451,9 @@ public abstract class AbstractLocalReader extends AbstractReader {
      */
     private void closeLogicalChannel() {
         logger.trace("[{}] closeLogicalChannel => Closing of the logical channel.", this.getName());
+        if (logicalChannelIsOpen && getMetricsListener() != null) {
+            getMetricsListener().onLogicalChannelClosed(getName());
+        }
         logicalChannelIsOpen = false;
         aidCurrentlySelected = null;
         currentSelectionStatus = null;
@@ -402,6 +470,11 @@ public abstract class AbstractLocalReader extends AbstractReader {
      */
     protected final Map<SeProtocol, String> protocolsMap = new HashMap<SeProtocol, String>();
 
+    /**
+     * Protocol rules of the protocolsMap compiled as regular expressions
+     */
+    private final Map<SeProtocol, Pattern> protocolPatterns = new HashMap<SeProtocol, Pattern>();
+
     /**
      * Defines the protocol setting Map to allow SE to be differentiated according to their
      * communication protocol.
@@ -412,6 +485,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
     @Override
     public void addSeProtocolSetting(SeProtocol seProtocol, String protocolRule) {
         this.protocolsMap.put(seProtocol, protocolRule);
+        compileProtocolRule(seProtocol, protocolRule);
     }
 
     /**
@@ -422,6 +496,51 @@ public abstract class AbstractLocalReader extends AbstractReader {
     @Override
     public void setSeProtocolSetting(Map<SeProtocol, String> protocolSetting) {
         this.protocolsMap.putAll(protocolSetting);
+        for (Map.Entry<SeProtocol, String> entry : protocolSetting.entrySet()) {
+            compileProtocolRule(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Compiles a protocol rule ahead of the selections
+     * <p>
+     * Rules that are not regular expressions (e.g. technology names) are left as is, the reader
+     * plugin interprets them.
+     */
+    private void compileProtocolRule(SeProtocol seProtocol, String protocolRule) {
+        protocolPatterns.remove(seProtocol);
+        if (protocolRule != null) {
+            try {
+                protocolPatterns.put(seProtocol, Pattern.compile(protocolRule));
+            } catch (PatternSyntaxException e) {
+                logger.trace("[{}] Protocol rule {} is not a regular expression", this.getName(),
+                        protocolRule);
+            }
+        }
+    }
+
+    /**
+     * Gets the rule associated with a protocol in the protocolsMap compiled as a regular
+     * expression, for the reader plugins using regular expressions (e.g. ATR regex for Pcsc
+     * plugins).
+     * <p>
+     * The rule is compiled when the protocol setting is defined.
+     *
+     * @param seProtocol the protocol flag
+     * @return the compiled rule, null if the protocol is not defined in the protocolsMap
+     */
+    protected final Pattern getProtocolPattern(SeProtocol seProtocol) {
+        String protocolRule = protocolsMap.get(seProtocol);
+        if (protocolRule == null) {
+            return null;
+        }
+        Pattern pattern = protocolPatterns.get(seProtocol);
+        /* the protocolsMap may also have been modified directly by the plugin */
+        if (pattern == null || !pattern.pattern().equals(protocolRule)) {
+            pattern = Pattern.compile(protocolRule);
+            protocolPatterns.put(seProtocol, pattern);
+        }
+        return pattern;
     }
 
     /**
@@ -460,22 +579,53 @@ public abstract class AbstractLocalReader extends AbstractReader {
     protected final List<SeResponse> processSeRequestSet(Set<SeRequest> requestSet,
             MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl)
             throws KeypleReaderException {
+        return processSeRequestSet(requestSet, multiSeRequestProcessing, channelControl,
+                SelectionOrdering.DECLARED);
+    }
 
-        boolean[] requestMatchesProtocol = new boolean[requestSet.size()];
-        int requestIndex = 0;
-        int lastRequestIndex;
+    /**
+     * Version of processSeRequestSet trying the requests in the order defined by the
+     * {@link SelectionOrdering}.
+     * <p>
+     * The responses are always returned in the order of the request set: the requests that have
+     * not been processed before the first match get a null response.
+     *
+     * @param requestSet the request set
+     * @param multiSeRequestProcessing the multi se processing mode
+     * @param channelControl indicates if the channel has to be closed at the end of the processing
+     * @param selectionOrdering the order in which the requests are tried
+     * @return the response list
+     * @throws KeypleIOReaderException if a reader error occurs
+     */
+    @Override
+    protected final List<SeResponse> processSeRequestSet(Set<SeRequest> requestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl,
+            SelectionOrdering selectionOrdering) throws KeypleReaderException {
 
-        // Determine which requests are matching the current ATR
-        // All requests without selector are considered matching
-        for (SeRequest request : requestSet) {
-            SeSelector seSelector = request.getSeSelector();
+        List<SeRequest> requests = new ArrayList<SeRequest>(requestSet);
+        boolean[] requestMatchesProtocol = new boolean[requests.size()];
+
+        /*
+         * Determine which requests are matching the current ATR. All requests without selector are
+         * considered matching.
+         *
+         * The selections of a set usually share a few protocols: each protocol is checked only once
+         * and its result applies to all the requests targeting it.
+         */
+        Map<SeProtocol, Boolean> protocolMatches = new HashMap<SeProtocol, Boolean>();
+        for (int requestIndex = 0; requestIndex < requests.size(); requestIndex++) {
+            SeSelector seSelector = requests.get(requestIndex).getSeSelector();
             if (seSelector != null) {
-                requestMatchesProtocol[requestIndex] =
-                        protocolFlagMatches(request.getSeSelector().getSeProtocol());
+                SeProtocol seProtocol = seSelector.getSeProtocol();
+                Boolean matches = protocolMatches.get(seProtocol);
+                if (matches == null) {
+                    matches = protocolFlagMatches(seProtocol);
+                    protocolMatches.put(seProtocol, matches);
+                }
+                requestMatchesProtocol[requestIndex] = matches;
             } else {
                 requestMatchesProtocol[requestIndex] = true;
             }
-            requestIndex++;
         }
 
         /*
@@ -483,8 +633,8 @@ public abstract class AbstractLocalReader extends AbstractReader {
          * SE match or not
          */
 
-        lastRequestIndex = requestIndex;
-        requestIndex = 0;
+        boolean reorder = isReorderable(requests, multiSeRequestProcessing, selectionOrdering);
+        List<Integer> executionOrder = getExecutionOrder(requests, reorder, selectionOrdering);
 
         /*
          * The current requestSet is possibly made of several APDU command lists.
@@ -494,10 +644,15 @@ public abstract class AbstractLocalReader extends AbstractReader {
          * If the requestMatchesProtocol is false we skip to the next requestSet.
          *
          * If keepChannelOpen is false, we close the physical channel for the last request.
+         *
+         * The responses are placed at the index of their request in the set.
          */
-        List<SeResponse> responses = new ArrayList<SeResponse>();
+        SeResponse[] responses = new SeResponse[requests.size()];
+        int responseCount = 0;
         boolean stopProcess = false;
-        for (SeRequest request : requestSet) {
+        for (int position = 0; position < executionOrder.size(); position++) {
+            int requestIndex = executionOrder.get(position);
+            SeRequest request = requests.get(requestIndex);
 
             if (!stopProcess) {
                 if (requestMatchesProtocol[requestIndex]) {
@@ -512,15 +667,21 @@ public abstract class AbstractLocalReader extends AbstractReader {
                          * the responses collected so far.
                          */
                         /* Add the latest (and partial) SeResponse to the current list. */
-                        responses.add(ex.getSeResponse());
+                        responses[requestIndex] = ex.getSeResponse();
                         /* Build a List of SeResponse with the available data. */
-                        ex.setSeResponseSet(responses);
+                        List<SeResponse> collectedResponses = Arrays.asList(responses)
+                                .subList(0, Math.max(responseCount, requestIndex + 1));
+                        ex.setSeResponseSet(new ArrayList<SeResponse>(collectedResponses));
                         logger.debug(
                                 "[{}] processSeRequestSet => transmit : process interrupted, collect previous responses {}",
-                                this.getName(), responses);
+                                this.getName(), collectedResponses);
                         throw ex;
                     }
-                    responses.add(response);
+                    responses[requestIndex] = response;
+                    if (reorder && response != null && response.getSelectionStatus() != null
+                            && response.getSelectionStatus().hasMatched()) {
+                        recordSelectionMatch(request.getSeSelector());
+                    }
                     logger.debug("[{}] processSeRequestSet => receive {}", this.getName(),
                             response);
                 } else {
@@ -528,8 +689,9 @@ public abstract class AbstractLocalReader extends AbstractReader {
                      * in case the protocolFlag of a SeRequest doesn't match the reader status, a
                      * null SeResponse is added to the SeResponse List.
                      */
-                    responses.add(null);
+                    responses[requestIndex] = null;
                 }
+                responseCount = Math.max(responseCount, requestIndex + 1);
                 if (multiSeRequestProcessing == MultiSeRequestProcessing.PROCESS_ALL) {
                     // multi SeRequest case: just close the logical channel and go on with the next
                     // selection.
@@ -540,8 +702,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
                         stopProcess = true;
                     }
                 }
-                requestIndex++;
-                if (lastRequestIndex == requestIndex
+                if (position == executionOrder.size() - 1
                         && channelControl != ChannelControl.KEEP_OPEN) {
 
                     // close logical channel unconditionally
@@ -555,7 +716,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
                          * Not observable/observed: close immediately the physical channel if
                          * requested
                          */
-                        closePhysicalChannel();
+                        closePhysicalChannelAndReport();
                     }
 
                     if (this instanceof AbstractObservableLocalReader) {
@@ -568,7 +729,121 @@ public abstract class AbstractLocalReader extends AbstractReader {
 
             }
         }
-        return responses;
+        return new ArrayList<SeResponse>(Arrays.asList(responses).subList(0, responseCount));
+    }
+
+    /** ==== Selection ordering ============================================= */
+
+    /**
+     * Selection statistics of the reader, by selector (see selectorKey)
+     */
+    private final Map<String, SelectionHits> selectionHits = new HashMap<String, SelectionHits>();
+
+    /** sequence number of the latest match */
+    private long selectionMatchSequence;
+
+    private static final class SelectionHits {
+        private long matchCount;
+        private long lastMatchSequence;
+    }
+
+    /**
+     * Tells if the requests can be tried in another order than the declared one: only the first
+     * match matters and no request depends on the previous selection (NEXT occurrence).
+     */
+    private static boolean isReorderable(List<SeRequest> requests,
+            MultiSeRequestProcessing multiSeRequestProcessing,
+            SelectionOrdering selectionOrdering) {
+        if (selectionOrdering == null || selectionOrdering == SelectionOrdering.DECLARED
+                || multiSeRequestProcessing != MultiSeRequestProcessing.FIRST_MATCH
+                || requests.size() < 2) {
+            return false;
+        }
+        for (SeRequest request : requests) {
+            SeSelector seSelector = request.getSeSelector();
+            if (seSelector == null) {
+                return false;
+            }
+            SeSelector.AidSelector aidSelector = seSelector.getAidSelector();
+            if (aidSelector != null && aidSelector
+                    .getFileOccurrence() != SeSelector.AidSelector.FileOccurrence.FIRST) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the indexes of the requests in the order they have to be tried. Requests with the same
+     * statistics keep their declared order.
+     */
+    private List<Integer> getExecutionOrder(List<SeRequest> requests, boolean reorder,
+            final SelectionOrdering selectionOrdering) {
+        List<Integer> executionOrder = new ArrayList<Integer>(requests.size());
+        for (int requestIndex = 0; requestIndex < requests.size(); requestIndex++) {
+            executionOrder.add(requestIndex);
+        }
+        if (!reorder) {
+            return executionOrder;
+        }
+        final long[] ranks = new long[requests.size()];
+        synchronized (selectionHits) {
+            for (int requestIndex = 0; requestIndex < requests.size(); requestIndex++) {
+                SelectionHits hits =
+                        selectionHits.get(selectorKey(requests.get(requestIndex).getSeSelector()));
+                if (hits != null) {
+                    ranks[requestIndex] =
+                            selectionOrdering == SelectionOrdering.MOST_RECENTLY_MATCHED_FIRST
+                                    ? hits.lastMatchSequence
+                                    : hits.matchCount;
+                }
+            }
+        }
+        /* stable sort by decreasing rank */
+        Collections.sort(executionOrder, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer index1, Integer index2) {
+                long rank1 = ranks[index1];
+                long rank2 = ranks[index2];
+                return rank1 > rank2 ? -1 : (rank1 < rank2 ? 1 : 0);
+            }
+        });
+        if (logger.isTraceEnabled()) {
+            logger.trace("[{}] processSeRequestSet => execution order {}", this.getName(),
+                    executionOrder);
+        }
+        return executionOrder;
+    }
+
+    private void recordSelectionMatch(SeSelector seSelector) {
+        String key = selectorKey(seSelector);
+        synchronized (selectionHits) {
+            SelectionHits hits = selectionHits.get(key);
+            if (hits == null) {
+                hits = new SelectionHits();
+                selectionHits.put(key, hits);
+            }
+            hits.matchCount++;
+            hits.lastMatchSequence = ++selectionMatchSequence;
+        }
+    }
+
+    /**
+     * Identifies a selector by its content: the same selection case is usually built again for
+     * each selection.
+     */
+    private static String selectorKey(SeSelector seSelector) {
+        StringBuilder key = new StringBuilder();
+        key.append(seSelector.getSeProtocol()).append('/');
+        if (seSelector.getAtrFilter() != null) {
+            key.append(seSelector.getAtrFilter().getAtrRegex());
+        }
+        key.append('/');
+        if (seSelector.getAidSelector() != null) {
+            key.append(ByteArrayUtil
+                    .toHex(seSelector.getAidSelector().getAidToSelect().getValue()));
+        }
+        return key.toString();
     }
 
     /**
@@ -604,7 +879,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
             if (!(this instanceof ObservableReader)
                     || (((ObservableReader) this).countObservers() == 0)) {
                 /* Not observable/observed: close immediately the physical channel if requested */
-                closePhysicalChannel();
+                closePhysicalChannelAndReport();
             }
 
             if (this instanceof AbstractObservableLocalReader) {
@@ -637,7 +912,8 @@ public abstract class AbstractLocalReader extends AbstractReader {
         boolean previouslyOpen = true;
         SelectionStatus selectionStatus = null;
 
-        List<ApduResponse> apduResponseList = new ArrayList<ApduResponse>();
+        List<ApduResponse> apduResponseList = new ArrayList<ApduResponse>(
+                seRequest.getApduRequests() != null ? seRequest.getApduRequests().size() : 0);
 
         if (logger.isDebugEnabled()) {
             logger.debug("[{}] processSeRequest => Logical channel open = {}", this.getName(),
@@ -694,6 +970,8 @@ public abstract class AbstractLocalReader extends AbstractReader {
             if (!logicalChannelIsOpen) {
                 previouslyOpen = false;
 
+                ReaderMetricsListener listener = getMetricsListener();
+                long selectionStart = listener != null ? System.nanoTime() : 0;
                 try {
                     selectionStatus = openLogicalChannelAndSelect(seRequest.getSeSelector());
                     logger.trace("[{}] processSeRequest => Logical channel opening success.",
@@ -701,14 +979,25 @@ public abstract class AbstractLocalReader extends AbstractReader {
                 } catch (KeypleApplicationSelectionException e) {
                     logger.debug("[{}] processSeRequest => Logical channel opening failure",
                             this.getName());
+                    if (listener != null) {
+                        listener.onSelectionProcessed(getName(),
+                                System.nanoTime() - selectionStart, false);
+                    }
                     closeLogicalChannel();
                     /* return a null SeResponse when the opening of the logical channel failed */
                     return null;
                 }
+                if (listener != null) {
+                    listener.onSelectionProcessed(getName(), System.nanoTime() - selectionStart,
+                            selectionStatus.hasMatched());
+                }
 
                 if (selectionStatus.hasMatched()) {
                     /* The selection process succeeded, the logical channel is open */
                     logicalChannelIsOpen = true;
+                    if (listener != null) {
+                        listener.onLogicalChannelOpened(getName());
+                    }
 
                     if (selectionStatus.getFci().isSuccessful()) {
                         /* the selection AID based was successful, keep the aid */
@@ -758,8 +1047,7 @@ public abstract class AbstractLocalReader extends AbstractReader {
     /**
      * Transmits an ApduRequest and receives the ApduResponse
      * <p>
-     * The time measurement is carried out and logged with the detailed information of the exchanges
-     * (TRACE level).
+     * The exchanges are logged (DEBUG level) and measured when a metrics listener is set.
      *
      * @param apduRequest APDU request
      * @return APDU response
@@ -768,31 +1056,35 @@ public abstract class AbstractLocalReader extends AbstractReader {
     private ApduResponse processApduRequest(ApduRequest apduRequest)
             throws KeypleIOReaderException {
         ApduResponse apduResponse;
-        if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] processApduRequest => {}, elapsed {} ms.", this.getName(),
-                    apduRequest, elapsedMs);
-        }
+        logger.debug("[{}] processApduRequest => {}", this.getName(), apduRequest);
 
-        byte[] buffer = apduRequest.getBytes();
-        apduResponse =
-                new ApduResponse(transmitApdu(buffer), apduRequest.getSuccessfulStatusCodes());
+        ReaderMetricsListener listener = getMetricsListener();
+        long start = listener != null ? System.nanoTime() : 0;
 
-        if (apduRequest.isCase4() && apduResponse.getDataOut().length == 0
-                && apduResponse.isSuccessful()) {
-            // do the get response command but keep the original status code
-            apduResponse = case4HackGetResponse(apduResponse.getStatusCode());
+        byte[] buffer = apduRequest.getBytes();
+        try {
+            apduResponse = new ApduResponse(transmitApdu(buffer),
+                    apduRequest.getSuccessfulStatusCodes());
+
+            if (apduRequest.isCase4() && apduResponse.getDataLength() == 0
+                    && apduResponse.isSuccessful()) {
+                // do the get response command but keep the original status code
+                apduResponse = case4HackGetResponse(apduResponse.getStatusCode(),
+                        apduRequest.getSuccessfulStatusCodes());
+            }
+        } catch (KeypleIOReaderException ex) {
+            if (listener != null) {
+                listener.onApduFailed(getName(), System.nanoTime() - start);
+            }
+            throw ex;
         }
 
-        if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] processApduRequest => {}, elapsed {} ms.", this.getName(),
-                    apduResponse, elapsedMs);
+        if (listener != null) {
+            listener.onApduProcessed(getName(), System.nanoTime() - start,
+                    apduResponse.getStatusCode(), apduResponse.isSuccessful());
         }
+
+        logger.debug("[{}] processApduRequest => {}", this.getName(), apduResponse);
         return apduResponse;
     }
 
@@ -802,22 +1094,20 @@ public abstract class AbstractLocalReader extends AbstractReader {
      * right get response management by transmitApdu
      *
      * @param originalStatusCode the status code of the command that didn't returned data
+     * @param successfulStatusCodes the successful status codes of the command
      * @return ApduResponse the response to the get response command
      * @throws KeypleIOReaderException if the transmission fails.
      */
-    private ApduResponse case4HackGetResponse(int originalStatusCode)
-            throws KeypleIOReaderException {
+    private ApduResponse case4HackGetResponse(int originalStatusCode,
+            Set<Integer> successfulStatusCodes) throws KeypleIOReaderException {
         /*
          * build a get response command the actual length expected by the SE in the get response
          * command is handled in transmitApdu
          */
         if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
             logger.debug(
-                    "[{}] case4HackGetResponse => ApduRequest: NAME = \"Internal Get Response\", RAWDATA = {}, elapsed = {}",
-                    this.getName(), ByteArrayUtil.toHex(getResponseHackRequestBytes), elapsedMs);
+                    "[{}] case4HackGetResponse => ApduRequest: NAME = \"Internal Get Response\", RAWDATA = {}",
+                    this.getName(), ByteArrayUtil.toHex(getResponseHackRequestBytes));
         }
 
         byte[] getResponseHackResponseBytes = transmitApdu(getResponseHackRequestBytes);
@@ -825,13 +1115,8 @@ public abstract class AbstractLocalReader extends AbstractReader {
         /* we expect here a 0x9000 status code */
         ApduResponse getResponseHackResponse = new ApduResponse(getResponseHackResponseBytes, null);
 
-        if (logger.isDebugEnabled()) {
-            long timeStamp = System.nanoTime();
-            double elapsedMs = (double) ((timeStamp - this.before) / 100000) / 10;
-            this.before = timeStamp;
-            logger.debug("[{}] case4HackGetResponse => Internal {}, elapsed {} ms.", this.getName(),
-                    getResponseHackResponseBytes, elapsedMs);
-        }
+        logger.debug("[{}] case4HackGetResponse => Internal {}", this.getName(),
+                getResponseHackResponseBytes);
 
         if (getResponseHackResponse.isSuccessful()) {
             // replace the two last status word bytes by the original status word
@@ -839,6 +1124,9 @@ public abstract class AbstractLocalReader extends AbstractReader {
                     (byte) (originalStatusCode >> 8);
             getResponseHackResponseBytes[getResponseHackResponseBytes.length - 1] =
                     (byte) (originalStatusCode & 0xFF);
+            /* the status word of a response is computed once, the response is built again */
+            getResponseHackResponse =
+                    new ApduResponse(getResponseHackResponseBytes, successfulStatusCodes);
         }
         return getResponseHackResponse;
     }
@@ -21,6 +21,7 @@ import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsResponse;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -114,6 +115,12 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
     /* Service that handles Internal Events and their impact on the current state of the reader */
     protected ObservableReaderStateService stateService;
 
+    /* Scheduler running the monitoring jobs of the states that have no executor service */
+    private volatile MonitoringScheduler monitoringScheduler;
+
+    /* Polling strategy of the SE presence polling jobs, their own one if null */
+    private volatile PollingStrategy pollingStrategy;
+
 
     /**
      * Initialize the ObservableReaderStateService with the possible states and their
@@ -137,7 +144,60 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
      * @param readerName the name of the reader
      */
     public AbstractObservableLocalReader(String pluginName, String readerName) {
+        this(pluginName, readerName, MonitoringScheduler.getDefault());
+    }
+
+    /**
+     * Reader constructor
+     * <p>
+     * Force the definition of a name through the use of super method.
+     * <p>
+     *
+     * @param pluginName the name of the plugin that instantiated the reader
+     * @param readerName the name of the reader
+     * @param monitoringScheduler the scheduler running the monitoring jobs
+     */
+    public AbstractObservableLocalReader(String pluginName, String readerName,
+            MonitoringScheduler monitoringScheduler) {
         super(pluginName, readerName);
+        this.monitoringScheduler = monitoringScheduler;
+    }
+
+    /**
+     * @return the scheduler running the monitoring jobs of this reader
+     */
+    public MonitoringScheduler getMonitoringScheduler() {
+        return monitoringScheduler;
+    }
+
+    /**
+     * Change the scheduler running the monitoring jobs of this reader.
+     * <p>
+     * The change takes effect at the next change of state.
+     *
+     * @param monitoringScheduler the scheduler
+     */
+    public void setMonitoringScheduler(MonitoringScheduler monitoringScheduler) {
+        this.monitoringScheduler = monitoringScheduler;
+    }
+
+    /**
+     * @return the polling strategy defined for this reader, null if not defined
+     */
+    public PollingStrategy getPollingStrategy() {
+        return pollingStrategy;
+    }
+
+    /**
+     * Define the delays between the SE presence checks of the polling monitoring jobs of this
+     * reader (such as the CardPresentMonitoringJob), in place of their default ones.
+     * <p>
+     * The change takes effect at the next change of state.
+     *
+     * @param pollingStrategy the polling strategy, null to restore the default ones
+     */
+    public void setPollingStrategy(PollingStrategy pollingStrategy) {
+        this.pollingStrategy = pollingStrategy;
     }
 
 
@@ -300,7 +360,8 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
                 List<SeResponse> seResponseList =
                         transmitSet(defaultSelectionsRequest.getSelectionSeRequestSet(),
                                 defaultSelectionsRequest.getMultiSeRequestProcessing(),
-                                defaultSelectionsRequest.getChannelControl());
+                                defaultSelectionsRequest.getChannelControl(),
+                                defaultSelectionsRequest.getSelectionOrdering());
 
                 for (SeResponse seResponse : seResponseList) {
                     if (seResponse != null && seResponse.getSelectionStatus().hasMatched()) {
@@ -360,7 +421,7 @@ public abstract class AbstractObservableLocalReader extends AbstractLocalReader
             // We close here the physical channel in case it has been opened for a SE outside the
             // expected SEs
             try {
-                closePhysicalChannel();
+                closePhysicalChannelAndReport();
             } catch (KeypleChannelControlException e) {
                 logger.error("Error while closing physical channel. {}", e.getMessage());
             }
@@ -42,7 +42,7 @@ public abstract class AbstractObservableState {
     /* Result of the background job if any */
     protected Future monitoringEvent;
 
-    /* Executor service used to execute MonitoringJob */
+    /* Executor service used to execute MonitoringJob, the reader scheduler is used if null */
     protected ExecutorService executorService;
 
 
@@ -63,6 +63,19 @@ public abstract class AbstractObservableState {
         this.executorService = executorService;
     }
 
+    /**
+     * Create a new state with a state identifier and a monitor job run by the
+     * {@link MonitoringScheduler} of the reader
+     *
+     * @param state the state identifier
+     * @param reader the current reader
+     * @param monitoringJob the job to be executed in background
+     */
+    protected AbstractObservableState(MonitoringState state, AbstractObservableLocalReader reader,
+            MonitoringJob monitoringJob) {
+        this(state, reader, monitoringJob, null);
+    }
+
     /**
      * Create a new state with a state identifier
      *
@@ -108,9 +121,10 @@ public abstract class AbstractObservableState {
         // launch the monitoringJob is necessary
         if (monitoringJob != null) {
             if (executorService == null) {
-                throw new AssertionError("ExecutorService must be set");
+                monitoringEvent = reader.getMonitoringScheduler().schedule(monitoringJob, this);
+            } else {
+                monitoringEvent = executorService.submit(monitoringJob.getMonitoringJob(this));
             }
-            monitoringEvent = executorService.submit(monitoringJob.getMonitoringJob(this));
         }
     }
 
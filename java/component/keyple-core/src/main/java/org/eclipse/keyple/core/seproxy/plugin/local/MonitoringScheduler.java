@@ -0,0 +1,345 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin.local;
+
+import java.util.LinkedList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the {@link MonitoringJob}s of several readers on shared threads.
+ * <p>
+ * A {@link PollingMonitoringJob} is scheduled by a timer: each polling hit is a short task
+ * scheduled after the delay given by the {@link PollingStrategy} of the job, no thread is held
+ * between two hits. The timer only schedules, the hit itself (and the event it may raise, with the
+ * default selection and the notification of the observers) runs on the task threads, so that a
+ * slow SE or observer does not delay the polling of the other readers.
+ * <p>
+ * The other jobs (blocking jobs such as the smart insertion or removal jobs) hold their thread
+ * until they end: each one gets its own thread from a bounded pool whose idle threads expire. They
+ * are never queued; when the maximum number of job threads is reached, scheduling a new job fails
+ * immediately with a {@link RejectedExecutionException}.
+ * <p>
+ * The background tasks ({@link #submit(Runnable)}, {@link #newSerialExecutor()}) such as the event
+ * notifications and the polling hits run on a separate bounded pool, so that they are never
+ * delayed by the blocking jobs. When all the task threads are busy, the tasks are queued and run
+ * in their submission order as soon as a thread is free.
+ * <p>
+ * A default scheduler is shared by all the readers that do not provide their own.
+ */
+public class MonitoringScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringScheduler.class);
+
+    /** The default number of timer threads running the polling hits */
+    public static final int DEFAULT_TIMER_THREADS = 2;
+
+    /** The default maximum number of threads running the blocking jobs */
+    public static final int DEFAULT_MAX_JOB_THREADS = 128;
+
+    /** The default maximum number of threads running the polling hits and background tasks */
+    public static final int DEFAULT_MAX_TASK_THREADS = 16;
+
+    /* time (in seconds) after which an idle job or task thread ends */
+    private static final long THREAD_KEEP_ALIVE = 60;
+
+    private static MonitoringScheduler defaultScheduler;
+
+    private final ScheduledExecutorService timer;
+    private final ThreadPoolExecutor jobExecutor;
+    private final ThreadPoolExecutor taskExecutor;
+
+    /**
+     * Create a monitoring scheduler
+     *
+     * @param name the prefix of the thread names
+     * @param timerThreads the number of threads running the polling hits
+     * @param maxJobThreads the maximum number of threads running the blocking jobs, that is to
+     *        say the maximum number of readers monitored at the same time by a blocking job
+     */
+    public MonitoringScheduler(String name, int timerThreads, int maxJobThreads) {
+        this(name, timerThreads, maxJobThreads, DEFAULT_MAX_TASK_THREADS);
+    }
+
+    /**
+     * Create a monitoring scheduler
+     *
+     * @param name the prefix of the thread names
+     * @param timerThreads the number of threads scheduling the polling hits
+     * @param maxJobThreads the maximum number of threads running the blocking jobs, that is to
+     *        say the maximum number of readers monitored at the same time by a blocking job
+     * @param maxTaskThreads the maximum number of threads running the polling hits and the
+     *        background tasks, the tasks exceeding it are queued
+     */
+    public MonitoringScheduler(String name, int timerThreads, int maxJobThreads,
+            int maxTaskThreads) {
+        timer = Executors.newScheduledThreadPool(timerThreads,
+                new MonitoringThreadFactory(name + "-Timer-"));
+        jobExecutor = new ThreadPoolExecutor(0, maxJobThreads, THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new SynchronousQueue<Runnable>(), new MonitoringThreadFactory(name + "-Job-"));
+        taskExecutor = new ThreadPoolExecutor(maxTaskThreads, maxTaskThreads, THREAD_KEEP_ALIVE,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new MonitoringThreadFactory(name + "-Task-"));
+        taskExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Gets the scheduler shared by default by the observable readers.
+     *
+     * @return the default monitoring scheduler
+     */
+    public static synchronized MonitoringScheduler getDefault() {
+        if (defaultScheduler == null) {
+            defaultScheduler = new MonitoringScheduler("Monitoring", DEFAULT_TIMER_THREADS,
+                    DEFAULT_MAX_JOB_THREADS, DEFAULT_MAX_TASK_THREADS);
+        }
+        return defaultScheduler;
+    }
+
+    /**
+     * Launch a monitoring job on behalf of a state.
+     *
+     * @param monitoringJob the job
+     * @param state the state the job is running against
+     * @return the future allowing to cancel the job
+     * @throws RejectedExecutionException if all the job threads are busy or if the scheduler is
+     *         shut down
+     */
+    public Future<?> schedule(MonitoringJob monitoringJob, AbstractObservableState state) {
+        if (monitoringJob instanceof PollingMonitoringJob) {
+            PollingTask pollingTask =
+                    new PollingTask((PollingMonitoringJob) monitoringJob, state);
+            pollingTask.schedule(0);
+            return pollingTask;
+        }
+        try {
+            return jobExecutor.submit(monitoringJob.getMonitoringJob(state));
+        } catch (RejectedExecutionException e) {
+            logger.error("Unable to start the monitoring job of {}, {} job threads are busy",
+                    state.reader.getName(), jobExecutor.getActiveCount());
+            throw e;
+        }
+    }
+
+    /**
+     * Run a short background task (event notification for example) on the task threads.
+     *
+     * @param task the task
+     * @return the future of the task
+     */
+    public Future<?> submit(Runnable task) {
+        return taskExecutor.submit(task);
+    }
+
+    /**
+     * Create an executor running its tasks one after the other, in their submission order, on the
+     * task threads of this scheduler.
+     * <p>
+     * It replaces a dedicated single thread executor without holding a thread when idle.
+     *
+     * @return a new serial executor
+     */
+    public Executor newSerialExecutor() {
+        return new SerialExecutor();
+    }
+
+    /**
+     * @return the number of threads currently created by this scheduler
+     */
+    public int getThreadCount() {
+        return ((ThreadPoolExecutor) timer).getPoolSize() + jobExecutor.getPoolSize()
+                + taskExecutor.getPoolSize();
+    }
+
+    /**
+     * Stop the threads of this scheduler, the running jobs are interrupted.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        jobExecutor.shutdownNow();
+        taskExecutor.shutdownNow();
+    }
+
+    /**
+     * The polling hits of a {@link PollingMonitoringJob}, each hit schedules the next one until the
+     * job notifies its event or the polling is cancelled.
+     * <p>
+     * The timer only hands the hit over to the task threads.
+     */
+    private class PollingTask implements Runnable, Future<Object> {
+        private final PollingMonitoringJob monitoringJob;
+        private final AbstractObservableState state;
+        private final PollingStrategy.Interval interval;
+        private final CountDownLatch doneLatch = new CountDownLatch(1);
+        /* the next hit, guarded by this */
+        private ScheduledFuture<?> nextHit;
+        private volatile boolean cancelled;
+        /* run by the timer when the delay has elapsed */
+        private final Runnable dispatcher = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    taskExecutor.execute(PollingTask.this);
+                } catch (RejectedExecutionException e) {
+                    logger.warn("Polling stopped, the scheduler is shut down");
+                    doneLatch.countDown();
+                }
+            }
+        };
+
+        PollingTask(PollingMonitoringJob monitoringJob, AbstractObservableState state) {
+            this.monitoringJob = monitoringJob;
+            this.state = state;
+            this.interval = monitoringJob.getPollingStrategy().newInterval();
+        }
+
+        synchronized void schedule(long delay) {
+            if (isDone()) {
+                return;
+            }
+            try {
+                nextHit = timer.schedule(dispatcher, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.warn("Polling stopped, the scheduler is shut down");
+                doneLatch.countDown();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            boolean completed;
+            try {
+                completed = monitoringJob.poll(state);
+            } catch (RuntimeException e) {
+                logger.error("Polling job failed: {}", e.getMessage());
+                completed = true;
+            }
+            if (completed) {
+                doneLatch.countDown();
+            } else {
+                schedule(interval.next());
+            }
+        }
+
+        @Override
+        public synchronized boolean cancel(boolean mayInterruptIfRunning) {
+            if (isDone()) {
+                return false;
+            }
+            cancelled = true;
+            doneLatch.countDown();
+            if (nextHit != null) {
+                nextHit.cancel(false);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return doneLatch.getCount() == 0;
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            doneLatch.await();
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!doneLatch.await(timeout, unit)) {
+                throw new TimeoutException();
+            }
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Serial execution of tasks on the task threads
+     */
+    private class SerialExecutor implements Executor {
+        private final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+        private boolean active;
+
+        @Override
+        public void execute(Runnable task) {
+            synchronized (tasks) {
+                tasks.add(task);
+                if (active) {
+                    return;
+                }
+                active = true;
+            }
+            taskExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    runTasks();
+                }
+            });
+        }
+
+        private void runTasks() {
+            while (true) {
+                Runnable task;
+                synchronized (tasks) {
+                    task = tasks.poll();
+                    if (task == null) {
+                        active = false;
+                        return;
+                    }
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Serial task failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Daemon threads numbered from a common prefix
+     */
+    private static class MonitoringThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        MonitoringThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
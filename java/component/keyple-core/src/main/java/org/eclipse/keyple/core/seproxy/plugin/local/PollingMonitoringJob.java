@@ -0,0 +1,39 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin.local;
+
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
+
+/**
+ * A {@link MonitoringJob} made of successive polling hits.
+ * <p>
+ * A {@link MonitoringScheduler} runs each hit as a timer task instead of running the blocking loop
+ * returned by {@link #getMonitoringJob(AbstractObservableState)}.
+ */
+public interface PollingMonitoringJob extends MonitoringJob {
+
+    /**
+     * Gets the strategy defining the delays between the polling hits. The delays restart from the
+     * minimum each time the job is launched.
+     *
+     * @return the polling strategy
+     */
+    PollingStrategy getPollingStrategy();
+
+    /**
+     * Perform a single polling hit, notify the state of the event detected if any.
+     *
+     * @param state reference to the state the monitoring job in running against
+     * @return true if the polling is over
+     */
+    boolean poll(AbstractObservableState state);
+}
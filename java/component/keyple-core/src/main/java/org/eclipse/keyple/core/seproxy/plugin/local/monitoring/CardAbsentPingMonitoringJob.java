@@ -12,9 +12,10 @@
 package org.eclipse.keyple.core.seproxy.plugin.local.monitoring;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
 import org.eclipse.keyple.core.seproxy.plugin.local.AbstractObservableLocalReader;
 import org.eclipse.keyple.core.seproxy.plugin.local.AbstractObservableState;
-import org.eclipse.keyple.core.seproxy.plugin.local.MonitoringJob;
+import org.eclipse.keyple.core.seproxy.plugin.local.PollingMonitoringJob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,7 +32,7 @@ import org.slf4j.LoggerFactory;
  * <p>
  * By default a delay of 200 ms is inserted between each APDU sending .
  */
-public class CardAbsentPingMonitoringJob implements MonitoringJob {
+public class CardAbsentPingMonitoringJob implements PollingMonitoringJob {
 
     private static final Logger logger = LoggerFactory.getLogger(CardAbsentPingMonitoringJob.class);
 
@@ -78,10 +79,8 @@ public class CardAbsentPingMonitoringJob implements MonitoringJob {
                 // re-init loop value to true
                 loop.set(true);
                 while (loop.get()) {
-                    if (!reader.isSePresentPing()) {
-                        logger.debug("[{}] The SE stopped responding", reader.getName());
+                    if (poll(state)) {
                         loop.set(false);
-                        state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_REMOVED);
                         return;
                     }
                     retries++;
@@ -106,6 +105,21 @@ public class CardAbsentPingMonitoringJob implements MonitoringJob {
         return job;
     }
 
+    @Override
+    public PollingStrategy getPollingStrategy() {
+        return PollingStrategy.fixed(removalWait);
+    }
+
+    @Override
+    public boolean poll(AbstractObservableState state) {
+        if (!reader.isSePresentPing()) {
+            logger.debug("[{}] The SE stopped responding", reader.getName());
+            state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_REMOVED);
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void stop() {
         logger.debug("[{}] Stop Polling ", reader.getName());
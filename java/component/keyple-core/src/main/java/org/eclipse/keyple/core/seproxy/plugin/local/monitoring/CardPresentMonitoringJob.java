@@ -14,9 +14,10 @@ package org.eclipse.keyple.core.seproxy.plugin.local.monitoring;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
 import org.eclipse.keyple.core.seproxy.plugin.local.AbstractObservableLocalReader;
 import org.eclipse.keyple.core.seproxy.plugin.local.AbstractObservableState;
-import org.eclipse.keyple.core.seproxy.plugin.local.MonitoringJob;
+import org.eclipse.keyple.core.seproxy.plugin.local.PollingMonitoringJob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,11 +25,11 @@ import org.slf4j.LoggerFactory;
  * This monitoring job polls the {@link SeReader#isSePresent()} method to detect
  * SE_INSERTED/SE_REMOVED
  */
-public class CardPresentMonitoringJob implements MonitoringJob {
+public class CardPresentMonitoringJob implements PollingMonitoringJob {
 
     private static final Logger logger = LoggerFactory.getLogger(CardPresentMonitoringJob.class);
 
-    private final long waitTimeout;
+    private final PollingStrategy pollingStrategy;
     private final boolean monitorInsertion;
     private final SeReader reader;
     final private AtomicBoolean loop = new AtomicBoolean();
@@ -41,7 +42,22 @@ public class CardPresentMonitoringJob implements MonitoringJob {
      * @param monitorInsertion : if true, polls for SE_INSERTED, else SE_REMOVED
      */
     public CardPresentMonitoringJob(SeReader reader, long waitTimeout, boolean monitorInsertion) {
-        this.waitTimeout = waitTimeout;
+        this(reader, PollingStrategy.fixed(waitTimeout), monitorInsertion);
+    }
+
+    /**
+     * Build a monitoring job to detect the card insertion
+     * <p>
+     * The polling strategy of the reader, if it is an {@link AbstractObservableLocalReader} with a
+     * strategy defined, takes precedence over the one provided here.
+     *
+     * @param reader : reader that will be polled with the method isSePresent()
+     * @param pollingStrategy : delays between two hits of the polling
+     * @param monitorInsertion : if true, polls for SE_INSERTED, else SE_REMOVED
+     */
+    public CardPresentMonitoringJob(SeReader reader, PollingStrategy pollingStrategy,
+            boolean monitorInsertion) {
+        this.pollingStrategy = pollingStrategy;
         this.reader = reader;
         this.monitorInsertion = monitorInsertion;
     }
@@ -54,29 +70,14 @@ public class CardPresentMonitoringJob implements MonitoringJob {
             @Override
             public void run() {
                 logger.debug("[{}] Polling from isSePresent", reader.getName());
+                PollingStrategy.Interval interval = getPollingStrategy().newInterval();
 
                 // re-init loop value to true
                 loop.set(true);
                 while (loop.get()) {
-                    try {
-                        // polls for SE_INSERTED
-                        if (monitorInsertion && reader.isSePresent()) {
-                            logger.debug("[{}] The SE is present ", reader.getName());
-                            loop.set(false);
-                            state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_INSERTED);
-                            return;
-                        }
-                        // polls for SE_REMOVED
-                        if (!monitorInsertion && !reader.isSePresent()) {
-                            logger.debug("[{}] The SE is not present ", reader.getName());
-                            loop.set(false);
-                            state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_REMOVED);
-                            return;
-                        }
-
-                    } catch (KeypleIOReaderException e) {
+                    if (poll(state)) {
                         loop.set(false);
-                        // what do do here
+                        return;
                     }
                     retries++;
 
@@ -86,9 +87,9 @@ public class CardPresentMonitoringJob implements MonitoringJob {
                     }
                     try {
                         // wait a bit
-                        Thread.sleep(waitTimeout);
+                        Thread.sleep(interval.next());
                     } catch (InterruptedException ignored) {
-                        // Restore interrupted state...      
+                        // Restore interrupted state...      
                         Thread.currentThread().interrupt();
                         loop.set(false);
                     }
@@ -99,6 +100,40 @@ public class CardPresentMonitoringJob implements MonitoringJob {
         };
     }
 
+    @Override
+    public PollingStrategy getPollingStrategy() {
+        if (reader instanceof AbstractObservableLocalReader) {
+            PollingStrategy readerPollingStrategy =
+                    ((AbstractObservableLocalReader) reader).getPollingStrategy();
+            if (readerPollingStrategy != null) {
+                return readerPollingStrategy;
+            }
+        }
+        return pollingStrategy;
+    }
+
+    @Override
+    public boolean poll(AbstractObservableState state) {
+        try {
+            // polls for SE_INSERTED
+            if (monitorInsertion && reader.isSePresent()) {
+                logger.debug("[{}] The SE is present ", reader.getName());
+                state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_INSERTED);
+                return true;
+            }
+            // polls for SE_REMOVED
+            if (!monitorInsertion && !reader.isSePresent()) {
+                logger.debug("[{}] The SE is not present ", reader.getName());
+                state.onEvent(AbstractObservableLocalReader.InternalEvent.SE_REMOVED);
+                return true;
+            }
+        } catch (KeypleIOReaderException e) {
+            // what do do here
+            return true;
+        }
+        return false;
+    }
+
     @Override
     public void stop() {
         logger.debug("[{}] Stop polling ", reader.getName());
@@ -40,6 +40,10 @@ public class WaitForSeInsertion extends AbstractObservableState {
         super(MonitoringState.WAIT_FOR_SE_INSERTION, reader);
     }
 
+    public WaitForSeInsertion(AbstractObservableLocalReader reader, MonitoringJob monitoringJob) {
+        super(MonitoringState.WAIT_FOR_SE_INSERTION, reader, monitoringJob);
+    }
+
     public WaitForSeInsertion(AbstractObservableLocalReader reader, MonitoringJob monitoringJob,
             ExecutorService executorService) {
         super(MonitoringState.WAIT_FOR_SE_INSERTION, reader, monitoringJob, executorService);
@@ -40,6 +40,10 @@ public class WaitForSeProcessing extends AbstractObservableState {
         super(MonitoringState.WAIT_FOR_SE_PROCESSING, reader);
     }
 
+    public WaitForSeProcessing(AbstractObservableLocalReader reader, MonitoringJob monitoringJob) {
+        super(MonitoringState.WAIT_FOR_SE_PROCESSING, reader, monitoringJob);
+    }
+
     public WaitForSeProcessing(AbstractObservableLocalReader reader, MonitoringJob monitoringJob,
             ExecutorService executorService) {
         super(MonitoringState.WAIT_FOR_SE_PROCESSING, reader, monitoringJob, executorService);
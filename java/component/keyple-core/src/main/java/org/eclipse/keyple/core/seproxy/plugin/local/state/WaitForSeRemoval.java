@@ -39,6 +39,10 @@ public class WaitForSeRemoval extends AbstractObservableState {
         super(MonitoringState.WAIT_FOR_SE_REMOVAL, reader);
     }
 
+    public WaitForSeRemoval(AbstractObservableLocalReader reader, MonitoringJob monitoringJob) {
+        super(MonitoringState.WAIT_FOR_SE_REMOVAL, reader, monitoringJob);
+    }
+
     public WaitForSeRemoval(AbstractObservableLocalReader reader, MonitoringJob monitoringJob,
             ExecutorService executorService) {
         super(MonitoringState.WAIT_FOR_SE_REMOVAL, reader, monitoringJob, executorService);
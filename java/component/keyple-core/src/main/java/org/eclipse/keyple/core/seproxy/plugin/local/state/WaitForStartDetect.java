@@ -37,6 +37,10 @@ public class WaitForStartDetect extends AbstractObservableState {
         super(MonitoringState.WAIT_FOR_START_DETECTION, reader);
     }
 
+    public WaitForStartDetect(AbstractObservableLocalReader reader, MonitoringJob monitoringJob) {
+        super(MonitoringState.WAIT_FOR_START_DETECTION, reader, monitoringJob);
+    }
+
     public WaitForStartDetect(AbstractObservableLocalReader reader, MonitoringJob monitoringJob,
             ExecutorService executorService) {
         super(MonitoringState.WAIT_FOR_START_DETECTION, reader, monitoringJob, executorService);
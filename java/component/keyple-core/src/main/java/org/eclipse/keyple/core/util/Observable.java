@@ -12,12 +12,26 @@
 package org.eclipse.keyple.core.util;
 
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
  * Generic Observable class
+ * <p>
+ * The observers are kept in a copy-on-write array: adding or removing an observer rebuilds the
+ * array, notifying the observers only reads it and takes no lock.
+ * <p>
+ * By default the observers are called synchronously by the thread notifying the event. With
+ * {@link #setAsynchronousDelivery(Executor, int)} each observer gets its own bounded queue of
+ * pending events, drained in order by a task submitted to the provided executor, so that a slow
+ * observer no longer delays the notifying thread nor the other observers.
  *
  * @param <T> Generic event
  *
@@ -28,15 +42,30 @@ public class Observable<T> {
         void update(T event);
     }
 
+    private static final Logger logger = LoggerFactory.getLogger(Observable.class);
+
+    /* runs the delivery in the notifying thread once the pending events are delivered */
+    private static final Executor CALLER_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
     private boolean changed = false;
 
     /*
-     * this object will be used to synchronize the access to the observers list in order to be
-     * thread safe
+     * this object will be used to synchronize the modifications of the observers list in order to
+     * be thread safe
      */
     private final Object SYNC = new Object();
 
-    private Set<Observer<T>> observers;
+    /* rebuilt on each modification, never modified once published */
+    private volatile Subscriber<T>[] subscribers = newSubscribers(0);
+
+    /* null when the events are delivered synchronously */
+    private Executor deliveryExecutor;
+    private int deliveryQueueCapacity;
 
     public void addObserver(final Observer<T> observer) {
         if (observer == null) {
@@ -44,10 +73,14 @@ public class Observable<T> {
         }
 
         synchronized (SYNC) {
-            if (observers == null) {
-                observers = new HashSet<Observer<T>>(1);
+            Subscriber<T>[] current = subscribers;
+            if (indexOf(current, observer) >= 0) {
+                return;
             }
-            observers.add(observer);
+            Subscriber<T>[] updated = newSubscribers(current.length + 1);
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = newSubscriber(observer);
+            subscribers = updated;
         }
     }
 
@@ -57,15 +90,21 @@ public class Observable<T> {
         }
 
         synchronized (SYNC) {
-            if (observers != null) {
-                observers.remove(observer);
+            Subscriber<T>[] current = subscribers;
+            int index = indexOf(current, observer);
+            if (index < 0) {
+                return;
             }
+            Subscriber<T>[] updated = newSubscribers(current.length - 1);
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            subscribers = updated;
         }
     }
 
     public void clearObservers() {
-        if (observers != null) {
-            this.observers.clear();
+        synchronized (SYNC) {
+            subscribers = newSubscribers(0);
         }
     }
 
@@ -82,7 +121,7 @@ public class Observable<T> {
     }
 
     public int countObservers() {
-        return observers == null ? 0 : observers.size();
+        return subscribers.length;
     }
 
     public void notifyObservers() {
@@ -90,17 +129,294 @@ public class Observable<T> {
     }
 
     public void notifyObservers(final T event) {
-        Set<Observer> observersCopy;
+        for (Subscriber<T> subscriber : subscribers) {
+            subscriber.deliver(event);
+        }
+    }
+
+    /**
+     * Switch the delivery of the events to the asynchronous mode.
+     * <p>
+     * Each observer gets a queue of at most queueCapacity pending events; when an observer lags
+     * behind, its oldest pending event is dropped to make room for the new one. The executor is not
+     * owned by this object and is never shut down by it.
+     * <p>
+     * The mode applies to the observers already registered and to those added later. An observer
+     * already fed through a queue keeps it: its pending events are delivered ahead of the new ones,
+     * and the new executor only takes over once a delivery still running on the previous one has
+     * ended. When going back to the synchronous mode, such an observer is called by the notifying
+     * thread once its pending events are delivered.
+     *
+     * @param executor the executor running the delivery tasks, null to go back to the synchronous
+     *        delivery
+     * @param queueCapacity the maximum number of pending events per observer
+     * @throws IllegalArgumentException if queueCapacity is lower than 1
+     */
+    public void setAsynchronousDelivery(Executor executor, int queueCapacity) {
+        if (executor != null && queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be at least 1.");
+        }
 
         synchronized (SYNC) {
-            if (observers == null) {
-                return;
+            deliveryExecutor = executor;
+            if (executor != null) {
+                deliveryQueueCapacity = queueCapacity;
+            }
+            Subscriber<T>[] current = subscribers;
+            Subscriber<T>[] updated = newSubscribers(current.length);
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] instanceof QueuedSubscriber) {
+                    /* the queue is kept so that the per-observer order is preserved */
+                    ((QueuedSubscriber<T>) current[i]).moveTo(
+                            executor != null ? executor : CALLER_EXECUTOR,
+                            deliveryQueueCapacity);
+                    updated[i] = current[i];
+                } else {
+                    updated[i] = newSubscriber(current[i].observer);
+                }
+            }
+            subscribers = updated;
+        }
+    }
+
+    /**
+     * @return true if the events are delivered asynchronously
+     */
+    public boolean isAsynchronousDelivery() {
+        synchronized (SYNC) {
+            return deliveryExecutor != null;
+        }
+    }
+
+    /**
+     * Get the delivery statistics of an observer.
+     *
+     * @param observer the observer
+     * @return a snapshot of the statistics, null if the observer is not registered or if the events
+     *         are delivered synchronously
+     */
+    public DeliveryStats getDeliveryStats(final Observer<T> observer) {
+        if (!isAsynchronousDelivery()) {
+            return null;
+        }
+        Subscriber<T>[] current = subscribers;
+        int index = indexOf(current, observer);
+        if (index < 0 || !(current[index] instanceof QueuedSubscriber)) {
+            return null;
+        }
+        return ((QueuedSubscriber<T>) current[index]).getStats();
+    }
+
+    /**
+     * Statistics of the asynchronous delivery of the events to an observer.
+     * <p>
+     * The lag is the time elapsed between the notification of an event and its delivery to the
+     * observer, in nanoseconds.
+     */
+    public static final class DeliveryStats {
+        private final int pendingEvents;
+        private final long deliveredEvents;
+        private final long droppedEvents;
+        private final long lastLagNanos;
+        private final long maxLagNanos;
+
+        DeliveryStats(int pendingEvents, long deliveredEvents, long droppedEvents,
+                long lastLagNanos, long maxLagNanos) {
+            this.pendingEvents = pendingEvents;
+            this.deliveredEvents = deliveredEvents;
+            this.droppedEvents = droppedEvents;
+            this.lastLagNanos = lastLagNanos;
+            this.maxLagNanos = maxLagNanos;
+        }
+
+        /**
+         * @return the number of events waiting to be delivered
+         */
+        public int getPendingEvents() {
+            return pendingEvents;
+        }
+
+        /**
+         * @return the number of events delivered so far
+         */
+        public long getDeliveredEvents() {
+            return deliveredEvents;
+        }
+
+        /**
+         * @return the number of events dropped because the queue was full
+         */
+        public long getDroppedEvents() {
+            return droppedEvents;
+        }
+
+        /**
+         * @return the lag of the last delivered event
+         */
+        public long getLastLagNanos() {
+            return lastLagNanos;
+        }
+
+        /**
+         * @return the highest lag observed
+         */
+        public long getMaxLagNanos() {
+            return maxLagNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "DeliveryStats{pending=" + pendingEvents + ", delivered=" + deliveredEvents
+                    + ", dropped=" + droppedEvents + ", lastLagNanos=" + lastLagNanos
+                    + ", maxLagNanos=" + maxLagNanos + "}";
+        }
+    }
+
+    private Subscriber<T> newSubscriber(Observer<T> observer) {
+        if (deliveryExecutor == null) {
+            return new Subscriber<T>(observer);
+        }
+        return new QueuedSubscriber<T>(observer, deliveryExecutor, deliveryQueueCapacity);
+    }
+
+    private static <T> int indexOf(Subscriber<T>[] array, Observer<T> observer) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].observer.equals(observer)) {
+                return i;
             }
-            observersCopy = new HashSet<Observer>(observers);
+        }
+        return -1;
+    }
+
+    private static <T> Subscriber<T>[] newSubscribers(int length) {
+        /* a generic array cannot be created, the wildcard array only holds Subscriber<T> */
+        @SuppressWarnings("unchecked")
+        Subscriber<T>[] array = (Subscriber<T>[]) new Subscriber<?>[length];
+        return array;
+    }
+
+    /**
+     * An observer called synchronously
+     */
+    private static class Subscriber<T> {
+        final Observer<T> observer;
+
+        Subscriber(Observer<T> observer) {
+            this.observer = observer;
         }
 
-        for (Observer observer : observersCopy) {
+        void deliver(T event) {
             observer.update(event);
         }
     }
+
+    /**
+     * An observer fed through a bounded queue drained by at most one task at a time
+     */
+    private static final class QueuedSubscriber<T> extends Subscriber<T> implements Runnable {
+        private volatile Executor executor;
+        private volatile int capacity;
+        private final BlockingQueue<PendingEvent<T>> queue =
+                new LinkedBlockingQueue<PendingEvent<T>>();
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile long lastLagNanos;
+        private volatile long maxLagNanos;
+
+        QueuedSubscriber(Observer<T> observer, Executor executor, int capacity) {
+            super(observer);
+            this.executor = executor;
+            this.capacity = capacity;
+        }
+
+        /**
+         * Change the executor and the capacity, the pending events stay queued.
+         * <p>
+         * A drain task still running on the previous executor keeps the scheduled flag until it
+         * ends, so the new executor only starts draining after it.
+         */
+        void moveTo(Executor executor, int capacity) {
+            this.capacity = capacity;
+            this.executor = executor;
+            /* the events queued beyond the new capacity are dropped on the next delivery */
+            schedule();
+        }
+
+        @Override
+        void deliver(T event) {
+            PendingEvent<T> pendingEvent = new PendingEvent<T>(event, System.nanoTime());
+            synchronized (queue) {
+                while (queue.size() >= capacity) {
+                    if (queue.poll() != null) {
+                        dropped.incrementAndGet();
+                    }
+                }
+                queue.offer(pendingEvent);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    logger.error("The delivery of the events to {} has been rejected: {}",
+                            observer, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            boolean draining = true;
+            while (draining) {
+                try {
+                    drain();
+                } finally {
+                    scheduled.set(false);
+                }
+                /*
+                 * an event may have been queued after the last poll, it is delivered by this task
+                 * rather than by a new one so that the caller executor does not recurse
+                 */
+                draining = !queue.isEmpty() && scheduled.compareAndSet(false, true);
+            }
+        }
+
+        private void drain() {
+            PendingEvent<T> pendingEvent;
+            while ((pendingEvent = queue.poll()) != null) {
+                long lag = System.nanoTime() - pendingEvent.notifiedAt;
+                lastLagNanos = lag;
+                if (lag > maxLagNanos) {
+                    maxLagNanos = lag;
+                }
+                try {
+                    observer.update(pendingEvent.event);
+                } catch (RuntimeException e) {
+                    logger.error("Observer {} failed to process the event {}", observer,
+                            pendingEvent.event, e);
+                }
+                delivered.incrementAndGet();
+            }
+        }
+
+        DeliveryStats getStats() {
+            return new DeliveryStats(queue.size(), delivered.get(), dropped.get(), lastLagNanos,
+                    maxLagNanos);
+        }
+    }
+
+    private static final class PendingEvent<T> {
+        final T event;
+        final long notifiedAt;
+
+        PendingEvent(T event, long notifiedAt) {
+            this.event = event;
+            this.notifiedAt = notifiedAt;
+        }
+    }
 }
@@ -18,6 +18,7 @@ import org.eclipse.keyple.core.command.AbstractApduResponseParserTest;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsResponse;
 import org.eclipse.keyple.core.seproxy.message.*;
@@ -212,6 +213,60 @@ public class SeSelectionTest extends CoreBaseTest {
         Assert.assertEquals("Se Selector #1", matchingSelection.getExtraInfo());
     }
 
+    @Test
+    public void processDefaultSelection_withCache_reusesMatchingSe() {
+        SeSelection seSelection = createSeSelection();
+        SelectionCache selectionCache = new SelectionCache(10, 60000);
+        seSelection.setSelectionCache(selectionCache);
+
+        AbstractMatchingSe matchingSe1 = seSelection
+                .processDefaultSelection(getMatchingSelectionResponse("001122334455669000"))
+                .getActiveSelection().getMatchingSe();
+        AbstractMatchingSe matchingSe2 = seSelection
+                .processDefaultSelection(getMatchingSelectionResponse("001122334455669000"))
+                .getActiveSelection().getMatchingSe();
+
+        Assert.assertSame(matchingSe1, matchingSe2);
+        Assert.assertEquals(1, selectionCache.getHitCount());
+        Assert.assertEquals(1, selectionCache.getMissCount());
+        Assert.assertEquals(0.5, selectionCache.getHitRate(), 0);
+    }
+
+    @Test
+    public void processDefaultSelection_withCache_differentFci() {
+        SeSelection seSelection = createSeSelection();
+        SelectionCache selectionCache = new SelectionCache(10, 60000);
+        seSelection.setSelectionCache(selectionCache);
+
+        AbstractMatchingSe matchingSe1 = seSelection
+                .processDefaultSelection(getMatchingSelectionResponse("001122334455669000"))
+                .getActiveSelection().getMatchingSe();
+        AbstractMatchingSe matchingSe2 = seSelection
+                .processDefaultSelection(getMatchingSelectionResponse("001122334455779000"))
+                .getActiveSelection().getMatchingSe();
+
+        Assert.assertNotSame(matchingSe1, matchingSe2);
+        Assert.assertEquals(0, selectionCache.getHitCount());
+        Assert.assertEquals(2, selectionCache.getMissCount());
+    }
+
+    @Test
+    public void processExplicitSelection_proxyReader_declaredOrder() throws Exception {
+        SeSelection seSelection = createSeSelection();
+        seSelection.setSelectionOrdering(SelectionOrdering.MOST_RECENTLY_MATCHED_FIRST);
+        ProxyReader proxyReader = Mockito.mock(ProxyReader.class);
+        List<SeResponse> seResponseList = ((DefaultSelectionsResponse) getMatchingSelectionResponse(
+                "001122334455669000")).getSelectionSeResponseSet();
+        Mockito.when(proxyReader.transmitSet(Mockito.<Set<SeRequest>>any(),
+                Mockito.any(MultiSeRequestProcessing.class), Mockito.any(ChannelControl.class)))
+                .thenReturn(seResponseList);
+
+        // a reader not built on AbstractReader gets the requests through the ProxyReader interface
+        SelectionsResult selectionsResult = seSelection.processExplicitSelection(proxyReader);
+
+        Assert.assertTrue(selectionsResult.hasActiveSelection());
+    }
+
     /*
      * @Test public void processExplicitSelection() { // create a SeSelection SeSelection
      * seSelection = createSeSelection();
@@ -229,6 +284,20 @@ public class SeSelectionTest extends CoreBaseTest {
      * // physical channel is open doReturn(true).when(r).isPhysicalChannelOpen(); }
      */
 
+    /**
+     * Create a default selection response matching the first selection case
+     */
+    private AbstractDefaultSelectionsResponse getMatchingSelectionResponse(String fci) {
+        List<ApduResponse> apduResponseList = new ArrayList<ApduResponse>();
+        apduResponseList.add(new ApduResponse(ByteArrayUtil.fromHex("9000"), null));
+        SelectionStatus selectionStatus =
+                new SelectionStatus(new AnswerToReset(ByteArrayUtil.fromHex("3B8880010000")),
+                        new ApduResponse(ByteArrayUtil.fromHex(fci), null), true);
+        List<SeResponse> seResponseList = new ArrayList<SeResponse>();
+        seResponseList.add(new SeResponse(true, false, selectionStatus, apduResponseList));
+        return new DefaultSelectionsResponse(seResponseList);
+    }
+
     /**
      * Create a SeSelection object
      */
@@ -0,0 +1,150 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.selection;
+
+import java.util.ArrayList;
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.AnswerToReset;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SelectionCacheTest extends CoreBaseTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SelectionCacheTest.class);
+
+    private static final SeSelector SE_SELECTOR = new SeSelector(
+            SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+            new SeSelector.AidSelector(new SeSelector.AidSelector.IsoAid("AABBCCDDEE"), null),
+            "Se Selector");
+
+    private static final AbstractSeSelectionRequest SELECTION_REQUEST =
+            new TestSelectionRequest(SE_SELECTOR);
+
+    private static class TestSelectionRequest extends AbstractSeSelectionRequest {
+        TestSelectionRequest(SeSelector seSelector) {
+            super(seSelector);
+        }
+
+        @Override
+        protected AbstractMatchingSe parse(SeResponse seResponse) {
+            return null;
+        }
+    }
+
+    private static final class OtherSelectionRequest extends TestSelectionRequest {
+        OtherSelectionRequest(SeSelector seSelector) {
+            super(seSelector);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        logger.info("------------------------------");
+        logger.info("Test {}", name.getMethodName() + "");
+        logger.info("------------------------------");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_invalidSize() {
+        new SelectionCache(0, 1000);
+    }
+
+    @Test
+    public void get_sameAtrDifferentSelectionCase() {
+        SelectionCache selectionCache = new SelectionCache(10, 60000);
+        AbstractMatchingSe matchingSe = Mockito.mock(AbstractMatchingSe.class);
+        SeResponse seResponse = getSeResponse("3B8880010000");
+
+        selectionCache.put(0, SELECTION_REQUEST, seResponse, matchingSe);
+
+        Assert.assertSame(matchingSe, selectionCache.get(0, SELECTION_REQUEST, seResponse));
+        Assert.assertNull(selectionCache.get(1, SELECTION_REQUEST, seResponse));
+        Assert.assertNull(selectionCache.get(0, SELECTION_REQUEST, getSeResponse("3B8880010001")));
+    }
+
+    @Test
+    public void get_sameIndexOtherSelectionRequestClass() {
+        SelectionCache selectionCache = new SelectionCache(10, 60000);
+        AbstractMatchingSe matchingSe = Mockito.mock(AbstractMatchingSe.class);
+        SeResponse seResponse = getSeResponse("3B8880010000");
+
+        selectionCache.put(0, SELECTION_REQUEST, seResponse, matchingSe);
+
+        Assert.assertNull(
+                selectionCache.get(0, new OtherSelectionRequest(SE_SELECTOR), seResponse));
+        Assert.assertSame(matchingSe,
+                selectionCache.get(0, new TestSelectionRequest(SE_SELECTOR), seResponse));
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        SelectionCache selectionCache = new SelectionCache(2, 60000);
+        AbstractMatchingSe matchingSe = Mockito.mock(AbstractMatchingSe.class);
+        SeResponse seResponse1 = getSeResponse("3B01");
+        SeResponse seResponse2 = getSeResponse("3B02");
+        SeResponse seResponse3 = getSeResponse("3B03");
+
+        selectionCache.put(0, SELECTION_REQUEST, seResponse1, matchingSe);
+        selectionCache.put(0, SELECTION_REQUEST, seResponse2, matchingSe);
+        // entry 1 becomes the most recently used
+        Assert.assertSame(matchingSe, selectionCache.get(0, SELECTION_REQUEST, seResponse1));
+        selectionCache.put(0, SELECTION_REQUEST, seResponse3, matchingSe);
+
+        Assert.assertEquals(2, selectionCache.size());
+        Assert.assertNull(selectionCache.get(0, SELECTION_REQUEST, seResponse2));
+        Assert.assertSame(matchingSe, selectionCache.get(0, SELECTION_REQUEST, seResponse1));
+        Assert.assertSame(matchingSe, selectionCache.get(0, SELECTION_REQUEST, seResponse3));
+    }
+
+    @Test
+    public void get_expiredEntry() throws Exception {
+        SelectionCache selectionCache = new SelectionCache(10, 50);
+        SeResponse seResponse = getSeResponse("3B8880010000");
+        selectionCache.put(0, SELECTION_REQUEST, seResponse, Mockito.mock(AbstractMatchingSe.class));
+
+        Thread.sleep(100);
+
+        Assert.assertNull(selectionCache.get(0, SELECTION_REQUEST, seResponse));
+        Assert.assertEquals(0, selectionCache.size());
+    }
+
+    @Test
+    public void clear_resetsCounters() {
+        SelectionCache selectionCache = new SelectionCache(10, 60000);
+        SeResponse seResponse = getSeResponse("3B8880010000");
+        selectionCache.put(0, SELECTION_REQUEST, seResponse, Mockito.mock(AbstractMatchingSe.class));
+        selectionCache.get(0, SELECTION_REQUEST, seResponse);
+
+        selectionCache.clear();
+
+        Assert.assertEquals(0, selectionCache.size());
+        Assert.assertEquals(0, selectionCache.getHitCount());
+        Assert.assertEquals(0, selectionCache.getHitRate(), 0);
+    }
+
+    private static SeResponse getSeResponse(String atr) {
+        SelectionStatus selectionStatus =
+                new SelectionStatus(new AnswerToReset(ByteArrayUtil.fromHex(atr)),
+                        new ApduResponse(ByteArrayUtil.fromHex("6F009000"), null), true);
+        return new SeResponse(true, false, selectionStatus, new ArrayList<ApduResponse>());
+    }
+}
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Set;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.message.SeRequest;
@@ -69,7 +70,8 @@ public class DefaultSelectionTest {
 
         // mock return matching selection
         List<SeResponse> responses = getNotMatchingResponses();
-        doReturn(responses).when(r).transmitSet(selections, multi, channel);
+        doReturn(responses).when(r).transmitSet(selections, multi, channel,
+                SelectionOrdering.DECLARED);
 
         // test
         r.setDefaultSelectionRequest(new DefaultSelectionsRequest(selections, multi, channel),
@@ -102,7 +104,8 @@ public class DefaultSelectionTest {
         // mock
         // return success selection
         List<SeResponse> responses = AbsObservableLocalReaderTest.getMatchingResponses();
-        doReturn(responses).when(r).transmitSet(selections, multi, channel);
+        doReturn(responses).when(r).transmitSet(selections, multi, channel,
+                SelectionOrdering.DECLARED);
 
         // test
         r.setDefaultSelectionRequest(new DefaultSelectionsRequest(selections, multi, channel),
@@ -134,7 +137,8 @@ public class DefaultSelectionTest {
         ObservableReader.NotificationMode mode = ObservableReader.NotificationMode.MATCHED_ONLY;
 
         // mock return matching selection
-        doReturn(getNotMatchingResponses()).when(r).transmitSet(selections, multi, channel);
+        doReturn(getNotMatchingResponses()).when(r).transmitSet(selections, multi, channel,
+                SelectionOrdering.DECLARED);
 
         // test
         r.setDefaultSelectionRequest(new DefaultSelectionsRequest(selections, multi, channel),
@@ -162,7 +166,7 @@ public class DefaultSelectionTest {
 
         // throw IO
         doThrow(new KeypleIOReaderException("io error when selecting")).when(r)
-                .transmitSet(selections, multi, channel);
+                .transmitSet(selections, multi, channel, SelectionOrdering.DECLARED);
 
 
         // test
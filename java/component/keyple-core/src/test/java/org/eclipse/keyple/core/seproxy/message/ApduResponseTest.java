@@ -12,6 +12,9 @@
 package org.eclipse.keyple.core.seproxy.message;
 
 import static org.junit.Assert.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -75,6 +78,50 @@ public class ApduResponseTest {
         assertFalse(response.isSuccessful());
     }
 
+    @Test
+    public void dataOutWithoutCopy() {
+        ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null);
+        assertEquals(4, response.getDataLength());
+
+        ByteBuffer view = response.getDataOutView();
+        assertEquals(4, view.remaining());
+        assertEquals((byte) 0xFE, view.get(0));
+        assertEquals((byte) 0x98, view.get(3));
+
+        byte[] buffer = new byte[8];
+        assertEquals(4, response.copyDataOut(buffer, 2));
+        assertArrayEquals(ByteArrayUtil.fromHex("0000FEDCBA980000"), buffer);
+    }
+
+    @Test
+    public void dataOutWithoutCopy_noData() {
+        ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("9000h"), null);
+        assertEquals(0, response.getDataLength());
+        assertEquals(0, response.getDataOutView().remaining());
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void dataOutView_readOnly() {
+        ApduResponse response = new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 9000h"), null);
+        response.getDataOutView().put(0, (byte) 0);
+    }
+
+    @Test
+    public void statusCode_afterDeserialization() throws Exception {
+        ApduResponse response =
+                new ApduResponse(ByteArrayUtil.fromHex("FEDCBA98 6283h"), getA9005CustomCode());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream objectOut = new ObjectOutputStream(out);
+        objectOut.writeObject(response);
+        objectOut.close();
+
+        ApduResponse copy = (ApduResponse) new ObjectInputStream(
+                new ByteArrayInputStream(out.toByteArray())).readObject();
+
+        assertEquals(0x6283, copy.getStatusCode());
+        assertEquals(response, copy);
+    }
+
     @Test
     public void isEqualsTest() {
         assertTrue(getAFCI().equals(getAFCI()));
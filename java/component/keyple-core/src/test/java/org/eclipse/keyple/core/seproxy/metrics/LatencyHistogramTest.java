@@ -0,0 +1,78 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.metrics;
+
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LatencyHistogramTest extends CoreBaseTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyHistogramTest.class);
+
+    @Before
+    public void setUp() {
+        logger.info("------------------------------");
+        logger.info("Test {}", name.getMethodName() + "");
+        logger.info("------------------------------");
+    }
+
+    @Test
+    public void histogram_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(0, histogram.getPercentileNanos(99));
+
+        /* 90 durations of 10 us, 10 durations of 1000 us */
+        for (int i = 0; i < 90; i++) {
+            histogram.record(10000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1000000);
+        }
+
+        Assert.assertEquals(100, histogram.getCount());
+        Assert.assertEquals(1000000, histogram.getMaxNanos());
+        Assert.assertEquals((90 * 10000 + 10 * 1000000) / 100, histogram.getMeanNanos());
+        /* upper bounds of the buckets: 16 us and the maximum */
+        Assert.assertEquals(16000, histogram.getPercentileNanos(50));
+        Assert.assertEquals(16000, histogram.getPercentileNanos(90));
+        Assert.assertEquals(1000000, histogram.getPercentileNanos(99));
+    }
+
+    @Test
+    public void histogram_concurrentRecords() throws Exception {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final long duration = (i + 1) * 1000L;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        histogram.record(duration);
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(40000, histogram.getCount());
+        Assert.assertEquals(10000L * (1000 + 2000 + 3000 + 4000), histogram.getTotalNanos());
+        Assert.assertEquals(4000, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,85 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin;
+
+import java.util.Arrays;
+import java.util.SortedSet;
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.plugin.mock.BlankAbstractLocalReader;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexedReaderSetTest extends CoreBaseTest {
+
+    private static final String PLUGIN_NAME = "IndexedReaderSetTestP";
+
+    private final SeReader readerA = new BlankAbstractLocalReader(PLUGIN_NAME, "readerA");
+    private final SeReader readerB = new BlankAbstractLocalReader(PLUGIN_NAME, "readerB");
+    private final SeReader readerC = new BlankAbstractLocalReader(PLUGIN_NAME, "readerC");
+
+    @Test
+    public void get_byName() {
+        IndexedReaderSet readers = new IndexedReaderSet(Arrays.asList(readerC, readerA));
+        readers.add(readerB);
+
+        Assert.assertSame(readerB, readers.get("readerB"));
+        Assert.assertNull(readers.get("readerD"));
+        Assert.assertNull(readers.get(null));
+        Assert.assertEquals(Arrays.asList(readerA, readerB, readerC),
+                Arrays.asList(readers.toArray()));
+        Assert.assertSame(readerA, readers.first());
+    }
+
+    @Test
+    public void add_sameName() {
+        IndexedReaderSet readers = new IndexedReaderSet(Arrays.asList(readerA));
+
+        Assert.assertFalse(readers.add(new BlankAbstractLocalReader(PLUGIN_NAME, "readerA")));
+        Assert.assertSame(readerA, readers.get("readerA"));
+        Assert.assertEquals(1, readers.size());
+    }
+
+    @Test
+    public void getNames_snapshot() {
+        IndexedReaderSet readers = new IndexedReaderSet(Arrays.asList(readerA, readerB));
+        SortedSet<String> names = readers.getNames();
+
+        readers.remove(readerA);
+
+        Assert.assertEquals(Arrays.asList("readerA", "readerB"), Arrays.asList(names.toArray()));
+        Assert.assertEquals(Arrays.asList("readerB"),
+                Arrays.asList(readers.getNames().toArray()));
+        Assert.assertSame(readers.getNames(), readers.getNames());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getNames_immutable() {
+        new IndexedReaderSet(Arrays.asList(readerA)).getNames().add("readerB");
+    }
+
+    @Test
+    public void remove_whileIterating() {
+        IndexedReaderSet readers =
+                new IndexedReaderSet(Arrays.asList(readerA, readerB, readerC));
+
+        int count = 0;
+        for (SeReader reader : readers) {
+            readers.remove(reader);
+            count++;
+        }
+
+        Assert.assertEquals(3, count);
+        Assert.assertTrue(readers.isEmpty());
+        Assert.assertNull(readers.get("readerA"));
+    }
+}
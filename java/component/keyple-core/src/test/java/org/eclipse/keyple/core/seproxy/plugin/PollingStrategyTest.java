@@ -0,0 +1,80 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin;
+
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class PollingStrategyTest extends CoreBaseTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PollingStrategyTest.class);
+
+    @Before
+    public void setUp() {
+        logger.info("------------------------------");
+        logger.info("Test {}", name.getMethodName() + "");
+        logger.info("------------------------------");
+    }
+
+    @Test
+    public void fixed_constantDelay() {
+        PollingStrategy.Interval interval = PollingStrategy.fixed(100).newInterval();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(100, interval.next());
+        }
+    }
+
+    @Test
+    public void adaptive_backoffUpToCeiling() {
+        PollingStrategy.Interval interval = PollingStrategy.adaptive(10, 100, 2).newInterval();
+        long[] expected = {10, 20, 40, 80, 100, 100};
+        for (long delay : expected) {
+            Assert.assertEquals(delay, interval.next());
+        }
+    }
+
+    @Test
+    public void adaptive_resetOnEvent() {
+        PollingStrategy.Interval interval = PollingStrategy.adaptive(10, 100, 2).newInterval();
+        interval.next();
+        interval.next();
+        interval.next();
+
+        interval.reset();
+
+        Assert.assertEquals(10, interval.next());
+        Assert.assertEquals(20, interval.next());
+    }
+
+    @Test
+    public void adaptive_smallFactor_delayIncreases() {
+        PollingStrategy.Interval interval = PollingStrategy.adaptive(1, 5, 1.1).newInterval();
+        long[] expected = {1, 2, 3, 4, 5, 5};
+        for (long delay : expected) {
+            Assert.assertEquals(delay, interval.next());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptive_badPeriods() {
+        PollingStrategy.adaptive(100, 10, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptive_badFactor() {
+        PollingStrategy.adaptive(10, 100, 0.5);
+    }
+}
@@ -0,0 +1,151 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin.local;
+
+import static org.eclipse.keyple.core.seproxy.plugin.local.AbsLocalReaderSelectionTest.ATR;
+import static org.eclipse.keyple.core.seproxy.plugin.local.AbsLocalReaderTransmitTest.*;
+import static org.mockito.Mockito.doAnswer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetrics;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measurements reported by AbstractLocalReader to its ReaderMetricsListener
+ */
+public class AbsLocalReaderMetricsTest extends CoreBaseTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbsLocalReaderMetricsTest.class);
+
+    static final String PLUGIN_NAME = "AbsLocalReaderMetricsTestP";
+    static final String READER_NAME = "AbsLocalReaderMetricsTest";
+
+    AbstractLocalReader reader;
+    ReaderMetrics readerMetrics;
+
+    @Before
+    public void setUp() throws Exception {
+        logger.info("------------------------------");
+        logger.info("Test {}", name.getMethodName() + "");
+        logger.info("------------------------------");
+
+        reader = getSpy(PLUGIN_NAME, READER_NAME);
+        readerMetrics = new ReaderMetrics();
+    }
+
+    @Test
+    public void noListener_noMeasurement() throws Exception {
+        reader.transmit(getRequest(APDU_SUCCESS), ChannelControl.CLOSE_AFTER);
+
+        Assert.assertNull(reader.getMetricsListener());
+        Assert.assertTrue(readerMetrics.getReaderNames().isEmpty());
+    }
+
+    @Test
+    public void transmit_measured() throws Exception {
+        reader.setMetricsListener(readerMetrics);
+
+        reader.transmit(getRequest(APDU_SUCCESS, APDU_FAIL, APDU_SUCCESS),
+                ChannelControl.CLOSE_AFTER);
+
+        ReaderMetrics.ReaderStatistics statistics =
+                readerMetrics.getReaderStatistics(READER_NAME);
+        logger.info("Statistics: {}", statistics);
+        Assert.assertEquals(3, statistics.getApduLatency().getCount());
+        Assert.assertEquals(1, statistics.getSeRequestLatency().getCount());
+        Assert.assertEquals(1, statistics.getSelectionLatency().getCount());
+        Assert.assertEquals(1, statistics.getMatchedSelectionCount());
+        /* RESP_FAIL has the status word 0000 */
+        Assert.assertEquals(Long.valueOf(1), statistics.getErrorCountsByStatusCode().get(0x0000));
+        Assert.assertEquals(1, statistics.getLogicalChannelOpeningCount());
+        Assert.assertEquals(1, statistics.getLogicalChannelClosingCount());
+        Assert.assertEquals(0, statistics.getIoErrorCount());
+        Assert.assertEquals(Long.valueOf(3), statistics.getSnapshot().get("apdu.count"));
+        Assert.assertEquals(Long.valueOf(1), statistics.getSnapshot().get("apdu.error.0000"));
+    }
+
+    @Test
+    public void transmit_ioError_measured() throws Exception {
+        reader.setMetricsListener(readerMetrics);
+
+        try {
+            reader.transmit(getRequest(APDU_SUCCESS, APDU_IOEXC), ChannelControl.CLOSE_AFTER);
+            Assert.fail();
+        } catch (KeypleIOReaderException e) {
+            // expected
+        }
+
+        ReaderMetrics.ReaderStatistics statistics =
+                readerMetrics.getReaderStatistics(READER_NAME);
+        Assert.assertEquals(2, statistics.getApduLatency().getCount());
+        Assert.assertEquals(1, statistics.getIoErrorCount());
+        Assert.assertEquals(1, statistics.getSeRequestFailureCount());
+    }
+
+    @Test
+    public void physicalChannel_measured() throws Exception {
+        final AtomicBoolean physicalChannelOpen = new AtomicBoolean();
+        doAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) {
+                return physicalChannelOpen.get();
+            }
+        }).when(reader).isPhysicalChannelOpen();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                physicalChannelOpen.set(true);
+                return null;
+            }
+        }).when(reader).openPhysicalChannel();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                physicalChannelOpen.set(false);
+                return null;
+            }
+        }).when(reader).closePhysicalChannel();
+        reader.setMetricsListener(readerMetrics);
+
+        reader.transmit(getRequest(APDU_SUCCESS), ChannelControl.CLOSE_AFTER);
+        reader.transmit(getRequest(APDU_SUCCESS), ChannelControl.CLOSE_AFTER);
+
+        ReaderMetrics.ReaderStatistics statistics =
+                readerMetrics.getReaderStatistics(READER_NAME);
+        Assert.assertEquals(2, statistics.getPhysicalChannelOpeningCount());
+        Assert.assertEquals(2, statistics.getPhysicalChannelClosingCount());
+    }
+
+    static SeRequest getRequest(byte[]... apdus) {
+        SeSelector selector = new SeSelector(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                new SeSelector.AtrFilter(ATR), null, "atr");
+        List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+        for (byte[] apdu : apdus) {
+            apduRequests.add(new ApduRequest(apdu, false));
+        }
+        return new SeRequest(selector, apduRequests);
+    }
+}
@@ -14,12 +14,15 @@ package org.eclipse.keyple.core.seproxy.plugin.local;
 import static org.eclipse.keyple.core.seproxy.plugin.local.AbsLocalReaderSelectionTest.ATR;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.*;
 import org.eclipse.keyple.core.CoreBaseTest;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.SelectionOrdering;
 import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.message.*;
@@ -137,6 +140,104 @@ public class AbsLocalReaderTransmitTest extends CoreBaseTest {
         }
     }
 
+    @Test
+    public void transmit_set_protocolCheckedOncePerProtocol() throws Exception {
+        AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+        Mockito.clearInvocations(reader);
+
+        // two requests targeting PROTOCOL_ISO14443_4, one targeting PROTOCOL_MIFARE_UL
+        Set<SeRequest> seRequestSet = getPartialRequestSet(reader, 3);
+        reader.processSeRequestSet(seRequestSet, MultiSeRequestProcessing.PROCESS_ALL,
+                ChannelControl.CLOSE_AFTER);
+
+        verify(reader, times(1)).protocolFlagMatches(SeCommonProtocols.PROTOCOL_ISO14443_4);
+        verify(reader, times(1)).protocolFlagMatches(SeCommonProtocols.PROTOCOL_MIFARE_UL);
+    }
+
+    @Test
+    public void getProtocolPattern_compiledRule() throws Exception {
+        AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+        reader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4, "3B8880.*");
+
+        Assert.assertTrue(reader.getProtocolPattern(SeCommonProtocols.PROTOCOL_ISO14443_4)
+                .matcher("3B888001").matches());
+        Assert.assertNull(reader.getProtocolPattern(SeCommonProtocols.PROTOCOL_MIFARE_UL));
+
+        // a new setting replaces the compiled rule
+        reader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4, "3B8F.*");
+        Assert.assertFalse(reader.getProtocolPattern(SeCommonProtocols.PROTOCOL_ISO14443_4)
+                .matcher("3B888001").matches());
+    }
+
+    @Test
+    public void transmit_set_mostRecentlyMatchedFirst() throws Exception {
+        AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+        Set<SeRequest> seRequestSet = getThreeAidsRequestSet(reader);
+
+        // first SE: the matching application is the third one
+        List<SeResponse> responses = reader.processSeRequestSet(seRequestSet,
+                MultiSeRequestProcessing.FIRST_MATCH, ChannelControl.CLOSE_AFTER,
+                SelectionOrdering.MOST_RECENTLY_MATCHED_FIRST);
+        Assert.assertEquals(3, responses.size());
+        Assert.assertFalse(responses.get(0).getSelectionStatus().hasMatched());
+        Assert.assertFalse(responses.get(1).getSelectionStatus().hasMatched());
+        Assert.assertTrue(responses.get(2).getSelectionStatus().hasMatched());
+        reader.closeLogicalAndPhysicalChannels();
+
+        // second SE: the third application is tried first, responses keep the declared order
+        responses = reader.processSeRequestSet(seRequestSet, MultiSeRequestProcessing.FIRST_MATCH,
+                ChannelControl.CLOSE_AFTER, SelectionOrdering.MOST_RECENTLY_MATCHED_FIRST);
+        Assert.assertEquals(3, responses.size());
+        Assert.assertNull(responses.get(0));
+        Assert.assertNull(responses.get(1));
+        Assert.assertTrue(responses.get(2).getSelectionStatus().hasMatched());
+
+        verify(reader, times(1)).transmitApdu(SELECT_AID1);
+        verify(reader, times(1)).transmitApdu(SELECT_AID2);
+    }
+
+    @Test
+    public void transmit_set_declaredOrder_ignoresStatistics() throws Exception {
+        AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+        Set<SeRequest> seRequestSet = getThreeAidsRequestSet(reader);
+
+        reader.processSeRequestSet(seRequestSet, MultiSeRequestProcessing.FIRST_MATCH,
+                ChannelControl.CLOSE_AFTER, SelectionOrdering.MOST_FREQUENTLY_MATCHED_FIRST);
+        reader.closeLogicalAndPhysicalChannels();
+        List<SeResponse> responses = reader.processSeRequestSet(seRequestSet,
+                MultiSeRequestProcessing.FIRST_MATCH, ChannelControl.CLOSE_AFTER);
+
+        Assert.assertEquals(3, responses.size());
+        Assert.assertFalse(responses.get(0).getSelectionStatus().hasMatched());
+        verify(reader, times(2)).transmitApdu(SELECT_AID1);
+    }
+
+    @Test
+    public void transmit_case4_getResponse_keepsStatusCode() throws Exception {
+        AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
+        byte[] apduCase4 = ByteArrayUtil.fromHex("00 B2 01 0C 00");
+        /* successful status word without data, the data are read with a get response */
+        doReturn(ByteArrayUtil.fromHex("62 83")).when(reader).transmitApdu(apduCase4);
+        doReturn(ByteArrayUtil.fromHex("AA BB 90 00")).when(reader)
+                .transmitApdu(ByteArrayUtil.fromHex("00 C0 00 00 00"));
+
+        SeSelector selector = new SeSelector(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                new SeSelector.AtrFilter(ATR), null, "atr");
+        Set<Integer> successfulStatusCodes = new HashSet<Integer>();
+        successfulStatusCodes.add(0x6283);
+        List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+        apduRequests.add(new ApduRequest(apduCase4, true, successfulStatusCodes));
+
+        SeResponse seResponse = reader.processSeRequest(new SeRequest(selector, apduRequests),
+                ChannelControl.CLOSE_AFTER);
+
+        ApduResponse apduResponse = seResponse.getApduResponses().get(0);
+        Assert.assertTrue(apduResponse.isSuccessful());
+        Assert.assertEquals(0x6283, apduResponse.getStatusCode());
+        Assert.assertEquals(2, apduResponse.getDataLength());
+        Assert.assertArrayEquals(ByteArrayUtil.fromHex("AA BB"), apduResponse.getDataOut());
+    }
+
     @Test
     public void transmit_first_match() throws Exception {
         AbstractLocalReader reader = getSpy(PLUGIN_NAME, READER_NAME);
@@ -298,6 +399,28 @@ public class AbsLocalReaderTransmitTest extends CoreBaseTest {
     }
 
 
+    static final byte[] SELECT_AID1 = ByteArrayUtil.fromHex("00 A4 04 00 05 AA BB CC DD EE 00");
+    static final byte[] SELECT_AID2 = ByteArrayUtil.fromHex("00 A4 04 00 05 11 22 33 44 55 00");
+
+    /*
+     * Three selection cases, the SE holds only the application of the third one
+     */
+    static public Set<SeRequest> getThreeAidsRequestSet(AbstractLocalReader r)
+            throws KeypleReaderException {
+        doReturn(ByteArrayUtil.fromHex("6A82")).when(r).transmitApdu(SELECT_AID1);
+        doReturn(ByteArrayUtil.fromHex("6A82")).when(r).transmitApdu(SELECT_AID2);
+
+        Set<SeRequest> seRequestSet = new LinkedHashSet<SeRequest>();
+        for (String aid : new String[] {"AABBCCDDEE", "1122334455",
+                AbsLocalReaderSelectionTest.AID}) {
+            SeSelector seSelector = new SeSelector(SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+                    new SeSelector.AidSelector(new SeSelector.AidSelector.IsoAid(aid), null),
+                    "aid " + aid);
+            seRequestSet.add(new SeRequest(seSelector, new ArrayList<ApduRequest>()));
+        }
+        return seRequestSet;
+    }
+
     static public SeRequest getPartialRequest(AbstractLocalReader r, int scenario)
             throws KeypleReaderException {
 
@@ -0,0 +1,319 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.core.seproxy.plugin.local;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.keyple.core.CoreBaseTest;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
+import org.eclipse.keyple.core.seproxy.plugin.local.monitoring.CardPresentMonitoringJob;
+import org.eclipse.keyple.core.seproxy.plugin.mock.BlankObservableLocalReader;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MonitoringSchedulerTest extends CoreBaseTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitoringSchedulerTest.class);
+
+    final String PLUGIN_NAME = "MonitoringSchedulerTestP";
+
+    MonitoringScheduler monitoringScheduler;
+
+    @Before
+    public void setUp() {
+        logger.info("------------------------------");
+        logger.info("Test {}", name.getMethodName() + "");
+        logger.info("------------------------------");
+
+        monitoringScheduler = new MonitoringScheduler("MonitoringSchedulerTest", 2, 4, 2);
+    }
+
+    @After
+    public void tearDown() {
+        monitoringScheduler.shutdown();
+    }
+
+    @Test
+    public void pollingJobs_sharedTimerThreads() throws Exception {
+        int nbReaders = 64;
+        CountDownLatch insertedLatch = new CountDownLatch(nbReaders);
+        List<PresenceReader> readers = new ArrayList<PresenceReader>();
+        for (int i = 0; i < nbReaders; i++) {
+            /* the SE is detected at the third polling hit */
+            PresenceReader reader = new PresenceReader("reader" + i, 3);
+            readers.add(reader);
+            new EventState(reader, new CardPresentMonitoringJob(reader, 10, true), insertedLatch)
+                    .onActivate();
+        }
+
+        Assert.assertTrue(insertedLatch.await(5, TimeUnit.SECONDS));
+
+        /* no thread has been held by the 64 polling loops */
+        Assert.assertTrue(monitoringScheduler.getThreadCount() <= 4);
+        for (PresenceReader reader : readers) {
+            Assert.assertEquals(3, reader.pollCount.get());
+        }
+    }
+
+    @Test
+    public void pollingJobs_slowEvent_otherReadersPolled() throws Exception {
+        /* a single timer thread */
+        monitoringScheduler.shutdown();
+        monitoringScheduler = new MonitoringScheduler("MonitoringSchedulerTest", 1, 4, 2);
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        PresenceReader slowReader = new PresenceReader("slowReader", 1);
+        /* the processing of the event (selection, observers) blocks a task thread */
+        EventState slowState = new EventState(slowReader,
+                new CardPresentMonitoringJob(slowReader, 5, true), new CountDownLatch(1)) {
+            @Override
+            public void onEvent(AbstractObservableLocalReader.InternalEvent event) {
+                try {
+                    releaseLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        CountDownLatch insertedLatch = new CountDownLatch(1);
+        PresenceReader reader = new PresenceReader("reader", 5);
+        EventState state = new EventState(reader, new CardPresentMonitoringJob(reader, 5, true),
+                insertedLatch);
+        try {
+            slowState.onActivate();
+            Thread.sleep(20);
+            state.onActivate();
+
+            Assert.assertTrue(insertedLatch.await(5, TimeUnit.SECONDS));
+        } finally {
+            releaseLatch.countDown();
+        }
+    }
+
+    @Test
+    public void pollingJob_deactivated_pollingStopped() throws Exception {
+        PresenceReader reader = new PresenceReader("reader", Integer.MAX_VALUE);
+        EventState state = new EventState(reader, new CardPresentMonitoringJob(reader, 5, true),
+                new CountDownLatch(1));
+
+        state.onActivate();
+        Thread.sleep(50);
+        state.onDeactivate();
+        int pollCount = reader.pollCount.get();
+        Assert.assertTrue(pollCount > 1);
+
+        Thread.sleep(50);
+        /* at most a hit already running when deactivated */
+        Assert.assertTrue(reader.pollCount.get() <= pollCount + 1);
+    }
+
+    @Test
+    public void pollingJob_adaptiveStrategy_fewerPolls() throws Exception {
+        PresenceReader fixedReader = new PresenceReader("fixedReader", Integer.MAX_VALUE);
+        EventState fixedState = new EventState(fixedReader,
+                new CardPresentMonitoringJob(fixedReader, 5, true), new CountDownLatch(1));
+        PresenceReader adaptiveReader = new PresenceReader("adaptiveReader", Integer.MAX_VALUE);
+        EventState adaptiveState = new EventState(adaptiveReader,
+                new CardPresentMonitoringJob(adaptiveReader,
+                        PollingStrategy.adaptive(5, 100, 2), true),
+                new CountDownLatch(1));
+
+        fixedState.onActivate();
+        adaptiveState.onActivate();
+        Thread.sleep(300);
+        fixedState.onDeactivate();
+        adaptiveState.onDeactivate();
+
+        logger.info("Polls in 300 ms: fixed = {}, adaptive = {}", fixedReader.pollCount.get(),
+                adaptiveReader.pollCount.get());
+        /* 5, 10, 20, 40, 80, 100 ms... : about 7 polls against about 60 */
+        Assert.assertTrue(adaptiveReader.pollCount.get() <= 10);
+        Assert.assertTrue(fixedReader.pollCount.get() > 2 * adaptiveReader.pollCount.get());
+    }
+
+    @Test
+    public void pollingJob_readerStrategy_overridesJobStrategy() throws Exception {
+        PresenceReader reader = new PresenceReader("reader", Integer.MAX_VALUE);
+        reader.setPollingStrategy(PollingStrategy.fixed(1000));
+        EventState state = new EventState(reader, new CardPresentMonitoringJob(reader, 5, true),
+                new CountDownLatch(1));
+
+        state.onActivate();
+        Thread.sleep(100);
+        state.onDeactivate();
+
+        /* only the first hit has been done */
+        Assert.assertEquals(1, reader.pollCount.get());
+    }
+
+    @Test
+    public void serialExecutor_orderPreserved() throws Exception {
+        int nbTasks = 1000;
+        final List<Integer> executionOrder =
+                Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch endLatch = new CountDownLatch(nbTasks);
+        Executor serialExecutor = monitoringScheduler.newSerialExecutor();
+        for (int i = 0; i < nbTasks; i++) {
+            final int index = i;
+            serialExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    executionOrder.add(index);
+                    endLatch.countDown();
+                }
+            });
+        }
+
+        Assert.assertTrue(endLatch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < nbTasks; i++) {
+            Assert.assertEquals(Integer.valueOf(i), executionOrder.get(i));
+        }
+    }
+
+    @Test
+    public void blockingJobs_defaultScheduler_allRunning() throws Exception {
+        MonitoringScheduler defaultScheduler = new MonitoringScheduler("MonitoringSchedulerTest",
+                MonitoringScheduler.DEFAULT_TIMER_THREADS,
+                MonitoringScheduler.DEFAULT_MAX_JOB_THREADS);
+        int nbReaders = 100;
+        CountDownLatch startedLatch = new CountDownLatch(nbReaders);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < nbReaders; i++) {
+                defaultScheduler.schedule(new BlockingJob(startedLatch, releaseLatch),
+                        new EventState(new PresenceReader("reader" + i, 1), null,
+                                new CountDownLatch(1)));
+            }
+            /* no job waits for a thread held by another one */
+            Assert.assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+        } finally {
+            releaseLatch.countDown();
+            defaultScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void blockingJobs_saturated_failFastAndTasksRunning() throws Exception {
+        CountDownLatch startedLatch = new CountDownLatch(4);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 4; i++) {
+                monitoringScheduler.schedule(new BlockingJob(startedLatch, releaseLatch),
+                        new EventState(new PresenceReader("reader" + i, 1), null,
+                                new CountDownLatch(1)));
+            }
+            Assert.assertTrue(startedLatch.await(5, TimeUnit.SECONDS));
+
+            /* the fifth job is rejected instead of waiting forever */
+            try {
+                monitoringScheduler.schedule(
+                        new BlockingJob(new CountDownLatch(1), releaseLatch),
+                        new EventState(new PresenceReader("reader4", 1), null,
+                                new CountDownLatch(1)));
+                Assert.fail("RejectedExecutionException expected");
+            } catch (RejectedExecutionException e) {
+                /* expected */
+            }
+
+            /* the background tasks are not delayed by the blocking jobs */
+            final CountDownLatch taskLatch = new CountDownLatch(1);
+            monitoringScheduler.newSerialExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    taskLatch.countDown();
+                }
+            });
+            Assert.assertTrue(taskLatch.await(5, TimeUnit.SECONDS));
+        } finally {
+            releaseLatch.countDown();
+        }
+    }
+
+    /**
+     * Job holding its thread until released
+     */
+    static class BlockingJob implements MonitoringJob {
+        final CountDownLatch startedLatch;
+        final CountDownLatch releaseLatch;
+
+        BlockingJob(CountDownLatch startedLatch, CountDownLatch releaseLatch) {
+            this.startedLatch = startedLatch;
+            this.releaseLatch = releaseLatch;
+        }
+
+        @Override
+        public Runnable getMonitoringJob(AbstractObservableState state) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    startedLatch.countDown();
+                    try {
+                        releaseLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void stop() {
+            releaseLatch.countDown();
+        }
+    }
+
+    /**
+     * Reader whose SE is detected after a given number of isSePresent calls
+     */
+    class PresenceReader extends BlankObservableLocalReader {
+        final AtomicInteger pollCount = new AtomicInteger();
+        final int insertionPoll;
+
+        PresenceReader(String readerName, int insertionPoll) {
+            super(PLUGIN_NAME, readerName);
+            this.insertionPoll = insertionPoll;
+            setMonitoringScheduler(monitoringScheduler);
+        }
+
+        @Override
+        public boolean isSePresent() {
+            return pollCount.incrementAndGet() >= insertionPoll;
+        }
+    }
+
+    /**
+     * State counting down a latch when an event is received
+     */
+    static class EventState extends AbstractObservableState {
+        final CountDownLatch eventLatch;
+
+        EventState(AbstractObservableLocalReader reader, MonitoringJob monitoringJob,
+                CountDownLatch eventLatch) {
+            super(MonitoringState.WAIT_FOR_SE_INSERTION, reader, monitoringJob);
+            this.eventLatch = eventLatch;
+        }
+
+        @Override
+        public void onEvent(AbstractObservableLocalReader.InternalEvent event) {
+            eventLatch.countDown();
+        }
+    }
+}
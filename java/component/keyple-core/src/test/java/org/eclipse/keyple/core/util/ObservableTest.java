@@ -11,6 +11,13 @@
  ********************************************************************************/
 package org.eclipse.keyple.core.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -70,4 +77,206 @@ public class ObservableTest {
         Assert.assertEquals(2, sub1.getNbCalls());
         Assert.assertEquals(1, sub2.getNbCalls());
     }
+
+    @Test
+    public void addObserver_twice_isRegisteredOnce() {
+        Observable<Event> pub = new Observable<Event>();
+        Observer sub = new Observer();
+        pub.addObserver(sub);
+        pub.addObserver(sub);
+        Assert.assertEquals(1, pub.countObservers());
+        pub.notifyObservers(new Event("ev1"));
+        Assert.assertEquals(1, sub.getNbCalls());
+        pub.removeObserver(sub);
+        Assert.assertEquals(0, pub.countObservers());
+    }
+
+    @Test
+    public void removeObserver_duringNotification_doesNotAffectCurrentEvent() {
+        final Observable<Event> pub = new Observable<Event>();
+        final Observer sub2 = new Observer();
+        Observable.Observer<Event> sub1 = new Observable.Observer<Event>() {
+            @Override
+            public void update(Event event) {
+                pub.removeObserver(sub2);
+            }
+        };
+        pub.addObserver(sub1);
+        pub.addObserver(sub2);
+        pub.notifyObservers(new Event("ev1"));
+        Assert.assertEquals(1, sub2.getNbCalls());
+        pub.notifyObservers(new Event("ev2"));
+        Assert.assertEquals(1, sub2.getNbCalls());
+        Assert.assertEquals(1, pub.countObservers());
+    }
+
+    @Test
+    public void asynchronousDelivery_deliversInOrder_withoutBlockingNotifier() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Observable<Event> pub = new Observable<Event>();
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(3);
+            final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+            Observable.Observer<Event> slow = new Observable.Observer<Event>() {
+                @Override
+                public void update(Event event) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add(event.getName());
+                    done.countDown();
+                }
+            };
+            pub.addObserver(slow);
+            pub.setAsynchronousDelivery(executor, 10);
+            Assert.assertTrue(pub.isAsynchronousDelivery());
+
+            pub.notifyObservers(new Event("ev1"));
+            pub.notifyObservers(new Event("ev2"));
+            pub.notifyObservers(new Event("ev3"));
+            // the notifier is not blocked by the observer
+            Assert.assertTrue(received.isEmpty());
+
+            release.countDown();
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(3, received.size());
+            Assert.assertEquals("ev1", received.get(0));
+            Assert.assertEquals("ev2", received.get(1));
+            Assert.assertEquals("ev3", received.get(2));
+
+            // the delivered count is updated once the observer returns
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Observable.DeliveryStats stats = pub.getDeliveryStats(slow);
+            Assert.assertEquals(3, stats.getDeliveredEvents());
+            Assert.assertEquals(0, stats.getDroppedEvents());
+            Assert.assertTrue(stats.getMaxLagNanos() >= stats.getLastLagNanos());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asynchronousDelivery_queueFull_dropsOldestEvents() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Observable<Event> pub = new Observable<Event>();
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+            Observable.Observer<Event> slow = new Observable.Observer<Event>() {
+                @Override
+                public void update(Event event) {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add(event.getName());
+                }
+            };
+            pub.setAsynchronousDelivery(executor, 2);
+            pub.addObserver(slow);
+
+            pub.notifyObservers(new Event("ev1"));
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            // ev1 is being delivered, the queue can hold 2 more events
+            pub.notifyObservers(new Event("ev2"));
+            pub.notifyObservers(new Event("ev3"));
+            pub.notifyObservers(new Event("ev4"));
+
+            Observable.DeliveryStats stats = pub.getDeliveryStats(slow);
+            Assert.assertEquals(2, stats.getPendingEvents());
+            Assert.assertEquals(1, stats.getDroppedEvents());
+
+            release.countDown();
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(3, received.size());
+            Assert.assertEquals("ev1", received.get(0));
+            Assert.assertEquals("ev3", received.get(1));
+            Assert.assertEquals("ev4", received.get(2));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void asynchronousDelivery_executorChanged_keepsOrder() throws Exception {
+        ExecutorService previous = Executors.newSingleThreadExecutor();
+        ExecutorService next = Executors.newSingleThreadExecutor();
+        try {
+            Observable<Event> pub = new Observable<Event>();
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(3);
+            final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+            Observable.Observer<Event> slow = new Observable.Observer<Event>() {
+                @Override
+                public void update(Event event) {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    received.add(event.getName());
+                    done.countDown();
+                }
+            };
+            pub.addObserver(slow);
+            pub.setAsynchronousDelivery(previous, 10);
+
+            pub.notifyObservers(new Event("ev1"));
+            Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+            pub.notifyObservers(new Event("ev2"));
+            // ev1 is still being delivered by the previous executor
+            pub.setAsynchronousDelivery(next, 10);
+            pub.notifyObservers(new Event("ev3"));
+            Assert.assertTrue(received.isEmpty());
+
+            release.countDown();
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(3, received.size());
+            Assert.assertEquals("ev1", received.get(0));
+            Assert.assertEquals("ev2", received.get(1));
+            Assert.assertEquals("ev3", received.get(2));
+
+            // the delivered count is updated once the observer returns
+            previous.shutdown();
+            next.shutdown();
+            Assert.assertTrue(previous.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertTrue(next.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(3, pub.getDeliveryStats(slow).getDeliveredEvents());
+        } finally {
+            previous.shutdownNow();
+            next.shutdownNow();
+        }
+    }
+
+    @Test
+    public void synchronousDelivery_hasNoDeliveryStats() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Observable<Event> pub = new Observable<Event>();
+            Observer sub = new Observer();
+            pub.addObserver(sub);
+            Assert.assertFalse(pub.isAsynchronousDelivery());
+            Assert.assertNull(pub.getDeliveryStats(sub));
+
+            pub.setAsynchronousDelivery(executor, 1);
+            Assert.assertNotNull(pub.getDeliveryStats(sub));
+
+            pub.setAsynchronousDelivery(null, 0);
+            Assert.assertNull(pub.getDeliveryStats(sub));
+            pub.notifyObservers(new Event("ev1"));
+            Assert.assertEquals(1, sub.getNbCalls());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
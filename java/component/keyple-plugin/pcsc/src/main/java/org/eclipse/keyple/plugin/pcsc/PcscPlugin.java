@@ -12,10 +12,30 @@
 package org.eclipse.keyple.plugin.pcsc;
 
 import org.eclipse.keyple.core.seproxy.event.ObservablePlugin;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
+import org.eclipse.keyple.core.seproxy.plugin.local.MonitoringScheduler;
 
 /**
  * The PcscPlugin interface provides the public elements used to manage the PC/SC plugin.
  */
 public interface PcscPlugin extends ObservablePlugin {
     String PLUGIN_NAME = "PcscPlugin";
+
+    /**
+     * Set the scheduler running the SE monitoring jobs of the PC/SC readers, in place of the
+     * default scheduler shared by all the readers.
+     * <p>
+     * Applies to the current readers (at their next change of state) and to the readers connected
+     * afterwards.
+     *
+     * @param monitoringScheduler the scheduler
+     */
+    void setMonitoringScheduler(MonitoringScheduler monitoringScheduler);
+
+    /**
+     * Set the delays between two checks of the PC/SC reader list (fixed by default).
+     *
+     * @param pollingStrategy the strategy, null to restore the default one
+     */
+    void setPollingStrategy(PollingStrategy pollingStrategy);
 }
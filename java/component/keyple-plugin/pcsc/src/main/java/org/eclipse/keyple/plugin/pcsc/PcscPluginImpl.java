@@ -25,6 +25,7 @@ import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleRuntimeException;
 import org.eclipse.keyple.core.seproxy.plugin.AbstractReader;
 import org.eclipse.keyple.core.seproxy.plugin.AbstractThreadedObservablePlugin;
+import org.eclipse.keyple.core.seproxy.plugin.local.MonitoringScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +37,9 @@ final class PcscPluginImpl extends AbstractThreadedObservablePlugin implements P
 
     private boolean scardNoServiceHackNeeded;
 
+    /* scheduler running the monitoring jobs of the readers, the default one if null */
+    private volatile MonitoringScheduler monitoringScheduler;
+
     /**
      * singleton instance of SeProxyService
      */
@@ -67,6 +71,19 @@ final class PcscPluginImpl extends AbstractThreadedObservablePlugin implements P
 
     }
 
+    @Override
+    public void setMonitoringScheduler(MonitoringScheduler monitoringScheduler) {
+        this.monitoringScheduler = monitoringScheduler;
+        for (SeReader reader : readers) {
+            ((PcscReaderImpl) reader).setMonitoringScheduler(monitoringScheduler);
+        }
+    }
+
+    private MonitoringScheduler getMonitoringScheduler() {
+        return monitoringScheduler != null ? monitoringScheduler
+                : MonitoringScheduler.getDefault();
+    }
+
     /**
      * Fetch the list of connected native reader (from smartcardio) and returns their names
      *
@@ -119,7 +136,8 @@ final class PcscPluginImpl extends AbstractThreadedObservablePlugin implements P
                 terminals);
         try {
             for (CardTerminal term : terminals.list()) {
-                nativeReaders.add(new PcscReaderImpl(this.getName(), term));
+                nativeReaders
+                        .add(new PcscReaderImpl(this.getName(), term, getMonitoringScheduler()));
             }
         } catch (CardException e) {
             if (e.getCause().toString().contains("SCARD_E_NO_READERS_AVAILABLE")) {
@@ -165,7 +183,7 @@ final class PcscPluginImpl extends AbstractThreadedObservablePlugin implements P
                 if (term.getName().equals(name)) {
                     logger.trace("[{}] fetchNativeReader => CardTerminal in new PcscReader: {}",
                             this.getName(), terminals);
-                    reader = new PcscReaderImpl(this.getName(), term);
+                    reader = new PcscReaderImpl(this.getName(), term, getMonitoringScheduler());
                 }
             }
         } catch (CardException e) {
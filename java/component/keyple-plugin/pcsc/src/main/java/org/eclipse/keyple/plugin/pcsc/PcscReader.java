@@ -12,6 +12,7 @@
 package org.eclipse.keyple.plugin.pcsc;
 
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
+import org.eclipse.keyple.core.seproxy.plugin.PollingStrategy;
 
 /**
  * The PcscReader interface provides the public elements used to manage a PC/SC reader.
@@ -33,4 +34,12 @@ public interface PcscReader extends ObservableReader {
     String SETTING_DISCONNECT_UNPOWER = "unpower";
     String SETTING_DISCONNECT_LEAVE = "leave";
     String SETTING_DISCONNECT_EJECT = "eject";
+
+    /**
+     * Set the delays between two SE presence checks when the reader does not support the smart
+     * insertion (fixed by default).
+     *
+     * @param pollingStrategy the strategy, null to restore the default one
+     */
+    void setPollingStrategy(PollingStrategy pollingStrategy);
 }
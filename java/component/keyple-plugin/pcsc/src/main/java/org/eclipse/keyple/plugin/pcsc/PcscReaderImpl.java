@@ -13,8 +13,6 @@ package org.eclipse.keyple.plugin.pcsc;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import javax.smartcardio.*;
@@ -29,7 +27,6 @@ import org.eclipse.keyple.core.seproxy.plugin.local.state.WaitForSeRemoval;
 import org.eclipse.keyple.core.seproxy.plugin.local.state.WaitForStartDetect;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
-import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -61,7 +58,6 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
     private final long removalLatency = 500;
 
     private final long insertWaitTimeout = 200;
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
     final private AtomicBoolean loopWaitSe = new AtomicBoolean();
     final private AtomicBoolean loopWaitSeRemoval = new AtomicBoolean();
@@ -75,9 +71,11 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
      *
      * @param pluginName the name of the plugin
      * @param terminal the PC/SC terminal
+     * @param monitoringScheduler the scheduler running the monitoring jobs
      */
-    protected PcscReaderImpl(String pluginName, CardTerminal terminal) {
-        super(pluginName, terminal.getName());
+    protected PcscReaderImpl(String pluginName, CardTerminal terminal,
+            MonitoringScheduler monitoringScheduler) {
+        super(pluginName, terminal.getName(), monitoringScheduler);
         this.terminal = terminal;
         this.card = null;
         this.channel = null;
@@ -116,23 +114,20 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
         if (!usePingPresence) {
             // use the SmartInsertionMonitoringJob
             states.put(AbstractObservableState.MonitoringState.WAIT_FOR_SE_INSERTION,
-                    new WaitForSeInsertion(this, new SmartInsertionMonitoringJob(this),
-                            executorService));
+                    new WaitForSeInsertion(this, new SmartInsertionMonitoringJob(this)));
         } else {
             // use the CardPresentMonitoring job (only on Mac due to jvm crash)
             // https://github.com/eclipse/keyple-java/issues/153
             states.put(AbstractObservableState.MonitoringState.WAIT_FOR_SE_INSERTION,
                     new WaitForSeInsertion(this,
-                            new CardPresentMonitoringJob(this, insertWaitTimeout, true),
-                            executorService));
+                            new CardPresentMonitoringJob(this, insertWaitTimeout, true)));
         }
 
         states.put(AbstractObservableState.MonitoringState.WAIT_FOR_SE_PROCESSING,
-                new WaitForSeProcessing(this, new SmartRemovalMonitoringJob(this),
-                        executorService));
+                new WaitForSeProcessing(this, new SmartRemovalMonitoringJob(this)));
 
         states.put(AbstractObservableState.MonitoringState.WAIT_FOR_SE_REMOVAL,
-                new WaitForSeRemoval(this, new SmartRemovalMonitoringJob(this), executorService));
+                new WaitForSeRemoval(this, new SmartRemovalMonitoringJob(this)));
 
 
         return new ObservableReaderStateService(this, states,
@@ -312,16 +307,15 @@ final class PcscReaderImpl extends AbstractObservableLocalReader
         // Test protocolFlag to check if ATR based protocol filtering is required
         if (protocolFlag != null) {
             if (!isPhysicalChannelOpen()) {
-                openPhysicalChannel();
+                openPhysicalChannelAndReport();
             }
             // the requestSet will be executed only if the protocol match the requestElement
-            String selectionMask = protocolsMap.get(protocolFlag);
+            Pattern selectionMask = getProtocolPattern(protocolFlag);
             if (selectionMask == null) {
                 throw new KeypleReaderException("Target selector mask not found!", null);
             }
-            Pattern p = Pattern.compile(selectionMask);
-            String atr = ByteArrayUtil.toHex(card.getATR().getBytes());
-            if (!p.matcher(atr).matches()) {
+            String atr = getAtrHex();
+            if (!selectionMask.matcher(atr).matches()) {
                 logger.debug(
                         "[{}] protocolFlagMatches => unmatching SE. PROTOCOLFLAG = {}, ATR = {}, MASK = {}",
                         this.getName(), protocolFlag, atr, selectionMask);
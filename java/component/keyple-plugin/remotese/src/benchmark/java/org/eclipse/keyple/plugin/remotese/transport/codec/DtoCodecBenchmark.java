@@ -0,0 +1,152 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Size and throughput of the binary codec compared to the json codec, for a transmitSet of 5 read
+ * records (request and response).
+ * <p>
+ * A round trip builds the keypleDto from its objects, encodes and decodes it, then gets back its
+ * objects as a remote method does. The figures are only logged.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class DtoCodecBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(DtoCodecBenchmark.class);
+
+    private static final int NB_APDUS = 5;
+    private static final int NB_ROUND_TRIPS = 2000;
+
+    private final Set<SeRequest> seRequestSet = buildSeRequestSet();
+    private final List<SeResponse> seResponses = buildSeResponses();
+
+    @Test
+    public void encodedSize() throws Exception {
+        DtoCodec json = new JsonDtoCodec();
+        DtoCodec binary = new BinaryDtoCodec();
+
+        int jsonRequest = json.encode(request()).length;
+        int binaryRequest = binary.encode(request()).length;
+        int jsonResponse = json.encode(response()).length;
+        int binaryResponse = binary.encode(response()).length;
+
+        logger.info("Request size: json = {} bytes, binary = {} bytes", jsonRequest,
+                binaryRequest);
+        logger.info("Response size: json = {} bytes, binary = {} bytes", jsonResponse,
+                binaryResponse);
+    }
+
+    @Test
+    public void roundTripThroughput() throws Exception {
+        DtoCodec json = new JsonDtoCodec();
+        DtoCodec binary = new BinaryDtoCodec();
+
+        /* warm up, then measure */
+        long jsonNanos = 0;
+        long binaryNanos = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            jsonNanos = roundTrips(json);
+            binaryNanos = roundTrips(binary);
+        }
+        logger.info("Round trips per second: json = {}, binary = {}",
+                NB_ROUND_TRIPS * 1000000000L / jsonNanos,
+                NB_ROUND_TRIPS * 1000000000L / binaryNanos);
+    }
+
+    /*
+     * encode and decode NB_ROUND_TRIPS requests and responses, returns the elapsed time
+     */
+    private long roundTrips(DtoCodec codec) throws Exception {
+        int apduCount = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_ROUND_TRIPS; i++) {
+            KeypleDto request = codec.decode(codec.encode(request()));
+            apduCount += TransmitPayload.fromDto(request).getSeRequestSet().iterator().next()
+                    .getApduRequests().size();
+            KeypleDto response = codec.decode(codec.encode(response()));
+            apduCount += TransmitPayload.fromDto(response).getSeResponses().get(0)
+                    .getApduResponses().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        Assert.assertEquals(NB_ROUND_TRIPS * NB_APDUS * 2, apduCount);
+        return elapsed;
+    }
+
+    private KeypleDto request() {
+        return KeypleDtoHelper.buildRequest(RemoteMethodName.READER_TRANSMIT_SET.getName(),
+                TransmitPayload.transmitSetRequest(seRequestSet,
+                        MultiSeRequestProcessing.FIRST_MATCH, ChannelControl.KEEP_OPEN),
+                "sessionId", "nativeReader", "virtualReader", "masterNode", "slaveNode",
+                "5f3b7a4e-8f6a-4a8e-9c1d-2b5e7f0a1c3d");
+    }
+
+    private KeypleDto response() {
+        return KeypleDtoHelper.buildResponse(RemoteMethodName.READER_TRANSMIT_SET.getName(),
+                TransmitPayload.transmitSetResponse(seResponses), "sessionId", "nativeReader",
+                "virtualReader", "slaveNode", "masterNode",
+                "5f3b7a4e-8f6a-4a8e-9c1d-2b5e7f0a1c3d");
+    }
+
+    private static Set<SeRequest> buildSeRequestSet() {
+        List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+        for (int i = 0; i < NB_APDUS; i++) {
+            apduRequests.add(new ApduRequest("Read Records",
+                    ByteArrayUtil.fromHex("00B2" + String.format("%02X", i + 1) + "A41D"), true));
+        }
+        SeSelector seSelector = new SeSelector(SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+                new SeSelector.AidSelector(
+                        new SeSelector.AidSelector.IsoAid("A000000291A000000191"), null),
+                "Calypso PO");
+        Set<SeRequest> seRequests = new LinkedHashSet<SeRequest>();
+        seRequests.add(new SeRequest(seSelector, apduRequests));
+        return seRequests;
+    }
+
+    private static List<SeResponse> buildSeResponses() {
+        List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+        for (int i = 0; i < NB_APDUS; i++) {
+            apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex(
+                    "24B92848080000131A10100000000000000000000000000000000000009000"), null));
+        }
+        ApduResponse fci = new ApduResponse(ByteArrayUtil.fromHex(
+                "6F24840A315449432E49434131A516BF0C13C708000000001122334453070A3C2311141001"
+                        + "9000"),
+                null);
+        List<SeResponse> responses = new ArrayList<SeResponse>();
+        responses.add(
+                new SeResponse(true, false, new SelectionStatus(null, fci, true), apduResponses));
+        return responses;
+    }
+}
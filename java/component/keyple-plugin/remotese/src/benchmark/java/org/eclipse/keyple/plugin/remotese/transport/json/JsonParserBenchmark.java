@@ -0,0 +1,145 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.json;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Serialization cost and allocation per message (a transmitSet of 5 read records and its
+ * response, serialized then parsed back) of the former Gson, built on each call and reflective,
+ * compared to the shared Gson with streaming adapters. The figures are logged.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class JsonParserBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonParserBenchmark.class);
+
+    private static final int NB_APDUS = 5;
+    private static final int NB_MESSAGES = 2000;
+
+    private static final Type SE_REQUEST_SET =
+            new TypeToken<LinkedHashSet<SeRequest>>() {}.getType();
+    private static final Type SE_RESPONSE_LIST =
+            new TypeToken<ArrayList<SeResponse>>() {}.getType();
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    private final Set<SeRequest> seRequestSet = buildSeRequestSet();
+    private final List<SeResponse> seResponses = buildSeResponses();
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void serializationCostPerMessage() throws Exception {
+        /* warm up, then measure */
+        long[] before = null;
+        long[] after = null;
+        for (int pass = 0; pass < 2; pass++) {
+            before = serialize(true);
+            after = serialize(false);
+        }
+        logger.info("Per message, former Gson: {} ns, {} bytes allocated", before[0] / NB_MESSAGES,
+                before[1] / NB_MESSAGES);
+        logger.info("Per message, shared Gson: {} ns, {} bytes allocated", after[0] / NB_MESSAGES,
+                after[1] / NB_MESSAGES);
+    }
+
+    /*
+     * serialize and parse NB_MESSAGES request and response, returns the elapsed time and the
+     * number of bytes allocated
+     */
+    private long[] serialize(boolean formerGson) {
+        int apduCount = 0;
+        long startBytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < NB_MESSAGES; i++) {
+            Gson gson = formerGson ? SeMessageTypeAdapterFactoryTest.reflectiveGson()
+                    : JsonParser.getGson();
+            Set<SeRequest> requests = gson.fromJson(gson.toJson(seRequestSet, SE_REQUEST_SET),
+                    SE_REQUEST_SET);
+            apduCount += requests.iterator().next().getApduRequests().size();
+
+            gson = formerGson ? SeMessageTypeAdapterFactoryTest.reflectiveGson()
+                    : JsonParser.getGson();
+            List<SeResponse> responses =
+                    gson.fromJson(gson.toJson(seResponses, SE_RESPONSE_LIST), SE_RESPONSE_LIST);
+            apduCount += responses.get(0).getApduResponses().size();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - startBytes;
+        Assert.assertEquals(NB_MESSAGES * NB_APDUS * 2, apduCount);
+        return new long[] {elapsed, allocated};
+    }
+
+    private long allocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Set<SeRequest> buildSeRequestSet() {
+        List<ApduRequest> apduRequests = new ArrayList<ApduRequest>();
+        for (int i = 0; i < NB_APDUS; i++) {
+            apduRequests.add(new ApduRequest("Read Records",
+                    ByteArrayUtil.fromHex("00B2" + String.format("%02X", i + 1) + "A41D"), true));
+        }
+        SeSelector seSelector = new SeSelector(SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+                new SeSelector.AidSelector(
+                        new SeSelector.AidSelector.IsoAid("A000000291A000000191"), null),
+                "Calypso PO");
+        Set<SeRequest> seRequests = new LinkedHashSet<SeRequest>();
+        seRequests.add(new SeRequest(seSelector, apduRequests));
+        return seRequests;
+    }
+
+    private static List<SeResponse> buildSeResponses() {
+        List<ApduResponse> apduResponses = new ArrayList<ApduResponse>();
+        for (int i = 0; i < NB_APDUS; i++) {
+            apduResponses.add(new ApduResponse(ByteArrayUtil.fromHex(
+                    "24B92848080000131A10100000000000000000000000000000000000009000"), null));
+        }
+        ApduResponse fci = new ApduResponse(ByteArrayUtil.fromHex(
+                "6F24840A315449432E49434131A516BF0C13C708000000001122334453070A3C2311141001"
+                        + "9000"),
+                null);
+        List<SeResponse> responses = new ArrayList<SeResponse>();
+        responses.add(
+                new SeResponse(true, false, new SelectionStatus(null, fci, true), apduResponses));
+        return responses;
+    }
+}
@@ -43,6 +43,20 @@ public interface INativeReaderService {
     String connectReader(SeReader localReader, Map<String, String> options)
             throws KeypleReaderException;
 
+    /**
+     * Connect again a Physical Local Reader whose connection may have been lost (e.g. after a
+     * network failure), without disconnecting it: the resume token received at its previous
+     * connection is presented so that the Master keeps the existing virtual reader and its session.
+     * If the session does not exist anymore on the Master, a new one is created.
+     *
+     * @param localReader nativeReader to be connected to Master
+     * @param options map of parameters to set into the virtual reader if a new one is created
+     * @return sessionId id of the session of the virtual reader
+     * @throws KeypleReaderException if the reader is connected and its session can not be resumed
+     */
+    String reconnectReader(SeReader localReader, Map<String, String> options)
+            throws KeypleReaderException;
+
 
     /**
      * Disconnect Physical Local Reader from RemoteSe Master, nativeReaderName must be used as the
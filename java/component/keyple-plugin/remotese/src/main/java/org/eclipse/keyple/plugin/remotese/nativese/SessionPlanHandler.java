@@ -0,0 +1,45 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.nativese;
+
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
+
+/**
+ * Executes on the slave side the {@link SessionPlan}s sent by the master, typically a Calypso
+ * secure session run with a SAM located near the PO, so that the whole session costs a single
+ * network round trip.
+ * <p>
+ * A handler is registered on the slave with
+ * {@link SlaveAPI#registerSessionPlanHandler(SessionPlanHandler)} and selected by the handler name
+ * of the plan.
+ */
+public interface SessionPlanHandler {
+
+    /**
+     * @return the name under which the handler is registered
+     */
+    String getName();
+
+    /**
+     * Execute a plan
+     *
+     * @param seReader the native reader the plan is sent to
+     * @param sessionPlan the plan
+     * @return the result returned to the master
+     * @throws KeypleReaderException if the exchanges with the SE fail
+     */
+    SessionPlanResult execute(ProxyReader seReader, SessionPlan sessionPlan)
+            throws KeypleReaderException;
+}
@@ -13,7 +13,9 @@ package org.eclipse.keyple.plugin.remotese.nativese;
 
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.keyple.core.seproxy.ReaderPlugin;
 import org.eclipse.keyple.core.seproxy.ReaderPoolPlugin;
 import org.eclipse.keyple.core.seproxy.SeProxyService;
@@ -22,6 +24,10 @@ import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.nativese.method.*;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
@@ -34,6 +40,7 @@ import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
 import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.gson.JsonObject;
 
 
 
@@ -61,6 +68,17 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
     // used in case of a poolPlugin architecture
     private ReaderPoolPlugin readerPoolPlugin;
 
+    // handlers of the session plans, by name
+    private final Map<String, SessionPlanHandler> sessionPlanHandlers =
+            new ConcurrentHashMap<String, SessionPlanHandler>();
+
+    // tokens resuming the sessions of the connected readers, by native reader name
+    private final Map<String, String> resumeTokens = new ConcurrentHashMap<String, String>();
+
+    // APDU requests run after a default selection match, by native reader name
+    private final Map<String, List<ApduRequest>> matchedApduRequests =
+            new ConcurrentHashMap<String, List<ApduRequest>>();
+
     public static final long DEFAULT_RPC_TIMEOUT = 10000;
 
 
@@ -166,6 +184,29 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
                 }
                 break;
 
+            case READER_TRANSMIT_PIPELINE:
+                // must be a request
+                if (keypleDTO.isRequest()) {
+                    IRemoteMethodExecutor rmTransmitPipeline =
+                            new RmTransmitPipelineExecutor(this);
+                    out = rmTransmitPipeline.execute(transportDto);
+                } else {
+                    throw new IllegalStateException(
+                            "a READER_TRANSMIT_PIPELINE response has been received by SlaveAPI");
+                }
+                break;
+
+            case READER_SESSION_PLAN:
+                // must be a request
+                if (keypleDTO.isRequest()) {
+                    IRemoteMethodExecutor rmSessionPlan = new RmSessionPlanExecutor(this);
+                    out = rmSessionPlan.execute(transportDto);
+                } else {
+                    throw new IllegalStateException(
+                            "a READER_SESSION_PLAN response has been received by SlaveAPI");
+                }
+                break;
+
             case DEFAULT_SELECTION_REQUEST:
                 // must be a request
                 if (keypleDTO.isRequest()) {
@@ -247,6 +288,24 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
     @Override
     public String connectReader(SeReader localReader, Map<String, String> options)
             throws KeypleReaderException {
+        return connectReader(localReader, options, null);
+    }
+
+    /**
+     * Connect again a local reader, resuming its session on the Master. Override from interface
+     * {@link INativeReaderService}
+     *
+     * @param localReader : native reader to be connected
+     * @param options : options will be set as parameters of a new virtual reader
+     */
+    @Override
+    public String reconnectReader(SeReader localReader, Map<String, String> options)
+            throws KeypleReaderException {
+        return connectReader(localReader, options, resumeTokens.get(localReader.getName()));
+    }
+
+    private String connectReader(SeReader localReader, Map<String, String> options,
+            String resumeToken) throws KeypleReaderException {
 
         if (options == null) {
             options = new HashMap<String, String>();
@@ -256,10 +315,16 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
                 localReader.getName(), dtoNode.getNodeId());
 
         RmConnectReaderTx connect = new RmConnectReaderTx(null, localReader.getName(), null,
-                masterNodeId, localReader, dtoNode.getNodeId(), this, options);
+                masterNodeId, localReader, dtoNode.getNodeId(), this, options, resumeToken);
         try {
             // blocking call
-            return connect.execute(rmTxEngine);
+            String sessionId = connect.execute(rmTxEngine);
+            if (connect.getResumeToken() != null) {
+                resumeTokens.put(localReader.getName(), connect.getResumeToken());
+            }
+            logger.debug("{} session {} {}", localReader.getName(), sessionId,
+                    connect.isResumed() ? "resumed" : "created");
+            return sessionId;
         } catch (KeypleRemoteException e) {
             throw new KeypleReaderException("An error occurred while calling connectReader", e);
         }
@@ -282,6 +347,8 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
 
         RmDisconnectReaderTx disconnect = new RmDisconnectReaderTx(sessionId, nativeReaderName,
                 dtoNode.getNodeId(), masterNodeId);
+        resumeTokens.remove(nativeReaderName);
+        matchedApduRequests.remove(nativeReaderName);
 
         try {
             // blocking call
@@ -335,7 +402,20 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
         logger.debug("{} SlaveAPI - reader event {}", dtoNode.getNodeId(), event.getEventType());
 
         // construct json data
-        String data = JsonParser.getGson().toJson(event);
+        String data;
+        SeResponse matchedSeResponse = null;
+        if (event.getEventType() == ReaderEvent.EventType.SE_MATCHED) {
+            matchedSeResponse = runMatchedApduRequests(event.getReaderName());
+        }
+        if (matchedSeResponse == null) {
+            data = JsonParser.getGson().toJson(event);
+        } else {
+            // the responses travel with the event
+            JsonObject jsonObject = JsonParser.getGson().toJsonTree(event).getAsJsonObject();
+            jsonObject.add("matchedSeResponse",
+                    JsonParser.getGson().toJsonTree(matchedSeResponse, SeResponse.class));
+            data = JsonParser.getGson().toJson(jsonObject);
+        }
 
         try {
             dtoNode.sendDTO(KeypleDtoHelper.buildNotification(
@@ -348,11 +428,65 @@ public class SlaveAPI implements INativeReaderService, DtoHandler, ObservableRea
     }
 
 
+    /*
+     * run the APDU requests set for the reader on the channel left open by the default selection
+     */
+    private SeResponse runMatchedApduRequests(String nativeReaderName) {
+        List<ApduRequest> apduRequests = matchedApduRequests.get(nativeReaderName);
+        if (apduRequests == null) {
+            return null;
+        }
+        try {
+            ProxyReader reader = (ProxyReader) findLocalReader(nativeReaderName);
+            return reader.transmit(new SeRequest(apduRequests));
+        } catch (KeypleReaderException e) {
+            // the master will have to send them itself
+            logger.warn("{} APDU requests after the match failed: {}", nativeReaderName,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Set the APDU requests to run on a native reader right after a default selection has matched,
+     * the responses are sent with the SE_MATCHED event.
+     *
+     * @param nativeReaderName the name of the native reader
+     * @param apduRequests the APDU requests, null or empty to run none
+     */
+    public void setMatchedApduRequests(String nativeReaderName, List<ApduRequest> apduRequests) {
+        if (apduRequests == null || apduRequests.isEmpty()) {
+            matchedApduRequests.remove(nativeReaderName);
+        } else {
+            matchedApduRequests.put(nativeReaderName, apduRequests);
+        }
+    }
+
     public RemoteMethodTxEngine getRmTxEngine() {
         return rmTxEngine;
     }
 
 
+    /**
+     * Register the handler executing the session plans sent by the master under its name, it
+     * replaces a handler previously registered with the same name
+     *
+     * @param sessionPlanHandler the handler
+     */
+    public void registerSessionPlanHandler(SessionPlanHandler sessionPlanHandler) {
+        sessionPlanHandlers.put(sessionPlanHandler.getName(), sessionPlanHandler);
+    }
+
+    /**
+     * Get a session plan handler
+     *
+     * @param name the name of the handler
+     * @return the handler, null if none is registered under this name
+     */
+    public SessionPlanHandler getSessionPlanHandler(String name) {
+        return sessionPlanHandlers.get(name);
+    }
+
     /**
      * Bind a ReaderPoolPlugin to the slaveAPI to enable Pool Plugins methods
      * 
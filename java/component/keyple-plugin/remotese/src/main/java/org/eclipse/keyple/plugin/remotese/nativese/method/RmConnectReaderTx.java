@@ -36,6 +36,9 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
     private final SeReader localReader;
     private final INativeReaderService slaveAPI;
     private final Map<String, String> options;
+    private final String resumeToken;
+    private String newResumeToken;
+    private boolean resumed;
 
     @Override
     public RemoteMethodName getMethodName() {
@@ -46,10 +49,39 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
     public RmConnectReaderTx(String sessionId, String nativeReaderName, String virtualReaderName,
             String masterNodeId, SeReader localReader, String slaveNodeId,
             INativeReaderService slaveAPI, Map<String, String> options) {
+        this(sessionId, nativeReaderName, virtualReaderName, masterNodeId, localReader,
+                slaveNodeId, slaveAPI, options, null);
+    }
+
+    /**
+     * Connect a reader, resuming its session on the master if the token is still valid
+     *
+     * @param resumeToken the token returned by a previous connection of the reader, null if none
+     */
+    public RmConnectReaderTx(String sessionId, String nativeReaderName, String virtualReaderName,
+            String masterNodeId, SeReader localReader, String slaveNodeId,
+            INativeReaderService slaveAPI, Map<String, String> options, String resumeToken) {
         super(sessionId, nativeReaderName, virtualReaderName, masterNodeId, slaveNodeId);
         this.localReader = localReader;
         this.slaveAPI = slaveAPI;
         this.options = options;
+        this.resumeToken = resumeToken;
+    }
+
+    /**
+     * @return the token allowing to resume the session, null if the master did not provide one
+     *         (available once the response is received)
+     */
+    public String getResumeToken() {
+        return newResumeToken;
+    }
+
+    /**
+     * @return true if the master resumed the existing session of the reader (available once the
+     *         response is received)
+     */
+    public boolean isResumed() {
+        return resumed;
     }
 
     private static final Logger logger = LoggerFactory.getLogger(RmConnectReaderTx.class);
@@ -61,8 +93,7 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
         // if reader connection thrown an exception
         if (KeypleDtoHelper.containsException(keypleDto)) {
             logger.trace("KeypleDto contains an exception: {}", keypleDto);
-            KeypleReaderException ex =
-                    JsonParser.getGson().fromJson(keypleDto.getBody(), KeypleReaderException.class);
+            KeypleReaderException ex = KeypleDtoHelper.getReaderException(keypleDto);
             throw new KeypleRemoteException(
                     "An exception occurs while calling the remote method connectReader", ex);
         } else {
@@ -89,6 +120,11 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
                 JsonObject body =
                         JsonParser.getGson().fromJson(keypleDto.getBody(), JsonObject.class);
 
+                if (body.has("resumeToken")) {
+                    newResumeToken = body.get("resumeToken").getAsString();
+                    resumed = body.has("resumed") && body.get("resumed").getAsBoolean();
+                }
+
                 // sessionId is returned here
                 return body.get("sessionId").getAsString();
 
@@ -109,6 +145,9 @@ public class RmConnectReaderTx extends AbstractRemoteMethodTx<String> {
         body.addProperty("transmissionMode", localReader.getTransmissionMode().name());
         body.addProperty("isObservable", localReader instanceof ObservableReader);
         body.addProperty("options", JsonParser.getGson().toJson(options));
+        if (resumeToken != null) {
+            body.addProperty("resumeToken", resumeToken);
+        }
 
         return KeypleDtoHelper.buildRequest(getMethodName().getName(), body.toString(), null,
                 localReader.getName(), null, requesterNodeId, targetNodeId, id);
@@ -45,8 +45,7 @@ public class RmDisconnectReaderTx extends AbstractRemoteMethodTx<Boolean> {
         // if reader connection thrown an exception
         if (KeypleDtoHelper.containsException(keypleDto)) {
             // logger.trace("KeypleDto contains an exception: {}", keypleDto);
-            KeypleReaderException ex =
-                    JsonParser.getGson().fromJson(keypleDto.getBody(), KeypleReaderException.class);
+            KeypleReaderException ex = KeypleDtoHelper.getReaderException(keypleDto);
             throw new KeypleRemoteException(
                     "An exception occurs while calling the remote method disconnectReader", ex);
         } else {
@@ -0,0 +1,101 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.nativese.method;
+
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.plugin.remotese.nativese.SessionPlanHandler;
+import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
+import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Execute a {@link SessionPlan} on Native Reader with the {@link SessionPlanHandler} registered
+ * on the SlaveAPI
+ *
+ * <p>
+ * See {@link org.eclipse.keyple.plugin.remotese.pluginse.method.RmSessionPlanTx}
+ */
+public class RmSessionPlanExecutor implements IRemoteMethodExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RmSessionPlanExecutor.class);
+
+    private final SlaveAPI slaveAPI;
+
+    @Override
+    public RemoteMethodName getMethodName() {
+        return RemoteMethodName.READER_SESSION_PLAN;
+    }
+
+    public RmSessionPlanExecutor(SlaveAPI slaveAPI) {
+        this.slaveAPI = slaveAPI;
+    }
+
+    @Override
+    public TransportDto execute(TransportDto transportDto) {
+        KeypleDto keypleDto = transportDto.getKeypleDTO();
+        TransportDto out;
+
+        // extract info
+        SessionPlan sessionPlan =
+                JsonParser.getGson().fromJson(keypleDto.getBody(), SessionPlan.class);
+
+        String nativeReaderName = keypleDto.getNativeReaderName();
+        logger.trace("Execute locally session plan : {}", sessionPlan);
+
+        try {
+            SessionPlanHandler handler =
+                    slaveAPI.getSessionPlanHandler(sessionPlan.getHandlerName());
+            if (handler == null) {
+                throw new KeypleReaderException(
+                        "No session plan handler registered as " + sessionPlan.getHandlerName());
+            }
+
+            // find native reader by name
+            ProxyReader reader = (ProxyReader) slaveAPI.findLocalReader(nativeReaderName);
+
+            SessionPlanResult result;
+            try {
+                result = handler.execute(reader, sessionPlan);
+            } catch (RuntimeException e) {
+                // the master must get an answer
+                throw new KeypleReaderException("The session plan handler "
+                        + sessionPlan.getHandlerName() + " failed: " + e.getMessage(), e);
+            }
+
+            // prepare response
+            out = transportDto.nextTransportDTO(KeypleDtoHelper.buildResponse(
+                    getMethodName().getName(),
+                    JsonParser.getGson().toJson(result, SessionPlanResult.class),
+                    keypleDto.getSessionId(), nativeReaderName, keypleDto.getVirtualReaderName(),
+                    keypleDto.getTargetNodeId(), keypleDto.getRequesterNodeId(),
+                    keypleDto.getId()));
+
+        } catch (KeypleReaderException e) {
+            // if an exception occurs, send it into a keypleDto to the Master
+            out = transportDto.nextTransportDTO(KeypleDtoHelper.ExceptionDTO(
+                    getMethodName().getName(), e, keypleDto.getSessionId(), nativeReaderName,
+                    keypleDto.getVirtualReaderName(), keypleDto.getTargetNodeId(),
+                    keypleDto.getRequesterNodeId(), keypleDto.getId()));
+        }
+
+        return out;
+    }
+}
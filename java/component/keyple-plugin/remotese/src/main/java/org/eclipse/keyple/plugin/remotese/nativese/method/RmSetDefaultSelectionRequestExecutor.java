@@ -11,9 +11,13 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.nativese.method;
 
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsRequest;
 import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
@@ -25,6 +29,7 @@ import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
 
 /**
  * Execute the Default Selection Request on Native Reader
@@ -73,6 +78,18 @@ public class RmSetDefaultSelectionRequestExecutor implements IRemoteMethodExecut
             hasPollingMode = true;
         }
 
+        // APDU requests to run after a match, optional
+        List<ApduRequest> matchedApduRequests = null;
+        if (jsonObject.has("matchedApduRequests")) {
+            matchedApduRequests = JsonParser.getGson().fromJson(
+                    jsonObject.get("matchedApduRequests"),
+                    new TypeToken<ArrayList<ApduRequest>>() {}.getType());
+            if (defaultSelectionsRequest.getChannelControl() != ChannelControl.KEEP_OPEN) {
+                logger.warn("The default selection closes the channel, APDU requests ignored");
+                matchedApduRequests = null;
+            }
+        }
+
         String nativeReaderName = keypleDto.getNativeReaderName();
 
         logger.debug("Execute locally SetDefaultSelectionRequest : {} - {} - {}", notificationMode,
@@ -87,6 +104,8 @@ public class RmSetDefaultSelectionRequestExecutor implements IRemoteMethodExecut
                 logger.debug(reader.getName()
                         + " is an ObservableReader, invoke setDefaultSelectionRequest on it");
 
+                slaveAPI.setMatchedApduRequests(nativeReaderName, matchedApduRequests);
+
                 // invoke a different method if polling Mode was set
                 if (hasPollingMode) {
                     // this method has a different behaviour with the parameter pollingMode
@@ -18,13 +18,12 @@ import org.eclipse.keyple.core.seproxy.message.*;
 import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
-import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
 import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.gson.JsonObject;
 
 /**
  * Execute the Transmit on Native Reader
@@ -54,12 +53,11 @@ public class RmTransmitExecutor implements IRemoteMethodExecutor {
         ChannelControl channelControl;
 
         // Extract info from keypleDto
-        JsonObject bodyJsonO = JsonParser.getGson().fromJson(keypleDto.getBody(), JsonObject.class);
+        TransmitPayload payload = TransmitPayload.fromDto(keypleDto);
 
-        channelControl = ChannelControl.valueOf(bodyJsonO.get("channelControl").getAsString());
+        channelControl = payload.getChannelControl();
 
-        SeRequest seRequest = JsonParser.getGson()
-                .fromJson(bodyJsonO.get("seRequest").getAsString(), SeRequest.class);
+        SeRequest seRequest = payload.getSeRequest();
 
 
         String nativeReaderName = keypleDto.getNativeReaderName();
@@ -73,9 +71,9 @@ public class RmTransmitExecutor implements IRemoteMethodExecutor {
             seResponse = reader.transmit(seRequest, channelControl);
 
             // prepare response
-            String parseBody = JsonParser.getGson().toJson(seResponse, SeResponse.class);
             out = transportDto.nextTransportDTO(KeypleDtoHelper.buildResponse(
-                    getMethodName().getName(), parseBody, keypleDto.getSessionId(),
+                    getMethodName().getName(), TransmitPayload.transmitResponse(seResponse),
+                    keypleDto.getSessionId(),
                     nativeReaderName, keypleDto.getVirtualReaderName(), keypleDto.getTargetNodeId(),
                     keypleDto.getRequesterNodeId(), keypleDto.getId()));
 
@@ -11,8 +11,6 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.nativese.method;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
@@ -24,14 +22,12 @@ import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.nativese.SlaveAPI;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
-import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
 import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 
 /**
  * Execute the TransmitSet on Native Reader from KeypleDto
@@ -63,18 +59,14 @@ public class RmTransmitSetExecutor implements IRemoteMethodExecutor {
         MultiSeRequestProcessing multiSeRequestProcessing;
         ChannelControl channelControl;
 
-        // parse body
-        JsonObject bodyJsonO = JsonParser.getGson().fromJson(keypleDto.getBody(), JsonObject.class);
-
         // extract info
-        multiSeRequestProcessing = MultiSeRequestProcessing
-                .valueOf(bodyJsonO.get("multiSeRequestProcessing").getAsString());
+        TransmitPayload payload = TransmitPayload.fromDto(keypleDto);
+
+        multiSeRequestProcessing = payload.getMultiSeRequestProcessing();
 
-        channelControl = ChannelControl.valueOf(bodyJsonO.get("channelControl").getAsString());
+        channelControl = payload.getChannelControl();
 
-        Set<SeRequest> seRequestSet =
-                JsonParser.getGson().fromJson(bodyJsonO.get("seRequestSet").getAsString(),
-                        new TypeToken<LinkedHashSet<SeRequest>>() {}.getType());
+        Set<SeRequest> seRequestSet = payload.getSeRequestSet();
 
 
         // prepare transmitSet on nativeReader
@@ -91,10 +83,9 @@ public class RmTransmitSetExecutor implements IRemoteMethodExecutor {
                     reader.transmitSet(seRequestSet, multiSeRequestProcessing, channelControl);
 
             // prepare response
-            String parseBody = JsonParser.getGson().toJson(seResponseList,
-                    new TypeToken<ArrayList<SeResponse>>() {}.getType());
             out = transportDto.nextTransportDTO(KeypleDtoHelper.buildResponse(
-                    getMethodName().getName(), parseBody, keypleDto.getSessionId(),
+                    getMethodName().getName(), TransmitPayload.transmitSetResponse(seResponseList),
+                    keypleDto.getSessionId(),
                     nativeReaderName, keypleDto.getVirtualReaderName(), keypleDto.getTargetNodeId(),
                     keypleDto.getRequesterNodeId(), keypleDto.getId()));
 
@@ -223,6 +223,8 @@ public class MasterAPI implements DtoHandler {
 
             case READER_TRANSMIT:
             case READER_TRANSMIT_SET:
+            case READER_TRANSMIT_PIPELINE:
+            case READER_SESSION_PLAN:
             case DEFAULT_SELECTION_REQUEST:
                 if (keypleDTO.isRequest()) {
                     throw new IllegalStateException("a " + keypleDTO.getAction()
@@ -233,6 +235,7 @@ public class MasterAPI implements DtoHandler {
                 try {
                     // find reader by sessionId
                     VirtualReaderImpl reader = getReaderBySessionId(keypleDTO.getSessionId());
+                    reader.touch();
 
                     // process response with the reader rmtx engine
                     return reader.getRmTxEngine().onDTO(transportDto);
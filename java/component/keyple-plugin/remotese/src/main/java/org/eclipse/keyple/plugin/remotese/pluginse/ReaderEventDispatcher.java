@@ -0,0 +1,275 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.pluginse;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notifies the events received from the slaves to the observers of the {@link VirtualReader}s.
+ * <p>
+ * The events of a virtual reader are notified one after the other, in their order of arrival; the
+ * events of different readers are notified in parallel on shared worker threads.
+ * <p>
+ * The events of a reader waiting to be notified are coalesced: an insertion (SE_INSERTED or
+ * SE_MATCHED) followed by a removal before being notified is dropped together with the removal,
+ * the observers never see an SE which is already gone.
+ * <p>
+ * The dispatcher measures the number of pending events and the dispatch lag, time between the
+ * arrival of an event and the beginning of its notification.
+ */
+public class ReaderEventDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReaderEventDispatcher.class);
+
+    private final Executor workers;
+    private final ConcurrentMap<String, ReaderQueue> queues =
+            new ConcurrentHashMap<String, ReaderQueue>();
+
+    private final LatencyHistogram dispatchLag = new LatencyHistogram();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger maxPendingCount = new AtomicInteger();
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /**
+     * Create a dispatcher
+     *
+     * @param workers the executor running the notifications
+     */
+    ReaderEventDispatcher(Executor workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Queue an event for the observers of a virtual reader
+     *
+     * @param virtualReader the reader
+     * @param event the event
+     */
+    void dispatch(VirtualReaderImpl virtualReader, ReaderEvent event) {
+        dispatch(virtualReader, event, null);
+    }
+
+    /**
+     * Queue an event for the observers of a virtual reader, with the responses to the APDU
+     * requests run by the slave after the match
+     *
+     * @param virtualReader the reader
+     * @param event the event
+     * @param matchedSeResponse the responses, made available by the reader during the notification
+     *        of the event (null if none)
+     */
+    void dispatch(VirtualReaderImpl virtualReader, ReaderEvent event,
+            SeResponse matchedSeResponse) {
+        ReaderQueue queue = queues.get(virtualReader.getName());
+        if (queue == null) {
+            ReaderQueue newQueue = new ReaderQueue(virtualReader);
+            queue = queues.putIfAbsent(virtualReader.getName(), newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+        queue.add(event, matchedSeResponse);
+    }
+
+    /**
+     * Forget a virtual reader, its pending events are dropped
+     *
+     * @param readerName the name of the virtual reader
+     */
+    void remove(String readerName) {
+        ReaderQueue queue = queues.remove(readerName);
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * @param readerName the name of a virtual reader
+     * @return the number of events of the reader waiting to be notified
+     */
+    public int getQueueDepth(String readerName) {
+        ReaderQueue queue = queues.get(readerName);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * @return the number of events of all the readers waiting to be notified
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return the highest number of events waiting to be notified at the same time
+     */
+    public int getMaxPendingCount() {
+        return maxPendingCount.get();
+    }
+
+    /**
+     * @return the number of events notified
+     */
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    /**
+     * @return the number of events dropped by coalescing
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * @return the times between the arrival of the events and the beginning of their notification
+     */
+    public LatencyHistogram getDispatchLag() {
+        return dispatchLag;
+    }
+
+    /**
+     * An event waiting to be notified
+     */
+    private static final class PendingEvent {
+        private final ReaderEvent event;
+        private final SeResponse matchedSeResponse;
+        private final long arrivalNanos;
+
+        PendingEvent(ReaderEvent event, SeResponse matchedSeResponse) {
+            this.event = event;
+            this.matchedSeResponse = matchedSeResponse;
+            this.arrivalNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * The pending events of a virtual reader, notified serially on the workers
+     */
+    private final class ReaderQueue implements Runnable {
+        private final VirtualReaderImpl virtualReader;
+        /* guarded by itself */
+        private final LinkedList<PendingEvent> events = new LinkedList<PendingEvent>();
+        private boolean active;
+
+        ReaderQueue(VirtualReaderImpl virtualReader) {
+            this.virtualReader = virtualReader;
+        }
+
+        void add(ReaderEvent event, SeResponse matchedSeResponse) {
+            synchronized (events) {
+                if (event.getEventType() == ReaderEvent.EventType.SE_REMOVED
+                        && coalesceInsertion()) {
+                    // the SE came and went before being notified
+                    coalescedCount.incrementAndGet();
+                    logger.debug("{} insertion and removal coalesced", virtualReader.getName());
+                    return;
+                }
+                events.add(new PendingEvent(event, matchedSeResponse));
+                updatePendingCount(1);
+                if (active) {
+                    return;
+                }
+                active = true;
+            }
+            try {
+                workers.execute(this);
+            } catch (RejectedExecutionException e) {
+                logger.error("{} event not notified, no worker available",
+                        virtualReader.getName());
+                synchronized (events) {
+                    updatePendingCount(-events.size());
+                    events.clear();
+                    active = false;
+                }
+            }
+        }
+
+        /*
+         * drop the pending insertion events at the tail of the queue, guarded by events
+         */
+        private boolean coalesceInsertion() {
+            boolean coalesced = false;
+            while (!events.isEmpty() && isInsertion(events.getLast().event)) {
+                events.removeLast();
+                updatePendingCount(-1);
+                coalescedCount.incrementAndGet();
+                coalesced = true;
+            }
+            return coalesced;
+        }
+
+        int size() {
+            synchronized (events) {
+                return events.size();
+            }
+        }
+
+        void clear() {
+            synchronized (events) {
+                updatePendingCount(-events.size());
+                events.clear();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                PendingEvent pendingEvent;
+                synchronized (events) {
+                    pendingEvent = events.poll();
+                    if (pendingEvent == null) {
+                        active = false;
+                        return;
+                    }
+                    updatePendingCount(-1);
+                }
+                dispatchLag.record(System.nanoTime() - pendingEvent.arrivalNanos);
+                virtualReader.setMatchedSeResponse(pendingEvent.matchedSeResponse);
+                try {
+                    virtualReader.notifyObservers(pendingEvent.event);
+                } catch (RuntimeException e) {
+                    logger.error("{} observer failed on {}", virtualReader.getName(),
+                            pendingEvent.event.getEventType(), e);
+                } finally {
+                    virtualReader.setMatchedSeResponse(null);
+                }
+                dispatchedCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static boolean isInsertion(ReaderEvent event) {
+        return event.getEventType() == ReaderEvent.EventType.SE_INSERTED
+                || event.getEventType() == ReaderEvent.EventType.SE_MATCHED;
+    }
+
+    private void updatePendingCount(int delta) {
+        int count = pendingCount.addAndGet(delta);
+        int max = maxPendingCount.get();
+        while (count > max && !maxPendingCount.compareAndSet(max, count)) {
+            max = maxPendingCount.get();
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.eclipse.keyple.core.seproxy.ReaderPlugin;
 import org.eclipse.keyple.core.seproxy.event.ObservablePlugin;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
+import org.eclipse.keyple.core.seproxy.plugin.local.MonitoringScheduler;
 
 /**
  * RemoteSePlugin manages Virtual Reader. Use its ObservablePlugin capacities to get notified when a
@@ -46,5 +47,34 @@ public interface RemoteSePlugin extends ReaderPlugin, ObservablePlugin {
     void disconnectVirtualReader(String remoteName, String slaveNodeId)
             throws KeypleReaderException;
 
+    /**
+     * Set the scheduler whose threads notify the events of the {@link VirtualReader}s, in place of
+     * the default scheduler shared by all the readers. The events of a reader are notified in their
+     * order of arrival.
+     * <p>
+     * Applies to the events received afterwards.
+     *
+     * @param monitoringScheduler the scheduler
+     */
+    void setMonitoringScheduler(MonitoringScheduler monitoringScheduler);
+
+    /**
+     * Get the dispatcher notifying the events of the {@link VirtualReader}s, to read its queue
+     * depths and dispatch lag
+     *
+     * @return the reader event dispatcher
+     */
+    ReaderEventDispatcher getReaderEventDispatcher();
+
+    /**
+     * Expire the sessions of the {@link VirtualReader}s whose slave has sent nothing (event or
+     * response) during the given time: the virtual readers are disconnected (READER_DISCONNECTED
+     * event). Until then, a slave reconnecting a reader resumes its session and keeps its virtual
+     * reader. By default the sessions do not expire.
+     *
+     * @param idleTimeoutMillis the idle time in milliseconds, 0 to disable the expiry
+     */
+    void setSessionIdleTimeout(long idleTimeoutMillis);
+
 
 }
@@ -11,17 +11,25 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.seproxy.SeReader;
 import org.eclipse.keyple.core.seproxy.event.PluginEvent;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
 import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.core.seproxy.plugin.AbstractPlugin;
+import org.eclipse.keyple.core.seproxy.plugin.local.MonitoringScheduler;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodTxEngine;
 import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
@@ -46,6 +54,20 @@ class RemoteSePluginImpl extends AbstractPlugin implements RemoteSePlugin {
     private final VirtualReaderSessionFactory sessionManager;
     protected final DtoSender dtoSender;
     private final Map<String, String> parameters;
+    /* scheduler whose task threads, not used by the blocking jobs, notify the reader events */
+    private volatile MonitoringScheduler monitoringScheduler = MonitoringScheduler.getDefault();
+    private final ReaderEventDispatcher eventDispatcher =
+            new ReaderEventDispatcher(new Executor() {
+                @Override
+                public void execute(Runnable task) {
+                    monitoringScheduler.submit(task);
+                }
+            });
+
+    /* in milliseconds, 0 if the idle sessions do not expire */
+    private volatile long sessionIdleTimeout;
+    /* timer expiring the idle sessions, guarded by this */
+    private ScheduledExecutorService expiryTimer;
 
     /**
      * RemoteSePlugin is wrapped into MasterAPI and instantiated like a standard plugin
@@ -74,6 +96,65 @@ class RemoteSePluginImpl extends AbstractPlugin implements RemoteSePlugin {
     }
 
 
+    @Override
+    public void setMonitoringScheduler(MonitoringScheduler monitoringScheduler) {
+        this.monitoringScheduler = monitoringScheduler;
+    }
+
+    @Override
+    public ReaderEventDispatcher getReaderEventDispatcher() {
+        return eventDispatcher;
+    }
+
+    @Override
+    public synchronized void setSessionIdleTimeout(long idleTimeoutMillis) {
+        this.sessionIdleTimeout = idleTimeoutMillis;
+        if (expiryTimer != null) {
+            expiryTimer.shutdownNow();
+            expiryTimer = null;
+        }
+        if (idleTimeoutMillis > 0) {
+            expiryTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, getName() + "-SessionExpiry");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            long period = Math.max(1, idleTimeoutMillis / 2);
+            expiryTimer.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        expireIdleSessions();
+                    } catch (RuntimeException e) {
+                        logger.error("Expiry of the idle sessions failed", e);
+                    }
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Remove the virtual readers whose slave has been silent longer than the idle timeout
+     */
+    void expireIdleSessions() {
+        long limit = System.currentTimeMillis() - sessionIdleTimeout;
+        for (SeReader reader : new ArrayList<SeReader>(readers)) {
+            VirtualReaderImpl virtualReader = (VirtualReaderImpl) reader;
+            if (virtualReader.getLastActivityTime() < limit) {
+                logger.info("Session of VirtualReader {} expired", virtualReader.getName());
+                try {
+                    removeVirtualReader(virtualReader.getNativeReaderName(),
+                            virtualReader.getSession().getSlaveNodeId());
+                } catch (KeypleReaderNotFoundException e) {
+                    // already disconnected
+                }
+            }
+        }
+    }
+
     @Override
     public void disconnectVirtualReader(String nativeReaderName, String slaveNodeId)
             throws KeypleReaderException {
@@ -81,6 +162,32 @@ class RemoteSePluginImpl extends AbstractPlugin implements RemoteSePlugin {
     }
 
 
+    /**
+     * Resume the session of a reconnecting slave reader (internal method)
+     *
+     * @param slaveNodeId slave node where the native reader is hosted
+     * @param nativeReaderName name of the native reader
+     * @param resumeToken the token of the session presented by the slave
+     * @return the existing virtual reader, null if the session does not exist anymore
+     */
+    VirtualReaderImpl resumeVirtualReader(String slaveNodeId, String nativeReaderName,
+            String resumeToken) {
+        try {
+            VirtualReaderImpl virtualReader = getReaderByRemoteName(nativeReaderName, slaveNodeId);
+            if (resumeToken.equals(virtualReader.getSession().getResumeToken())) {
+                virtualReader.touch();
+                logger.info("Resume VirtualReader {} with session {}", virtualReader.getName(),
+                        virtualReader.getSession().getSessionId());
+                return virtualReader;
+            }
+            logger.warn("Wrong resume token presented for VirtualReader {}",
+                    virtualReader.getName());
+        } catch (KeypleReaderNotFoundException e) {
+            // expired or disconnected, a new session will be created
+        }
+        return null;
+    }
+
     /**
      * Create a virtual reader (internal method)
      */
@@ -115,11 +222,11 @@ class RemoteSePluginImpl extends AbstractPlugin implements RemoteSePlugin {
         if (isObservable) {
             virtualReader = new VirtualObservableReaderImpl(session, nativeReaderName,
                     new RemoteMethodTxEngine(dtoSender, rpc_timeout), slaveNodeId, transmissionMode,
-                    options);
+                    options, eventDispatcher);
         } else {
             virtualReader = new VirtualReaderImpl(session, nativeReaderName,
                     new RemoteMethodTxEngine(dtoSender, rpc_timeout), slaveNodeId, transmissionMode,
-                    options);
+                    options, eventDispatcher);
         }
         readers.add(virtualReader);
 
@@ -148,8 +255,9 @@ class RemoteSePluginImpl extends AbstractPlugin implements RemoteSePlugin {
         logger.info("Remove VirtualReader with name {} with slaveNodeId {}", nativeReaderName,
                 slaveNodeId);
 
-        // remove observers of reader
+        // remove observers of reader and its pending events
         virtualReader.clearObservers();
+        eventDispatcher.remove(virtualReader.getName());
 
         // remove reader
         readers.remove(virtualReader);
@@ -165,10 +273,23 @@ class RemoteSePluginImpl extends AbstractPlugin implements RemoteSePlugin {
      */
 
     void onReaderEvent(ReaderEvent event) throws KeypleReaderNotFoundException {
+        onReaderEvent(event, null);
+    }
+
+    /**
+     * Propagate a received event from slave device with the responses to the APDU requests run by
+     * the slave after the match (internal method)
+     *
+     * @param event : Reader Event to be propagated
+     * @param matchedSeResponse : responses to the matched APDU requests, null if none
+     */
+    void onReaderEvent(ReaderEvent event, SeResponse matchedSeResponse)
+            throws KeypleReaderNotFoundException {
         logger.debug("Dispatch ReaderEvent to the appropriate Reader : {}", event.getReaderName());
 
         VirtualReaderImpl virtualReader = (VirtualReaderImpl) getReader(event.getReaderName());
-        virtualReader.onRemoteReaderEvent(event);
+        virtualReader.touch();
+        virtualReader.onRemoteReaderEvent(event, matchedSeResponse);
 
     }
 
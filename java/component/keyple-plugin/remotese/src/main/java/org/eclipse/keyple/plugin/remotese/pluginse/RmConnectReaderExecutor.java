@@ -65,15 +65,28 @@ class RmConnectReaderExecutor implements IRemoteMethodExecutor {
 
         VirtualReaderImpl virtualReader = null;
         try {
-            // create a virtual Reader
-            virtualReader = (VirtualReaderImpl) this.plugin.createVirtualReader(slaveNodeId,
-                    nativeReaderName, this.dtoSender, TransmissionMode.valueOf(transmissionMode),
-                    isObservable, options);
+            // resume the session of a reconnecting reader
+            if (body.has("resumeToken")) {
+                virtualReader = this.plugin.resumeVirtualReader(slaveNodeId, nativeReaderName,
+                        body.get("resumeToken").getAsString());
+            }
+            boolean resumed = virtualReader != null;
+
+            if (!resumed) {
+                // create a virtual Reader
+                virtualReader = (VirtualReaderImpl) this.plugin.createVirtualReader(slaveNodeId,
+                        nativeReaderName, this.dtoSender,
+                        TransmissionMode.valueOf(transmissionMode), isObservable, options);
+            }
 
 
             // create response
             JsonObject respBody = new JsonObject();
             respBody.add("sessionId", new JsonPrimitive(virtualReader.getSession().getSessionId()));
+            if (virtualReader.getSession().getResumeToken() != null) {
+                respBody.addProperty("resumeToken", virtualReader.getSession().getResumeToken());
+                respBody.addProperty("resumed", resumed);
+            }
 
             // build transport DTO with body
             return transportDto.nextTransportDTO(
@@ -13,12 +13,14 @@ package org.eclipse.keyple.plugin.remotese.pluginse;
 
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodExecutor;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
 import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import com.google.gson.JsonObject;
 
 /**
  * Transform and propagate the reader event to the virtual reader
@@ -41,7 +43,16 @@ class RmReaderEventExecutor implements IRemoteMethodExecutor {
         KeypleDto keypleDto = transportDto.getKeypleDTO();
 
         // parseResponse body
-        ReaderEvent event = JsonParser.getGson().fromJson(keypleDto.getBody(), ReaderEvent.class);
+        JsonObject body = JsonParser.getGson().fromJson(keypleDto.getBody(), JsonObject.class);
+        ReaderEvent event = JsonParser.getGson().fromJson(body, ReaderEvent.class);
+
+        // responses to the APDU requests run by the slave after the match, kept apart from the
+        // selection responses
+        SeResponse matchedSeResponse = null;
+        if (body.has("matchedSeResponse")) {
+            matchedSeResponse = JsonParser.getGson().fromJson(body.get("matchedSeResponse"),
+                    SeResponse.class);
+        }
 
         // substitute native reader name by virtual reader name
         ReaderEvent virtualEvent = new ReaderEvent(remoteSePlugin.getName(),
@@ -51,7 +62,7 @@ class RmReaderEventExecutor implements IRemoteMethodExecutor {
 
         // dispatch reader event
         try {
-            remoteSePlugin.onReaderEvent(virtualEvent);
+            remoteSePlugin.onReaderEvent(virtualEvent, matchedSeResponse);
 
             return transportDto.nextTransportDTO(KeypleDtoHelper.NoResponse(null));
         } catch (KeypleReaderNotFoundException e) {
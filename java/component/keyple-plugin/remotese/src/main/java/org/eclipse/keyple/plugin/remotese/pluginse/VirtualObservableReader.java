@@ -11,12 +11,44 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
 
 /**
  * Define a Virtual Observable Reader
  */
 public interface VirtualObservableReader extends VirtualReader, ObservableReader {
 
+    /**
+     * Set a default selection request, with APDU requests the slave runs right after a match on
+     * the channel left open by the selection (e.g. the reading of the environment and contracts),
+     * saving the round trips of the following transmissions.
+     * <p>
+     * Their responses come with the SE_MATCHED event and are provided by
+     * {@link #getMatchedSeResponse()} during its notification; the selection responses of the
+     * event are left unchanged. They are missing if the default selection closes the channel or if
+     * their transmission failed.
+     *
+     * @param defaultSelectionsRequest the default selection request
+     * @param notificationMode the notification mode
+     * @param pollingMode the polling mode, null if not specified
+     * @param matchedApduRequests the APDU requests to run after a match
+     */
+    void setDefaultSelectionRequest(AbstractDefaultSelectionsRequest defaultSelectionsRequest,
+            NotificationMode notificationMode, PollingMode pollingMode,
+            List<ApduRequest> matchedApduRequests);
+
+    /**
+     * Gets the responses to the APDU requests run by the slave after the match (see
+     * {@link #setDefaultSelectionRequest(AbstractDefaultSelectionsRequest, NotificationMode, PollingMode, List)}).
+     * <p>
+     * To be called by the observers while the SE_MATCHED event is notified.
+     *
+     * @return the responses, null if none or outside of the notification of a SE_MATCHED event
+     */
+    SeResponse getMatchedSeResponse();
 
 }
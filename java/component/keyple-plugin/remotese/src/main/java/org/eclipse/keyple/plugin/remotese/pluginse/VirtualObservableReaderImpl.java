@@ -11,8 +11,10 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import java.util.List;
 import java.util.Map;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.pluginse.method.RmSetDefaultSelectionRequestTx;
@@ -31,8 +33,9 @@ final class VirtualObservableReaderImpl extends VirtualReaderImpl
 
     public VirtualObservableReaderImpl(VirtualReaderSession session, String nativeReaderName,
             RemoteMethodTxEngine rmTxEngine, String slaveNodeId, TransmissionMode transmissionMode,
-            Map<String, String> options) {
-        super(session, nativeReaderName, rmTxEngine, slaveNodeId, transmissionMode, options);
+            Map<String, String> options, ReaderEventDispatcher eventDispatcher) {
+        super(session, nativeReaderName, rmTxEngine, slaveNodeId, transmissionMode, options,
+                eventDispatcher);
     }
 
 
@@ -93,4 +96,26 @@ final class VirtualObservableReaderImpl extends VirtualReaderImpl
                     e);
         }
     }
+
+    @Override
+    public void setDefaultSelectionRequest(
+            AbstractDefaultSelectionsRequest defaultSelectionsRequest,
+            NotificationMode notificationMode, PollingMode pollingMode,
+            List<ApduRequest> matchedApduRequests) {
+
+        RmSetDefaultSelectionRequestTx setDefaultSelectionRequest =
+                new RmSetDefaultSelectionRequestTx(defaultSelectionsRequest, notificationMode,
+                        pollingMode, matchedApduRequests, this.getNativeReaderName(),
+                        this.getName(), this.getSession().getSessionId(),
+                        session.getSlaveNodeId(), session.getMasterNodeId());
+
+        try {
+            // blocking call
+            setDefaultSelectionRequest.execute(rmTxEngine);
+        } catch (KeypleRemoteException e) {
+            logger.error(
+                    "setDefaultSelectionRequest encounters an exception while communicating with slave",
+                    e);
+        }
+    }
 }
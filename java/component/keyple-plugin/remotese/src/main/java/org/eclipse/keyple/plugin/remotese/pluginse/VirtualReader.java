@@ -11,7 +11,19 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodTxCallback;
+import org.eclipse.keyple.plugin.remotese.transport.model.SeRequestPipeline;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
 
 /**
  * Define a Virtual Reader (non observable)
@@ -30,4 +42,80 @@ public interface VirtualReader extends SeReader {
      * @return virtual reader session
      */
     public VirtualReaderSession getSession();
+
+    /**
+     * Non blocking Transmit: the SeRequest is sent to the native reader and the method returns
+     * immediately, many transmissions may be in flight at the same time.
+     * <p>
+     * The exception given to the callback (or held by the ExecutionException of the future) is a
+     * KeypleRemoteException whose cause is the KeypleReaderException raised by the native reader,
+     * if any.
+     *
+     * @param seRequest : SeRequest to be transmitted to SE
+     * @param channelControl indicates if the channel has to be closed at the end of the processing
+     * @param callback : receives the SeResponse or the exception, may be null
+     * @return the future of the SeResponse
+     */
+    Future<SeResponse> transmitAsync(SeRequest seRequest, ChannelControl channelControl,
+            IRemoteMethodTxCallback<SeResponse> callback);
+
+    /**
+     * Non blocking TransmitSet, see {@link #transmitAsync(SeRequest, ChannelControl,
+     * IRemoteMethodTxCallback)}
+     *
+     * @param seRequestSet : Set of SeRequest to be transmitted to SE
+     * @param multiSeRequestProcessing the multi se processing mode
+     * @param channelControl indicates if the channel has to be closed at the end of the processing
+     * @param callback : receives the list of SeResponse or the exception, may be null
+     * @return the future of the list of SeResponse
+     */
+    Future<List<SeResponse>> transmitSetAsync(Set<SeRequest> seRequestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl,
+            IRemoteMethodTxCallback<List<SeResponse>> callback);
+
+    /**
+     * Blocking transmission of a script of SeRequests: the whole script is executed by the slave
+     * against the native reader in a single round trip.
+     *
+     * @param pipeline the steps to execute
+     * @return the SeResponses of the transmitted steps, shorter than the steps when a stop
+     *         condition has been met
+     * @throws KeypleReaderException if a step fails (the SeResponses of the previous steps are
+     *         held by the exception) or if the slave can not be reached
+     */
+    List<SeResponse> transmitPipeline(SeRequestPipeline pipeline) throws KeypleReaderException;
+
+    /**
+     * Non blocking version of {@link #transmitPipeline(SeRequestPipeline)}, see
+     * {@link #transmitAsync(SeRequest, ChannelControl, IRemoteMethodTxCallback)}
+     *
+     * @param pipeline the steps to execute
+     * @param callback : receives the list of SeResponse or the exception, may be null
+     * @return the future of the list of SeResponse
+     */
+    Future<List<SeResponse>> transmitPipelineAsync(SeRequestPipeline pipeline,
+            IRemoteMethodTxCallback<List<SeResponse>> callback);
+
+    /**
+     * Blocking execution of a secure session by the slave: the plan is run against the native
+     * reader by the {@link org.eclipse.keyple.plugin.remotese.nativese.SessionPlanHandler}
+     * registered on the slave under the handler name of the plan, in a single round trip.
+     *
+     * @param sessionPlan the plan of the session
+     * @return the result of the session
+     * @throws KeypleReaderException if the session fails, if no handler is registered under this
+     *         name or if the slave can not be reached
+     */
+    SessionPlanResult executeSessionPlan(SessionPlan sessionPlan) throws KeypleReaderException;
+
+    /**
+     * Non blocking version of {@link #executeSessionPlan(SessionPlan)}, see
+     * {@link #transmitAsync(SeRequest, ChannelControl, IRemoteMethodTxCallback)}
+     *
+     * @param sessionPlan the plan of the session
+     * @param callback : receives the result or the exception, may be null
+     * @return the future of the result
+     */
+    Future<SessionPlanResult> executeSessionPlanAsync(SessionPlan sessionPlan,
+            IRemoteMethodTxCallback<SessionPlanResult> callback);
 }
@@ -15,8 +15,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
@@ -27,9 +26,15 @@ import org.eclipse.keyple.core.seproxy.plugin.AbstractReader;
 import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.pluginse.method.RmSessionPlanTx;
+import org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitPipelineTx;
 import org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitSetTx;
 import org.eclipse.keyple.plugin.remotese.pluginse.method.RmTransmitTx;
+import org.eclipse.keyple.plugin.remotese.rm.IRemoteMethodTxCallback;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodTxEngine;
+import org.eclipse.keyple.plugin.remotese.transport.model.SeRequestPipeline;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,7 +50,14 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
     protected final String slaveNodeId;
     protected final TransmissionMode transmissionMode;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    /* dispatcher notifying the events in their order of arrival */
+    private final ReaderEventDispatcher eventDispatcher;
+
+    /* time (currentTimeMillis) of the last message received from the slave for this reader */
+    private volatile long lastActivityTime = System.currentTimeMillis();
+
+    /* responses to the matched APDU requests of the event being notified, null if none */
+    private volatile SeResponse matchedSeResponse;
 
     private static final Logger logger = LoggerFactory.getLogger(VirtualReaderImpl.class);
 
@@ -58,10 +70,11 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
      * @param nativeReaderName : native reader name on slave terminal
      * @param rmTxEngine : processor for remote method
      * @param transmissionMode : transmission mode of the native reader on slave terminal
+     * @param eventDispatcher : dispatcher notifying the reader events to the observers
      */
     VirtualReaderImpl(VirtualReaderSession session, String nativeReaderName,
             RemoteMethodTxEngine rmTxEngine, String slaveNodeId, TransmissionMode transmissionMode,
-            Map<String, String> options) {
+            Map<String, String> options, ReaderEventDispatcher eventDispatcher) {
         super(RemoteSePluginImpl.DEFAULT_PLUGIN_NAME,
                 RemoteSePluginImpl.generateReaderName(nativeReaderName, slaveNodeId));
         this.session = session;
@@ -70,6 +83,7 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
         this.slaveNodeId = slaveNodeId;
         this.transmissionMode = transmissionMode;
         this.parameters = options;
+        this.eventDispatcher = eventDispatcher;
     }
 
     /**
@@ -121,14 +135,7 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
             // blocking call
             return transmit.execute(rmTxEngine);
         } catch (KeypleRemoteException e) {
-            if (e.getCause() != null) {
-                // KeypleReaderException is inside the KeypleRemoteException
-                throw (KeypleReaderException) e.getCause();
-
-            } else {
-                // create a new KeypleReaderException
-                throw new KeypleReaderException(e.getMessage());
-            }
+            throw toReaderException(e);
         }
     }
 
@@ -152,12 +159,92 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
             // blocking call
             return transmit.execute(rmTxEngine);
         } catch (KeypleRemoteException e) {
-            e.printStackTrace();
-            throw (KeypleReaderException) e.getCause();
+            throw toReaderException(e);
         }
 
     }
 
+    @Override
+    public Future<SeResponse> transmitAsync(SeRequest seRequest, ChannelControl channelControl,
+            IRemoteMethodTxCallback<SeResponse> callback) {
+        RmTransmitTx transmit = new RmTransmitTx(seRequest, channelControl, session.getSessionId(),
+                this.getNativeReaderName(), this.getName(), session.getMasterNodeId(),
+                session.getSlaveNodeId());
+        return transmit.executeAsync(rmTxEngine, callback);
+    }
+
+    @Override
+    public Future<List<SeResponse>> transmitSetAsync(Set<SeRequest> seRequestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl,
+            IRemoteMethodTxCallback<List<SeResponse>> callback) {
+        RmTransmitSetTx transmit = new RmTransmitSetTx(seRequestSet, multiSeRequestProcessing,
+                channelControl, session.getSessionId(), this.getNativeReaderName(), this.getName(),
+                session.getMasterNodeId(), session.getSlaveNodeId());
+        return transmit.executeAsync(rmTxEngine, callback);
+    }
+
+    @Override
+    public List<SeResponse> transmitPipeline(SeRequestPipeline pipeline)
+            throws KeypleReaderException {
+        try {
+            // blocking call
+            return newTransmitPipelineTx(pipeline).execute(rmTxEngine);
+        } catch (KeypleRemoteException e) {
+            throw toReaderException(e);
+        }
+    }
+
+    @Override
+    public Future<List<SeResponse>> transmitPipelineAsync(SeRequestPipeline pipeline,
+            IRemoteMethodTxCallback<List<SeResponse>> callback) {
+        return newTransmitPipelineTx(pipeline).executeAsync(rmTxEngine, callback);
+    }
+
+    private RmTransmitPipelineTx newTransmitPipelineTx(SeRequestPipeline pipeline) {
+        if (pipeline == null) {
+            throw new IllegalArgumentException("pipeline must not be null");
+        }
+        return new RmTransmitPipelineTx(pipeline, session.getSessionId(),
+                this.getNativeReaderName(), this.getName(), session.getMasterNodeId(),
+                session.getSlaveNodeId());
+    }
+
+    @Override
+    public SessionPlanResult executeSessionPlan(SessionPlan sessionPlan)
+            throws KeypleReaderException {
+        try {
+            // blocking call
+            return newSessionPlanTx(sessionPlan).execute(rmTxEngine);
+        } catch (KeypleRemoteException e) {
+            throw toReaderException(e);
+        }
+    }
+
+    @Override
+    public Future<SessionPlanResult> executeSessionPlanAsync(SessionPlan sessionPlan,
+            IRemoteMethodTxCallback<SessionPlanResult> callback) {
+        return newSessionPlanTx(sessionPlan).executeAsync(rmTxEngine, callback);
+    }
+
+    private RmSessionPlanTx newSessionPlanTx(SessionPlan sessionPlan) {
+        if (sessionPlan == null) {
+            throw new IllegalArgumentException("sessionPlan must not be null");
+        }
+        return new RmSessionPlanTx(sessionPlan, session.getSessionId(), this.getNativeReaderName(),
+                this.getName(), session.getMasterNodeId(), session.getSlaveNodeId());
+    }
+
+    /*
+     * the KeypleReaderException raised by the native reader is inside the KeypleRemoteException,
+     * otherwise (timeout, transport error) a new one is created
+     */
+    private static KeypleReaderException toReaderException(KeypleRemoteException e) {
+        if (e.getCause() instanceof KeypleReaderException) {
+            return (KeypleReaderException) e.getCause();
+        }
+        return new KeypleReaderException(e.getMessage(), e);
+    }
+
     @Override
     public void addSeProtocolSetting(SeProtocol seProtocol, String protocolRule) {
         logger.error("{} addSeProtocolSetting is not implemented yet", this.getName());
@@ -172,38 +259,64 @@ class VirtualReaderImpl extends AbstractReader implements VirtualReader {
      * PACKAGE PRIVATE
      */
 
+    /**
+     * Record an activity of the slave on this reader, postponing the expiry of its session
+     */
+    void touch() {
+        lastActivityTime = System.currentTimeMillis();
+    }
+
+    long getLastActivityTime() {
+        return lastActivityTime;
+    }
+
+    /**
+     * Gets the responses to the APDU requests run by the slave after the match, for the SE_MATCHED
+     * event being notified (see {@link VirtualObservableReader}).
+     *
+     * @return the responses, null if none or outside of the notification of the event
+     */
+    public SeResponse getMatchedSeResponse() {
+        return matchedSeResponse;
+    }
+
+    /**
+     * Set the responses to the matched APDU requests of the event about to be notified
+     *
+     * @param matchedSeResponse the responses, null if none
+     */
+    void setMatchedSeResponse(SeResponse matchedSeResponse) {
+        this.matchedSeResponse = matchedSeResponse;
+    }
+
     /**
      * When an event occurs on the Remote LocalReader, notify Observers
      * 
      * @param event
      */
     void onRemoteReaderEvent(final ReaderEvent event) {
-        final VirtualReaderImpl thisReader = this;
+        onRemoteReaderEvent(event, null);
+    }
 
+    /**
+     * When an event occurs on the Remote LocalReader, notify Observers
+     *
+     * @param event the event
+     * @param matchedSeResponse the responses to the matched APDU requests run by the slave, null
+     *        if none
+     */
+    void onRemoteReaderEvent(final ReaderEvent event, SeResponse matchedSeResponse) {
         logger.debug("{} EVENT {} ", this.getName(), event.getEventType());
 
-        if (thisReader.countObservers() > 0) {
-            /*
-             * thisReader.notifyObservers(event);
-             */
-
-
-            // launch event another thread to permit blocking method to be used in update methode
+        if (this.countObservers() > 0) {
+            // notified by another thread to permit blocking method to be used in update method
             // (such as transmit)
-            executorService.execute(new Runnable() {
-                @Override
-                public void run() {
-                    thisReader.notifyObservers(event);
-                }
-            });
-
-
+            eventDispatcher.dispatch(this, event, matchedSeResponse);
         } else {
             logger.debug(
                     "An event was received but no observers are declared into VirtualReader : {} {}",
-                    thisReader.getName(), event.getEventType());
+                    this.getName(), event.getEventType());
         }
-
     }
 
 
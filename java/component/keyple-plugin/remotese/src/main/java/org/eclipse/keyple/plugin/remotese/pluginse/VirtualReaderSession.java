@@ -26,4 +26,10 @@ public interface VirtualReaderSession {
 
     String getMasterNodeId();
 
+    /**
+     * Retrieve the token a reconnecting slave presents to resume this session
+     *
+     * @return resumeToken, null if the session can not be resumed
+     */
+    String getResumeToken();
 }
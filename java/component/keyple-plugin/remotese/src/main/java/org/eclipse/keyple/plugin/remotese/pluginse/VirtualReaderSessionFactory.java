@@ -11,6 +11,8 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse;
 
+import java.util.UUID;
+
 /**
  * Create Virtual Reader Sessions
  */
@@ -28,7 +30,7 @@ class VirtualReaderSessionFactory {
     public VirtualReaderSession createSession(String nativeReaderName, String slaveNodeId,
             String masterNodeId) {
         return new VirtualReaderSessionImpl(generateSessionId(nativeReaderName, slaveNodeId),
-                slaveNodeId, masterNodeId);
+                slaveNodeId, masterNodeId, generateResumeToken());
     }
 
 
@@ -47,5 +49,14 @@ class VirtualReaderSessionFactory {
         return nativeReaderName + nodeId + String.valueOf(System.currentTimeMillis());
     }
 
+    /**
+     * Generate the secret token allowing a reconnecting slave to resume its session
+     *
+     * @return unpredictable token
+     */
+    private String generateResumeToken() {
+        return UUID.randomUUID().toString();
+    }
+
 
 }
@@ -26,9 +26,15 @@ public class VirtualReaderSessionImpl implements VirtualReaderSession {
     private final String sessionId;
     private final String slaveNodeId;
     private final String masterNodeId;
+    private final String resumeToken;
 
     // constructor
     public VirtualReaderSessionImpl(String sessionId, String slaveNodeId, String masterNodeId) {
+        this(sessionId, slaveNodeId, masterNodeId, null);
+    }
+
+    public VirtualReaderSessionImpl(String sessionId, String slaveNodeId, String masterNodeId,
+            String resumeToken) {
         logger.debug("Creating VirtualReader sessionId:{} slaveNodeId:{} slaveNodeId:{}", sessionId,
                 slaveNodeId, slaveNodeId);
         if (sessionId == null) {
@@ -43,6 +49,7 @@ public class VirtualReaderSessionImpl implements VirtualReaderSession {
         this.sessionId = sessionId;
         this.slaveNodeId = slaveNodeId;
         this.masterNodeId = masterNodeId;
+        this.resumeToken = resumeToken;
     }
 
 
@@ -62,6 +69,11 @@ public class VirtualReaderSessionImpl implements VirtualReaderSession {
         return masterNodeId;
     }
 
+    @Override
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
     @Override
     public String toString() {
         return "sessionId:" + sessionId + " - slaveNodeId:" + slaveNodeId + " - masterNodeId:"
@@ -11,14 +11,18 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse.method;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.eclipse.keyple.core.seproxy.event.AbstractDefaultSelectionsRequest;
 import org.eclipse.keyple.core.seproxy.event.ObservableReader;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
 import org.eclipse.keyple.plugin.remotese.rm.AbstractRemoteMethodTx;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
 import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
 
 /**
  * Handle the DefaultSelectionRequest keypleDTO serialization and deserialization
@@ -28,6 +32,7 @@ public class RmSetDefaultSelectionRequestTx extends AbstractRemoteMethodTx {
     private final AbstractDefaultSelectionsRequest defaultSelectionsRequest;
     private final ObservableReader.NotificationMode notificationMode;
     private ObservableReader.PollingMode pollingMode;
+    private List<ApduRequest> matchedApduRequests;
 
     public static String DEFAULT_VALUE;
 
@@ -56,6 +61,23 @@ public class RmSetDefaultSelectionRequestTx extends AbstractRemoteMethodTx {
         this.notificationMode = notificationMode;
     }
 
+    /**
+     * Set a default selection request and the APDU requests the slave runs right after a match,
+     * on the channel left open by the selection; their responses come with the SE_MATCHED event.
+     *
+     * @param pollingMode the polling mode, null if not specified
+     * @param matchedApduRequests the APDU requests to run after a match, null if none
+     */
+    public RmSetDefaultSelectionRequestTx(AbstractDefaultSelectionsRequest defaultSelectionsRequest,
+            ObservableReader.NotificationMode notificationMode,
+            ObservableReader.PollingMode pollingMode, List<ApduRequest> matchedApduRequests,
+            String nativeReaderName, String virtualReaderName, String sessionId,
+            String slaveNodeId, String requesterNodeId) {
+        this(defaultSelectionsRequest, notificationMode, pollingMode, nativeReaderName,
+                virtualReaderName, sessionId, slaveNodeId, requesterNodeId);
+        this.matchedApduRequests = matchedApduRequests;
+    }
+
     /*
      * No response is expected from this Rm calls
      */
@@ -80,6 +102,11 @@ public class RmSetDefaultSelectionRequestTx extends AbstractRemoteMethodTx {
             body.addProperty("pollingMode", KeypleDtoHelper.notSpecified());
         }
 
+        if (matchedApduRequests != null && !matchedApduRequests.isEmpty()) {
+            body.add("matchedApduRequests", JsonParser.getGson().toJsonTree(matchedApduRequests,
+                    new TypeToken<ArrayList<ApduRequest>>() {}.getType()));
+        }
+
 
         return KeypleDtoHelper.buildRequest(getMethodName().getName(),
                 JsonParser.getGson().toJson(body, JsonObject.class), sessionId, nativeReaderName,
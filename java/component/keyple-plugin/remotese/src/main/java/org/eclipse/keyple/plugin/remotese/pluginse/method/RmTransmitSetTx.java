@@ -11,8 +11,6 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.pluginse.method;
 
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.keyple.core.seproxy.ChannelControl;
@@ -23,13 +21,11 @@ import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.rm.AbstractRemoteMethodTx;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
-import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 
 /**
  * Handle the Transmit keypleDTO serialization and deserialization
@@ -61,16 +57,9 @@ public class RmTransmitSetTx extends AbstractRemoteMethodTx<List<SeResponse>> {
     public KeypleDto dto() {
 
 
-        JsonObject body = new JsonObject();
-
-        body.addProperty("seRequestSet", JsonParser.getGson().toJson(seRequestSet,
-                new TypeToken<LinkedHashSet<SeRequest>>() {}.getType()));
-
-        body.addProperty("multiSeRequestProcessing", multiSeRequestProcessing.name());
-
-        body.addProperty("channelControl", channelControl.name());
-
-        return KeypleDtoHelper.buildRequest(getMethodName().getName(), body.toString(),
+        return KeypleDtoHelper.buildRequest(getMethodName().getName(),
+                TransmitPayload.transmitSetRequest(seRequestSet, multiSeRequestProcessing,
+                        channelControl),
                 this.sessionId, this.nativeReaderName, this.virtualReaderName, requesterNodeId,
                 targetNodeId, id);
     }
@@ -83,14 +72,12 @@ public class RmTransmitSetTx extends AbstractRemoteMethodTx<List<SeResponse>> {
 
         if (KeypleDtoHelper.containsException(keypleDto)) {
             logger.trace("KeypleDto contains an exception: {}", keypleDto);
-            KeypleReaderException ex =
-                    JsonParser.getGson().fromJson(keypleDto.getBody(), KeypleReaderException.class);
+            KeypleReaderException ex = KeypleDtoHelper.getReaderException(keypleDto);
             throw new KeypleRemoteException(
                     "An exception occurs while calling the remote method transmitSet", ex);
         } else {
             logger.trace("KeypleDto contains a response: {}", keypleDto);
-            return JsonParser.getGson().fromJson(keypleDto.getBody(),
-                    new TypeToken<ArrayList<SeResponse>>() {}.getType());
+            return TransmitPayload.fromDto(keypleDto).getSeResponses();
         }
     }
 
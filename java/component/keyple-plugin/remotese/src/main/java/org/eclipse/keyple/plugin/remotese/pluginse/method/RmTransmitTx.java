@@ -19,12 +19,11 @@ import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.rm.AbstractRemoteMethodTx;
 import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
-import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.gson.JsonObject;
 
 /**
  * Handle the Transmit keypleDTO serialization and deserialization
@@ -51,13 +50,8 @@ public class RmTransmitTx extends AbstractRemoteMethodTx<SeResponse> {
 
     @Override
     public KeypleDto dto() {
-        JsonObject body = new JsonObject();
-
-        body.addProperty("seRequest", JsonParser.getGson().toJson(seRequest, SeRequest.class));
-
-        body.addProperty("channelControl", channelControl.name());
-
-        return KeypleDtoHelper.buildRequest(getMethodName().getName(), body.toString(),
+        return KeypleDtoHelper.buildRequest(getMethodName().getName(),
+                TransmitPayload.transmitRequest(seRequest, channelControl),
                 this.sessionId, this.nativeReaderName, this.virtualReaderName, requesterNodeId,
                 targetNodeId, id);
     }
@@ -69,13 +63,12 @@ public class RmTransmitTx extends AbstractRemoteMethodTx<SeResponse> {
         logger.trace("KeypleDto : {}", keypleDto);
         if (KeypleDtoHelper.containsException(keypleDto)) {
             logger.trace("KeypleDto contains an exception: {}", keypleDto);
-            KeypleReaderException ex =
-                    JsonParser.getGson().fromJson(keypleDto.getBody(), KeypleReaderException.class);
+            KeypleReaderException ex = KeypleDtoHelper.getReaderException(keypleDto);
             throw new KeypleRemoteException(
                     "An exception occurs while calling the remote method transmit", ex);
         } else {
             logger.trace("KeypleDto contains a response: {}", keypleDto);
-            return JsonParser.getGson().fromJson(keypleDto.getBody(), SeResponse.class);
+            return TransmitPayload.fromDto(keypleDto).getSeResponse();
         }
     }
 
@@ -13,7 +13,12 @@ package org.eclipse.keyple.plugin.remotese.rm;
 
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
@@ -23,6 +28,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Abstract class to implement blocking and non blocking call to a Remote Method that sends a
  * response
+ * <p>
+ * The request is sent by a thread of a shared pool and the timeout is run by a shared timer: no
+ * thread is created nor held by a call waiting for its response.
  * 
  * @param <T> : type of the response
  */
@@ -38,17 +46,19 @@ public abstract class AbstractRemoteMethodTx<T> {
     protected Boolean isRegistered;
 
     // response
-    private T response;
+    private volatile T response;
 
     // exception thrown if any
-    private KeypleRemoteException remoteException;
+    private volatile KeypleRemoteException remoteException;
 
-    // blocking mechanism
-    private CountDownLatch lock;
+    // completion mechanism
+    private final CountDownLatch lock = new CountDownLatch(1);
     private IRemoteMethodTxCallback<T> callback;
     private long timeout;
+    private ScheduledFuture<?> timeoutTask;
 
     private DtoSender sender;
+    private IRemoteMethodTxEngine rmTxEngine;
 
     protected AbstractRemoteMethodTx(String sessionId, String nativeReaderName,
             String virtualReaderName, String targetNodeId, String requesterNodeId) {
@@ -110,6 +120,49 @@ public abstract class AbstractRemoteMethodTx<T> {
      */
     final public T execute(IRemoteMethodTxEngine rmTxEngine) throws KeypleRemoteException {
 
+        start(rmTxEngine, null, false);
+
+        try {
+            logger.trace("Lock {}, {}", getMethodName(), this.id);
+            if (!lock.await(timeout, TimeUnit.MILLISECONDS)) {
+                /*
+                 * timeout, no answer has been received
+                 */
+                complete(null, timeoutException());
+            }
+            logger.trace("Unlock {}, {}", getMethodName(), this.id);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(
+                    "Thread locking in blocking transmitSet has encountered an exception", e);
+        }
+        if (this.remoteException != null) {
+            throw remoteException;
+        }
+        return response;
+    }
+
+    /**
+     * Non blocking method to execute the remote method call, many calls may be in flight at the
+     * same time on the same RemoteMethodTxEngine. The result is given to the callback (if any) by
+     * the thread receiving the response, or by the timer when the timeout elapses.
+     *
+     * @param rmTxEngine : local RemoteMethodTxEngine to execute the command into
+     * @param callback : receives the result or the exception, may be null
+     * @return the future of the result, its get methods throw an ExecutionException holding the
+     *         KeypleRemoteException if the call failed
+     */
+    final public Future<T> executeAsync(IRemoteMethodTxEngine rmTxEngine,
+            IRemoteMethodTxCallback<T> callback) {
+        start(rmTxEngine, callback, true);
+        return new ResultFuture();
+    }
+
+    /*
+     * register the call, arm its timeout if requested and send the request on the shared pool
+     */
+    private void start(IRemoteMethodTxEngine rmTxEngine, IRemoteMethodTxCallback<T> callback,
+            boolean withTimer) {
+
         // register this method to receive response
         rmTxEngine.register(this);
 
@@ -117,57 +170,70 @@ public abstract class AbstractRemoteMethodTx<T> {
             throw new IllegalStateException(
                     "RemoteMethodTx#execute() can not be used until RemoteMethod is isRegistered in a RemoteMethodEngine, please call RemoteMethodEngine#register");
         }
-        // logger.debug("Blocking Get {}", this.getClass().getCanonicalName());
-        final AbstractRemoteMethodTx thisInstance = this;
-
-        Thread asyncSend = new Thread() {
-            @Override
-            public void run() {
-                try {
-                    send(new IRemoteMethodTxCallback<T>() {
-                        @Override
-                        public void get(T response, KeypleRemoteException exception) {
-                            logger.debug("Release lock of rm {} {}", thisInstance.getMethodName(),
-                                    thisInstance.id);
-                            lock.countDown();
-                        }
-                    });
-                } catch (KeypleRemoteException e) {
-                    logger.error("Exception while sending Dto", e);
-                    thisInstance.remoteException = e;
-                    lock.countDown();
+        this.rmTxEngine = rmTxEngine;
+        this.callback = callback;
+
+        RemoteMethodTxScheduler scheduler = RemoteMethodTxScheduler.getDefault();
+        if (withTimer) {
+            ScheduledFuture<?> task = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    complete(null, timeoutException());
                 }
+            }, timeout);
+            synchronized (this) {
+                timeoutTask = task;
             }
-        };
-
+        }
         try {
-            lock = new CountDownLatch(1);
-            logger.trace("" + "" + "Set callback on RemoteMethodTx {} {}",
-                    this.getClass().getCanonicalName(), this.hashCode());
-            asyncSend.start();
-            logger.trace("Lock {}, {}", thisInstance.getMethodName(), this.id);
-            boolean responseReceived = lock.await(timeout, TimeUnit.MILLISECONDS);
-
-            if (responseReceived) {
-                logger.trace("Unlock {}, {}", this.getClass().getCanonicalName(), this.hashCode());
-                if (this.remoteException != null) {
-                    throw remoteException;
-                } else {
-                    return response;
+            scheduler.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        sender.sendDTO(dto());
+                    } catch (KeypleRemoteException e) {
+                        logger.error("Exception while sending Dto", e);
+                        complete(null, e);
+                    }
                 }
-            } else {
-                /*
-                 * timeout, no answer has been received
-                 */
-                throw new KeypleRemoteException(
-                        "Waiting time elapsed, no answer received from the other node for method "
-                                + this.getClass().getCanonicalName());
-            }
+            });
+        } catch (RejectedExecutionException e) {
+            complete(null, new KeypleRemoteException("Unable to send the method "
+                    + this.getClass().getCanonicalName(), e));
+        }
+    }
 
+    private KeypleRemoteException timeoutException() {
+        return new KeypleRemoteException(
+                "Waiting time elapsed, no answer received from the other node for method "
+                        + this.getClass().getCanonicalName());
+    }
 
-        } catch (InterruptedException e) {
-            throw new IllegalStateException(
-                    "Thread locking in blocking transmitSet has encountered an exception", e);
+    /*
+     * set the result once (response, sending failure or timeout), release the waiting threads and
+     * call the callback
+     */
+    private void complete(T response, KeypleRemoteException exception) {
+        IRemoteMethodTxCallback<T> resultCallback;
+        synchronized (this) {
+            if (lock.getCount() == 0) {
+                return;
+            }
+            if (exception != null && rmTxEngine != null) {
+                // no response will be processed for this call, unregistered before the release
+                rmTxEngine.unregister(this);
+            }
+            this.response = response;
+            this.remoteException = exception;
+            lock.countDown();
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+            }
+            resultCallback = callback;
+        }
+        logger.debug("Release lock of rm {} {}", getMethodName(), id);
+        if (resultCallback != null) {
+            resultCallback.get(response, exception);
         }
     }
 
@@ -178,11 +244,9 @@ public abstract class AbstractRemoteMethodTx<T> {
      */
     void setResponse(KeypleDto keypleDto) {
         try {
-            this.response = parseResponse(keypleDto);
-            this.callback.get(response, null);
+            complete(parseResponse(keypleDto), null);
         } catch (KeypleRemoteException e) {
-            this.remoteException = e;
-            this.callback.get(null, e);
+            complete(null, e);
         }
     }
 
@@ -202,6 +266,46 @@ public abstract class AbstractRemoteMethodTx<T> {
      */
     protected abstract KeypleDto dto();
 
+    /**
+     * Future of the result of an asynchronous call, the call can not be cancelled
+     */
+    private class ResultFuture implements Future<T> {
 
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return lock.getCount() == 0;
+        }
+
+        @Override
+        public T get() throws InterruptedException, ExecutionException {
+            lock.await();
+            return result();
+        }
 
+        @Override
+        public T get(long waitTimeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!lock.await(waitTimeout, unit)) {
+                throw new TimeoutException();
+            }
+            return result();
+        }
+
+        private T result() throws ExecutionException {
+            if (remoteException != null) {
+                throw new ExecutionException(remoteException);
+            }
+            return response;
+        }
+    }
 }
@@ -15,4 +15,11 @@ public interface IRemoteMethodTxEngine {
 
     void register(final AbstractRemoteMethodTx rm);
 
+    /**
+     * Forget a RemoteMethod that will not receive its response (timeout, sending failure)
+     *
+     * @param rm : RemoteMethodTx to be removed
+     */
+    void unregister(final AbstractRemoteMethodTx rm);
+
 }
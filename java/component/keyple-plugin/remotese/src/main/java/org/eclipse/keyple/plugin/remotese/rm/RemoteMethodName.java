@@ -20,6 +20,10 @@ public enum RemoteMethodName {
 
     READER_TRANSMIT("reader_transmit"),
 
+    READER_TRANSMIT_PIPELINE("reader_transmitPipeline"),
+
+    READER_SESSION_PLAN("reader_sessionPlan"),
+
     READER_CONNECT("reader_connect"),
 
     READER_DISCONNECT("reader_disconnect"),
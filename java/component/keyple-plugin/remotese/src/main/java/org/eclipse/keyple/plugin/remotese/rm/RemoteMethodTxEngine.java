@@ -11,6 +11,8 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.rm;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.eclipse.keyple.plugin.remotese.transport.*;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -22,14 +24,17 @@ import org.slf4j.LoggerFactory;
 /**
  * Manages the transaction (request/response) for remote method invocation It holds
  * the @{@link AbstractRemoteMethodTx} untils the answer is received
+ * <p>
+ * Many transactions may be in flight at the same time, the responses are matched to their request
+ * by the id of the KeypleDto, whatever their order of arrival.
  */
 public class RemoteMethodTxEngine implements DtoHandler, IRemoteMethodTxEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(RemoteMethodTxEngine.class);
 
 
-    // waiting transaction, supports only one at the time
-    private AbstractRemoteMethodTx remoteMethodTx;
+    // waiting transactions : rm id, rm
+    private final ConcurrentMap<String, AbstractRemoteMethodTx> remoteMethodTxs;
 
     // Dto Sender
     private final DtoSender sender;
@@ -43,7 +48,7 @@ public class RemoteMethodTxEngine implements DtoHandler, IRemoteMethodTxEngine {
      * @param timeout : timeout to wait for the answer, in milliseconds
      */
     public RemoteMethodTxEngine(DtoSender sender, long timeout) {
-        // this.queue = new LinkedList<RemoteMethodTx>();
+        this.remoteMethodTxs = new ConcurrentHashMap<String, AbstractRemoteMethodTx>();
         this.sender = sender;
         this.timeout = timeout;
     }
@@ -67,28 +72,27 @@ public class RemoteMethodTxEngine implements DtoHandler, IRemoteMethodTxEngine {
         /*
          * Check that KeypleDto is a Response
          */
-        if (message.getKeypleDTO().isRequest()) {
+        if (keypleDto.isRequest()) {
             throw new IllegalArgumentException(
                     "RemoteMethodTxEngine expects a KeypleDto response. " + keypleDto);
         }
+
         /*
-         * Check that a request has been made previously
+         * Find the request matching the response
          */
+        AbstractRemoteMethodTx remoteMethodTx = remoteMethodTxs.remove(keypleDto.getId());
         if (remoteMethodTx == null) {
             /*
-             * Should not happen, response received does not match a request. Ignore it
+             * Response received does not match a request (or arrives after the timeout). Ignore
+             * it
              */
             logger.error(
                     "RemoteMethodTxEngine receives a KeypleDto response but no remoteMethodTx are defined : "
                             + keypleDto);
+        } else {
+            remoteMethodTx.setResponse(keypleDto);
         }
 
-        // only one operation is allowed at the time
-        remoteMethodTx.setResponse(keypleDto);
-
-        // re init remoteMethod
-        remoteMethodTx = null;
-
         return message.nextTransportDTO(KeypleDtoHelper.NoResponse(keypleDto.getId()));
     }
 
@@ -101,8 +105,22 @@ public class RemoteMethodTxEngine implements DtoHandler, IRemoteMethodTxEngine {
     public void register(final AbstractRemoteMethodTx rm) {
         logger.debug("Register rm to engine : {} {}", rm.getMethodName(), rm.id);
         rm.setRegistered(true);
-        remoteMethodTx = rm;
         rm.setDtoSender(sender);
         rm.setTimeout(timeout);
+        remoteMethodTxs.put(rm.id, rm);
+    }
+
+    @Override
+    public void unregister(final AbstractRemoteMethodTx rm) {
+        if (remoteMethodTxs.remove(rm.id) != null) {
+            logger.debug("Unregister rm from engine : {} {}", rm.getMethodName(), rm.id);
+        }
+    }
+
+    /**
+     * @return the number of transactions waiting for their response
+     */
+    public int getPendingCount() {
+        return remoteMethodTxs.size();
     }
 }
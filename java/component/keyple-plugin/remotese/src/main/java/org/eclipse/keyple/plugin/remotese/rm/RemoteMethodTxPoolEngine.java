@@ -11,34 +11,17 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.rm;
 
-import java.util.HashMap;
-import java.util.Map;
-import org.eclipse.keyple.plugin.remotese.transport.DtoHandler;
 import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
-import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
-import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
-import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 
 /**
  * Manages the transaction (request/response) for remote method invocation It holds
  * the @{@link AbstractRemoteMethodTx} untils the answer is received
+ * <p>
+ * Pool plugin variant of the {@link RemoteMethodTxEngine}, sharing its multiplexing of the
+ * transactions by id.
  */
-public class RemoteMethodTxPoolEngine implements DtoHandler, IRemoteMethodTxEngine {
-
-    private static final Logger logger = LoggerFactory.getLogger(RemoteMethodTxPoolEngine.class);
-
-
-    // rm id, rm
-    private Map<String, AbstractRemoteMethodTx> queue;
-
-    // Dto Sender
-    private final DtoSender sender;
-
-    // timeout to wait for the answer, in milliseconds
-    private final long timeout;
+public class RemoteMethodTxPoolEngine extends RemoteMethodTxEngine {
 
     /**
      *
@@ -46,53 +29,6 @@ public class RemoteMethodTxPoolEngine implements DtoHandler, IRemoteMethodTxEngi
      * @param timeout : timeout to wait for the answer, in milliseconds
      */
     public RemoteMethodTxPoolEngine(DtoSender sender, long timeout) {
-        this.queue = new HashMap<String, AbstractRemoteMethodTx>();
-        this.sender = sender;
-        this.timeout = timeout;
-    }
-
-
-    /**
-     * Set Response to a RemoteMethod Invocation
-     * 
-     * @param message to be processed
-     * @return TransportDto : response of the processing of the transportDto, can be an empty
-     *         TransportDto
-     */
-    @Override
-    public TransportDto onDTO(TransportDto message) {
-        KeypleDto keypleDto = message.getKeypleDTO();
-
-        if (keypleDto.isRequest()) {
-            throw new IllegalArgumentException(
-                    "RemoteMethodTxEngine expects a KeypleDto response. " + keypleDto);
-        }
-        if (!queue.containsKey(keypleDto.getId())) {
-            throw new IllegalStateException(
-                    "RemoteMethodTxEngine receives a KeypleDto response but no remoteMethodTx are defined : "
-                            + keypleDto);
-        }
-
-        // set response in rm request
-        queue.get(keypleDto.getId()).setResponse(keypleDto);
-
-        // remove rm
-        queue.remove(keypleDto.getId());
-
-        return message.nextTransportDTO(KeypleDtoHelper.NoResponse(keypleDto.getId()));
-    }
-
-    /**
-     * Add RemoteMethod to executing stack
-     * 
-     * @param rm : RemoteMethodTx to be executed
-     */
-    @Override
-    public void register(final AbstractRemoteMethodTx rm) {
-        logger.debug("Register rm to engine : {}", rm);
-        rm.setRegistered(true);
-        queue.put(rm.id, rm);
-        rm.setDtoSender(sender);
-        rm.setTimeout(timeout);
+        super(sender, timeout);
     }
 }
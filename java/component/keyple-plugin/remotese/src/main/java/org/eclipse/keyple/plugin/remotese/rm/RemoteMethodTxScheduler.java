@@ -0,0 +1,106 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.rm;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads shared by all the remote method calls: a bounded pool sending the requests (its idle
+ * threads expire) and a single timer running the timeouts of the calls in flight.
+ * <p>
+ * When all the send threads are busy the requests wait in a bounded queue; when the queue is full
+ * the sending is rejected and the call fails instead of creating new threads.
+ */
+final class RemoteMethodTxScheduler {
+
+    /* maximum number of threads sending the requests */
+    static final int MAX_SEND_THREADS =
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    /* maximum number of requests waiting for a send thread */
+    static final int MAX_PENDING_SENDS = 1024;
+    /* time (in seconds) after which an idle send thread ends */
+    private static final long SEND_THREAD_KEEP_ALIVE = 60;
+
+    private static final RemoteMethodTxScheduler defaultScheduler = new RemoteMethodTxScheduler();
+
+    private final ThreadPoolExecutor sendExecutor;
+    private final ScheduledExecutorService timer;
+
+    private RemoteMethodTxScheduler() {
+        sendExecutor = new ThreadPoolExecutor(MAX_SEND_THREADS, MAX_SEND_THREADS,
+                SEND_THREAD_KEEP_ALIVE, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(MAX_PENDING_SENDS),
+                new DaemonThreadFactory("RemoteMethodTx-"));
+        sendExecutor.allowCoreThreadTimeOut(true);
+        timer = Executors.newSingleThreadScheduledExecutor(
+                new DaemonThreadFactory("RemoteMethodTx-Timer-"));
+    }
+
+    static RemoteMethodTxScheduler getDefault() {
+        return defaultScheduler;
+    }
+
+    /**
+     * Run a send task on the shared pool
+     *
+     * @param task the task
+     * @throws RejectedExecutionException if too many send tasks are pending
+     */
+    void execute(Runnable task) {
+        sendExecutor.execute(task);
+    }
+
+    /**
+     * @return the current number of send threads
+     */
+    int getSendThreadCount() {
+        return sendExecutor.getPoolSize();
+    }
+
+    /**
+     * Schedule a timeout on the shared timer
+     *
+     * @param task the task run when the delay is elapsed
+     * @param delay the delay in milliseconds
+     * @return the future allowing to cancel the timeout
+     */
+    ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return timer.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Daemon threads numbered from a common prefix
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
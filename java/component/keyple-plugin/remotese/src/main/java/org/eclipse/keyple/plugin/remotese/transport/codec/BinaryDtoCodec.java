@@ -0,0 +1,504 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.AnswerToReset;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
+
+/**
+ * Compact binary codec.
+ * <p>
+ * The metadata of the {@link KeypleDto} are written as length prefixed UTF-8 strings. The
+ * parameters and results of the transmit methods ({@link TransmitPayload}: SeRequest, SeResponse,
+ * ApduRequest, ApduResponse) are written field by field, byte arrays as raw bytes: there is
+ * neither json nor hex encoding on both sides. The other bodies are written as their json string,
+ * the errors being flagged by their body type.
+ * <p>
+ * The lengths and counts are unsigned variable length integers (7 bits per byte), a null string,
+ * array or list being written as 0 and a value as its length + 1.
+ * <p>
+ * The protocols are written as their name: the protocols other than {@link SeCommonProtocols} must
+ * be provided to the codecs of both nodes to be decoded.
+ */
+public class BinaryDtoCodec implements DtoCodec {
+
+    public static final String NAME = "binary";
+
+    private static final int MAGIC = 0x4B;
+    private static final int VERSION = 1;
+
+    private static final int BODY_JSON = 0;
+    private static final int BODY_TRANSMIT = 1;
+    private static final int BODY_ERROR = 2;
+
+    private static final int TRUE = 1;
+    private static final int FALSE = 0;
+    private static final int NULL = 2;
+
+    private static final String CHARSET = "UTF-8";
+
+    private final List<SeProtocol> customProtocols;
+
+    /**
+     * Create a binary codec
+     *
+     * @param customProtocols the protocols other than {@link SeCommonProtocols} exchanged by the
+     *        nodes, identified by their name
+     */
+    public BinaryDtoCodec(SeProtocol... customProtocols) {
+        this.customProtocols = Arrays.asList(customProtocols.clone());
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(KeypleDto keypleDto) throws KeypleRemoteException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(MAGIC);
+            out.writeByte(VERSION);
+            Boolean isRequest = keypleDto.isRequest();
+            out.writeByte(isRequest == null ? NULL : isRequest ? TRUE : FALSE);
+            writeString(out, keypleDto.getAction());
+            writeString(out, keypleDto.getId());
+            writeString(out, keypleDto.getSessionId());
+            writeString(out, keypleDto.getNativeReaderName());
+            writeString(out, keypleDto.getVirtualReaderName());
+            writeString(out, keypleDto.getRequesterNodeId());
+            writeString(out, keypleDto.getTargetNodeId());
+            if (keypleDto.getPayload() instanceof TransmitPayload) {
+                out.writeByte(BODY_TRANSMIT);
+                writeTransmitPayload(out, (TransmitPayload) keypleDto.getPayload());
+            } else {
+                out.writeByte(keypleDto.isError() ? BODY_ERROR : BODY_JSON);
+                writeString(out, keypleDto.getBody());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new KeypleRemoteException("Unable to encode the keypleDto", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public KeypleDto decode(byte[] data) throws KeypleRemoteException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            if (in.readUnsignedByte() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new KeypleRemoteException("Unknown keypleDto binary encoding");
+            }
+            int requestFlag = in.readUnsignedByte();
+            Boolean isRequest = requestFlag == NULL ? null : requestFlag == TRUE;
+            String action = readString(in);
+            String id = readString(in);
+            String sessionId = readString(in);
+            String nativeReaderName = readString(in);
+            String virtualReaderName = readString(in);
+            String requesterNodeId = readString(in);
+            String targetNodeId = readString(in);
+            int bodyType = in.readUnsignedByte();
+            if (bodyType == BODY_TRANSMIT) {
+                return new KeypleDto(action, readTransmitPayload(in), isRequest, sessionId,
+                        nativeReaderName, virtualReaderName, requesterNodeId, targetNodeId, id);
+            }
+            if (bodyType == BODY_ERROR) {
+                return KeypleDto.error(action, readString(in), sessionId, nativeReaderName,
+                        virtualReaderName, requesterNodeId, targetNodeId, id);
+            }
+            if (bodyType != BODY_JSON) {
+                throw new KeypleRemoteException("Unknown keypleDto body type : " + bodyType);
+            }
+            return new KeypleDto(action, readString(in), isRequest, sessionId, nativeReaderName,
+                    virtualReaderName, requesterNodeId, targetNodeId, id);
+        } catch (IOException e) {
+            throw new KeypleRemoteException("Unable to decode the keypleDto", e);
+        } catch (RuntimeException e) {
+            // bad enum value, AID length...
+            throw new KeypleRemoteException("Unable to decode the keypleDto", e);
+        }
+    }
+
+    /* ----------- transmit payload */
+
+    private static void writeTransmitPayload(DataOutputStream out, TransmitPayload payload)
+            throws IOException {
+        out.writeByte(payload.getMethod() == RemoteMethodName.READER_TRANSMIT ? 0 : 1);
+        out.writeBoolean(payload.isRequest());
+        if (payload.isRequest()) {
+            out.writeByte(payload.getChannelControl().ordinal());
+            MultiSeRequestProcessing multiSeRequestProcessing =
+                    payload.getMultiSeRequestProcessing();
+            out.writeByte(multiSeRequestProcessing == null ? 0
+                    : multiSeRequestProcessing.ordinal() + 1);
+            writeLength(out, payload.getSeRequestSet().size());
+            for (SeRequest seRequest : payload.getSeRequestSet()) {
+                writeSeRequest(out, seRequest);
+            }
+        } else {
+            writeLength(out, payload.getSeResponses().size());
+            for (SeResponse seResponse : payload.getSeResponses()) {
+                writeSeResponse(out, seResponse);
+            }
+        }
+    }
+
+    private TransmitPayload readTransmitPayload(DataInputStream in)
+            throws IOException, KeypleRemoteException {
+        boolean transmit = in.readUnsignedByte() == 0;
+        boolean request = in.readBoolean();
+        if (request) {
+            ChannelControl channelControl = ChannelControl.values()[in.readUnsignedByte()];
+            int multiSeRequestProcessing = in.readUnsignedByte();
+            int count = readLength(in);
+            Set<SeRequest> seRequestSet = new LinkedHashSet<SeRequest>();
+            for (int i = 0; i < count; i++) {
+                seRequestSet.add(readSeRequest(in));
+            }
+            if (transmit) {
+                return TransmitPayload.transmitRequest(seRequestSet.iterator().next(),
+                        channelControl);
+            }
+            return TransmitPayload.transmitSetRequest(seRequestSet,
+                    MultiSeRequestProcessing.values()[multiSeRequestProcessing - 1],
+                    channelControl);
+        }
+        int count = readLength(in);
+        List<SeResponse> seResponses = new ArrayList<SeResponse>(count);
+        for (int i = 0; i < count; i++) {
+            seResponses.add(readSeResponse(in));
+        }
+        if (transmit) {
+            return TransmitPayload.transmitResponse(seResponses.get(0));
+        }
+        return TransmitPayload.transmitSetResponse(seResponses);
+    }
+
+    /* ----------- SeRequest, SeResponse */
+
+    private static void writeSeRequest(DataOutputStream out, SeRequest seRequest)
+            throws IOException {
+        out.writeBoolean(seRequest != null);
+        if (seRequest == null) {
+            return;
+        }
+        writeSeSelector(out, seRequest.getSeSelector());
+        List<ApduRequest> apduRequests = seRequest.getApduRequests();
+        writeNullableLength(out, apduRequests == null ? -1 : apduRequests.size());
+        if (apduRequests != null) {
+            for (ApduRequest apduRequest : apduRequests) {
+                writeApduRequest(out, apduRequest);
+            }
+        }
+    }
+
+    private SeRequest readSeRequest(DataInputStream in)
+            throws IOException, KeypleRemoteException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        SeSelector seSelector = readSeSelector(in);
+        int count = readNullableLength(in);
+        List<ApduRequest> apduRequests = null;
+        if (count >= 0) {
+            apduRequests = new ArrayList<ApduRequest>(count);
+            for (int i = 0; i < count; i++) {
+                apduRequests.add(readApduRequest(in));
+            }
+        }
+        return new SeRequest(seSelector, apduRequests);
+    }
+
+    private static void writeSeResponse(DataOutputStream out, SeResponse seResponse)
+            throws IOException {
+        out.writeBoolean(seResponse != null);
+        if (seResponse == null) {
+            return;
+        }
+        out.writeBoolean(seResponse.isLogicalChannelOpen());
+        out.writeBoolean(seResponse.wasChannelPreviouslyOpen());
+        SelectionStatus selectionStatus = seResponse.getSelectionStatus();
+        out.writeBoolean(selectionStatus != null);
+        if (selectionStatus != null) {
+            writeBytes(out,
+                    selectionStatus.getAtr() == null ? null : selectionStatus.getAtr().getBytes());
+            writeApduResponse(out, selectionStatus.getFci());
+            out.writeBoolean(selectionStatus.hasMatched());
+        }
+        List<ApduResponse> apduResponses = seResponse.getApduResponses();
+        writeNullableLength(out, apduResponses == null ? -1 : apduResponses.size());
+        if (apduResponses != null) {
+            for (ApduResponse apduResponse : apduResponses) {
+                writeApduResponse(out, apduResponse);
+            }
+        }
+    }
+
+    private static SeResponse readSeResponse(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        boolean logicalChannelIsOpen = in.readBoolean();
+        boolean channelPreviouslyOpen = in.readBoolean();
+        SelectionStatus selectionStatus = null;
+        if (in.readBoolean()) {
+            byte[] atr = readBytes(in);
+            ApduResponse fci = readApduResponse(in);
+            selectionStatus = new SelectionStatus(atr == null ? null : new AnswerToReset(atr),
+                    fci, in.readBoolean());
+        }
+        int count = readNullableLength(in);
+        List<ApduResponse> apduResponses = null;
+        if (count >= 0) {
+            apduResponses = new ArrayList<ApduResponse>(count);
+            for (int i = 0; i < count; i++) {
+                apduResponses.add(readApduResponse(in));
+            }
+        }
+        return new SeResponse(logicalChannelIsOpen, channelPreviouslyOpen, selectionStatus,
+                apduResponses);
+    }
+
+    /* ----------- SeSelector */
+
+    private static void writeSeSelector(DataOutputStream out, SeSelector seSelector)
+            throws IOException {
+        out.writeBoolean(seSelector != null);
+        if (seSelector == null) {
+            return;
+        }
+        SeProtocol seProtocol = seSelector.getSeProtocol();
+        writeString(out, seProtocol == null ? null : protocolName(seProtocol));
+        SeSelector.AtrFilter atrFilter = seSelector.getAtrFilter();
+        out.writeBoolean(atrFilter != null);
+        if (atrFilter != null) {
+            writeString(out, atrFilter.getAtrRegex());
+        }
+        SeSelector.AidSelector aidSelector = seSelector.getAidSelector();
+        out.writeBoolean(aidSelector != null);
+        if (aidSelector != null) {
+            writeBytes(out, aidSelector.getAidToSelect() == null ? null
+                    : aidSelector.getAidToSelect().getValue());
+            writeStatusCodes(out, aidSelector.getSuccessfulSelectionStatusCodes());
+            out.writeByte(aidSelector.getFileOccurrence().ordinal());
+            out.writeByte(aidSelector.getFileControlInformation().ordinal());
+        }
+        writeString(out, seSelector.getExtraInfo());
+    }
+
+    private SeSelector readSeSelector(DataInputStream in)
+            throws IOException, KeypleRemoteException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String protocolName = readString(in);
+        SeProtocol seProtocol = protocolName == null ? null : findProtocol(protocolName);
+        SeSelector.AtrFilter atrFilter = null;
+        if (in.readBoolean()) {
+            atrFilter = new SeSelector.AtrFilter(readString(in));
+        }
+        SeSelector.AidSelector aidSelector = null;
+        if (in.readBoolean()) {
+            byte[] aid = readBytes(in);
+            Set<Integer> successfulStatusCodes = readStatusCodes(in);
+            SeSelector.AidSelector.FileOccurrence fileOccurrence =
+                    SeSelector.AidSelector.FileOccurrence.values()[in.readUnsignedByte()];
+            SeSelector.AidSelector.FileControlInformation fileControlInformation =
+                    SeSelector.AidSelector.FileControlInformation.values()[in
+                            .readUnsignedByte()];
+            aidSelector = new SeSelector.AidSelector(
+                    aid == null ? null : new SeSelector.AidSelector.IsoAid(aid),
+                    successfulStatusCodes, fileOccurrence, fileControlInformation);
+        }
+        return new SeSelector(seProtocol, atrFilter, aidSelector, readString(in));
+    }
+
+    private SeProtocol findProtocol(String name) throws KeypleRemoteException {
+        for (SeCommonProtocols protocol : SeCommonProtocols.values()) {
+            if (protocol.name().equals(name) || protocol.getName().equals(name)) {
+                return protocol;
+            }
+        }
+        for (SeProtocol protocol : customProtocols) {
+            if (protocolName(protocol).equals(name) || protocol.getName().equals(name)) {
+                return protocol;
+            }
+        }
+        throw new KeypleRemoteException("Value of SeProtocol not found : " + name);
+    }
+
+    private static String protocolName(SeProtocol seProtocol) {
+        return seProtocol instanceof Enum ? ((Enum) seProtocol).name() : seProtocol.getName();
+    }
+
+    /* ----------- ApduRequest, ApduResponse */
+
+    private static void writeApduRequest(DataOutputStream out, ApduRequest apduRequest)
+            throws IOException {
+        out.writeBoolean(apduRequest != null);
+        if (apduRequest == null) {
+            return;
+        }
+        out.writeBoolean(apduRequest.isCase4());
+        writeBytes(out, apduRequest.getBytes());
+        writeString(out, apduRequest.getName());
+        writeStatusCodes(out, apduRequest.getSuccessfulStatusCodes());
+    }
+
+    private static ApduRequest readApduRequest(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        boolean case4 = in.readBoolean();
+        byte[] bytes = readBytes(in);
+        String name = readString(in);
+        return new ApduRequest(name, bytes, case4, readStatusCodes(in));
+    }
+
+    private static void writeApduResponse(DataOutputStream out, ApduResponse apduResponse)
+            throws IOException {
+        out.writeBoolean(apduResponse != null);
+        if (apduResponse == null) {
+            return;
+        }
+        out.writeBoolean(apduResponse.isSuccessful());
+        writeBytes(out, apduResponse.getBytes());
+    }
+
+    private static ApduResponse readApduResponse(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        boolean successful = in.readBoolean();
+        byte[] bytes = readBytes(in);
+        if (bytes != null && bytes.length < 2) {
+            throw new IOException("APDU response without status word");
+        }
+        Set<Integer> successfulStatusCodes = null;
+        if (successful && bytes != null) {
+            // the status word was accepted by the other node, keep it successful
+            successfulStatusCodes = new LinkedHashSet<Integer>();
+            successfulStatusCodes.add(((bytes[bytes.length - 2] & 0xFF) << 8)
+                    | (bytes[bytes.length - 1] & 0xFF));
+        }
+        return new ApduResponse(bytes, successfulStatusCodes);
+    }
+
+    /* ----------- primitives */
+
+    private static void writeStatusCodes(DataOutputStream out, Set<Integer> statusCodes)
+            throws IOException {
+        writeNullableLength(out, statusCodes == null ? -1 : statusCodes.size());
+        if (statusCodes != null) {
+            for (Integer statusCode : statusCodes) {
+                out.writeShort(statusCode);
+            }
+        }
+    }
+
+    private static Set<Integer> readStatusCodes(DataInputStream in) throws IOException {
+        int count = readNullableLength(in);
+        if (count < 0) {
+            return null;
+        }
+        Set<Integer> statusCodes = new LinkedHashSet<Integer>();
+        for (int i = 0; i < count; i++) {
+            statusCodes.add(in.readUnsignedShort());
+        }
+        return statusCodes;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(CHARSET));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, CHARSET);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        writeNullableLength(out, value == null ? -1 : value.length);
+        if (value != null) {
+            out.write(value);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = readNullableLength(in);
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new IOException("Truncated data");
+        }
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+
+    /* a length or -1 for null */
+    private static void writeNullableLength(DataOutputStream out, int length) throws IOException {
+        writeLength(out, length + 1);
+    }
+
+    private static int readNullableLength(DataInputStream in) throws IOException {
+        return readLength(in) - 1;
+    }
+
+    private static void writeLength(DataOutputStream out, int length) throws IOException {
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readLength(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed length");
+    }
+}
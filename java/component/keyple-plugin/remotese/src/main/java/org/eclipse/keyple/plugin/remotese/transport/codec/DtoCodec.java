@@ -0,0 +1,49 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+
+/**
+ * Encodes the {@link KeypleDto} exchanged by a transport into bytes, and decodes them.
+ * <p>
+ * The codec used on a connection is agreed by both nodes with a {@link DtoCodecNegotiator}, the
+ * {@link JsonDtoCodec} being the default one.
+ */
+public interface DtoCodec {
+
+    /**
+     * Name of the codec, exchanged during the negotiation
+     *
+     * @return name
+     */
+    String getName();
+
+    /**
+     * Encode a keypleDto
+     *
+     * @param keypleDto keypleDto to encode
+     * @return encoded bytes
+     * @throws KeypleRemoteException if the keypleDto can not be encoded
+     */
+    byte[] encode(KeypleDto keypleDto) throws KeypleRemoteException;
+
+    /**
+     * Decode a keypleDto
+     *
+     * @param data encoded bytes
+     * @return keypleDto
+     * @throws KeypleRemoteException if the bytes are not a valid encoding
+     */
+    KeypleDto decode(byte[] data) throws KeypleRemoteException;
+}
@@ -0,0 +1,127 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+
+/**
+ * Agreement of the {@link DtoCodec} used on a connection.
+ * <p>
+ * Each node lists the codecs it supports, by order of preference. When connecting, the client
+ * sends its offer ({@link #getOffer()}, e.g. in a header of the connection request); the server
+ * chooses the codec with {@link #negotiate(String)} and answers its name, which the client
+ * resolves with {@link #getCodec(String)}. A peer not taking part in the negotiation (no offer, no
+ * answer) is served with the {@link JsonDtoCodec}; a codec answered by the server but unknown to
+ * the client is an error, the nodes can not understand each other.
+ */
+public class DtoCodecNegotiator {
+
+    /** Header of a connection request holding the offer of the client (HTTP based transports) */
+    public static final String OFFER_HEADER = "Keyple-Dto-Codecs";
+    /** Header of a connection response holding the codec chosen by the server */
+    public static final String CHOICE_HEADER = "Keyple-Dto-Codec";
+
+    private static final String SEPARATOR = ",";
+
+    private final List<DtoCodec> codecs;
+    private final DtoCodec defaultCodec = new JsonDtoCodec();
+
+    /**
+     * Create a negotiator
+     *
+     * @param codecs the supported codecs by order of preference, json is always supported as last
+     *        resort
+     */
+    public DtoCodecNegotiator(DtoCodec... codecs) {
+        List<DtoCodec> supportedCodecs = new ArrayList<DtoCodec>();
+        for (DtoCodec codec : codecs) {
+            supportedCodecs.add(codec);
+        }
+        if (find(supportedCodecs, JsonDtoCodec.NAME) == null) {
+            supportedCodecs.add(defaultCodec);
+        }
+        this.codecs = Collections.unmodifiableList(supportedCodecs);
+    }
+
+    /**
+     * @return the names of the supported codecs by order of preference, comma separated
+     */
+    public String getOffer() {
+        StringBuilder offer = new StringBuilder();
+        for (DtoCodec codec : codecs) {
+            if (offer.length() > 0) {
+                offer.append(SEPARATOR);
+            }
+            offer.append(codec.getName());
+        }
+        return offer.toString();
+    }
+
+    /**
+     * Choose the codec of a connection: the first codec of this node supported by the peer
+     *
+     * @param peerOffer the offer of the peer, may be null
+     * @return the codec to be used by both nodes
+     */
+    public DtoCodec negotiate(String peerOffer) {
+        if (peerOffer == null) {
+            return defaultCodec;
+        }
+        List<String> peerNames = new ArrayList<String>();
+        for (String name : peerOffer.split(SEPARATOR)) {
+            peerNames.add(name.trim());
+        }
+        for (DtoCodec codec : codecs) {
+            if (peerNames.contains(codec.getName())) {
+                return codec;
+            }
+        }
+        return defaultCodec;
+    }
+
+    /**
+     * Get the codec chosen by the peer
+     *
+     * @param name name of the codec, null if the peer does not negotiate
+     * @return the codec, the json codec if the name is null
+     * @throws KeypleRemoteException if the codec is not supported by this node
+     */
+    public DtoCodec getCodec(String name) throws KeypleRemoteException {
+        if (name == null) {
+            return defaultCodec;
+        }
+        DtoCodec codec = find(codecs, name);
+        if (codec == null) {
+            throw new KeypleRemoteException("Codec not supported : " + name);
+        }
+        return codec;
+    }
+
+    /**
+     * @return the supported codecs by order of preference
+     */
+    public List<DtoCodec> getCodecs() {
+        return codecs;
+    }
+
+    private static DtoCodec find(List<DtoCodec> codecs, String name) {
+        for (DtoCodec codec : codecs) {
+            if (codec.getName().equals(name)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
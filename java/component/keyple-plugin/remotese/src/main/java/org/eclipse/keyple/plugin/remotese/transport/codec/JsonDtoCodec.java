@@ -0,0 +1,53 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.io.UnsupportedEncodingException;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import com.google.gson.JsonParseException;
+
+/**
+ * Default codec: the json serialization of {@link KeypleDtoHelper#toJson(KeypleDto)} in UTF-8
+ */
+public class JsonDtoCodec implements DtoCodec {
+
+    public static final String NAME = "json";
+
+    private static final String CHARSET = "UTF-8";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(KeypleDto keypleDto) throws KeypleRemoteException {
+        try {
+            return KeypleDtoHelper.toJson(keypleDto).getBytes(CHARSET);
+        } catch (UnsupportedEncodingException e) {
+            throw new KeypleRemoteException("Unable to encode the keypleDto", e);
+        }
+    }
+
+    @Override
+    public KeypleDto decode(byte[] data) throws KeypleRemoteException {
+        try {
+            return KeypleDtoHelper.fromJson(new String(data, CHARSET));
+        } catch (UnsupportedEncodingException e) {
+            throw new KeypleRemoteException("Unable to decode the keypleDto", e);
+        } catch (JsonParseException e) {
+            throw new KeypleRemoteException("Unable to decode the keypleDto", e);
+        }
+    }
+}
@@ -11,8 +11,11 @@
  ********************************************************************************/
 package org.eclipse.keyple.plugin.remotese.transport.impl.java;
 
+import org.eclipse.keyple.core.seproxy.exception.KeypleRuntimeException;
 import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.transport.*;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -22,6 +25,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Client side of the java-based local transport. For unit testing purposes. only one server per JVM
+ * <p>
+ * The messages are exchanged encoded with the {@link DtoCodec} agreed with the server at the
+ * connection (or before the first message).
  */
 public class LocalClient implements ClientNode {
 
@@ -29,14 +35,36 @@ public class LocalClient implements ClientNode {
     private final LocalServer theServer;
     private DtoHandler dtoHandler;
     private final String clientNodeId;
+    private final DtoCodecNegotiator codecNegotiator;
+    /* codec agreed with the server, guarded by this */
+    private DtoCodec codec;
 
     public LocalClient(String clientNodeId, LocalServer server) {
+        this(clientNodeId, server, new DtoCodecNegotiator());
+    }
+
+    /**
+     * Create a local client
+     *
+     * @param clientNodeId unique id of the client
+     * @param server the server to connect to
+     * @param codecNegotiator the codecs supported by the client
+     */
+    public LocalClient(String clientNodeId, LocalServer server,
+            DtoCodecNegotiator codecNegotiator) {
         this.theServer = server;
         this.clientNodeId = clientNodeId;
+        this.codecNegotiator = codecNegotiator;
     }
 
-    public void onLocalMessage(KeypleDto keypleDto) {
+    public void onLocalMessage(byte[] data) {
         if (dtoHandler != null) {
+            KeypleDto keypleDto;
+            try {
+                keypleDto = getCodec().decode(data);
+            } catch (KeypleRemoteException e) {
+                throw new KeypleRuntimeException("LocalClient could not decode the message", e);
+            }
             TransportDto response = dtoHandler.onDTO(new LocalTransportDto(keypleDto, this));
             // send back response
             this.sendDTO(response);
@@ -52,11 +80,10 @@ public class LocalClient implements ClientNode {
 
     @Override
     public void sendDTO(TransportDto transportDto) {
-        if (KeypleDtoHelper.isNoResponse(transportDto.getKeypleDTO())) {
-            logger.trace("Keyple DTO is empty, do not send it");
-        } else {
-            // send keypleDto to the server
-            theServer.onLocalMessage(transportDto);
+        try {
+            sendDTO(transportDto.getKeypleDTO());
+        } catch (KeypleRemoteException e) {
+            throw new KeypleRuntimeException("LocalClient could not send the message", e);
         }
     }
 
@@ -70,7 +97,7 @@ public class LocalClient implements ClientNode {
             logger.trace("Keyple DTO is empty, do not send it");
         } else {
             // send keypleDto to the server
-            theServer.onLocalMessage(new LocalTransportDto(keypleDto, this));
+            theServer.onLocalMessage(getCodec().encode(keypleDto), this);
         }
     }
 
@@ -90,6 +117,11 @@ public class LocalClient implements ClientNode {
             logger.warn("Connection callback is not implemented for this client");
         }
         logger.info("Connect Local Client");
+        try {
+            getCodec();
+        } catch (KeypleRemoteException e) {
+            logger.error("Codec negotiation failed", e);
+        }
     }
 
     @Override
@@ -98,4 +130,18 @@ public class LocalClient implements ClientNode {
         logger.info("Disconnect Local Client");
     }
 
+    /**
+     * Get the codec agreed with the server, negotiated at the first call
+     *
+     * @return the codec
+     * @throws KeypleRemoteException if the codec chosen by the server is not supported
+     */
+    synchronized DtoCodec getCodec() throws KeypleRemoteException {
+        if (codec == null) {
+            codec = codecNegotiator
+                    .getCodec(theServer.negotiate(codecNegotiator.getOffer(), this));
+            logger.debug("Codec agreed with the server : {}", codec.getName());
+        }
+        return codec;
+    }
 }
@@ -13,8 +13,12 @@ package org.eclipse.keyple.plugin.remotese.transport.impl.java;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.keyple.core.seproxy.exception.KeypleRuntimeException;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.transport.*;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ServerNode;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -24,6 +28,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Server side of the java-based local transport. For unit testing purposes. only one server per JVM
+ * <p>
+ * The messages of each client are encoded with the {@link DtoCodec} chosen at its connection.
  */
 public class LocalServer implements ServerNode {
 
@@ -32,19 +38,50 @@ public class LocalServer implements ServerNode {
     private DtoHandler dtoHandler;
     private final String serverNodeId;
     private final Map<String, LocalClient> client_ids;
+    private final DtoCodecNegotiator codecNegotiator;
+    private final Map<LocalClient, DtoCodec> codecs =
+            new ConcurrentHashMap<LocalClient, DtoCodec>();
 
     public LocalServer(String serverNodeId) {
+        this(serverNodeId, new DtoCodecNegotiator());
+    }
+
+    /**
+     * Create a local server
+     *
+     * @param serverNodeId unique id of the server
+     * @param codecNegotiator the codecs supported by the server
+     */
+    public LocalServer(String serverNodeId, DtoCodecNegotiator codecNegotiator) {
         this.client_ids = new HashMap<String, LocalClient>();
         this.serverNodeId = serverNodeId;
+        this.codecNegotiator = codecNegotiator;
     }
 
-    public void onLocalMessage(TransportDto transportDto) {
-        LocalClient theClient = ((LocalTransportDto) transportDto).getTheClient();
-        client_ids.put(transportDto.getKeypleDTO().getRequesterNodeId(), theClient);
+    /**
+     * Choose the codec of a client connection
+     *
+     * @param clientOffer the codecs supported by the client
+     * @param theClient the client
+     * @return the name of the chosen codec
+     */
+    public String negotiate(String clientOffer, LocalClient theClient) {
+        DtoCodec codec = codecNegotiator.negotiate(clientOffer);
+        codecs.put(theClient, codec);
+        return codec.getName();
+    }
+
+    public void onLocalMessage(byte[] data, LocalClient theClient) {
+        KeypleDto keypleDto;
+        try {
+            keypleDto = getCodec(theClient).decode(data);
+        } catch (KeypleRemoteException e) {
+            throw new KeypleRuntimeException("LocalServer could not decode the message", e);
+        }
+        client_ids.put(keypleDto.getRequesterNodeId(), theClient);
 
         if (dtoHandler != null) {
-            TransportDto response =
-                    dtoHandler.onDTO(new LocalTransportDto(transportDto.getKeypleDTO(), theClient));
+            TransportDto response = dtoHandler.onDTO(new LocalTransportDto(keypleDto, theClient));
             // send back response
             this.sendDTO(response);
         } else {
@@ -70,7 +107,7 @@ public class LocalServer implements ServerNode {
             logger.trace("Keyple DTO is empty, do not send it");
         } else {
             // send keypleDto to the unique client
-            theClient.onLocalMessage(transportDto.getKeypleDTO());
+            theClient.onLocalMessage(encode(transportDto.getKeypleDTO(), theClient));
         }
     }
 
@@ -83,7 +120,7 @@ public class LocalServer implements ServerNode {
             } else {
                 logger.trace("LocalClient was found for {}", keypleDto.getTargetNodeId());
                 // send keypleDto to the unique client
-                theClient.onLocalMessage(keypleDto);
+                theClient.onLocalMessage(encode(keypleDto, theClient));
             }
         } else {
             throw new KeypleRuntimeException(
@@ -97,4 +134,18 @@ public class LocalServer implements ServerNode {
         return serverNodeId;
     }
 
+    private DtoCodec getCodec(LocalClient theClient) {
+        DtoCodec codec = codecs.get(theClient);
+        // client not taking part in the negotiation
+        return codec != null ? codec : codecNegotiator.negotiate(null);
+    }
+
+    private byte[] encode(KeypleDto keypleDto, LocalClient theClient) {
+        try {
+            return getCodec(theClient).encode(keypleDto);
+        } catch (KeypleRemoteException e) {
+            throw new KeypleRuntimeException("LocalServer could not encode the message", e);
+        }
+    }
+
 }
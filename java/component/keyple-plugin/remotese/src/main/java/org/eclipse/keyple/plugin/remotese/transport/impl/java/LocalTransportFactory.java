@@ -13,25 +13,39 @@ package org.eclipse.keyple.plugin.remotese.transport.impl.java;
 
 
 
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ServerNode;
 import org.eclipse.keyple.plugin.remotese.transport.factory.TransportFactory;
 
 /**
  * Factory to create a local {@link ClientNode} and a local {@link ServerNode}.
- *
+ * <p>
+ * The messages are encoded with the codec agreed by the client and the server, json by default.
  */
 public class LocalTransportFactory extends TransportFactory {
 
     private final LocalServer theServer;
+    private final DtoCodecNegotiator codecNegotiator;
 
     public LocalTransportFactory(String serverNodeId) {
-        theServer = new LocalServer(serverNodeId);
+        this(serverNodeId, new DtoCodecNegotiator());
+    }
+
+    /**
+     * Create the factory
+     *
+     * @param serverNodeId unique id of the server
+     * @param codecNegotiator the codecs supported by the server and the clients
+     */
+    public LocalTransportFactory(String serverNodeId, DtoCodecNegotiator codecNegotiator) {
+        this.codecNegotiator = codecNegotiator;
+        theServer = new LocalServer(serverNodeId, codecNegotiator);
     }
 
     @Override
     public ClientNode getClient(String clientNodeId) {
-        return new LocalClient(clientNodeId, theServer);
+        return new LocalClient(clientNodeId, theServer, codecNegotiator);
     }
 
     @Override
@@ -0,0 +1,64 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Client side of the queued local transport, all the keypleDtos are sent to the server
+ */
+public class QueuedLocalClient extends QueuedLocalNode implements ClientNode {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueuedLocalClient.class);
+
+    private final String serverNodeId;
+
+    public QueuedLocalClient(String clientNodeId, String serverNodeId,
+            QueuedLocalNetwork network) {
+        super(clientNodeId, network);
+        this.serverNodeId = serverNodeId;
+    }
+
+    @Override
+    public void sendDTO(TransportDto transportDto) throws KeypleRemoteException {
+        network.send(getNodeId(), serverNodeId, transportDto.getKeypleDTO());
+    }
+
+    @Override
+    public void sendDTO(KeypleDto keypleDto) throws KeypleRemoteException {
+        network.send(getNodeId(), serverNodeId, keypleDto);
+    }
+
+    @Override
+    public String getServerNodeId() {
+        return serverNodeId;
+    }
+
+    @Override
+    public void connect(ConnectCallback connectCallback) {
+        if (connectCallback != null) {
+            connectCallback.onConnectSuccess();
+        }
+        logger.trace("Connect Queued Local Client {}", getNodeId());
+    }
+
+    @Override
+    public void disconnect() {
+        network.unregister(getNodeId());
+        logger.trace("Disconnect Queued Local Client {}", getNodeId());
+    }
+}
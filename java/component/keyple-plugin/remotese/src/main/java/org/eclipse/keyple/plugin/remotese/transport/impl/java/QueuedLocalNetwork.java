@@ -0,0 +1,378 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.DtoHandler;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process network of the queued local transport, for load testing: the keypleDtos are
+ * delivered asynchronously to the nodes, on shared threads, through a simulated link.
+ * <ul>
+ * <li>Each node has a bounded inbox: a keypleDto holds a place from its sending until its
+ * handling is over. When the inbox of the target is full, the sender waits (backpressure) and
+ * fails with a {@link KeypleRemoteException} after the send timeout.</li>
+ * <li>A keypleDto is delivered after the latency of the link plus its transmission time at the
+ * bandwidth of the link; the keypleDtos sent from a node to another one share the bandwidth and
+ * are delivered in their sending order.</li>
+ * <li>The requests and notifications received by a node are handled one after the other, in their
+ * order of delivery; the responses (completing remote method calls) are handled as soon as
+ * delivered, so that a handler blocked on a remote call never holds the response it waits
+ * for.</li>
+ * </ul>
+ */
+public class QueuedLocalNetwork {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueuedLocalNetwork.class);
+
+    /** The default capacity of the inbox of a node */
+    public static final int DEFAULT_INBOX_CAPACITY = 64;
+
+    /** The default time (in milliseconds) a sender waits for a place in a full inbox */
+    public static final long DEFAULT_SEND_TIMEOUT = 10000;
+
+    /* size of the metadata of a keypleDto, added to the size of the strings */
+    private static final int DTO_OVERHEAD = 64;
+
+    private final int inboxCapacity;
+    private final long latencyMillis;
+    private final long bandwidthBytesPerSecond;
+    private final long sendTimeoutMillis;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers;
+
+    private final ConcurrentMap<String, Inbox> inboxes = new ConcurrentHashMap<String, Inbox>();
+    /* time (nanoTime) at which each link (from->to) is free again, guarded by itself */
+    private final Map<String, Long> linkFreeTimes = new HashMap<String, Long>();
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong handledCount = new AtomicLong();
+    private final AtomicLong waitingSendCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Create a network without latency nor bandwidth limit, with default inboxes
+     */
+    public QueuedLocalNetwork() {
+        this(DEFAULT_INBOX_CAPACITY, 0, 0, DEFAULT_SEND_TIMEOUT,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a network
+     *
+     * @param inboxCapacity the number of keypleDtos a node may have in flight or pending
+     * @param latencyMillis the latency of the links in milliseconds
+     * @param bandwidthBytesPerSecond the bandwidth of the links (0 for no limit)
+     * @param sendTimeoutMillis the time a sender waits for a place in a full inbox
+     * @param workerThreads the number of threads handling the keypleDtos of all the nodes
+     */
+    public QueuedLocalNetwork(int inboxCapacity, long latencyMillis, long bandwidthBytesPerSecond,
+            long sendTimeoutMillis, int workerThreads) {
+        if (inboxCapacity < 1 || latencyMillis < 0 || bandwidthBytesPerSecond < 0
+                || workerThreads < 1) {
+            throw new IllegalArgumentException("Bad network settings");
+        }
+        this.inboxCapacity = inboxCapacity;
+        this.latencyMillis = latencyMillis;
+        this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.timer = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("Timer-"));
+        this.workers =
+                Executors.newFixedThreadPool(workerThreads, new DaemonThreadFactory("Worker-"));
+    }
+
+    /**
+     * Attach a node
+     *
+     * @param node the node
+     */
+    void register(QueuedLocalNode node) {
+        inboxes.put(node.getNodeId(), new Inbox(node));
+    }
+
+    /**
+     * Detach a node, the keypleDtos sent to it are then rejected
+     *
+     * @param nodeId the id of the node
+     */
+    void unregister(String nodeId) {
+        inboxes.remove(nodeId);
+    }
+
+    /**
+     * Send a keypleDto, blocks while the inbox of the target is full
+     *
+     * @param fromNodeId the sender
+     * @param toNodeId the target
+     * @param keypleDto the keypleDto
+     * @throws KeypleRemoteException if the target is unknown, or its inbox stays full during the
+     *         send timeout
+     */
+    void send(String fromNodeId, String toNodeId, KeypleDto keypleDto)
+            throws KeypleRemoteException {
+        if (KeypleDtoHelper.isNoResponse(keypleDto)) {
+            logger.trace("Keyple DTO is empty, do not send it");
+            return;
+        }
+        final Inbox inbox = toNodeId != null ? inboxes.get(toNodeId) : null;
+        if (inbox == null) {
+            throw new KeypleRemoteException("Unknown node " + toNodeId + ", from " + fromNodeId);
+        }
+        inbox.acquire();
+        sentCount.incrementAndGet();
+
+        final QueuedLocalTransportDto transportDto =
+                new QueuedLocalTransportDto(keypleDto, fromNodeId);
+        long delayNanos = deliveryDelay(fromNodeId + "->" + toNodeId, keypleDto);
+        Runnable delivery = new Runnable() {
+            @Override
+            public void run() {
+                inbox.deliver(transportDto);
+            }
+        };
+        try {
+            if (delayNanos <= 0) {
+                delivery.run();
+            } else {
+                timer.schedule(delivery, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            inbox.release();
+            throw new KeypleRemoteException("The network is shut down", e);
+        }
+    }
+
+    /*
+     * latency + queuing and transmission time on the link
+     */
+    private long deliveryDelay(String link, KeypleDto keypleDto) {
+        if (bandwidthBytesPerSecond == 0) {
+            return TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+        }
+        long transmissionNanos = estimateSize(keypleDto) * 1000000000L / bandwidthBytesPerSecond;
+        long now = System.nanoTime();
+        long sentAt;
+        synchronized (linkFreeTimes) {
+            Long freeTime = linkFreeTimes.get(link);
+            sentAt = (freeTime != null && freeTime > now ? freeTime : now) + transmissionNanos;
+            linkFreeTimes.put(link, sentAt);
+        }
+        return sentAt - now + TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    }
+
+    private static long estimateSize(KeypleDto keypleDto) {
+        return DTO_OVERHEAD + length(keypleDto.getBody()) + length(keypleDto.getAction())
+                + length(keypleDto.getId()) + length(keypleDto.getSessionId())
+                + length(keypleDto.getNativeReaderName()) + length(keypleDto.getVirtualReaderName())
+                + length(keypleDto.getRequesterNodeId()) + length(keypleDto.getTargetNodeId());
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * @return the number of keypleDtos sent
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return the number of keypleDtos handled by their target
+     */
+    public long getHandledCount() {
+        return handledCount.get();
+    }
+
+    /**
+     * @return the number of sendings which had to wait for a place in a full inbox
+     */
+    public long getWaitingSendCount() {
+        return waitingSendCount.get();
+    }
+
+    /**
+     * @return the number of sendings rejected after the send timeout
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * @param nodeId the id of a node
+     * @return the number of keypleDtos in flight to the node or pending in its inbox
+     */
+    public int getInboxSize(String nodeId) {
+        Inbox inbox = inboxes.get(nodeId);
+        return inbox != null ? inboxCapacity - inbox.places.availablePermits() : 0;
+    }
+
+    /**
+     * Stop the threads of the network, the pending keypleDtos are dropped
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * The bounded inbox of a node
+     */
+    private class Inbox {
+        private final QueuedLocalNode node;
+        private final Semaphore places = new Semaphore(inboxCapacity);
+        /* requests and notifications waiting to be handled, guarded by itself */
+        private final LinkedList<TransportDto> pending = new LinkedList<TransportDto>();
+        private boolean active;
+
+        Inbox(QueuedLocalNode node) {
+            this.node = node;
+        }
+
+        void acquire() throws KeypleRemoteException {
+            if (places.tryAcquire()) {
+                return;
+            }
+            waitingSendCount.incrementAndGet();
+            try {
+                if (places.tryAcquire(sendTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rejectedCount.incrementAndGet();
+            throw new KeypleRemoteException("The inbox of " + node.getNodeId() + " is full");
+        }
+
+        void release() {
+            places.release();
+        }
+
+        void deliver(final TransportDto transportDto) {
+            Boolean isRequest = transportDto.getKeypleDTO().isRequest();
+            if (isRequest != null && !isRequest) {
+                // a response completes a remote method call, it does not wait for the others
+                execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        handle(transportDto);
+                    }
+                });
+                return;
+            }
+            synchronized (pending) {
+                pending.add(transportDto);
+                if (active) {
+                    return;
+                }
+                active = true;
+            }
+            execute(new Runnable() {
+                @Override
+                public void run() {
+                    handlePending();
+                }
+            });
+        }
+
+        private void execute(Runnable task) {
+            try {
+                workers.execute(task);
+            } catch (RejectedExecutionException e) {
+                logger.warn("The network is shut down, keypleDto dropped");
+            }
+        }
+
+        private void handlePending() {
+            while (true) {
+                TransportDto transportDto;
+                synchronized (pending) {
+                    transportDto = pending.poll();
+                    if (transportDto == null) {
+                        active = false;
+                        return;
+                    }
+                }
+                handle(transportDto);
+            }
+        }
+
+        private void handle(TransportDto transportDto) {
+            TransportDto response = null;
+            try {
+                DtoHandler dtoHandler = node.getDtoHandler();
+                if (dtoHandler == null) {
+                    logger.error("No DtoHandler defined on {}, keypleDto dropped",
+                            node.getNodeId());
+                } else {
+                    response = dtoHandler.onDTO(transportDto);
+                }
+            } catch (RuntimeException e) {
+                logger.error("{} failed to handle a keypleDto", node.getNodeId(), e);
+            } finally {
+                // the place is freed before sending the response, which may wait for a place
+                release();
+                handledCount.incrementAndGet();
+            }
+            if (response != null) {
+                try {
+                    node.sendDTO(response);
+                } catch (KeypleRemoteException e) {
+                    logger.error("{} could not send a response: {}", node.getNodeId(),
+                            e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Daemon threads numbered from a common prefix
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = "QueuedLocalNetwork-" + prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import org.eclipse.keyple.plugin.remotese.transport.DtoHandler;
+import org.eclipse.keyple.plugin.remotese.transport.DtoNode;
+
+/**
+ * Node attached to a {@link QueuedLocalNetwork}
+ */
+abstract class QueuedLocalNode implements DtoNode {
+
+    protected final QueuedLocalNetwork network;
+    private final String nodeId;
+    private volatile DtoHandler dtoHandler;
+
+    QueuedLocalNode(String nodeId, QueuedLocalNetwork network) {
+        this.nodeId = nodeId;
+        this.network = network;
+        network.register(this);
+    }
+
+    DtoHandler getDtoHandler() {
+        return dtoHandler;
+    }
+
+    @Override
+    public void setDtoHandler(DtoHandler handler) {
+        this.dtoHandler = handler;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+}
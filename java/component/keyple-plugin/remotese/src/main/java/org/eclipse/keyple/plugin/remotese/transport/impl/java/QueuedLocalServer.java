@@ -0,0 +1,50 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.factory.ServerNode;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server side of the queued local transport, the keypleDtos are sent to the client designated by
+ * their target node id, the responses to the client which sent the request
+ */
+public class QueuedLocalServer extends QueuedLocalNode implements ServerNode {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueuedLocalServer.class);
+
+    public QueuedLocalServer(String serverNodeId, QueuedLocalNetwork network) {
+        super(serverNodeId, network);
+    }
+
+    @Override
+    public void start() {
+        logger.info("Queued Local Server {} started", getNodeId());
+    }
+
+    @Override
+    public void sendDTO(TransportDto transportDto) throws KeypleRemoteException {
+        String clientNodeId = transportDto instanceof QueuedLocalTransportDto
+                ? ((QueuedLocalTransportDto) transportDto).getSenderNodeId()
+                : transportDto.getKeypleDTO().getTargetNodeId();
+        network.send(getNodeId(), clientNodeId, transportDto.getKeypleDTO());
+    }
+
+    @Override
+    public void sendDTO(KeypleDto keypleDto) throws KeypleRemoteException {
+        network.send(getNodeId(), keypleDto.getTargetNodeId(), keypleDto);
+    }
+}
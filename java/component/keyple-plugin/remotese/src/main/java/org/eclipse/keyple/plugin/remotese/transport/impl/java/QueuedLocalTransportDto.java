@@ -0,0 +1,43 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+
+/**
+ * keypleDto received through a {@link QueuedLocalNetwork}, with the node to answer to
+ */
+public class QueuedLocalTransportDto implements TransportDto {
+
+    private final KeypleDto keypleDto;
+    private final String senderNodeId;
+
+    public QueuedLocalTransportDto(KeypleDto keypleDto, String senderNodeId) {
+        this.keypleDto = keypleDto;
+        this.senderNodeId = senderNodeId;
+    }
+
+    public String getSenderNodeId() {
+        return senderNodeId;
+    }
+
+    @Override
+    public KeypleDto getKeypleDTO() {
+        return keypleDto;
+    }
+
+    @Override
+    public TransportDto nextTransportDTO(KeypleDto keypleDto) {
+        return new QueuedLocalTransportDto(keypleDto, senderNodeId);
+    }
+}
@@ -0,0 +1,65 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
+import org.eclipse.keyple.plugin.remotese.transport.factory.ServerNode;
+import org.eclipse.keyple.plugin.remotese.transport.factory.TransportFactory;
+
+/**
+ * Factory to create a {@link QueuedLocalServer} and {@link QueuedLocalClient}s attached to the
+ * same {@link QueuedLocalNetwork}, to simulate many slaves on a loaded network within a JVM.
+ */
+public class QueuedLocalTransportFactory extends TransportFactory {
+
+    private final QueuedLocalNetwork network;
+    private final QueuedLocalServer theServer;
+
+    /**
+     * Create the factory on a network without latency nor bandwidth limit
+     *
+     * @param serverNodeId the node id of the server
+     */
+    public QueuedLocalTransportFactory(String serverNodeId) {
+        this(serverNodeId, new QueuedLocalNetwork());
+    }
+
+    /**
+     * Create the factory on a network
+     *
+     * @param serverNodeId the node id of the server
+     * @param network the simulated network
+     */
+    public QueuedLocalTransportFactory(String serverNodeId, QueuedLocalNetwork network) {
+        this.network = network;
+        this.theServer = new QueuedLocalServer(serverNodeId, network);
+    }
+
+    @Override
+    public ClientNode getClient(String clientNodeId) {
+        return new QueuedLocalClient(clientNodeId, theServer.getNodeId(), network);
+    }
+
+    @Override
+    public ServerNode getServer() {
+        return theServer;
+    }
+
+    @Override
+    public String getServerNodeId() {
+        return theServer.getNodeId();
+    }
+
+    public QueuedLocalNetwork getNetwork() {
+        return network;
+    }
+}
@@ -19,15 +19,24 @@ import com.google.gson.GsonBuilder;
 
 /**
  * Json Parser for Keyple DTO and Keyple DTO fields
+ * <p>
+ * The Gson instance is built once and shared: it is thread-safe and caches its type adapters.
  */
 public class JsonParser {
 
-    static public Gson getGson() {
+    private static final Gson gson = buildGson();
+
+    private static Gson buildGson() {
         final GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.registerTypeAdapter(SeProtocol.class, new GsonSeProtocolTypeAdapter());
-        gsonBuilder.registerTypeAdapter(byte[].class, new HexTypeAdapter());
+        // streaming adapters of the transmitted messages and of the byte arrays (hex strings)
+        gsonBuilder.registerTypeAdapterFactory(new SeMessageTypeAdapterFactory());
         // gsonBuilder.setPrettyPrinting(); disable pretty printing for inline json
         return gsonBuilder.create();
     }
 
+    static public Gson getGson() {
+        return gson;
+    }
+
 }
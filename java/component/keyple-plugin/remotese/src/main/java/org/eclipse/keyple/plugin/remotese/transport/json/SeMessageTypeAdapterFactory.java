@@ -0,0 +1,405 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.AnswerToReset;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Streaming Gson adapters of the messages exchanged on each transmission: SeRequest, SeResponse,
+ * ApduRequest, ApduResponse, SelectionStatus and the byte arrays (as hex strings).
+ * <p>
+ * They write and read the same json as the reflective serialization (same field names, null
+ * fields omitted) without intermediate json trees.
+ */
+class SeMessageTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType == byte[].class) {
+            return (TypeAdapter<T>) new HexAdapter().nullSafe();
+        }
+        if (rawType == ApduRequest.class) {
+            return (TypeAdapter<T>) new ApduRequestAdapter().nullSafe();
+        }
+        if (rawType == ApduResponse.class) {
+            return (TypeAdapter<T>) new ApduResponseAdapter().nullSafe();
+        }
+        if (rawType == SelectionStatus.class) {
+            return (TypeAdapter<T>) new SelectionStatusAdapter(
+                    gson.getAdapter(ApduResponse.class)).nullSafe();
+        }
+        if (rawType == SeResponse.class) {
+            return (TypeAdapter<T>) new SeResponseAdapter(gson.getAdapter(SelectionStatus.class),
+                    gson.getAdapter(ApduResponse.class)).nullSafe();
+        }
+        if (rawType == SeRequest.class) {
+            return (TypeAdapter<T>) new SeRequestAdapter(gson.getAdapter(SeSelector.class),
+                    gson.getAdapter(ApduRequest.class)).nullSafe();
+        }
+        return null;
+    }
+
+    /* ----------- hex */
+
+    private static void writeHex(JsonWriter out, String name, byte[] bytes) throws IOException {
+        if (bytes != null) {
+            out.name(name).value(toHex(bytes));
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0x0F];
+            hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+
+    private static byte[] readHex(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String hex = in.nextString();
+        if (hex.length() % 2 != 0) {
+            // let the lenient parser handle (or reject) the separators
+            return ByteArrayUtil.fromHex(hex);
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                return ByteArrayUtil.fromHex(hex);
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
+    private static void writeStatusCodes(JsonWriter out, String name, Set<Integer> statusCodes)
+            throws IOException {
+        if (statusCodes != null) {
+            out.name(name).beginArray();
+            for (Integer statusCode : statusCodes) {
+                out.value(statusCode);
+            }
+            out.endArray();
+        }
+    }
+
+    private static Set<Integer> readStatusCodes(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Set<Integer> statusCodes = new LinkedHashSet<Integer>();
+        in.beginArray();
+        while (in.hasNext()) {
+            statusCodes.add(in.nextInt());
+        }
+        in.endArray();
+        return statusCodes;
+    }
+
+    private static <E> void writeList(JsonWriter out, String name, List<E> list,
+            TypeAdapter<E> adapter) throws IOException {
+        if (list != null) {
+            out.name(name).beginArray();
+            for (E element : list) {
+                adapter.write(out, element);
+            }
+            out.endArray();
+        }
+    }
+
+    private static <E> List<E> readList(JsonReader in, TypeAdapter<E> adapter)
+            throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<E> list = new ArrayList<E>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(adapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    /* ----------- adapters */
+
+    private static class HexAdapter extends TypeAdapter<byte[]> {
+        @Override
+        public void write(JsonWriter out, byte[] bytes) throws IOException {
+            out.value(toHex(bytes));
+        }
+
+        @Override
+        public byte[] read(JsonReader in) throws IOException {
+            return readHex(in);
+        }
+    }
+
+    private static class ApduRequestAdapter extends TypeAdapter<ApduRequest> {
+        @Override
+        public void write(JsonWriter out, ApduRequest apduRequest) throws IOException {
+            out.beginObject();
+            writeHex(out, "bytes", apduRequest.getBytes());
+            out.name("case4").value(apduRequest.isCase4());
+            writeStatusCodes(out, "successfulStatusCodes",
+                    apduRequest.getSuccessfulStatusCodes());
+            if (apduRequest.getName() != null) {
+                out.name("name").value(apduRequest.getName());
+            }
+            out.endObject();
+        }
+
+        @Override
+        public ApduRequest read(JsonReader in) throws IOException {
+            byte[] bytes = null;
+            boolean case4 = false;
+            Set<Integer> successfulStatusCodes = null;
+            String name = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if ("bytes".equals(field)) {
+                    bytes = readHex(in);
+                } else if ("case4".equals(field)) {
+                    case4 = in.nextBoolean();
+                } else if ("successfulStatusCodes".equals(field)) {
+                    successfulStatusCodes = readStatusCodes(in);
+                } else if ("name".equals(field) && in.peek() != JsonToken.NULL) {
+                    name = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new ApduRequest(name, bytes, case4, successfulStatusCodes);
+        }
+    }
+
+    private static class ApduResponseAdapter extends TypeAdapter<ApduResponse> {
+        @Override
+        public void write(JsonWriter out, ApduResponse apduResponse) throws IOException {
+            out.beginObject();
+            out.name("successful").value(apduResponse.isSuccessful());
+            writeHex(out, "bytes", apduResponse.getBytes());
+            out.endObject();
+        }
+
+        @Override
+        public ApduResponse read(JsonReader in) throws IOException {
+            boolean successful = false;
+            byte[] bytes = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if ("successful".equals(field)) {
+                    successful = in.nextBoolean();
+                } else if ("bytes".equals(field)) {
+                    bytes = readHex(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            Set<Integer> successfulStatusCodes = null;
+            if (successful && bytes != null && bytes.length >= 2) {
+                // the status word was accepted by the sender, keep it successful
+                successfulStatusCodes = new LinkedHashSet<Integer>();
+                successfulStatusCodes.add(((bytes[bytes.length - 2] & 0xFF) << 8)
+                        | (bytes[bytes.length - 1] & 0xFF));
+            }
+            try {
+                return new ApduResponse(bytes, successfulStatusCodes);
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException("Bad ApduResponse", e);
+            }
+        }
+    }
+
+    private static class SelectionStatusAdapter extends TypeAdapter<SelectionStatus> {
+        private final TypeAdapter<ApduResponse> apduResponseAdapter;
+
+        SelectionStatusAdapter(TypeAdapter<ApduResponse> apduResponseAdapter) {
+            this.apduResponseAdapter = apduResponseAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, SelectionStatus selectionStatus) throws IOException {
+            out.beginObject();
+            if (selectionStatus.getAtr() != null) {
+                out.name("atr").beginObject();
+                writeHex(out, "atrBytes", selectionStatus.getAtr().getBytes());
+                out.endObject();
+            }
+            if (selectionStatus.getFci() != null) {
+                out.name("fci");
+                apduResponseAdapter.write(out, selectionStatus.getFci());
+            }
+            out.name("isMatching").value(selectionStatus.hasMatched());
+            out.endObject();
+        }
+
+        @Override
+        public SelectionStatus read(JsonReader in) throws IOException {
+            AnswerToReset atr = null;
+            ApduResponse fci = null;
+            boolean isMatching = false;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if ("atr".equals(field) && in.peek() != JsonToken.NULL) {
+                    byte[] atrBytes = null;
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        if ("atrBytes".equals(in.nextName())) {
+                            atrBytes = readHex(in);
+                        } else {
+                            in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    atr = new AnswerToReset(atrBytes);
+                } else if ("fci".equals(field)) {
+                    fci = apduResponseAdapter.read(in);
+                } else if ("isMatching".equals(field)) {
+                    isMatching = in.nextBoolean();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SelectionStatus(atr, fci, isMatching);
+        }
+    }
+
+    private static class SeResponseAdapter extends TypeAdapter<SeResponse> {
+        private final TypeAdapter<SelectionStatus> selectionStatusAdapter;
+        private final TypeAdapter<ApduResponse> apduResponseAdapter;
+
+        SeResponseAdapter(TypeAdapter<SelectionStatus> selectionStatusAdapter,
+                TypeAdapter<ApduResponse> apduResponseAdapter) {
+            this.selectionStatusAdapter = selectionStatusAdapter;
+            this.apduResponseAdapter = apduResponseAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, SeResponse seResponse) throws IOException {
+            out.beginObject();
+            out.name("channelPreviouslyOpen").value(seResponse.wasChannelPreviouslyOpen());
+            out.name("logicalChannelIsOpen").value(seResponse.isLogicalChannelOpen());
+            if (seResponse.getSelectionStatus() != null) {
+                out.name("selectionStatus");
+                selectionStatusAdapter.write(out, seResponse.getSelectionStatus());
+            }
+            writeList(out, "apduResponses", seResponse.getApduResponses(), apduResponseAdapter);
+            out.endObject();
+        }
+
+        @Override
+        public SeResponse read(JsonReader in) throws IOException {
+            boolean channelPreviouslyOpen = false;
+            boolean logicalChannelIsOpen = false;
+            SelectionStatus selectionStatus = null;
+            List<ApduResponse> apduResponses = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if ("channelPreviouslyOpen".equals(field)) {
+                    channelPreviouslyOpen = in.nextBoolean();
+                } else if ("logicalChannelIsOpen".equals(field)) {
+                    logicalChannelIsOpen = in.nextBoolean();
+                } else if ("selectionStatus".equals(field)) {
+                    selectionStatus = selectionStatusAdapter.read(in);
+                } else if ("apduResponses".equals(field)) {
+                    apduResponses = readList(in, apduResponseAdapter);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SeResponse(logicalChannelIsOpen, channelPreviouslyOpen, selectionStatus,
+                    apduResponses);
+        }
+    }
+
+    private static class SeRequestAdapter extends TypeAdapter<SeRequest> {
+        private final TypeAdapter<SeSelector> seSelectorAdapter;
+        private final TypeAdapter<ApduRequest> apduRequestAdapter;
+
+        SeRequestAdapter(TypeAdapter<SeSelector> seSelectorAdapter,
+                TypeAdapter<ApduRequest> apduRequestAdapter) {
+            this.seSelectorAdapter = seSelectorAdapter;
+            this.apduRequestAdapter = apduRequestAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, SeRequest seRequest) throws IOException {
+            out.beginObject();
+            if (seRequest.getSeSelector() != null) {
+                out.name("seSelector");
+                seSelectorAdapter.write(out, seRequest.getSeSelector());
+            }
+            writeList(out, "apduRequests", seRequest.getApduRequests(), apduRequestAdapter);
+            out.endObject();
+        }
+
+        @Override
+        public SeRequest read(JsonReader in) throws IOException {
+            SeSelector seSelector = null;
+            List<ApduRequest> apduRequests = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String field = in.nextName();
+                if ("seSelector".equals(field)) {
+                    seSelector = seSelectorAdapter.read(in);
+                } else if ("apduRequests".equals(field)) {
+                    apduRequests = readList(in, apduRequestAdapter);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new SeRequest(seSelector, apduRequests);
+        }
+    }
+}
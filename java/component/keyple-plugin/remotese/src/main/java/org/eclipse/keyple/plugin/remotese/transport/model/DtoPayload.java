@@ -0,0 +1,29 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+/**
+ * Arguments of a remote method carried as objects by a {@link KeypleDto}.
+ * <p>
+ * They are handed as is to the other node by the transports exchanging objects, and encoded
+ * without json by the codecs that know them (see
+ * {@link org.eclipse.keyple.plugin.remotese.transport.codec.BinaryDtoCodec}).
+ */
+public interface DtoPayload {
+
+    /**
+     * Render the payload in the json format of the body of the remote method
+     *
+     * @return json body
+     */
+    String toJson();
+}
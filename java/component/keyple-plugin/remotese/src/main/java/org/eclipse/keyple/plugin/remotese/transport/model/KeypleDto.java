@@ -27,12 +27,18 @@ public class KeypleDto {
     // API method to be called
     private final String action;
 
-    // Arguments of the API (json)
-    private final String body;
+    // Arguments of the API (json), rendered from the payload when not given
+    private String body;
+
+    // Arguments of the API as objects, not serialized
+    private final transient DtoPayload payload;
 
     // Is a request or a response
     private final Boolean isRequest;
 
+    // Is an error (the body is a RemoteError), null otherwise
+    private final Boolean isError;
+
     // Id of the request
     private final String id;
 
@@ -73,11 +79,41 @@ public class KeypleDto {
     public KeypleDto(String action, String body, Boolean isRequest, String sessionId,
             String nativeReaderName, String virtualReaderName, String requesterNodeId,
             String targetNodeId, String id) {
+        this(action, body, null, isRequest, null, sessionId, nativeReaderName,
+                virtualReaderName, requesterNodeId, targetNodeId, id);
+    }
+
+    /**
+     * Constructor of a KeypleDto whose arguments are given as objects, the json body is rendered
+     * from the payload only when needed (json serialization, logs)
+     *
+     * @param action : API method to be called
+     * @param payload : Arguments of the API
+     * @param isRequest : Is a request or a response
+     * @param sessionId : Session Id of current Virtual Reader Session Id
+     * @param nativeReaderName : readerName of the native reader
+     * @param virtualReaderName : readerName of the virtual reader
+     * @param requesterNodeId : node the request is sent from
+     * @param targetNodeId : node the request is sent to
+     * @param id : unique id of this request (null in case of notification)
+     */
+    public KeypleDto(String action, DtoPayload payload, Boolean isRequest, String sessionId,
+            String nativeReaderName, String virtualReaderName, String requesterNodeId,
+            String targetNodeId, String id) {
+        this(action, null, payload, isRequest, null, sessionId, nativeReaderName,
+                virtualReaderName, requesterNodeId, targetNodeId, id);
+    }
+
+    private KeypleDto(String action, String body, DtoPayload payload, Boolean isRequest,
+            Boolean isError, String sessionId, String nativeReaderName, String virtualReaderName,
+            String requesterNodeId, String targetNodeId, String id) {
 
         this.sessionId = sessionId;
+        this.payload = payload;
         this.action = action;
         this.body = body;
         this.isRequest = isRequest;
+        this.isError = isError;
         this.nativeReaderName = nativeReaderName;
         this.virtualReaderName = virtualReaderName;
         this.requesterNodeId = requesterNodeId;
@@ -85,6 +121,26 @@ public class KeypleDto {
         this.id = id;
     }
 
+    /**
+     * Constructor of a KeypleDto of type "Exception"
+     *
+     * @param action : API method that failed
+     * @param body : the error (json of a {@link RemoteError})
+     * @param sessionId : Session Id of current Virtual Reader Session Id
+     * @param nativeReaderName : readerName of the native reader
+     * @param virtualReaderName : readerName of the virtual reader
+     * @param requesterNodeId : node the response is sent from
+     * @param targetNodeId : node the response is sent to
+     * @param id : id of the failed request
+     * @return the keypleDto
+     */
+    public static KeypleDto error(String action, String body, String sessionId,
+            String nativeReaderName, String virtualReaderName, String requesterNodeId,
+            String targetNodeId, String id) {
+        return new KeypleDto(action, body, null, false, true, sessionId, nativeReaderName,
+                virtualReaderName, requesterNodeId, targetNodeId, id);
+    }
+
     /*
      * Getters and Setters
      */
@@ -93,14 +149,33 @@ public class KeypleDto {
         return isRequest;
     }
 
+    /**
+     * @return true if the keypleDto is of type "Exception"
+     */
+    public boolean isError() {
+        return isError != null && isError;
+    }
+
     public String getAction() {
         return action;
     }
 
     public String getBody() {
+        if (body == null && payload != null) {
+            // rendered once, the result is always the same
+            body = payload.toJson();
+        }
         return body;
     }
 
+    /**
+     * @return the arguments of the API as objects, null if the KeypleDto has been built (or
+     *         received) with a json body only
+     */
+    public DtoPayload getPayload() {
+        return payload;
+    }
+
     public String getSessionId() {
         return sessionId;
     }
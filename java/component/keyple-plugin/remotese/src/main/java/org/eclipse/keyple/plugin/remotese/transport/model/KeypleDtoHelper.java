@@ -12,6 +12,7 @@
 package org.eclipse.keyple.plugin.remotese.transport.model;
 
 
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
 import com.google.gson.JsonObject;
 
@@ -28,6 +29,12 @@ import com.google.gson.JsonObject;
  */
 public final class KeypleDtoHelper {
 
+    /** System property enabling the stack traces in the keypleDtos of type "Exception" */
+    public static final String ERROR_STACK_TRACE_PROPERTY = "keyple.remotese.errorStackTrace";
+
+    private static volatile boolean errorStackTraceEnabled =
+            Boolean.getBoolean(ERROR_STACK_TRACE_PROPERTY);
+
     /* ----------- Constructors Helpers */
 
     /**
@@ -70,6 +77,46 @@ public final class KeypleDtoHelper {
                 requesterNodeId, targetNodeId, id);
     }
 
+    /**
+     * Build a KeypleDto of type "Request" whose parameters are given as objects
+     *
+     * @param action : name of the remote method
+     * @param payload : parameters of the remote method
+     * @param sessionId : virtual session id (if exists)
+     * @param nativeReaderName : name of the local reader
+     * @param virtualReaderName : name of the virtual reader (if exists)
+     * @param requesterNodeId : node id of the sender
+     * @param targetNodeId : node id of the destinee
+     * @param id : unique id for this request
+     * @return keypleDto request
+     */
+    public static KeypleDto buildRequest(String action, DtoPayload payload, String sessionId,
+            String nativeReaderName, String virtualReaderName, String requesterNodeId,
+            String targetNodeId, String id) {
+        return new KeypleDto(action, payload, true, sessionId, nativeReaderName,
+                virtualReaderName, requesterNodeId, targetNodeId, id);
+    }
+
+    /**
+     * Build a KeypleDto of type "Response" whose result is given as objects
+     *
+     * @param action : name of the remote method
+     * @param payload : result of the remote method
+     * @param sessionId : virtual session id (if exists)
+     * @param nativeReaderName : name of the local reader
+     * @param virtualReaderName : name of the virtual reader (if exists)
+     * @param requesterNodeId : node id of the sender
+     * @param targetNodeId : node id of the destinee
+     * @param id : id of the request
+     * @return keypleDto response
+     */
+    public static KeypleDto buildResponse(String action, DtoPayload payload, String sessionId,
+            String nativeReaderName, String virtualReaderName, String requesterNodeId,
+            String targetNodeId, String id) {
+        return new KeypleDto(action, payload, false, sessionId, nativeReaderName,
+                virtualReaderName, requesterNodeId, targetNodeId, id);
+    }
+
     /**
      * Build a KeypleDto of type "Notification", (without id)
      * 
@@ -90,9 +137,11 @@ public final class KeypleDtoHelper {
     }
 
     /**
-     * Build a keypleDto of type "Exception" containing a Java Throwable
+     * Build a keypleDto of type "Exception" describing a Java Throwable
      * <p>
-     * This keypleDto send the exception to the other node
+     * This keypleDto send the error to the other node as a {@link RemoteError} (error code,
+     * exception class, message and partial responses), the stack trace is only joined when
+     * enabled with {@link #setErrorStackTraceEnabled(boolean)}
      * 
      * @param action : name of the remote method that failed
      * @param sessionId : virtual session id (if exists)
@@ -108,8 +157,41 @@ public final class KeypleDtoHelper {
             String nativeReaderName, String virtualReaderName, String requesterNodeId,
             String targetNodeId, String id) {
 
-        return buildResponse(action, JsonParser.getGson().toJson(exception), sessionId,
-                nativeReaderName, virtualReaderName, requesterNodeId, targetNodeId, id);
+        String body = JsonParser.getGson().toJson(
+                RemoteError.of(exception, errorStackTraceEnabled), RemoteError.class);
+        return KeypleDto.error(action, body, sessionId, nativeReaderName, virtualReaderName,
+                requesterNodeId, targetNodeId, id);
+    }
+
+    /**
+     * Join (or not) the stack trace of the exceptions to the keypleDtos of type "Exception".
+     * Disabled by default, unless the system property {@value #ERROR_STACK_TRACE_PROPERTY} is set
+     * to true.
+     *
+     * @param enabled true to send the stack traces (debug)
+     */
+    public static void setErrorStackTraceEnabled(boolean enabled) {
+        errorStackTraceEnabled = enabled;
+    }
+
+    /**
+     * Get the error held by a keypleDto of type "Exception"
+     *
+     * @param keypleDto the keypleDto (see {@link #containsException(KeypleDto)})
+     * @return the error
+     */
+    public static RemoteError getError(KeypleDto keypleDto) {
+        return JsonParser.getGson().fromJson(keypleDto.getBody(), RemoteError.class);
+    }
+
+    /**
+     * Rebuild the exception held by a keypleDto of type "Exception"
+     *
+     * @param keypleDto the keypleDto (see {@link #containsException(KeypleDto)})
+     * @return the exception
+     */
+    public static KeypleReaderException getReaderException(KeypleDto keypleDto) {
+        return getError(keypleDto).toReaderException();
     }
 
     /**
@@ -135,12 +217,20 @@ public final class KeypleDtoHelper {
 
     /**
      * Check if the keypleDto is of type "Exception"
+     * <p>
+     * The keypleDtos sent by the nodes of the previous versions have no error flag, their body is
+     * a serialized exception holding a stack trace.
      * 
      * @param keypleDto keypleDto to test
      * @return true of the keypleDto is of type "Exception"
      */
     public static Boolean containsException(KeypleDto keypleDto) {
-        return keypleDto.getBody().contains("stackTrace");
+        if (keypleDto.isError()) {
+            return true;
+        }
+        // a payload is never an exception
+        return keypleDto.getPayload() == null && keypleDto.getBody() != null
+                && keypleDto.getBody().contains("stackTrace");
     }
 
 
@@ -154,6 +244,8 @@ public final class KeypleDtoHelper {
      * @return json serialization of the keypleDto
      */
     public static String toJson(KeypleDto keypleDto) {
+        // render the body of a keypleDto built with a payload
+        keypleDto.getBody();
         return JsonParser.getGson().toJson(keypleDto);
     }
 
@@ -0,0 +1,241 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.exception.KeypleApplicationSelectionException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleChannelControlException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Body of a keypleDto of type "Exception": the error raised by a remote method, reduced to an
+ * error code, the class and the message of the exception and the partial responses it holds.
+ * <p>
+ * The stack trace is only filled when enabled with
+ * {@link KeypleDtoHelper#setErrorStackTraceEnabled(boolean)} (debug).
+ * <p>
+ * The fields are serialized under the names of the fields of a serialized
+ * {@link KeypleReaderException} (detailMessage, seResponse, seResponseList, stackTrace), so that
+ * the nodes of the previous versions, which deserialize the body as a KeypleReaderException, get
+ * the message and the partial responses. The stackTrace field is always sent, as an array of
+ * frames, these nodes recognize the errors by its presence.
+ */
+public final class RemoteError {
+
+    /**
+     * Kind of the error, the exception rebuilt on the receiving side depends on it
+     */
+    public enum Code {
+        /** communication with the SE failed, {@link KeypleIOReaderException} */
+        IO_ERROR,
+        /** {@link KeypleChannelControlException} */
+        CHANNEL_CONTROL,
+        /** {@link KeypleApplicationSelectionException} */
+        APPLICATION_SELECTION,
+        /** {@link KeypleReaderNotFoundException} */
+        READER_NOT_FOUND,
+        /** other {@link KeypleReaderException} */
+        READER_ERROR,
+        /** any other exception */
+        INTERNAL_ERROR
+    }
+
+    private static final String READER_NOT_FOUND_PREFIX = "Reader with name ";
+    private static final String READER_NOT_FOUND_SUFFIX = " was not found";
+
+    private final Code code;
+    private final String exceptionClass;
+    /* the detailMessage of a serialized Throwable */
+    @SerializedName(value = "detailMessage", alternate = {"message"})
+    private final String message;
+    private final SeResponse seResponse;
+    /* the name of the field in KeypleReaderException */
+    private final List<SeResponse> seResponseList;
+    private final List<Frame> stackTrace;
+
+    private RemoteError(Code code, String exceptionClass, String message, SeResponse seResponse,
+            List<SeResponse> seResponses, List<Frame> stackTrace) {
+        this.code = code;
+        this.exceptionClass = exceptionClass;
+        this.message = message;
+        this.seResponse = seResponse;
+        this.seResponseList = seResponses;
+        this.stackTrace = stackTrace;
+    }
+
+    /**
+     * Describe an exception
+     *
+     * @param exception the exception raised by the remote method
+     * @param withStackTrace true to join the stack trace
+     * @return the error
+     */
+    public static RemoteError of(Throwable exception, boolean withStackTrace) {
+        SeResponse seResponse = null;
+        List<SeResponse> seResponses = null;
+        if (exception instanceof KeypleReaderException) {
+            seResponse = ((KeypleReaderException) exception).getSeResponse();
+            seResponses = ((KeypleReaderException) exception).getSeResponseSet();
+        }
+        List<Frame> stackTrace = new ArrayList<Frame>();
+        if (withStackTrace) {
+            for (StackTraceElement element : exception.getStackTrace()) {
+                stackTrace.add(new Frame(element));
+            }
+        }
+        return new RemoteError(codeOf(exception), exception.getClass().getName(),
+                exception.getMessage(), seResponse, seResponses, stackTrace);
+    }
+
+    private static Code codeOf(Throwable exception) {
+        if (exception instanceof KeypleIOReaderException) {
+            return Code.IO_ERROR;
+        }
+        if (exception instanceof KeypleChannelControlException) {
+            return Code.CHANNEL_CONTROL;
+        }
+        if (exception instanceof KeypleApplicationSelectionException) {
+            return Code.APPLICATION_SELECTION;
+        }
+        if (exception instanceof KeypleReaderNotFoundException) {
+            return Code.READER_NOT_FOUND;
+        }
+        if (exception instanceof KeypleReaderException) {
+            return Code.READER_ERROR;
+        }
+        return Code.INTERNAL_ERROR;
+    }
+
+    /**
+     * Rebuild the exception on the receiving side, with the partial responses; the remote stack
+     * trace, when sent, is the one of the cause.
+     *
+     * @return an exception of the class given by the error code
+     */
+    public KeypleReaderException toReaderException() {
+        KeypleRemoteException cause = null;
+        if (stackTrace != null && !stackTrace.isEmpty()) {
+            cause = new KeypleRemoteException("Remote " + exceptionClass + ": " + message);
+            StackTraceElement[] elements = new StackTraceElement[stackTrace.size()];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = stackTrace.get(i).toStackTraceElement();
+            }
+            cause.setStackTrace(elements);
+        }
+        KeypleReaderException exception;
+        switch (code != null ? code : Code.INTERNAL_ERROR) {
+            case IO_ERROR:
+                exception = new KeypleIOReaderException(message, cause);
+                break;
+            case CHANNEL_CONTROL:
+                exception = new KeypleChannelControlException(message, cause);
+                break;
+            case APPLICATION_SELECTION:
+                exception = new KeypleApplicationSelectionException(message, cause);
+                break;
+            case READER_NOT_FOUND:
+                exception = new KeypleReaderNotFoundException(readerNameOf(message));
+                if (cause != null) {
+                    exception.initCause(cause);
+                }
+                break;
+            default:
+                exception = new KeypleReaderException(message, cause);
+                break;
+        }
+        exception.setSeResponse(seResponse);
+        exception.setSeResponseSet(seResponseList);
+        return exception;
+    }
+
+    /*
+     * the message of a KeypleReaderNotFoundException is built from the reader name
+     */
+    private static String readerNameOf(String message) {
+        if (message != null && message.startsWith(READER_NOT_FOUND_PREFIX)
+                && message.endsWith(READER_NOT_FOUND_SUFFIX)) {
+            return message.substring(READER_NOT_FOUND_PREFIX.length(),
+                    message.length() - READER_NOT_FOUND_SUFFIX.length());
+        }
+        return message;
+    }
+
+    public Code getCode() {
+        return code;
+    }
+
+    /**
+     * @return the name of the class of the remote exception
+     */
+    public String getExceptionClass() {
+        return exceptionClass;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public SeResponse getSeResponse() {
+        return seResponse;
+    }
+
+    public List<SeResponse> getSeResponses() {
+        return seResponseList;
+    }
+
+    /**
+     * @return the remote stack trace, null if not sent
+     */
+    public String getStackTrace() {
+        if (stackTrace == null || stackTrace.isEmpty()) {
+            return null;
+        }
+        StringBuilder trace = new StringBuilder(exceptionClass).append(": ").append(message);
+        for (Frame frame : stackTrace) {
+            trace.append("\n\tat ").append(frame.toStackTraceElement());
+        }
+        return trace.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteError{CODE = " + code + ", CLASS = " + exceptionClass + ", MESSAGE = "
+                + message + "}";
+    }
+
+    /**
+     * Frame of the remote stack trace, with the field names of {@link StackTraceElement}
+     */
+    private static final class Frame {
+        private final String declaringClass;
+        private final String methodName;
+        private final String fileName;
+        private final int lineNumber;
+
+        private Frame(StackTraceElement element) {
+            this.declaringClass = element.getClassName();
+            this.methodName = element.getMethodName();
+            this.fileName = element.getFileName();
+            this.lineNumber = element.getLineNumber();
+        }
+
+        private StackTraceElement toStackTraceElement() {
+            return new StackTraceElement(declaringClass, methodName, fileName, lineNumber);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Script of dependent SeRequests sent to the slave in a single keypleDto and executed there
+ * against the native reader, all the SeResponses coming back in a single keypleDto.
+ * <p>
+ * The steps are transmitted in their order, each one with its own {@link ChannelControl}. A step
+ * may end the script according to its {@link StopCondition}; the following steps are then not
+ * transmitted and the list of SeResponses is shorter than the list of steps. If a following step
+ * should have closed the channel, the channel is closed all the same. This is also the case when
+ * a step fails.
+ */
+public final class SeRequestPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeRequestPipeline.class);
+
+    /**
+     * Condition, evaluated on the SeResponse of a step, ending the script
+     */
+    public enum StopCondition {
+        /** the next step is always transmitted */
+        NEVER,
+        /** stop when an APDU response of the step has an unexpected status word */
+        UNSUCCESSFUL_STATUS_WORD,
+        /** stop when the selection of the step did not match (no SeResponse or not matching) */
+        NOT_MATCHING
+    }
+
+    private final List<Step> steps = new ArrayList<Step>();
+
+    /**
+     * Add a step always followed by the next one
+     *
+     * @param seRequest the SeRequest to transmit
+     * @param channelControl indicates if the channel has to be closed after the step
+     * @return the pipeline
+     */
+    public SeRequestPipeline add(SeRequest seRequest, ChannelControl channelControl) {
+        return add(seRequest, channelControl, StopCondition.NEVER);
+    }
+
+    /**
+     * Add a step
+     *
+     * @param seRequest the SeRequest to transmit
+     * @param channelControl indicates if the channel has to be closed after the step
+     * @param stopCondition the condition ending the script after the step
+     * @return the pipeline
+     */
+    public SeRequestPipeline add(SeRequest seRequest, ChannelControl channelControl,
+            StopCondition stopCondition) {
+        if (seRequest == null || channelControl == null || stopCondition == null) {
+            throw new IllegalArgumentException("seRequest, channelControl and stopCondition "
+                    + "must not be null");
+        }
+        steps.add(new Step(seRequest, channelControl, stopCondition));
+        return this;
+    }
+
+    /**
+     * @return the steps of the script
+     */
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    /**
+     * Execute the script against a reader
+     *
+     * @param reader the reader (the native reader on the slave side)
+     * @return the SeResponses of the transmitted steps
+     * @throws KeypleReaderException if a step fails, the SeResponses of the previous steps are
+     *         held by {@link KeypleReaderException#getSeResponseSet()}; the channel is closed
+     *         beforehand if the failed step or a following one requested it
+     */
+    public List<SeResponse> execute(ProxyReader reader) throws KeypleReaderException {
+        List<SeResponse> seResponses = new ArrayList<SeResponse>(steps.size());
+        int stepIndex = 0;
+        try {
+            for (; stepIndex < steps.size(); stepIndex++) {
+                Step step = steps.get(stepIndex);
+                SeResponse seResponse = reader.transmit(step.seRequest, step.channelControl);
+                seResponses.add(seResponse);
+                if (step.isStopping(seResponse)) {
+                    logger.debug("Pipeline stopped after step {} of {} ({})", stepIndex + 1,
+                            steps.size(), step.stopCondition);
+                    break;
+                }
+            }
+        } catch (KeypleReaderException e) {
+            closeAfterFailure(reader, stepIndex);
+            e.setSeResponseSet(seResponses);
+            throw e;
+        } catch (RuntimeException e) {
+            closeAfterFailure(reader, stepIndex);
+            throw e;
+        }
+        if (stepIndex < steps.size()) {
+            closeIfRequested(reader, stepIndex + 1, seResponses.get(stepIndex));
+        }
+        return seResponses;
+    }
+
+    /*
+     * the channel is closed if one of the steps not transmitted should have done it
+     */
+    private void closeIfRequested(ProxyReader reader, int nextStep, SeResponse lastResponse)
+            throws KeypleReaderException {
+        if (lastResponse == null || !lastResponse.isLogicalChannelOpen()) {
+            return;
+        }
+        ChannelControl channelControl = getClosingControl(nextStep);
+        if (channelControl != null) {
+            reader.transmit(new SeRequest(new ArrayList<ApduRequest>()), channelControl);
+        }
+    }
+
+    /*
+     * the channel is closed if the failed step or one of the following steps should have done it,
+     * a failure of the closing is logged and the original failure is kept
+     */
+    private void closeAfterFailure(ProxyReader reader, int failedStep) {
+        ChannelControl channelControl = getClosingControl(failedStep);
+        if (channelControl == null) {
+            return;
+        }
+        try {
+            reader.transmit(new SeRequest(new ArrayList<ApduRequest>()), channelControl);
+        } catch (KeypleReaderException e) {
+            logger.warn("Unable to close the channel after the failure of step {}: {}",
+                    failedStep + 1, e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Unable to close the channel after the failure of step {}: {}",
+                    failedStep + 1, e.getMessage());
+        }
+    }
+
+    /*
+     * the first channel control closing the channel from the provided step, null if none
+     */
+    private ChannelControl getClosingControl(int fromStep) {
+        for (int i = fromStep; i < steps.size(); i++) {
+            if (steps.get(i).channelControl != ChannelControl.KEEP_OPEN) {
+                return steps.get(i).channelControl;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "SeRequestPipeline{STEPS = " + steps + "}";
+    }
+
+    /**
+     * A step of the script
+     */
+    public static final class Step {
+        private final SeRequest seRequest;
+        private final ChannelControl channelControl;
+        private final StopCondition stopCondition;
+
+        private Step(SeRequest seRequest, ChannelControl channelControl,
+                StopCondition stopCondition) {
+            this.seRequest = seRequest;
+            this.channelControl = channelControl;
+            this.stopCondition = stopCondition;
+        }
+
+        public SeRequest getSeRequest() {
+            return seRequest;
+        }
+
+        public ChannelControl getChannelControl() {
+            return channelControl;
+        }
+
+        public StopCondition getStopCondition() {
+            return stopCondition;
+        }
+
+        private boolean isStopping(SeResponse seResponse) {
+            switch (stopCondition) {
+                case UNSUCCESSFUL_STATUS_WORD:
+                    if (seResponse == null) {
+                        return true;
+                    }
+                    for (ApduResponse apduResponse : seResponse.getApduResponses()) {
+                        if (!apduResponse.isSuccessful()) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case NOT_MATCHING:
+                    return seResponse == null || (seResponse.getSelectionStatus() != null
+                            && !seResponse.getSelectionStatus().hasMatched());
+                default:
+                    return false;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Step{SEREQUEST = " + seRequest + ", CHANNELCONTROL = " + channelControl
+                    + ", STOPCONDITION = " + stopCondition + "}";
+        }
+    }
+}
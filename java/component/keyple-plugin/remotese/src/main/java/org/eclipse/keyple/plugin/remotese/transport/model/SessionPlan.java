@@ -0,0 +1,139 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+
+/**
+ * High level description of a secure session sent by the master to the slave, where it is run
+ * entirely against the native reader by the
+ * {@link org.eclipse.keyple.plugin.remotese.nativese.SessionPlanHandler} registered under
+ * {@link #getHandlerName()}.
+ * <p>
+ * The plan holds the access level, the read and modification commands to send inside the session
+ * and named parameters (for example the hex SAM challenge or any key material the handler needs);
+ * their meaning is a convention between the master and the handler, the remote SE plugin does not
+ * interpret them.
+ */
+public final class SessionPlan {
+
+    private final String handlerName;
+    private final String accessLevel;
+    private final List<ApduRequest> readCommands = new ArrayList<ApduRequest>();
+    private final List<ApduRequest> modificationCommands = new ArrayList<ApduRequest>();
+    private final Map<String, String> parameters = new HashMap<String, String>();
+    private ChannelControl channelControl = ChannelControl.KEEP_OPEN;
+
+    /**
+     * Create an empty plan
+     *
+     * @param handlerName the name of the handler executing the plan on the slave
+     * @param accessLevel the access level of the session
+     */
+    public SessionPlan(String handlerName, String accessLevel) {
+        if (handlerName == null) {
+            throw new IllegalArgumentException("handlerName must not be null");
+        }
+        this.handlerName = handlerName;
+        this.accessLevel = accessLevel;
+    }
+
+    /**
+     * Add a command to send inside the session before the modifications
+     *
+     * @param apduRequest the command
+     * @return the plan
+     */
+    public SessionPlan addReadCommand(ApduRequest apduRequest) {
+        readCommands.add(apduRequest);
+        return this;
+    }
+
+    /**
+     * Add a command modifying the SE
+     *
+     * @param apduRequest the command
+     * @return the plan
+     */
+    public SessionPlan addModificationCommand(ApduRequest apduRequest) {
+        modificationCommands.add(apduRequest);
+        return this;
+    }
+
+    /**
+     * Set a named parameter
+     *
+     * @param name the name of the parameter
+     * @param value its value
+     * @return the plan
+     */
+    public SessionPlan setParameter(String name, String value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Set the channel control applied at the end of the session (KEEP_OPEN by default)
+     *
+     * @param channelControl the channel control
+     * @return the plan
+     */
+    public SessionPlan setChannelControl(ChannelControl channelControl) {
+        this.channelControl = channelControl;
+        return this;
+    }
+
+    public String getHandlerName() {
+        return handlerName;
+    }
+
+    public String getAccessLevel() {
+        return accessLevel;
+    }
+
+    public List<ApduRequest> getReadCommands() {
+        return Collections.unmodifiableList(readCommands);
+    }
+
+    public List<ApduRequest> getModificationCommands() {
+        return Collections.unmodifiableList(modificationCommands);
+    }
+
+    /**
+     * @param name the name of the parameter
+     * @return the value of the parameter, null if not set
+     */
+    public String getParameter(String name) {
+        return parameters.get(name);
+    }
+
+    public Map<String, String> getParameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    public ChannelControl getChannelControl() {
+        return channelControl;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionPlan{HANDLER = " + handlerName + ", ACCESSLEVEL = " + accessLevel
+                + ", READS = " + readCommands.size() + ", MODIFICATIONS = "
+                + modificationCommands.size() + ", CHANNELCONTROL = " + channelControl + "}";
+    }
+}
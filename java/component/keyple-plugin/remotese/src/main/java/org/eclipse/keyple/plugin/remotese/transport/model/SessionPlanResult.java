@@ -0,0 +1,71 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+
+/**
+ * Outcome of a {@link SessionPlan} executed by the slave: the responses collected from the SE, in
+ * their order, and named values returned to the master for verification (for example the hex
+ * session signature of the SE).
+ */
+public final class SessionPlanResult {
+
+    private final boolean successful;
+    private final List<SeResponse> seResponses;
+    private final Map<String, String> values;
+
+    /**
+     * @param successful true if the session has been closed successfully
+     * @param seResponses the responses collected from the SE
+     * @param values the named values returned to the master (may be null)
+     */
+    public SessionPlanResult(boolean successful, List<SeResponse> seResponses,
+            Map<String, String> values) {
+        this.successful = successful;
+        this.seResponses = seResponses != null ? new ArrayList<SeResponse>(seResponses)
+                : new ArrayList<SeResponse>();
+        this.values = values != null ? new HashMap<String, String>(values)
+                : new HashMap<String, String>();
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public List<SeResponse> getSeResponses() {
+        return Collections.unmodifiableList(seResponses);
+    }
+
+    /**
+     * @param name the name of the value
+     * @return the value, null if not returned by the handler
+     */
+    public String getValue(String name) {
+        return values.get(name);
+    }
+
+    public Map<String, String> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    @Override
+    public String toString() {
+        return "SessionPlanResult{SUCCESSFUL = " + successful + ", SERESPONSES = " + seResponses
+                + ", VALUES = " + values + "}";
+    }
+}
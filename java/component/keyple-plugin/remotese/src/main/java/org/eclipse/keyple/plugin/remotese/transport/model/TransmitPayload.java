@@ -0,0 +1,220 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Parameters and results of the transmit and transmitSet remote methods.
+ * <p>
+ * The json body of these methods is only rendered (and parsed) by {@link #toJson()} and
+ * {@link #fromDto(KeypleDto)}, the remote method classes only handle objects.
+ */
+public final class TransmitPayload implements DtoPayload {
+
+    private final RemoteMethodName method;
+    private final boolean request;
+    private final Set<SeRequest> seRequestSet;
+    private final MultiSeRequestProcessing multiSeRequestProcessing;
+    private final ChannelControl channelControl;
+    private final List<SeResponse> seResponses;
+
+    private TransmitPayload(RemoteMethodName method, boolean request,
+            Set<SeRequest> seRequestSet, MultiSeRequestProcessing multiSeRequestProcessing,
+            ChannelControl channelControl, List<SeResponse> seResponses) {
+        this.method = method;
+        this.request = request;
+        this.seRequestSet = seRequestSet;
+        this.multiSeRequestProcessing = multiSeRequestProcessing;
+        this.channelControl = channelControl;
+        this.seResponses = seResponses;
+    }
+
+    /**
+     * Parameters of a transmit
+     *
+     * @param seRequest the SeRequest
+     * @param channelControl the channel control
+     * @return payload
+     */
+    public static TransmitPayload transmitRequest(SeRequest seRequest,
+            ChannelControl channelControl) {
+        return new TransmitPayload(RemoteMethodName.READER_TRANSMIT, true,
+                Collections.singleton(seRequest), null, channelControl, null);
+    }
+
+    /**
+     * Parameters of a transmitSet
+     *
+     * @param seRequestSet the set of SeRequest
+     * @param multiSeRequestProcessing the multi se processing mode
+     * @param channelControl the channel control
+     * @return payload
+     */
+    public static TransmitPayload transmitSetRequest(Set<SeRequest> seRequestSet,
+            MultiSeRequestProcessing multiSeRequestProcessing, ChannelControl channelControl) {
+        return new TransmitPayload(RemoteMethodName.READER_TRANSMIT_SET, true, seRequestSet,
+                multiSeRequestProcessing, channelControl, null);
+    }
+
+    /**
+     * Result of a transmit
+     *
+     * @param seResponse the SeResponse (may be null)
+     * @return payload
+     */
+    public static TransmitPayload transmitResponse(SeResponse seResponse) {
+        return new TransmitPayload(RemoteMethodName.READER_TRANSMIT, false, null, null, null,
+                Collections.singletonList(seResponse));
+    }
+
+    /**
+     * Result of a transmitSet
+     *
+     * @param seResponses the list of SeResponse
+     * @return payload
+     */
+    public static TransmitPayload transmitSetResponse(List<SeResponse> seResponses) {
+        return new TransmitPayload(RemoteMethodName.READER_TRANSMIT_SET, false, null, null, null,
+                seResponses);
+    }
+
+    /**
+     * Get the payload of a transmit or transmitSet keypleDto, it is parsed from the json body when
+     * the keypleDto does not hold it.
+     *
+     * @param keypleDto the keypleDto (not an exception)
+     * @return payload
+     * @throws IllegalArgumentException if the keypleDto is not a transmit or transmitSet one
+     */
+    public static TransmitPayload fromDto(KeypleDto keypleDto) {
+        if (keypleDto.getPayload() instanceof TransmitPayload) {
+            return (TransmitPayload) keypleDto.getPayload();
+        }
+        Gson gson = JsonParser.getGson();
+        RemoteMethodName method = RemoteMethodName.get(keypleDto.getAction());
+        if (method == RemoteMethodName.READER_TRANSMIT) {
+            if (keypleDto.isRequest()) {
+                JsonObject body = gson.fromJson(keypleDto.getBody(), JsonObject.class);
+                return transmitRequest(
+                        gson.fromJson(body.get("seRequest").getAsString(), SeRequest.class),
+                        ChannelControl.valueOf(body.get("channelControl").getAsString()));
+            }
+            return transmitResponse(gson.fromJson(keypleDto.getBody(), SeResponse.class));
+        }
+        if (method == RemoteMethodName.READER_TRANSMIT_SET) {
+            if (keypleDto.isRequest()) {
+                JsonObject body = gson.fromJson(keypleDto.getBody(), JsonObject.class);
+                Set<SeRequest> seRequestSet =
+                        gson.fromJson(body.get("seRequestSet").getAsString(),
+                                new TypeToken<LinkedHashSet<SeRequest>>() {}.getType());
+                return transmitSetRequest(seRequestSet,
+                        MultiSeRequestProcessing
+                                .valueOf(body.get("multiSeRequestProcessing").getAsString()),
+                        ChannelControl.valueOf(body.get("channelControl").getAsString()));
+            }
+            List<SeResponse> seResponses = gson.fromJson(keypleDto.getBody(),
+                    new TypeToken<ArrayList<SeResponse>>() {}.getType());
+            return transmitSetResponse(seResponses);
+        }
+        throw new IllegalArgumentException("Not a transmit keypleDto : " + keypleDto.getAction());
+    }
+
+    @Override
+    public String toJson() {
+        Gson gson = JsonParser.getGson();
+        if (method == RemoteMethodName.READER_TRANSMIT) {
+            if (request) {
+                JsonObject body = new JsonObject();
+                body.addProperty("seRequest", gson.toJson(getSeRequest(), SeRequest.class));
+                body.addProperty("channelControl", channelControl.name());
+                return body.toString();
+            }
+            return gson.toJson(getSeResponse(), SeResponse.class);
+        }
+        if (request) {
+            JsonObject body = new JsonObject();
+            body.addProperty("seRequestSet", gson.toJson(seRequestSet,
+                    new TypeToken<LinkedHashSet<SeRequest>>() {}.getType()));
+            body.addProperty("multiSeRequestProcessing", multiSeRequestProcessing.name());
+            body.addProperty("channelControl", channelControl.name());
+            return body.toString();
+        }
+        return gson.toJson(seResponses, new TypeToken<ArrayList<SeResponse>>() {}.getType());
+    }
+
+    /**
+     * @return READER_TRANSMIT or READER_TRANSMIT_SET
+     */
+    public RemoteMethodName getMethod() {
+        return method;
+    }
+
+    /**
+     * @return true for the parameters, false for the result
+     */
+    public boolean isRequest() {
+        return request;
+    }
+
+    /**
+     * @return the SeRequest of a transmit
+     */
+    public SeRequest getSeRequest() {
+        return seRequestSet.iterator().next();
+    }
+
+    /**
+     * @return the SeRequests (a single one for a transmit)
+     */
+    public Set<SeRequest> getSeRequestSet() {
+        return seRequestSet;
+    }
+
+    /**
+     * @return the multi se processing mode of a transmitSet, null for a transmit
+     */
+    public MultiSeRequestProcessing getMultiSeRequestProcessing() {
+        return multiSeRequestProcessing;
+    }
+
+    public ChannelControl getChannelControl() {
+        return channelControl;
+    }
+
+    /**
+     * @return the SeResponse of a transmit
+     */
+    public SeResponse getSeResponse() {
+        return seResponses.get(0);
+    }
+
+    /**
+     * @return the SeResponses (a single one for a transmit)
+     */
+    public List<SeResponse> getSeResponses() {
+        return seResponses;
+    }
+}
@@ -65,7 +65,7 @@ public class VirtualReaderBaseTest {
         logger.info("*** Init LocalTransportFactory");
         // use a local transport factory for testing purposes (only java calls between client and
         // server). Only one client and one server bound together.
-        factory = new LocalTransportFactory(SERVER_NODE_ID);
+        factory = createTransportFactory();
 
         logger.info("*** Bind Master Services");
         // bind Master services to server
@@ -77,6 +77,13 @@ public class VirtualReaderBaseTest {
 
     }
 
+    /**
+     * Create the transport binding the master and the slave, a local transport exchanging json
+     */
+    protected TransportFactory createTransportFactory() {
+        return new LocalTransportFactory(SERVER_NODE_ID);
+    }
+
     protected void clearMasterNSlave() {
         factory = null;
         masterAPI = null;
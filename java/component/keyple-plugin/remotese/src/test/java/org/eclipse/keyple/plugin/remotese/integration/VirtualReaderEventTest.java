@@ -12,6 +12,8 @@
 package org.eclipse.keyple.plugin.remotese.integration;
 
 import static org.eclipse.keyple.plugin.stub.StubReaderTest.hoplinkSE;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.selection.AbstractMatchingSe;
@@ -26,6 +28,8 @@ import org.eclipse.keyple.core.seproxy.event.ObservableReader;
 import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
 import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
 import org.eclipse.keyple.core.seproxy.message.DefaultSelectionsResponse;
 import org.eclipse.keyple.core.seproxy.message.SeResponse;
 import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
@@ -276,6 +280,71 @@ public class VirtualReaderEventTest extends VirtualReaderBaseTest {
     }
 
 
+    /**
+     * The read APDU requests set with the default selection are run by the slave, their responses
+     * come with the SE_MATCHED event
+     */
+    @Test
+    public void testInsertMatchingSe_withMatchedApduRequests() throws InterruptedException {
+
+        // CountDown lock
+        final CountDownLatch lock = new CountDownLatch(1);
+        final String poAid = "A000000291A000000191";
+        final SeResponse[] matchingSeResponse = new SeResponse[1];
+        final SeResponse[] matchedSeResponse = new SeResponse[1];
+
+        ObservableReader.ReaderObserver obs = new ObservableReader.ReaderObserver() {
+            @Override
+            public void update(ReaderEvent event) {
+                if (event.getEventType() == ReaderEvent.EventType.SE_MATCHED) {
+                    matchingSeResponse[0] =
+                            ((DefaultSelectionsResponse) event.getDefaultSelectionsResponse())
+                                    .getSelectionSeResponseSet().get(0);
+                    matchedSeResponse[0] = virtualReader.getMatchedSeResponse();
+                    lock.countDown();
+                }
+            }
+        };
+
+        // register observer
+        virtualReader.addObserver(obs);
+
+        SeSelection seSelection = new SeSelection();
+        seSelection.prepareSelection(new GenericSeSelectionRequest(
+                new SeSelector(SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+                        new SeSelector.AidSelector(new SeSelector.AidSelector.IsoAid(poAid), null),
+                        "AID: " + poAid)));
+
+        // read record run by the slave after the match
+        List<ApduRequest> matchedApduRequests =
+                Arrays.asList(new ApduRequest(ByteArrayUtil.fromHex("00B201A420"), false));
+
+        virtualReader.setDefaultSelectionRequest(seSelection.getSelectionOperation(),
+                ObservableReader.NotificationMode.MATCHED_ONLY, null, matchedApduRequests);
+
+        // wait 1 second
+        Thread.sleep(1000);
+
+        // test
+        nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+        // lock thread for 5 seconds max to wait for the event
+        lock.await(5, TimeUnit.SECONDS);
+
+        // remove observer
+        virtualReader.removeObserver(obs);
+
+        Assert.assertEquals(0, lock.getCount());
+        Assert.assertTrue(matchingSeResponse[0].getSelectionStatus().hasMatched());
+        // the selection response is left unchanged
+        Assert.assertTrue(matchingSeResponse[0].getApduResponses().isEmpty());
+        List<ApduResponse> apduResponses = matchedSeResponse[0].getApduResponses();
+        Assert.assertEquals(1, apduResponses.size());
+        Assert.assertTrue(apduResponses.get(0).isSuccessful());
+        Assert.assertEquals(32, apduResponses.get(0).getDataOut().length);
+    }
+
+
     @Test
     public void testInsertNotMatching_MatchedOnly() throws InterruptedException {
 
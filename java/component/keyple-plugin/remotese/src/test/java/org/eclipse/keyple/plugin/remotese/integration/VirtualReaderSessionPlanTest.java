@@ -0,0 +1,170 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.integration;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import org.eclipse.keyple.calypso.command.PoClass;
+import org.eclipse.keyple.calypso.command.po.builder.ReadRecordsCmdBuild;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.command.po.parser.ReadRecordsRespPars;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.nativese.SessionPlanHandler;
+import org.eclipse.keyple.plugin.remotese.pluginse.VirtualReader;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
+import org.eclipse.keyple.plugin.stub.StubPlugin;
+import org.eclipse.keyple.plugin.stub.StubProtocolSetting;
+import org.eclipse.keyple.plugin.stub.StubReader;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs a Calypso secure session on the slave from the master: the session plan goes through
+ * RmSessionPlanTx to a handler driving a PoTransaction with the PO of the native reader and a SAM
+ * of the slave
+ */
+public class VirtualReaderSessionPlanTest extends VirtualReaderBaseTest {
+
+    private static final String SAM_READER_NAME = "testSamReader";
+
+    private VirtualReader virtualReader;
+
+    @Before
+    public void setUp() throws Exception {
+        Assert.assertEquals(0, SeProxyService.getInstance().getPlugins().size());
+
+        initMasterNSlave();
+
+        // the PO is in the native reader connected to the master
+        StubReader nativeReader = this.connectStubReader(NATIVE_READER_NAME, CLIENT_NODE_ID,
+                TransmissionMode.CONTACTLESS);
+        nativeReader.insertSe(calypsoPoSE(0));
+
+        // the SAM stays local to the slave
+        StubReader samReader =
+                Integration.createStubReader(SAM_READER_NAME, TransmissionMode.CONTACTS);
+        samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+        samReader.insertSe(calypsoSamSE(0));
+
+        slaveAPI.registerSessionPlanHandler(new PoTransactionHandler(selectSam(samReader)));
+
+        virtualReader = getVirtualReader();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        disconnectReader(NATIVE_READER_NAME);
+        ((StubPlugin) seProxyService.getPlugin(Integration.SLAVE_STUB))
+                .unplugStubReader(SAM_READER_NAME, true);
+
+        clearMasterNSlave();
+
+        unregisterPlugins();
+
+        Assert.assertEquals(0, SeProxyService.getInstance().getPlugins().size());
+    }
+
+    @Test
+    public void executeSessionPlan_poTransaction_successful() throws Exception {
+        SessionPlan sessionPlan =
+                new SessionPlan(PoTransactionHandler.NAME, "SESSION_LVL_DEBIT")
+                        .addReadCommand(readEventLog())
+                        .setChannelControl(ChannelControl.CLOSE_AFTER);
+
+        SessionPlanResult result = virtualReader.executeSessionPlan(sessionPlan);
+
+        Assert.assertTrue(result.isSuccessful());
+        Assert.assertEquals(eventLogData(0), result.getValue("eventLog"));
+    }
+
+    @Test(expected = KeypleReaderException.class)
+    public void executeSessionPlan_handlerFailure() throws Exception {
+        // not a session access level, the handler fails on the slave
+        virtualReader.executeSessionPlan(
+                new SessionPlan(PoTransactionHandler.NAME, "SESSION_LVL_UNKNOWN")
+                        .addReadCommand(readEventLog()));
+    }
+
+    private static ApduRequest readEventLog() {
+        return new ReadRecordsCmdBuild(PoClass.ISO, SFI_EVENT_LOG,
+                ReadDataStructure.SINGLE_RECORD_DATA, RECORD_NUMBER_1, true, (byte) 0x00,
+                "EventLog").getApduRequest();
+    }
+
+    /**
+     * Secure session reading the records given by the Read Records commands of the plan
+     */
+    private static final class PoTransactionHandler implements SessionPlanHandler {
+
+        static final String NAME = "poTransaction";
+
+        private final SamResource samResource;
+
+        PoTransactionHandler(SamResource samResource) {
+            this.samResource = samResource;
+        }
+
+        @Override
+        public String getName() {
+            return NAME;
+        }
+
+        @Override
+        public SessionPlanResult execute(ProxyReader seReader, SessionPlan sessionPlan)
+                throws KeypleReaderException {
+            PoTransaction.SessionAccessLevel accessLevel =
+                    PoTransaction.SessionAccessLevel.valueOf(sessionPlan.getAccessLevel());
+            PoTransaction poTransaction;
+            try {
+                poTransaction =
+                        new PoTransaction(selectPo(seReader), samResource, new SecuritySettings());
+            } catch (Exception e) {
+                throw new KeypleReaderException("PO selection failed", e);
+            }
+
+            int parserIndex = 0;
+            for (ApduRequest readCommand : sessionPlan.getReadCommands()) {
+                byte[] apdu = readCommand.getBytes();
+                parserIndex = poTransaction.prepareReadRecordsCmd((byte) ((apdu[3] & 0xF8) >> 3),
+                        ReadDataStructure.SINGLE_RECORD_DATA, apdu[2], readCommand.getName());
+            }
+
+            boolean successful = poTransaction.processOpening(
+                    PoTransaction.ModificationMode.ATOMIC, accessLevel, (byte) 0, (byte) 0);
+            byte[] record = ((ReadRecordsRespPars) poTransaction.getResponseParser(parserIndex))
+                    .getRecords().get((int) RECORD_NUMBER_1);
+
+            successful &= poTransaction.processClosing(sessionPlan.getChannelControl())
+                    && poTransaction.isSuccessful();
+
+            return new SessionPlanResult(successful, new ArrayList<SeResponse>(),
+                    Collections.singletonMap("eventLog", ByteArrayUtil.toHex(record)));
+        }
+    }
+}
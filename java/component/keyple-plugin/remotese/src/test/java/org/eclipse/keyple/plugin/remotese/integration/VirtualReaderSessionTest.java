@@ -0,0 +1,129 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.SeProxyService;
+import org.eclipse.keyple.core.seproxy.event.ObservablePlugin;
+import org.eclipse.keyple.core.seproxy.event.PluginEvent;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.plugin.remotese.pluginse.RemoteSePlugin;
+import org.eclipse.keyple.plugin.remotese.pluginse.VirtualReader;
+import org.eclipse.keyple.plugin.stub.StubReader;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the resumption and the expiry of the virtual reader sessions
+ */
+public class VirtualReaderSessionTest extends VirtualReaderBaseTest {
+
+    private StubReader nativeReader;
+    private VirtualReader virtualReader;
+    private final List<PluginEvent.EventType> pluginEvents =
+            Collections.synchronizedList(new ArrayList<PluginEvent.EventType>());
+
+    @Before
+    public void setUp() throws Exception {
+        Assert.assertEquals(0, SeProxyService.getInstance().getPlugins().size());
+
+        initMasterNSlave();
+
+        // configure and connect a Stub Native reader
+        nativeReader = this.connectStubReader(NATIVE_READER_NAME, CLIENT_NODE_ID,
+                TransmissionMode.CONTACTLESS);
+
+        virtualReader = getVirtualReader();
+
+        ((ObservablePlugin) masterAPI.getPlugin())
+                .addObserver(new ObservablePlugin.PluginObserver() {
+                    @Override
+                    public void update(PluginEvent event) {
+                        pluginEvents.add(event.getEventType());
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        masterAPI.getPlugin().setSessionIdleTimeout(0);
+        try {
+            disconnectReader(NATIVE_READER_NAME);
+        } catch (KeypleReaderException e) {
+            // the session has expired
+        }
+
+        clearMasterNSlave();
+
+        unregisterPlugins();
+
+        Assert.assertEquals(0, SeProxyService.getInstance().getPlugins().size());
+    }
+
+    /**
+     * A reader connected again without having been disconnected keeps its virtual reader
+     */
+    @Test
+    public void reconnect_resumesSession() throws Exception {
+        String sessionId = virtualReader.getSession().getSessionId();
+
+        String resumedSessionId = slaveAPI.reconnectReader(nativeReader, null);
+
+        Assert.assertEquals(sessionId, resumedSessionId);
+        Assert.assertSame(virtualReader, getVirtualReader());
+        Assert.assertTrue(pluginEvents.isEmpty());
+    }
+
+    /**
+     * The session of a silent slave expires, the reader then connects as a new one
+     */
+    @Test
+    public void idleSession_expires() throws Exception {
+        RemoteSePlugin plugin = masterAPI.getPlugin();
+        String sessionId = virtualReader.getSession().getSessionId();
+
+        plugin.setSessionIdleTimeout(100);
+        Thread.sleep(500);
+
+        Assert.assertEquals(0, plugin.getReaders().size());
+        Assert.assertEquals(Collections.singletonList(PluginEvent.EventType.READER_DISCONNECTED),
+                pluginEvents);
+
+        // the resume token is not valid anymore, a new session is created
+        plugin.setSessionIdleTimeout(0);
+        String newSessionId = slaveAPI.reconnectReader(nativeReader, null);
+
+        Assert.assertNotEquals(sessionId, newSessionId);
+        Assert.assertNotSame(virtualReader, getVirtualReader());
+        Assert.assertEquals(PluginEvent.EventType.READER_CONNECTED, pluginEvents.get(1));
+    }
+
+    /**
+     * The messages received from the slave keep the session alive
+     */
+    @Test
+    public void activeSession_doesNotExpire() throws Exception {
+        masterAPI.getPlugin().setSessionIdleTimeout(300);
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(100);
+            slaveAPI.reconnectReader(nativeReader, null);
+        }
+
+        Assert.assertSame(virtualReader, getVirtualReader());
+        Assert.assertTrue(pluginEvents.isEmpty());
+    }
+}
@@ -0,0 +1,30 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.integration;
+
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinaryDtoCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
+import org.eclipse.keyple.plugin.remotese.transport.factory.TransportFactory;
+import org.eclipse.keyple.plugin.remotese.transport.impl.java.LocalTransportFactory;
+
+/**
+ * Transmit scenarii of VirtualReaderTransmitTest, the master and the slave exchanging the binary
+ * codec agreed at the connection
+ */
+public class VirtualReaderTransmitBinaryCodecTest extends VirtualReaderTransmitTest {
+
+    @Override
+    protected TransportFactory createTransportFactory() {
+        return new LocalTransportFactory(SERVER_NODE_ID,
+                new DtoCodecNegotiator(new BinaryDtoCodec()));
+    }
+}
@@ -12,19 +12,29 @@
 package org.eclipse.keyple.plugin.remotese.integration;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.calypso.command.PoClass;
 import org.eclipse.keyple.calypso.command.po.builder.ReadRecordsCmdBuild;
 import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
 import org.eclipse.keyple.core.seproxy.SeProxyService;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.message.*;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
 import org.eclipse.keyple.plugin.remotese.pluginse.VirtualReader;
 import org.eclipse.keyple.plugin.remotese.rm.json.SampleFactory;
+import org.eclipse.keyple.plugin.remotese.nativese.SessionPlanHandler;
+import org.eclipse.keyple.plugin.remotese.transport.model.SeRequestPipeline;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
 import org.eclipse.keyple.plugin.stub.StubReader;
 import org.eclipse.keyple.plugin.stub.StubReaderTest;
 import org.junit.After;
@@ -155,6 +165,169 @@ public class VirtualReaderTransmitTest extends VirtualReaderBaseTest {
         }
     }
 
+    @Test
+    public void rse_transmitAsync_Hoplink_Sucessfull() throws Exception {
+        int N_TIMES = 10;
+
+        // insert SE
+        nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+        Thread.sleep(1000);
+
+        StubReaderTest.genericSelectSe(virtualReader);
+
+        // test N_TIMES transmit with KEEP_OPEN, sent without waiting for the previous responses
+        List<Future<SeResponse>> futures = new ArrayList<Future<SeResponse>>();
+        for (int i = 0; i < N_TIMES; i++) {
+            ReadRecordsCmdBuild poReadRecordCmd_T2Env = new ReadRecordsCmdBuild(PoClass.ISO,
+                    (byte) 0x14, ReadDataStructure.SINGLE_RECORD_DATA, (byte) 0x01, true,
+                    (byte) 0x20, "");
+            SeRequest seRequest =
+                    new SeRequest(Arrays.asList(poReadRecordCmd_T2Env.getApduRequest()));
+
+            futures.add(virtualReader.transmitAsync(seRequest, ChannelControl.KEEP_OPEN, null));
+        }
+
+        for (Future<SeResponse> future : futures) {
+            SeResponse seResponse = future.get(10, TimeUnit.SECONDS);
+            // assert
+            Assert.assertTrue(seResponse.getApduResponses().get(0).isSuccessful());
+        }
+    }
+
+    /**
+     * Successful pipeline: all the steps are executed by the slave in one round trip
+     *
+     * @throws Exception
+     */
+    @Test
+    public void rse_transmitPipeline_Hoplink_Sucessfull() throws Exception {
+        int N_STEPS = 5;
+
+        // insert SE
+        nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+        Thread.sleep(1000);
+
+        StubReaderTest.genericSelectSe(virtualReader);
+
+        SeRequestPipeline pipeline = new SeRequestPipeline();
+        for (int i = 0; i < N_STEPS; i++) {
+            pipeline.add(readRecordRequest(), ChannelControl.KEEP_OPEN,
+                    SeRequestPipeline.StopCondition.UNSUCCESSFUL_STATUS_WORD);
+        }
+
+        List<SeResponse> seResponses = virtualReader.transmitPipeline(pipeline);
+
+        // assert
+        Assert.assertEquals(N_STEPS, seResponses.size());
+        for (SeResponse seResponse : seResponses) {
+            Assert.assertTrue(seResponse.getApduResponses().get(0).isSuccessful());
+        }
+    }
+
+    /**
+     * The pipeline stops on the first unsuccessful status word
+     *
+     * @throws Exception
+     */
+    @Test
+    public void rse_transmitPipeline_stopOnUnsuccessfulStatusWord() throws Exception {
+
+        // insert SE
+        nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+        Thread.sleep(1000);
+
+        StubReaderTest.genericSelectSe(virtualReader);
+
+        // the stub SE answers 6A82 to this command
+        SeRequest failingRequest = new SeRequest(Arrays.asList(new ApduRequest(
+                ByteArrayUtil.fromHex("00A404000AA000000291A00000019200"), true)));
+
+        SeRequestPipeline pipeline = new SeRequestPipeline()
+                .add(readRecordRequest(), ChannelControl.KEEP_OPEN,
+                        SeRequestPipeline.StopCondition.UNSUCCESSFUL_STATUS_WORD)
+                .add(failingRequest, ChannelControl.KEEP_OPEN,
+                        SeRequestPipeline.StopCondition.UNSUCCESSFUL_STATUS_WORD)
+                .add(readRecordRequest(), ChannelControl.KEEP_OPEN);
+
+        List<SeResponse> seResponses =
+                virtualReader.transmitPipelineAsync(pipeline, null).get(10, TimeUnit.SECONDS);
+
+        // assert
+        Assert.assertEquals(2, seResponses.size());
+        Assert.assertTrue(seResponses.get(0).getApduResponses().get(0).isSuccessful());
+        Assert.assertEquals(0x6A82, seResponses.get(1).getApduResponses().get(0).getStatusCode());
+    }
+
+    /**
+     * The session plan is executed by the handler registered on the slave
+     *
+     * @throws Exception
+     */
+    @Test
+    public void rse_executeSessionPlan_Hoplink_Sucessfull() throws Exception {
+
+        // insert SE
+        nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+        Thread.sleep(1000);
+
+        StubReaderTest.genericSelectSe(virtualReader);
+
+        slaveAPI.registerSessionPlanHandler(new SessionPlanHandler() {
+            @Override
+            public String getName() {
+                return "test";
+            }
+
+            @Override
+            public SessionPlanResult execute(ProxyReader seReader, SessionPlan sessionPlan)
+                    throws KeypleReaderException {
+                List<ApduRequest> apduRequests =
+                        new ArrayList<ApduRequest>(sessionPlan.getReadCommands());
+                apduRequests.addAll(sessionPlan.getModificationCommands());
+                SeResponse seResponse = seReader.transmit(new SeRequest(apduRequests),
+                        sessionPlan.getChannelControl());
+                return new SessionPlanResult(true, Collections.singletonList(seResponse),
+                        Collections.singletonMap("challenge",
+                                sessionPlan.getParameter("challenge")));
+            }
+        });
+
+        ApduRequest readRecord = readRecordRequest().getApduRequests().get(0);
+        SessionPlan sessionPlan = new SessionPlan("test", "SESSION_LVL_DEBIT")
+                .addReadCommand(readRecord).addReadCommand(readRecord)
+                .setParameter("challenge", "C1C2C3C4");
+
+        SessionPlanResult result = virtualReader.executeSessionPlan(sessionPlan);
+
+        // assert
+        Assert.assertTrue(result.isSuccessful());
+        Assert.assertEquals(2, result.getSeResponses().get(0).getApduResponses().size());
+        Assert.assertTrue(result.getSeResponses().get(0).getApduResponses().get(1).isSuccessful());
+        Assert.assertEquals("C1C2C3C4", result.getValue("challenge"));
+    }
+
+    @Test(expected = KeypleReaderException.class)
+    public void rse_executeSessionPlan_unknownHandler() throws Exception {
+
+        // insert SE
+        nativeReader.insertSe(StubReaderTest.hoplinkSE());
+
+        Thread.sleep(1000);
+
+        virtualReader.executeSessionPlan(new SessionPlan("unknown", "SESSION_LVL_DEBIT"));
+    }
+
+    private static SeRequest readRecordRequest() {
+        ReadRecordsCmdBuild poReadRecordCmd_T2Env = new ReadRecordsCmdBuild(PoClass.ISO,
+                (byte) 0x14, ReadDataStructure.SINGLE_RECORD_DATA, (byte) 0x01, true,
+                (byte) 0x20, "");
+        return new SeRequest(Arrays.asList(poReadRecordCmd_T2Env.getApduRequest()));
+    }
+
     @Test(expected = KeypleReaderException.class)
     public void rse_transmit_no_response() throws Exception {
 
@@ -0,0 +1,186 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.pluginse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.seproxy.event.ObservableReader;
+import org.eclipse.keyple.core.seproxy.event.ReaderEvent;
+import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class ReaderEventDispatcherTest {
+
+    /* tasks run on demand */
+    private final LinkedList<Runnable> tasks = new LinkedList<Runnable>();
+    private ReaderEventDispatcher dispatcher;
+    private VirtualReaderImpl virtualReader;
+    private List<ReaderEvent.EventType> notified;
+
+    @Before
+    public void setUp() {
+        dispatcher = new ReaderEventDispatcher(new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                tasks.add(task);
+            }
+        });
+        virtualReader = newVirtualReader("reader");
+        notified = observe(virtualReader);
+    }
+
+    @Test
+    public void dispatch_notifiesInOrder() {
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_INSERTED));
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.TIMEOUT_ERROR));
+        Assert.assertEquals(2, dispatcher.getQueueDepth(virtualReader.getName()));
+        Assert.assertEquals(2, dispatcher.getPendingCount());
+        // one task for the reader, whatever the number of events
+        Assert.assertEquals(1, tasks.size());
+
+        runTasks();
+
+        Assert.assertEquals(2, notified.size());
+        Assert.assertEquals(ReaderEvent.EventType.SE_INSERTED, notified.get(0));
+        Assert.assertEquals(ReaderEvent.EventType.TIMEOUT_ERROR, notified.get(1));
+        Assert.assertEquals(0, dispatcher.getPendingCount());
+        Assert.assertEquals(2, dispatcher.getMaxPendingCount());
+        Assert.assertEquals(2, dispatcher.getDispatchedCount());
+        Assert.assertEquals(2, dispatcher.getDispatchLag().getCount());
+    }
+
+    @Test
+    public void insertionFollowedByRemoval_coalesced() {
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_MATCHED));
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_REMOVED));
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_INSERTED));
+        Assert.assertEquals(1, dispatcher.getQueueDepth(virtualReader.getName()));
+
+        runTasks();
+
+        Assert.assertEquals(1, notified.size());
+        Assert.assertEquals(ReaderEvent.EventType.SE_INSERTED, notified.get(0));
+        Assert.assertEquals(2, dispatcher.getCoalescedCount());
+    }
+
+    @Test
+    public void removalOfNotifiedInsertion_notCoalesced() {
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_INSERTED));
+        runTasks();
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_REMOVED));
+        runTasks();
+
+        Assert.assertEquals(2, notified.size());
+        Assert.assertEquals(ReaderEvent.EventType.SE_REMOVED, notified.get(1));
+        Assert.assertEquals(0, dispatcher.getCoalescedCount());
+    }
+
+    @Test
+    public void remove_dropsPendingEvents() {
+        dispatcher.dispatch(virtualReader, event(ReaderEvent.EventType.SE_INSERTED));
+        dispatcher.remove(virtualReader.getName());
+        runTasks();
+
+        Assert.assertTrue(notified.isEmpty());
+        Assert.assertEquals(0, dispatcher.getPendingCount());
+    }
+
+    /**
+     * The events of many readers are notified in parallel, in order for each reader
+     */
+    @Test
+    public void sharedWorkers_orderKeptPerReader() throws Exception {
+        final int nbReaders = 50;
+        final int nbEvents = 200;
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            dispatcher = new ReaderEventDispatcher(workers);
+            final CountDownLatch done = new CountDownLatch(nbReaders * nbEvents);
+            List<VirtualReaderImpl> readers = new ArrayList<VirtualReaderImpl>();
+            List<List<ReaderEvent.EventType>> notifications =
+                    new ArrayList<List<ReaderEvent.EventType>>();
+            for (int i = 0; i < nbReaders; i++) {
+                VirtualReaderImpl reader = newVirtualReader("reader" + i);
+                final List<ReaderEvent.EventType> received =
+                        Collections.synchronizedList(new ArrayList<ReaderEvent.EventType>());
+                reader.addObserver(new ObservableReader.ReaderObserver() {
+                    @Override
+                    public void update(ReaderEvent event) {
+                        received.add(event.getEventType());
+                        done.countDown();
+                    }
+                });
+                readers.add(reader);
+                notifications.add(received);
+            }
+
+            List<ReaderEvent.EventType> expected = new ArrayList<ReaderEvent.EventType>();
+            for (int e = 0; e < nbEvents; e++) {
+                ReaderEvent.EventType eventType = e % 2 == 0 ? ReaderEvent.EventType.TIMEOUT_ERROR
+                        : ReaderEvent.EventType.SE_INSERTED;
+                expected.add(eventType);
+                for (VirtualReaderImpl reader : readers) {
+                    dispatcher.dispatch(reader, event(eventType));
+                }
+            }
+
+            Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+            for (List<ReaderEvent.EventType> received : notifications) {
+                Assert.assertEquals(expected, received);
+            }
+            // the count is updated once the observers have returned
+            workers.shutdown();
+            Assert.assertTrue(workers.awaitTermination(5, TimeUnit.SECONDS));
+            Assert.assertEquals(nbReaders * nbEvents, dispatcher.getDispatchedCount());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+    }
+
+    private static VirtualReaderImpl newVirtualReader(String nativeReaderName) {
+        return new VirtualReaderImpl(null, nativeReaderName, null, "slaveNode",
+                TransmissionMode.CONTACTLESS, new HashMap<String, String>(), null);
+    }
+
+    private static List<ReaderEvent.EventType> observe(VirtualReaderImpl reader) {
+        final List<ReaderEvent.EventType> received = new ArrayList<ReaderEvent.EventType>();
+        reader.addObserver(new ObservableReader.ReaderObserver() {
+            @Override
+            public void update(ReaderEvent event) {
+                received.add(event.getEventType());
+            }
+        });
+        return received;
+    }
+
+    private ReaderEvent event(ReaderEvent.EventType eventType) {
+        return new ReaderEvent(RemoteSePluginImpl.DEFAULT_PLUGIN_NAME, virtualReader.getName(),
+                eventType, null);
+    }
+}
@@ -0,0 +1,233 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.rm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.DtoSender;
+import org.eclipse.keyple.plugin.remotese.transport.model.DefaultTransportDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multiplexing of the remote method calls by the RemoteMethodTxEngine
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class RemoteMethodTxEngineTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteMethodTxEngineTest.class);
+
+    private static final long RPC_TIMEOUT = 2000;
+
+    private RecordingDtoSender sender;
+
+    @Before
+    public void setUp() {
+        sender = new RecordingDtoSender();
+    }
+
+    /**
+     * Many calls in flight on the same engine, answered in the reverse order of their sending
+     */
+    @Test
+    public void executeAsync_manyCallsInFlight_responsesMatchedById() throws Exception {
+        int nbCalls = 100;
+        RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, RPC_TIMEOUT);
+
+        List<Future<String>> futures = new ArrayList<Future<String>>();
+        final CountDownLatch callbacks = new CountDownLatch(nbCalls);
+        for (int i = 0; i < nbCalls; i++) {
+            futures.add(new EchoTx("call" + i).executeAsync(engine,
+                    new IRemoteMethodTxCallback<String>() {
+                        @Override
+                        public void get(String response, KeypleRemoteException exception) {
+                            callbacks.countDown();
+                        }
+                    }));
+        }
+        Assert.assertEquals(nbCalls, engine.getPendingCount());
+
+        List<KeypleDto> requests = sender.take(nbCalls);
+        Collections.reverse(requests);
+        for (KeypleDto request : requests) {
+            TransportDto noResponse = engine.onDTO(new DefaultTransportDto(response(request)));
+            Assert.assertTrue(KeypleDtoHelper.isNoResponse(noResponse.getKeypleDTO()));
+        }
+
+        Assert.assertTrue(callbacks.await(RPC_TIMEOUT, TimeUnit.MILLISECONDS));
+        for (int i = 0; i < nbCalls; i++) {
+            Assert.assertTrue(futures.get(i).isDone());
+            Assert.assertEquals("call" + i, futures.get(i).get());
+        }
+        Assert.assertEquals(0, engine.getPendingCount());
+    }
+
+    /**
+     * The blocking call returns the response received on another thread
+     */
+    @Test
+    public void execute_responseFromAnotherThread() throws Exception {
+        final RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, RPC_TIMEOUT);
+
+        Thread slave = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    KeypleDto request = sender.take(1).get(0);
+                    engine.onDTO(new DefaultTransportDto(response(request)));
+                } catch (InterruptedException e) {
+                    logger.error("Interrupted", e);
+                }
+            }
+        };
+        slave.start();
+
+        Assert.assertEquals("blocking", new EchoTx("blocking").execute(engine));
+        slave.join();
+        Assert.assertEquals(0, engine.getPendingCount());
+    }
+
+    /**
+     * The timeout of an asynchronous call is run by the shared timer, a late response is ignored
+     */
+    @Test
+    public void executeAsync_timeout() throws Exception {
+        RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, 100);
+
+        final AtomicReference<KeypleRemoteException> callbackException =
+                new AtomicReference<KeypleRemoteException>();
+        final CountDownLatch callback = new CountDownLatch(1);
+        Future<String> future =
+                new EchoTx("late").executeAsync(engine, new IRemoteMethodTxCallback<String>() {
+                    @Override
+                    public void get(String response, KeypleRemoteException exception) {
+                        callbackException.set(exception);
+                        callback.countDown();
+                    }
+                });
+
+        try {
+            future.get(RPC_TIMEOUT, TimeUnit.MILLISECONDS);
+            Assert.fail("The call should have timed out");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof KeypleRemoteException);
+        }
+        Assert.assertTrue(callback.await(RPC_TIMEOUT, TimeUnit.MILLISECONDS));
+        Assert.assertNotNull(callbackException.get());
+        Assert.assertEquals(0, engine.getPendingCount());
+
+        // the late response does not match any call
+        KeypleDto request = sender.take(1).get(0);
+        TransportDto noResponse = engine.onDTO(new DefaultTransportDto(response(request)));
+        Assert.assertTrue(KeypleDtoHelper.isNoResponse(noResponse.getKeypleDTO()));
+    }
+
+    /**
+     * The blocking call fails with the sending error
+     */
+    @Test(expected = KeypleRemoteException.class)
+    public void execute_sendingError() throws Exception {
+        sender.failure = new KeypleRemoteException("connection lost");
+        RemoteMethodTxEngine engine = new RemoteMethodTxEngine(sender, RPC_TIMEOUT);
+        try {
+            new EchoTx("error").execute(engine);
+        } finally {
+            Assert.assertEquals(0, engine.getPendingCount());
+        }
+    }
+
+    private static KeypleDto response(KeypleDto request) {
+        return KeypleDtoHelper.buildResponse(request.getAction(), request.getBody(),
+                request.getSessionId(), request.getNativeReaderName(),
+                request.getVirtualReaderName(), request.getTargetNodeId(),
+                request.getRequesterNodeId(), request.getId());
+    }
+
+    /**
+     * Remote method whose response is the body of its request
+     */
+    static class EchoTx extends AbstractRemoteMethodTx<String> {
+        private final String value;
+
+        EchoTx(String value) {
+            super("sessionId", "nativeReader", "virtualReader", "slave", "master");
+            this.value = value;
+        }
+
+        @Override
+        protected String parseResponse(KeypleDto keypleDto) {
+            return keypleDto.getBody();
+        }
+
+        @Override
+        public RemoteMethodName getMethodName() {
+            return RemoteMethodName.READER_TRANSMIT;
+        }
+
+        @Override
+        protected KeypleDto dto() {
+            return KeypleDtoHelper.buildRequest(getMethodName().getName(), value, sessionId,
+                    nativeReaderName, virtualReaderName, requesterNodeId, targetNodeId, id);
+        }
+    }
+
+    /**
+     * DtoSender keeping the sent requests
+     */
+    static class RecordingDtoSender implements DtoSender {
+        private final BlockingQueue<KeypleDto> sent = new LinkedBlockingQueue<KeypleDto>();
+        volatile KeypleRemoteException failure;
+
+        @Override
+        public void sendDTO(TransportDto message) throws KeypleRemoteException {
+            sendDTO(message.getKeypleDTO());
+        }
+
+        @Override
+        public void sendDTO(KeypleDto message) throws KeypleRemoteException {
+            if (failure != null) {
+                throw failure;
+            }
+            sent.add(message);
+        }
+
+        @Override
+        public String getNodeId() {
+            return "master";
+        }
+
+        List<KeypleDto> take(int count) throws InterruptedException {
+            List<KeypleDto> requests = new ArrayList<KeypleDto>();
+            for (int i = 0; i < count; i++) {
+                KeypleDto request = sent.poll(RPC_TIMEOUT, TimeUnit.MILLISECONDS);
+                Assert.assertNotNull(request);
+                requests.add(request);
+            }
+            return requests;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.rm;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Bounded send pool of the RemoteMethodTxScheduler
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class RemoteMethodTxSchedulerTest {
+
+    @Test
+    public void execute_moreTasksThanThreads_threadsBounded() throws Exception {
+        RemoteMethodTxScheduler scheduler = RemoteMethodTxScheduler.getDefault();
+        int nbTasks = 3 * RemoteMethodTxScheduler.MAX_SEND_THREADS;
+        final CountDownLatch releaseLatch = new CountDownLatch(1);
+        final CountDownLatch doneLatch = new CountDownLatch(nbTasks);
+        try {
+            for (int i = 0; i < nbTasks; i++) {
+                scheduler.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            releaseLatch.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        doneLatch.countDown();
+                    }
+                });
+            }
+            /* the tasks beyond the pool size wait for a thread instead of creating new ones */
+            Assert.assertTrue(
+                    scheduler.getSendThreadCount() <= RemoteMethodTxScheduler.MAX_SEND_THREADS);
+        } finally {
+            releaseLatch.countDown();
+        }
+        Assert.assertTrue(doneLatch.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -13,14 +13,26 @@ package org.eclipse.keyple.plugin.remotese.rm.json;
 
 
 import java.io.IOException;
+import java.util.Arrays;
+import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderNotFoundException;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.transport.json.HexTypeAdapter;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.RemoteError;
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
 @RunWith(MockitoJUnitRunner.class)
 public class KeypleDtoHelperTest {
@@ -40,4 +52,111 @@ public class KeypleDtoHelperTest {
 
     }
 
+    @After
+    public void tearDown() {
+        KeypleDtoHelper.setErrorStackTraceEnabled(false);
+    }
+
+    @Test
+    public void testContainsException_flag() {
+        KeypleDto dtoWithException = KeypleDtoHelper.ExceptionDTO("any",
+                new KeypleReaderException("message"), "any", "any", "any", "any", "any", "any");
+        // the flag is kept by the json serialization
+        Assert.assertTrue(KeypleDtoHelper.containsException(
+                KeypleDtoHelper.fromJson(KeypleDtoHelper.toJson(dtoWithException))));
+    }
+
+    @Test
+    public void testContainsException_previousVersion() {
+        // the exceptions sent by the previous versions have no flag but a stack trace
+        KeypleDto dto = KeypleDtoHelper.buildResponse("any",
+                "{\"detailMessage\":\"message\",\"stackTrace\":[{\"declaringClass\":\"Any\","
+                        + "\"methodName\":\"any\",\"fileName\":\"Any.java\",\"lineNumber\":1}]}",
+                "any", "any", "any", "any", "any", "any");
+        Assert.assertTrue(KeypleDtoHelper.containsException(dto));
+        KeypleReaderException rebuilt = KeypleDtoHelper.getReaderException(dto);
+        Assert.assertEquals("message", rebuilt.getMessage());
+        Assert.assertNotNull(rebuilt.getCause());
+
+        KeypleDto response = KeypleDtoHelper.buildResponse("any", "{\"seResponse\":{}}", "any",
+                "any", "any", "any", "any", "any");
+        Assert.assertFalse(KeypleDtoHelper.containsException(response));
+    }
+
+    @Test
+    public void testExceptionDTO_readerNotFound() {
+        KeypleDto dto = KeypleDtoHelper.ExceptionDTO("any",
+                new KeypleReaderNotFoundException("nativeReader"), "any", "any", "any", "any",
+                "any", "any");
+
+        KeypleReaderException rebuilt = KeypleDtoHelper.getReaderException(dto);
+        Assert.assertTrue(rebuilt instanceof KeypleReaderNotFoundException);
+        Assert.assertEquals(new KeypleReaderNotFoundException("nativeReader").getMessage(),
+                rebuilt.getMessage());
+    }
+
+    @Test
+    public void testExceptionDTO_compactError() {
+        KeypleIOReaderException ex =
+                new KeypleIOReaderException("SE removed", new IOException("error io"));
+        SeResponse partial = new SeResponse(true, true, null,
+                Arrays.asList(new ApduResponse(ByteArrayUtil.fromHex("9000"), null)));
+        ex.setSeResponse(partial);
+
+        KeypleDto dto =
+                KeypleDtoHelper.ExceptionDTO("any", ex, "any", "any", "any", "any", "any", "any");
+        logger.debug(KeypleDtoHelper.toJson(dto));
+
+        // an empty stack trace, recognized by the previous versions
+        Assert.assertTrue(dto.getBody().contains("\"stackTrace\":[]"));
+        RemoteError error = KeypleDtoHelper.getError(dto);
+        Assert.assertEquals(RemoteError.Code.IO_ERROR, error.getCode());
+        Assert.assertEquals(KeypleIOReaderException.class.getName(), error.getExceptionClass());
+        Assert.assertNull(error.getStackTrace());
+
+        KeypleReaderException rebuilt = KeypleDtoHelper.getReaderException(dto);
+        Assert.assertTrue(rebuilt instanceof KeypleIOReaderException);
+        Assert.assertEquals("SE removed", rebuilt.getMessage());
+        Assert.assertEquals(0x9000,
+                rebuilt.getSeResponse().getApduResponses().get(0).getStatusCode());
+        Assert.assertNull(rebuilt.getCause());
+    }
+
+    @Test
+    public void testExceptionDTO_previousVersionParsing() {
+        KeypleIOReaderException ex = new KeypleIOReaderException("SE removed");
+        SeResponse partial = new SeResponse(true, true, null,
+                Arrays.asList(new ApduResponse(ByteArrayUtil.fromHex("9000"), null)));
+        ex.setSeResponse(partial);
+        ex.setSeResponseSet(Arrays.asList(partial, partial));
+
+        KeypleDto dto =
+                KeypleDtoHelper.ExceptionDTO("any", ex, "any", "any", "any", "any", "any", "any");
+
+        // the parsing of the previous versions: no error flag, a KeypleReaderException body
+        Gson previousGson =
+                new GsonBuilder().registerTypeAdapter(byte[].class, new HexTypeAdapter()).create();
+        Assert.assertTrue(dto.getBody().contains("stackTrace"));
+        KeypleReaderException parsed =
+                previousGson.fromJson(dto.getBody(), KeypleReaderException.class);
+        Assert.assertEquals("SE removed", parsed.getMessage());
+        Assert.assertEquals(0x9000,
+                parsed.getSeResponse().getApduResponses().get(0).getStatusCode());
+        Assert.assertEquals(2, parsed.getSeResponseSet().size());
+    }
+
+    @Test
+    public void testExceptionDTO_stackTraceWhenEnabled() {
+        KeypleDtoHelper.setErrorStackTraceEnabled(true);
+
+        KeypleDto dto = KeypleDtoHelper.ExceptionDTO("any", new KeypleReaderException("message"),
+                "any", "any", "any", "any", "any", "any");
+
+        Assert.assertTrue(
+                KeypleDtoHelper.getError(dto).getStackTrace().contains("KeypleDtoHelperTest"));
+        Throwable cause = KeypleDtoHelper.getReaderException(dto).getCause();
+        Assert.assertNotNull(cause);
+        Assert.assertEquals(KeypleDtoHelperTest.class.getName(),
+                cause.getStackTrace()[0].getClassName());
+    }
 }
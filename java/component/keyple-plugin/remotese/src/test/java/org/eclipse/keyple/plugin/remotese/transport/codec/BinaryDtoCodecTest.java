@@ -0,0 +1,271 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.codec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.MultiSeRequestProcessing;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
+import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.rm.RemoteMethodName;
+import org.eclipse.keyple.plugin.remotese.rm.json.SampleFactory;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransmitPayload;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class BinaryDtoCodecTest {
+
+    private final DtoCodec codec = new BinaryDtoCodec();
+
+    @Test
+    public void transmitSetRequest_roundTrip() throws Exception {
+        KeypleDto dto = KeypleDtoHelper.buildRequest(
+                RemoteMethodName.READER_TRANSMIT_SET.getName(),
+                TransmitPayload.transmitSetRequest(SampleFactory.getCompleteRequestSet(),
+                        MultiSeRequestProcessing.PROCESS_ALL, ChannelControl.CLOSE_AFTER),
+                "session1", "nativeReader", "virtualReader", "master", "slave", "id1");
+
+        KeypleDto decoded = codec.decode(codec.encode(dto));
+
+        assertSameMetadata(dto, decoded);
+        TransmitPayload payload = TransmitPayload.fromDto(decoded);
+        Assert.assertEquals(MultiSeRequestProcessing.PROCESS_ALL,
+                payload.getMultiSeRequestProcessing());
+        Assert.assertEquals(ChannelControl.CLOSE_AFTER, payload.getChannelControl());
+        // same json rendering
+        Assert.assertEquals(dto.getBody(), decoded.getBody());
+    }
+
+    @Test
+    public void transmitRequest_roundTrip() throws Exception {
+        KeypleDto dto = KeypleDtoHelper.buildRequest(RemoteMethodName.READER_TRANSMIT.getName(),
+                TransmitPayload.transmitRequest(SampleFactory.getASeRequest_ISO14443_4(),
+                        ChannelControl.KEEP_OPEN),
+                "session1", "nativeReader", "virtualReader", "master", "slave", "id2");
+
+        KeypleDto decoded = codec.decode(codec.encode(dto));
+
+        assertSameMetadata(dto, decoded);
+        Assert.assertEquals(dto.getBody(), decoded.getBody());
+    }
+
+    @Test
+    public void transmitSetResponse_roundTrip() throws Exception {
+        List<SeResponse> seResponses =
+                new ArrayList<SeResponse>(SampleFactory.getCompleteResponseSet());
+        // status word made successful by the request
+        ApduResponse warning = new ApduResponse(ByteArrayUtil.fromHex("6283"),
+                new HashSet<Integer>(Arrays.asList(0x6283)));
+        Assert.assertTrue(warning.isSuccessful());
+        seResponses.add(new SeResponse(false, false, new SelectionStatus(null, warning, false),
+                Arrays.asList(warning)));
+        KeypleDto dto = KeypleDtoHelper.buildResponse(
+                RemoteMethodName.READER_TRANSMIT_SET.getName(),
+                TransmitPayload.transmitSetResponse(seResponses), "session1", "nativeReader",
+                "virtualReader", "slave", "master", "id3");
+
+        KeypleDto decoded = codec.decode(codec.encode(dto));
+
+        assertSameMetadata(dto, decoded);
+        List<SeResponse> decodedResponses = TransmitPayload.fromDto(decoded).getSeResponses();
+        Assert.assertEquals(seResponses, decodedResponses);
+        Assert.assertTrue(decodedResponses.get(2).getApduResponses().get(0).isSuccessful());
+
+        // null SeResponse of a transmit
+        KeypleDto nullResponse = codec.decode(codec.encode(KeypleDtoHelper.buildResponse(
+                RemoteMethodName.READER_TRANSMIT.getName(),
+                TransmitPayload.transmitResponse(null), "session1", "nativeReader",
+                "virtualReader", "slave", "master", "id3")));
+        Assert.assertNull(TransmitPayload.fromDto(nullResponse).getSeResponse());
+    }
+
+    @Test
+    public void jsonBody_roundTrip() throws Exception {
+        KeypleDto dto = KeypleDtoHelper.ExceptionDTO("reader_transmit",
+                SampleFactory.getASimpleKeypleException(), "session1", "nativeReader",
+                "virtualReader", "slave", "master", "id4");
+
+        KeypleDto decoded = codec.decode(codec.encode(dto));
+
+        assertSameMetadata(dto, decoded);
+        Assert.assertEquals(dto.getBody(), decoded.getBody());
+        Assert.assertTrue(KeypleDtoHelper.containsException(decoded));
+    }
+
+    @Test
+    public void noResponse_roundTrip() throws Exception {
+        KeypleDto decoded = codec.decode(codec.encode(KeypleDtoHelper.NoResponse("id5")));
+
+        Assert.assertTrue(KeypleDtoHelper.isNoResponse(decoded));
+        Assert.assertEquals("id5", decoded.getId());
+    }
+
+    @Test(expected = KeypleRemoteException.class)
+    public void decode_truncated() throws Exception {
+        byte[] data = codec.encode(KeypleDtoHelper.buildRequest(
+                RemoteMethodName.READER_TRANSMIT.getName(),
+                TransmitPayload.transmitRequest(SampleFactory.getASeRequest(),
+                        ChannelControl.KEEP_OPEN),
+                "session1", "nativeReader", "virtualReader", "master", "slave", "id6"));
+        codec.decode(Arrays.copyOf(data, data.length - 3));
+    }
+
+    @Test
+    public void decode_apduResponseWithoutStatusWord() throws Exception {
+        ApduResponse warning = new ApduResponse(ByteArrayUtil.fromHex("6283"),
+                new HashSet<Integer>(Arrays.asList(0x6283)));
+        byte[] data = codec.encode(KeypleDtoHelper.buildResponse(
+                RemoteMethodName.READER_TRANSMIT.getName(),
+                TransmitPayload.transmitResponse(new SeResponse(true, false,
+                        new SelectionStatus(null, warning, true), Arrays.asList(warning))),
+                "session1", "nativeReader", "virtualReader", "slave", "master", "id6"));
+
+        // the first APDU response (length 2, encoded as 3) is cut down to a single byte
+        byte[] apdu = new byte[] {3, (byte) 0x62, (byte) 0x83};
+        int index = indexOf(data, apdu);
+        Assert.assertTrue(index >= 0);
+        byte[] truncated = new byte[data.length - 1];
+        System.arraycopy(data, 0, truncated, 0, index);
+        truncated[index] = 2;
+        truncated[index + 1] = (byte) 0x62;
+        System.arraycopy(data, index + apdu.length, truncated, index + 2,
+                data.length - index - apdu.length);
+        try {
+            codec.decode(truncated);
+            Assert.fail("the decoding should have failed");
+        } catch (KeypleRemoteException e) {
+            // rejected by the codec, not by an out of bounds access
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected = KeypleRemoteException.class)
+    public void decode_json() throws Exception {
+        codec.decode(new JsonDtoCodec().encode(KeypleDtoHelper.NoResponse("id7")));
+    }
+
+    @Test
+    public void customProtocol_roundTrip() throws Exception {
+        DtoCodec customCodec = new BinaryDtoCodec(CustomProtocol.values());
+        SeRequest seRequest = new SeRequest(
+                new SeSelector(CustomProtocol.PROTOCOL_CUSTOM_B, null, null, "custom"),
+                Arrays.asList(new ApduRequest(ByteArrayUtil.fromHex("00B2014400"), true)));
+        KeypleDto dto = KeypleDtoHelper.buildRequest(RemoteMethodName.READER_TRANSMIT.getName(),
+                TransmitPayload.transmitRequest(seRequest, ChannelControl.KEEP_OPEN), "session1",
+                "nativeReader", "virtualReader", "master", "slave", "id8");
+
+        KeypleDto decoded = customCodec.decode(customCodec.encode(dto));
+
+        Assert.assertSame(CustomProtocol.PROTOCOL_CUSTOM_B,
+                TransmitPayload.fromDto(decoded).getSeRequest().getSeSelector().getSeProtocol());
+    }
+
+    @Test(expected = KeypleRemoteException.class)
+    public void customProtocol_unknown() throws Exception {
+        SeRequest seRequest = new SeRequest(
+                new SeSelector(CustomProtocol.PROTOCOL_CUSTOM_A, null, null, "custom"),
+                Arrays.asList(new ApduRequest(ByteArrayUtil.fromHex("00B2014400"), true)));
+        KeypleDto dto = KeypleDtoHelper.buildRequest(RemoteMethodName.READER_TRANSMIT.getName(),
+                TransmitPayload.transmitRequest(seRequest, ChannelControl.KEEP_OPEN), "session1",
+                "nativeReader", "virtualReader", "master", "slave", "id9");
+
+        // the protocol has not been provided to the codec
+        codec.decode(new BinaryDtoCodec(CustomProtocol.values()).encode(dto));
+    }
+
+    @Test
+    public void negotiate() throws Exception {
+        DtoCodecNegotiator server = new DtoCodecNegotiator(new BinaryDtoCodec());
+        DtoCodecNegotiator jsonOnlyClient = new DtoCodecNegotiator();
+        DtoCodecNegotiator client =
+                new DtoCodecNegotiator(new BinaryDtoCodec(), new JsonDtoCodec());
+
+        Assert.assertEquals("binary,json", server.getOffer());
+        Assert.assertEquals("json", jsonOnlyClient.getOffer());
+
+        Assert.assertEquals(BinaryDtoCodec.NAME, server.negotiate(client.getOffer()).getName());
+        Assert.assertEquals(JsonDtoCodec.NAME,
+                server.negotiate(jsonOnlyClient.getOffer()).getName());
+        // peer not taking part in the negotiation
+        Assert.assertEquals(JsonDtoCodec.NAME, server.negotiate(null).getName());
+
+        Assert.assertEquals(BinaryDtoCodec.NAME, client.getCodec("binary").getName());
+        // server not taking part in the negotiation
+        Assert.assertEquals(JsonDtoCodec.NAME, client.getCodec(null).getName());
+    }
+
+    @Test(expected = KeypleRemoteException.class)
+    public void getCodec_unknown() throws Exception {
+        new DtoCodecNegotiator().getCodec("binary");
+    }
+
+    /**
+     * Protocols defined by an application
+     */
+    enum CustomProtocol implements SeProtocol {
+        PROTOCOL_CUSTOM_A("Custom A", TransmissionMode.CONTACTS),
+        PROTOCOL_CUSTOM_B("Custom B", TransmissionMode.CONTACTLESS);
+
+        private final String name;
+        private final TransmissionMode transmissionMode;
+
+        CustomProtocol(String name, TransmissionMode transmissionMode) {
+            this.name = name;
+            this.transmissionMode = transmissionMode;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public TransmissionMode getTransmissionMode() {
+            return transmissionMode;
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(data, i, i + pattern.length), pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void assertSameMetadata(KeypleDto expected, KeypleDto actual) {
+        Assert.assertEquals(expected.getAction(), actual.getAction());
+        Assert.assertEquals(expected.isRequest(), actual.isRequest());
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertEquals(expected.getSessionId(), actual.getSessionId());
+        Assert.assertEquals(expected.getNativeReaderName(), actual.getNativeReaderName());
+        Assert.assertEquals(expected.getVirtualReaderName(), actual.getVirtualReaderName());
+        Assert.assertEquals(expected.getRequesterNodeId(), actual.getRequesterNodeId());
+        Assert.assertEquals(expected.getTargetNodeId(), actual.getTargetNodeId());
+    }
+}
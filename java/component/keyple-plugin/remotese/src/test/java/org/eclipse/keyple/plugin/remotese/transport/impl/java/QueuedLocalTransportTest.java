@@ -0,0 +1,218 @@
+/********************************************************************************
+ * Copyright (c) 2018 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.impl.java;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
+import org.eclipse.keyple.plugin.remotese.transport.DtoHandler;
+import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
+import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
+import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class QueuedLocalTransportTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueuedLocalTransportTest.class);
+
+    private static final String SERVER_NODE_ID = "queuedServer";
+    private static final String ACTION = "echo";
+
+    private QueuedLocalNetwork network;
+
+    @After
+    public void tearDown() {
+        if (network != null) {
+            network.shutdown();
+        }
+    }
+
+    /**
+     * Many clients send a request at the same time, each one gets its response
+     */
+    @Test
+    public void manyClients_allAnswered() throws Exception {
+        final int nbClients = 1000;
+        network = new QueuedLocalNetwork(16, 1, 0, 10000, 8);
+        QueuedLocalTransportFactory factory =
+                new QueuedLocalTransportFactory(SERVER_NODE_ID, network);
+        factory.getServer().setDtoHandler(new EchoHandler());
+
+        final CountDownLatch answered = new CountDownLatch(nbClients);
+        List<ClientNode> clients = new ArrayList<ClientNode>();
+        for (int i = 0; i < nbClients; i++) {
+            final String clientNodeId = "client" + i;
+            ClientNode client = factory.getClient(clientNodeId);
+            client.setDtoHandler(new DtoHandler() {
+                @Override
+                public TransportDto onDTO(TransportDto message) {
+                    if (clientNodeId.equals(message.getKeypleDTO().getTargetNodeId())) {
+                        answered.countDown();
+                    }
+                    return message.nextTransportDTO(KeypleDtoHelper.NoResponse(null));
+                }
+            });
+            clients.add(client);
+        }
+
+        long start = System.nanoTime();
+        for (ClientNode client : clients) {
+            client.sendDTO(request(client.getNodeId(), SERVER_NODE_ID, "0"));
+        }
+        Assert.assertTrue(answered.await(30, TimeUnit.SECONDS));
+        logger.info("{} round trips in {} ms, {} sendings waited for a place", nbClients,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                network.getWaitingSendCount());
+
+        Assert.assertEquals(2 * nbClients, network.getSentCount());
+        Assert.assertEquals(0, network.getRejectedCount());
+    }
+
+    /**
+     * The requests received by a node are handled in their sending order
+     */
+    @Test
+    public void requests_handledInOrder() throws Exception {
+        final int nbRequests = 200;
+        network = new QueuedLocalNetwork(8, 0, 0, 10000, 4);
+        QueuedLocalTransportFactory factory =
+                new QueuedLocalTransportFactory(SERVER_NODE_ID, network);
+        final List<String> received = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch done = new CountDownLatch(nbRequests);
+        factory.getServer().setDtoHandler(new DtoHandler() {
+            @Override
+            public TransportDto onDTO(TransportDto message) {
+                received.add(message.getKeypleDTO().getId());
+                done.countDown();
+                return message.nextTransportDTO(KeypleDtoHelper.NoResponse(null));
+            }
+        });
+        ClientNode client = factory.getClient("client");
+
+        List<String> sent = new ArrayList<String>();
+        for (int i = 0; i < nbRequests; i++) {
+            sent.add(String.valueOf(i));
+            client.sendDTO(request("client", SERVER_NODE_ID, String.valueOf(i)));
+        }
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(sent, received);
+    }
+
+    /**
+     * The keypleDtos are delivered after the latency, plus their transmission time
+     */
+    @Test
+    public void latencyAndBandwidth_delayDelivery() throws Exception {
+        network = new QueuedLocalNetwork(16, 50, 10000, 10000, 2);
+        QueuedLocalTransportFactory factory =
+                new QueuedLocalTransportFactory(SERVER_NODE_ID, network);
+        final CountDownLatch done = new CountDownLatch(5);
+        factory.getServer().setDtoHandler(new DtoHandler() {
+            @Override
+            public TransportDto onDTO(TransportDto message) {
+                done.countDown();
+                return message.nextTransportDTO(KeypleDtoHelper.NoResponse(null));
+            }
+        });
+        ClientNode client = factory.getClient("client");
+
+        // 5 keypleDtos of about 1000 bytes at 10000 bytes/s: at least 500 ms + 50 ms
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            body.append('0');
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            client.sendDTO(KeypleDtoHelper.buildRequest(ACTION, body.toString(), null, null,
+                    null, "client", SERVER_NODE_ID, String.valueOf(i)));
+        }
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("5 keypleDtos delivered in {} ms", elapsedMillis);
+        Assert.assertTrue(elapsedMillis >= 550);
+    }
+
+    /**
+     * A sender waits while the inbox of the target is full, and fails after the send timeout
+     */
+    @Test
+    public void fullInbox_senderRejectedAfterTimeout() throws Exception {
+        network = new QueuedLocalNetwork(1, 0, 0, 100, 2);
+        QueuedLocalTransportFactory factory =
+                new QueuedLocalTransportFactory(SERVER_NODE_ID, network);
+        final CountDownLatch handling = new CountDownLatch(1);
+        final CountDownLatch unblock = new CountDownLatch(1);
+        factory.getServer().setDtoHandler(new DtoHandler() {
+            @Override
+            public TransportDto onDTO(TransportDto message) {
+                handling.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return message.nextTransportDTO(KeypleDtoHelper.NoResponse(null));
+            }
+        });
+        ClientNode client = factory.getClient("client");
+
+        client.sendDTO(request("client", SERVER_NODE_ID, "1"));
+        Assert.assertTrue(handling.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, network.getInboxSize(SERVER_NODE_ID));
+        try {
+            client.sendDTO(request("client", SERVER_NODE_ID, "2"));
+            Assert.fail("the inbox is full");
+        } catch (KeypleRemoteException e) {
+            Assert.assertEquals(1, network.getRejectedCount());
+        }
+
+        // the place is freed once the keypleDto is handled
+        unblock.countDown();
+        client.sendDTO(request("client", SERVER_NODE_ID, "3"));
+        Assert.assertEquals(1, network.getRejectedCount());
+    }
+
+    @Test(expected = KeypleRemoteException.class)
+    public void unknownNode_rejected() throws Exception {
+        network = new QueuedLocalNetwork();
+        QueuedLocalTransportFactory factory =
+                new QueuedLocalTransportFactory(SERVER_NODE_ID, network);
+        factory.getServer().sendDTO(request(SERVER_NODE_ID, "unknownClient", "1"));
+    }
+
+    private static KeypleDto request(String requesterNodeId, String targetNodeId, String id) {
+        return KeypleDtoHelper.buildRequest(ACTION, "{}", null, null, null, requesterNodeId,
+                targetNodeId, id);
+    }
+
+    /**
+     * Answers each request to its requester
+     */
+    private static class EchoHandler implements DtoHandler {
+        @Override
+        public TransportDto onDTO(TransportDto message) {
+            KeypleDto keypleDto = message.getKeypleDTO();
+            return message.nextTransportDTO(KeypleDtoHelper.buildResponse(ACTION,
+                    keypleDto.getBody(), null, null, null, keypleDto.getTargetNodeId(),
+                    keypleDto.getRequesterNodeId(), keypleDto.getId()));
+        }
+    }
+}
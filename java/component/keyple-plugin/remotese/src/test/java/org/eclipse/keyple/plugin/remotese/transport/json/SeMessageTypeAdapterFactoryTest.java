@@ -0,0 +1,106 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.json;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.keyple.core.seproxy.message.AnswerToReset;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.message.SelectionStatus;
+import org.eclipse.keyple.core.seproxy.protocol.SeProtocol;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.rm.json.SampleFactory;
+import org.junit.Assert;
+import org.junit.Test;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The streaming adapters produce and accept the json of the reflective serialization
+ */
+public class SeMessageTypeAdapterFactoryTest {
+
+    private static final Type SE_REQUEST_SET =
+            new TypeToken<LinkedHashSet<SeRequest>>() {}.getType();
+    private static final Type SE_RESPONSE_LIST =
+            new TypeToken<ArrayList<SeResponse>>() {}.getType();
+
+    /**
+     * The former Gson, reflective serialization with a hex adapter
+     */
+    static Gson reflectiveGson() {
+        return new GsonBuilder()
+                .registerTypeAdapter(SeProtocol.class, new GsonSeProtocolTypeAdapter())
+                .registerTypeAdapter(byte[].class, new HexTypeAdapter()).create();
+    }
+
+    @Test
+    public void getGson_isShared() {
+        Assert.assertSame(JsonParser.getGson(), JsonParser.getGson());
+    }
+
+    @Test
+    public void seRequestSet_sameJson() {
+        Set<SeRequest> seRequests = new LinkedHashSet<SeRequest>();
+        seRequests.addAll(SampleFactory.getCompleteRequestSet());
+        seRequests.addAll(SampleFactory.getASeRequestSet_ISO14443_4());
+        seRequests.add(new SeRequest(Arrays.asList(new ApduRequest("Named",
+                ByteArrayUtil.fromHex("00B2014400"), false,
+                new HashSet<Integer>(Arrays.asList(0x6283))))));
+
+        String json = JsonParser.getGson().toJson(seRequests, SE_REQUEST_SET);
+
+        Assert.assertEquals(reflectiveGson().toJson(seRequests, SE_REQUEST_SET), json);
+        // read by both
+        Set<SeRequest> read = JsonParser.getGson().fromJson(json, SE_REQUEST_SET);
+        Set<SeRequest> readReflective = reflectiveGson().fromJson(json, SE_REQUEST_SET);
+        Assert.assertEquals(json, JsonParser.getGson().toJson(read, SE_REQUEST_SET));
+        Assert.assertEquals(json, JsonParser.getGson().toJson(readReflective, SE_REQUEST_SET));
+    }
+
+    @Test
+    public void seResponseList_sameJson() {
+        List<SeResponse> seResponses = new ArrayList<SeResponse>();
+        seResponses.addAll(SampleFactory.getCompleteResponseSet());
+        ApduResponse warning = new ApduResponse(ByteArrayUtil.fromHex("6283"),
+                new HashSet<Integer>(Arrays.asList(0x6283)));
+        seResponses.add(new SeResponse(true, false,
+                new SelectionStatus(
+                        new AnswerToReset(ByteArrayUtil.fromHex("3B8E800180318066409089120802")),
+                        warning, true),
+                Arrays.asList(warning, new ApduResponse(ByteArrayUtil.fromHex("6A82"), null))));
+
+        String json = JsonParser.getGson().toJson(seResponses, SE_RESPONSE_LIST);
+
+        Assert.assertEquals(reflectiveGson().toJson(seResponses, SE_RESPONSE_LIST), json);
+        List<SeResponse> read = JsonParser.getGson().fromJson(json, SE_RESPONSE_LIST);
+        Assert.assertEquals(seResponses, read);
+        Assert.assertTrue(read.get(2).getApduResponses().get(0).isSuccessful());
+        Assert.assertFalse(read.get(2).getApduResponses().get(1).isSuccessful());
+        Assert.assertEquals(0x6A82, read.get(2).getApduResponses().get(1).getStatusCode());
+    }
+
+    @Test
+    public void byteArray_lenientHex() {
+        byte[] bytes = JsonParser.getGson().fromJson("\"00 a4 04 00\"", byte[].class);
+        Assert.assertArrayEquals(ByteArrayUtil.fromHex("00A40400"), bytes);
+    }
+}
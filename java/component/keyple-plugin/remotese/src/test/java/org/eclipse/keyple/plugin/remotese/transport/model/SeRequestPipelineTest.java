@@ -0,0 +1,195 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.remotese.transport.model;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeRequest;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.transport.json.JsonParser;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class SeRequestPipelineTest {
+
+    private final SeRequest request1 = request("00B2014400");
+    private final SeRequest request2 = request("00B2024400");
+    private final SeRequest request3 = request("00B2034400");
+
+    private final SeResponse ok = response("9000");
+    private final SeResponse ko = response("6A82");
+
+    private ProxyReader reader;
+
+    @Before
+    public void setUp() throws Exception {
+        reader = mock(ProxyReader.class);
+    }
+
+    @Test
+    public void execute_allSteps() throws Exception {
+        doReturn(ok).when(reader).transmit(any(SeRequest.class), any(ChannelControl.class));
+
+        List<SeResponse> seResponses = new SeRequestPipeline()
+                .add(request1, ChannelControl.KEEP_OPEN,
+                        SeRequestPipeline.StopCondition.UNSUCCESSFUL_STATUS_WORD)
+                .add(request2, ChannelControl.KEEP_OPEN).add(request3, ChannelControl.CLOSE_AFTER)
+                .execute(reader);
+
+        Assert.assertEquals(3, seResponses.size());
+        verify(reader).transmit(request1, ChannelControl.KEEP_OPEN);
+        verify(reader).transmit(request2, ChannelControl.KEEP_OPEN);
+        verify(reader).transmit(request3, ChannelControl.CLOSE_AFTER);
+    }
+
+    @Test
+    public void execute_stopOnUnsuccessfulStatusWord_closesChannel() throws Exception {
+        doReturn(ok).when(reader).transmit(any(SeRequest.class), any(ChannelControl.class));
+        doReturn(ko).when(reader).transmit(request2, ChannelControl.KEEP_OPEN);
+
+        List<SeResponse> seResponses = new SeRequestPipeline()
+                .add(request1, ChannelControl.KEEP_OPEN)
+                .add(request2, ChannelControl.KEEP_OPEN,
+                        SeRequestPipeline.StopCondition.UNSUCCESSFUL_STATUS_WORD)
+                .add(request3, ChannelControl.CLOSE_AFTER).execute(reader);
+
+        Assert.assertEquals(Arrays.asList(ok, ko), seResponses);
+        verify(reader, never()).transmit(request3, ChannelControl.CLOSE_AFTER);
+        // the channel closing requested by the last step is done with an empty request
+        verify(reader, times(1)).transmit(any(SeRequest.class), eq(ChannelControl.CLOSE_AFTER));
+    }
+
+    @Test
+    public void execute_failure_holdsPreviousResponses() throws Exception {
+        doReturn(ok).when(reader).transmit(request1, ChannelControl.KEEP_OPEN);
+        doThrow(new KeypleIOReaderException("removed")).when(reader).transmit(request2,
+                ChannelControl.KEEP_OPEN);
+
+        try {
+            new SeRequestPipeline().add(request1, ChannelControl.KEEP_OPEN)
+                    .add(request2, ChannelControl.KEEP_OPEN)
+                    .add(request3, ChannelControl.CLOSE_AFTER).execute(reader);
+            Assert.fail();
+        } catch (KeypleReaderException e) {
+            Assert.assertEquals(Arrays.asList(ok), e.getSeResponseSet());
+        }
+        verify(reader, never()).transmit(request3, ChannelControl.CLOSE_AFTER);
+    }
+
+    @Test
+    public void execute_failure_closesChannel() throws Exception {
+        doReturn(ok).when(reader).transmit(request1, ChannelControl.KEEP_OPEN);
+        doThrow(new KeypleIOReaderException("removed")).when(reader).transmit(request2,
+                ChannelControl.KEEP_OPEN);
+
+        try {
+            new SeRequestPipeline().add(request1, ChannelControl.KEEP_OPEN)
+                    .add(request2, ChannelControl.KEEP_OPEN)
+                    .add(request3, ChannelControl.CLOSE_AFTER).execute(reader);
+            Assert.fail();
+        } catch (KeypleIOReaderException e) {
+            Assert.assertEquals("removed", e.getMessage());
+        }
+        // the channel closing requested by the last step is done with an empty request
+        verify(reader, times(1)).transmit(any(SeRequest.class), eq(ChannelControl.CLOSE_AFTER));
+    }
+
+    @Test
+    public void execute_runtimeFailure_closesChannel() throws Exception {
+        doThrow(new IllegalStateException("failure")).when(reader).transmit(request1,
+                ChannelControl.KEEP_OPEN);
+
+        try {
+            new SeRequestPipeline().add(request1, ChannelControl.KEEP_OPEN)
+                    .add(request2, ChannelControl.CLOSE_AFTER).execute(reader);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("failure", e.getMessage());
+        }
+        verify(reader, never()).transmit(request2, ChannelControl.CLOSE_AFTER);
+        verify(reader, times(1)).transmit(any(SeRequest.class), eq(ChannelControl.CLOSE_AFTER));
+    }
+
+    @Test
+    public void execute_failureAndClosingFailure_originalFailureThrown() throws Exception {
+        doThrow(new KeypleIOReaderException("removed")).when(reader)
+                .transmit(any(SeRequest.class), any(ChannelControl.class));
+
+        try {
+            new SeRequestPipeline().add(request1, ChannelControl.CLOSE_AFTER).execute(reader);
+            Assert.fail();
+        } catch (KeypleIOReaderException e) {
+            Assert.assertEquals("removed", e.getMessage());
+        }
+        // the failed step itself requested the closing
+        verify(reader, times(2)).transmit(any(SeRequest.class), eq(ChannelControl.CLOSE_AFTER));
+    }
+
+    @Test
+    public void execute_failure_noClosingRequested() throws Exception {
+        doThrow(new KeypleIOReaderException("removed")).when(reader).transmit(request1,
+                ChannelControl.KEEP_OPEN);
+
+        try {
+            new SeRequestPipeline().add(request1, ChannelControl.KEEP_OPEN)
+                    .add(request2, ChannelControl.KEEP_OPEN).execute(reader);
+            Assert.fail();
+        } catch (KeypleReaderException e) {
+            Assert.assertTrue(e.getSeResponseSet().isEmpty());
+        }
+        verify(reader, times(1)).transmit(any(SeRequest.class), any(ChannelControl.class));
+    }
+
+    @Test
+    public void json_roundTrip() throws Exception {
+        SeRequestPipeline pipeline = new SeRequestPipeline()
+                .add(request1, ChannelControl.KEEP_OPEN,
+                        SeRequestPipeline.StopCondition.NOT_MATCHING)
+                .add(request2, ChannelControl.CLOSE_AFTER);
+
+        String json = JsonParser.getGson().toJson(pipeline);
+        SeRequestPipeline parsed = JsonParser.getGson().fromJson(json, SeRequestPipeline.class);
+
+        Assert.assertEquals(2, parsed.getSteps().size());
+        Assert.assertEquals(SeRequestPipeline.StopCondition.NOT_MATCHING,
+                parsed.getSteps().get(0).getStopCondition());
+        Assert.assertEquals(ChannelControl.CLOSE_AFTER,
+                parsed.getSteps().get(1).getChannelControl());
+        Assert.assertEquals(json, JsonParser.getGson().toJson(parsed));
+    }
+
+    private static SeRequest request(String apdu) {
+        return new SeRequest(Arrays.asList(new ApduRequest(ByteArrayUtil.fromHex(apdu), false)));
+    }
+
+    private static SeResponse response(String apdu) {
+        return new SeResponse(true, true, null,
+                Arrays.asList(new ApduResponse(ByteArrayUtil.fromHex(apdu), null)));
+    }
+}
@@ -0,0 +1,160 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.command.po.parser.ReadRecordsRespPars;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the duration of a whole secure session (opening, commands in session, closing) when the
+ * digest is computed by the SAM at closing and when it is computed during the session.
+ * <p>
+ * The stub PO and SAM simulate a fixed processing time for each APDU.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class PoTransactionAsyncDigestBenchmark extends BaseStubTest {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(PoTransactionAsyncDigestBenchmark.class);
+
+    /* number of processPoCommandsInSession calls in the session */
+    private static final int NB_STEPS = 3;
+    /* number of Read Records commands sent by each step */
+    private static final int NB_READS_PER_STEP = 2;
+    /* number of sessions run in each mode */
+    private static final int NB_SESSIONS = 5;
+    /* simulated processing time per APDU */
+    private static final long PO_APDU_DELAY_MS = 3;
+    private static final long SAM_APDU_DELAY_MS = 3;
+
+    private SeReader poReader;
+    private SamResource samResource;
+    private ExecutorService digestExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        stubPlugin.plugStubReader("poReader", true);
+        stubPlugin.plugStubReader("samReader", true);
+        poReader = stubPlugin.getReader("poReader");
+        SeReader samReader = stubPlugin.getReader("samReader");
+        poReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+        samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+
+        StubSecureElement poSE = calypsoPoSE(0);
+        poSE.setApduProcessingTime(PO_APDU_DELAY_MS);
+        StubSecureElement samSE = calypsoSamSE(0);
+        samSE.setApduProcessingTime(SAM_APDU_DELAY_MS);
+        /* Digest Update Multiple with the Read Records commands and responses of a step */
+        StringBuilder digestData = new StringBuilder();
+        for (int i = 0; i < NB_READS_PER_STEP; i++) {
+            digestData.append("0500B2014400").append("1F").append(eventLogData(0)).append("9000");
+        }
+        samSE.addHexCommand(
+                "808C8000" + String.format("%02X", digestData.length() / 2) + digestData, "9000");
+
+        ((StubReader) poReader).insertSe(poSE);
+        ((StubReader) samReader).insertSe(samSE);
+
+        samResource = selectSam(samReader);
+
+        digestExecutor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        digestExecutor.shutdownNow();
+        this.clearStub();
+    }
+
+    @Test
+    public void processSession_syncDigest_vs_asyncDigest() throws Exception {
+        SecuritySettings syncSettings = new SecuritySettings();
+        SecuritySettings asyncSettings = new SecuritySettings();
+        asyncSettings.setDigestExecutor(digestExecutor);
+
+        /* warm up */
+        runSessions(syncSettings, 1);
+        runSessions(asyncSettings, 1);
+
+        long[] sync = runSessions(syncSettings, NB_SESSIONS);
+        long[] async = runSessions(asyncSettings, NB_SESSIONS);
+
+        logger.info("Synchronous digest: average session time {} us, closing time {} us",
+                sync[0] / 1000, sync[1] / 1000);
+        logger.info("Asynchronous digest: average session time {} us, closing time {} us",
+                async[0] / 1000, async[1] / 1000);
+    }
+
+    /**
+     * Runs sessions with the provided settings.
+     *
+     * @return the average session time and the average closing time in nanoseconds
+     */
+    private long[] runSessions(SecuritySettings securitySettings, int nbSessions)
+            throws Exception {
+        long totalSessionTime = 0;
+        long totalClosingTime = 0;
+        for (int session = 0; session < nbSessions; session++) {
+            PoTransaction poTransaction =
+                    new PoTransaction(selectPo(poReader), samResource, securitySettings);
+
+            long start = System.nanoTime();
+            Assert.assertTrue(poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                    PoTransaction.SessionAccessLevel.SESSION_LVL_DEBIT, (byte) 0, (byte) 0));
+
+            for (int step = 0; step < NB_STEPS; step++) {
+                int parserIndex = 0;
+                for (int i = 0; i < NB_READS_PER_STEP; i++) {
+                    parserIndex = poTransaction.prepareReadRecordsCmd(SFI_EVENT_LOG,
+                            ReadDataStructure.SINGLE_RECORD_DATA, RECORD_NUMBER_1, "EventLog");
+                }
+                Assert.assertTrue(poTransaction.processPoCommandsInSession());
+                byte[] eventLog =
+                        ((ReadRecordsRespPars) poTransaction.getResponseParser(parserIndex))
+                                .getRecords().get((int) RECORD_NUMBER_1);
+                Assert.assertEquals(eventLogData(0), ByteArrayUtil.toHex(eventLog));
+            }
+
+            long closingStart = System.nanoTime();
+            Assert.assertTrue(poTransaction.processClosing(ChannelControl.CLOSE_AFTER));
+            long end = System.nanoTime();
+
+            Assert.assertTrue(poTransaction.isSuccessful());
+
+            totalSessionTime += end - start;
+            totalClosingTime += end - closingStart;
+        }
+        return new long[] {totalSessionTime / nbSessions, totalClosingTime / nbSessions};
+    }
+}
@@ -0,0 +1,136 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the latency of the session closing with single Digest Update commands and with Digest
+ * Update Multiple commands.
+ * <p>
+ * The stub SAM simulates a fixed processing time for each APDU.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class PoTransactionDigestModeBenchmark extends BaseStubTest {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(PoTransactionDigestModeBenchmark.class);
+
+    /* number of Read Records commands in the session */
+    private static final int NB_READS = 5;
+    /* number of sessions run in each mode */
+    private static final int NB_SESSIONS = 10;
+    /* simulated SAM processing time per APDU */
+    private static final long SAM_APDU_DELAY_MS = 2;
+
+    private SeReader poReader;
+    private CountingSamSE samSE;
+    private SamResource samResource;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        stubPlugin.plugStubReader("poReader", true);
+        stubPlugin.plugStubReader("samReader", true);
+        poReader = stubPlugin.getReader("poReader");
+        SeReader samReader = stubPlugin.getReader("samReader");
+        poReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+        samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+
+        StubSecureElement sam = calypsoSamSE(0);
+        /* Digest Update Multiple with all the Read Records commands and responses */
+        StringBuilder digestData = new StringBuilder();
+        for (int i = 0; i < NB_READS; i++) {
+            digestData.append("0500B2014400").append("1F").append(eventLogData(0)).append("9000");
+        }
+        sam.addHexCommand(
+                "808C8000" + String.format("%02X", digestData.length() / 2) + digestData, "9000");
+        samSE = new CountingSamSE(sam, SAM_APDU_DELAY_MS);
+
+        ((StubReader) poReader).insertSe(calypsoPoSE(0));
+        ((StubReader) samReader).insertSe(samSE);
+
+        samResource = selectSam(samReader);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.clearStub();
+    }
+
+    @Test
+    public void processClosing_digestUpdate_vs_digestUpdateMultiple() throws Exception {
+        /* warm up */
+        runSessions(SecuritySettings.DigestMode.DIGEST_UPDATE, 1);
+        runSessions(SecuritySettings.DigestMode.DIGEST_UPDATE_MULTIPLE, 1);
+
+        long[] single = runSessions(SecuritySettings.DigestMode.DIGEST_UPDATE, NB_SESSIONS);
+        long[] multiple =
+                runSessions(SecuritySettings.DigestMode.DIGEST_UPDATE_MULTIPLE, NB_SESSIONS);
+
+        logger.info("DIGEST_UPDATE: {} SAM APDUs at closing, average closing time {} us",
+                single[0], single[1] / 1000);
+        logger.info("DIGEST_UPDATE_MULTIPLE: {} SAM APDUs at closing, average closing time {} us",
+                multiple[0], multiple[1] / 1000);
+    }
+
+    /**
+     * Runs sessions with the provided digest mode.
+     *
+     * @return the number of SAM APDUs exchanged during the last closing and the average closing
+     *         time in nanoseconds
+     */
+    private long[] runSessions(SecuritySettings.DigestMode digestMode, int nbSessions)
+            throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setDigestMode(digestMode);
+        long totalClosingTime = 0;
+        int closingApduCount = 0;
+        for (int session = 0; session < nbSessions; session++) {
+            PoTransaction poTransaction =
+                    new PoTransaction(selectPo(poReader), samResource, securitySettings);
+            for (int i = 0; i < NB_READS; i++) {
+                poTransaction.prepareReadRecordsCmd(SFI_EVENT_LOG,
+                        ReadDataStructure.SINGLE_RECORD_DATA, RECORD_NUMBER_1, "EventLog");
+            }
+            Assert.assertTrue(poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                    PoTransaction.SessionAccessLevel.SESSION_LVL_DEBIT, (byte) 0, (byte) 0));
+
+            samSE.resetApduCount();
+            long start = System.nanoTime();
+            Assert.assertTrue(poTransaction.processClosing(ChannelControl.CLOSE_AFTER));
+            totalClosingTime += System.nanoTime() - start;
+            closingApduCount = samSE.getApduCount();
+
+            Assert.assertTrue(poTransaction.isSuccessful());
+        }
+        return new long[] {closingApduCount, totalClosingTime / nbSessions};
+    }
+}
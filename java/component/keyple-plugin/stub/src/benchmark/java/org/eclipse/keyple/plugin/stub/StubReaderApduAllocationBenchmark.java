@@ -0,0 +1,147 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import java.lang.management.ManagementFactory;
+import org.eclipse.keyple.core.seproxy.message.ApduResponse;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Allocation rate of the handling of the APDU responses by a local reader, measured with responses
+ * produced by a stub SE.
+ * <p>
+ * The "before" case reproduces the former checks done on each response (a copy of the data to test
+ * their length), the "after" case uses the data length without copy. The figures depend on the JVM
+ * and are only logged. The whole reader path is not measured here since the test logging
+ * configuration (trace level) dominates its allocations.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class StubReaderApduAllocationBenchmark extends BaseStubTest {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(StubReaderApduAllocationBenchmark.class);
+
+    private static final int NB_APDUS = 100000;
+
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private StubSecureElement se;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        Assume.assumeTrue(
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        se = new FixedResponseSE();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.clearStub();
+    }
+
+    @Test
+    public void responseHandling_allocationPerApdu() throws Exception {
+        byte[] readRecord = ByteArrayUtil.fromHex("00B201A420");
+
+        /* warm up, then measure */
+        long before = 0;
+        long after = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            before = handleResponses(readRecord, true);
+            after = handleResponses(readRecord, false);
+        }
+        logger.info("Allocated bytes per APDU: before = {}, after = {}",
+                (double) before / NB_APDUS, (double) after / NB_APDUS);
+    }
+
+    @Test
+    public void responseData_noCopy() throws Exception {
+        ApduResponse response = new ApduResponse(se.processApdu(null), null);
+        long copied = 0;
+        long viewed = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            long start = allocatedBytes();
+            for (int i = 0; i < NB_APDUS; i++) {
+                copied += response.getDataOut().length;
+            }
+            long middle = allocatedBytes();
+            for (int i = 0; i < NB_APDUS; i++) {
+                viewed += response.getDataLength();
+            }
+            long end = allocatedBytes();
+            logger.info("Allocated bytes per response: getDataOut = {}, getDataLength = {}",
+                    (double) (middle - start) / NB_APDUS, (double) (end - middle) / NB_APDUS);
+        }
+        Assert.assertEquals(copied, viewed);
+    }
+
+    /*
+     * build and check NB_APDUS responses as the reader does, returns the number of bytes allocated
+     */
+    private long handleResponses(byte[] command, boolean copyData) throws Exception {
+        long start = allocatedBytes();
+        int case4Count = 0;
+        int statusCodes = 0;
+        for (int i = 0; i < NB_APDUS; i++) {
+            ApduResponse apduResponse = new ApduResponse(se.processApdu(command), null);
+            int dataLength =
+                    copyData ? apduResponse.getDataOut().length : apduResponse.getDataLength();
+            if (dataLength == 0 && apduResponse.isSuccessful()) {
+                case4Count++;
+            }
+            statusCodes += apduResponse.getStatusCode();
+        }
+        long allocated = allocatedBytes() - start;
+        Assert.assertEquals(0, case4Count);
+        Assert.assertEquals(NB_APDUS * 0x9000, statusCodes);
+        return allocated;
+    }
+
+    private long allocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * SE answering the same prebuilt response to any command
+     */
+    static class FixedResponseSE extends StubSecureElement {
+        static final byte[] RESPONSE = ByteArrayUtil.fromHex(
+                "00000000000000000000000000000000000000000000000000000000000000009000");
+
+        @Override
+        public byte[] processApdu(byte[] apduIn) {
+            return RESPONSE;
+        }
+
+        @Override
+        public byte[] getATR() {
+            return ByteArrayUtil.fromHex("3B8E800180318066409089120802830190000B");
+        }
+
+        @Override
+        public String getSeProcotol() {
+            return "PROTOCOL_ISO14443_4";
+        }
+    }
+}
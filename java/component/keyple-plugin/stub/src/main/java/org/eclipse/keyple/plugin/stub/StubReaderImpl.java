@@ -112,6 +112,14 @@ class StubReaderImpl extends AbstractObservableLocalReader
         if (se == null) {
             throw new KeypleIOReaderException("No SE available.");
         }
+        long apduProcessingTime = se.getApduProcessingTime();
+        if (apduProcessingTime > 0) {
+            try {
+                Thread.sleep(apduProcessingTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         return se.processApdu(apduIn);
     }
 
@@ -124,16 +132,15 @@ class StubReaderImpl extends AbstractObservableLocalReader
         // Test protocolFlag to check if ATR based protocol filtering is required
         if (protocolFlag != null) {
             if (!isPhysicalChannelOpen()) {
-                openPhysicalChannel();
+                openPhysicalChannelAndReport();
             }
             // the requestSet will be executed only if the protocol match the requestElement
-            String selectionMask = protocolsMap.get(protocolFlag);
+            Pattern selectionMask = getProtocolPattern(protocolFlag);
             if (selectionMask == null) {
                 throw new KeypleReaderException("Target selector mask not found!", null);
             }
-            Pattern p = Pattern.compile(selectionMask);
             String protocol = se.getSeProcotol();
-            if (!p.matcher(protocol).matches()) {
+            if (!selectionMask.matcher(protocol).matches()) {
                 logger.trace("[{}] protocolFlagMatches => unmatching SE. PROTOCOLFLAG = {}",
                         this.getName(), protocolFlag);
                 result = false;
@@ -190,7 +197,7 @@ class StubReaderImpl extends AbstractObservableLocalReader
         /* clean channels status */
         if (isPhysicalChannelOpen()) {
             try {
-                closePhysicalChannel();
+                closePhysicalChannelAndReport();
             } catch (KeypleReaderException e) {
                 logger.error("Error while closing channel reader", e);
             }
@@ -50,6 +50,24 @@ public abstract class StubSecureElement {
 
     Map<String, String> hexCommands = new HashMap<String, String>();
 
+    long apduProcessingTime = 0;
+
+    /**
+     * Set a simulated processing time, applied by the stub reader to each APDU sent to the Stub SE
+     *
+     * @param apduProcessingTime : processing time in milliseconds (0 for none)
+     */
+    public void setApduProcessingTime(long apduProcessingTime) {
+        this.apduProcessingTime = apduProcessingTime;
+    }
+
+    /**
+     * @return the simulated processing time of an APDU in milliseconds
+     */
+    public long getApduProcessingTime() {
+        return apduProcessingTime;
+    }
+
     /**
      * Add more simulated commands to the Stub SE
      *
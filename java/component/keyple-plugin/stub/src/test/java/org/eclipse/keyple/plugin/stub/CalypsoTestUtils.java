@@ -0,0 +1,228 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.command.po.parser.ReadRecordsRespPars;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
+import org.eclipse.keyple.calypso.transaction.*;
+import org.eclipse.keyple.core.selection.SeSelection;
+import org.eclipse.keyple.core.selection.SelectionsResult;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.Assert;
+
+/**
+ * Calypso PO and SAM stub SEs and session helpers shared by the PoTransaction and
+ * SamResourceManager tests.
+ * <p>
+ * Each PO/SAM pair only knows the APDUs of its own session: serial number, challenges, data and
+ * signatures are specific to the pair index.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public final class CalypsoTestUtils {
+
+    public static final String AID = "315449432E49434131";
+    public static final byte SFI_EVENT_LOG = (byte) 0x08;
+    public static final byte RECORD_NUMBER_1 = (byte) 1;
+
+    private CalypsoTestUtils() {}
+
+    /**
+     * Select the SAM and build the associated {@link SamResource}
+     */
+    public static SamResource selectSam(SeReader samReader) throws Exception {
+        SeSelection samSelection = new SeSelection();
+        samSelection.prepareSelection(
+                new SamSelectionRequest(new SamSelector(SamRevision.C1, null, "SAM C1")));
+        SelectionsResult selectionsResult = samSelection.processExplicitSelection(samReader);
+        Assert.assertTrue(selectionsResult.hasActiveSelection());
+        return new SamResource(samReader,
+                (CalypsoSam) selectionsResult.getActiveSelection().getMatchingSe());
+    }
+
+    /**
+     * Select the PO and build the associated {@link PoResource}
+     */
+    public static PoResource selectPo(SeReader poReader) throws Exception {
+        SeSelection seSelection = new SeSelection();
+        seSelection.prepareSelection(new PoSelectionRequest(
+                new PoSelector(SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+                        new PoSelector.PoAidSelector(new SeSelector.AidSelector.IsoAid(AID),
+                                PoSelector.InvalidatedPo.REJECT),
+                        "AID: " + AID)));
+        SelectionsResult selectionsResult = seSelection.processExplicitSelection(poReader);
+        Assert.assertTrue(selectionsResult.hasActiveSelection());
+        return new PoResource(poReader,
+                (CalypsoPo) selectionsResult.getActiveSelection().getMatchingSe());
+    }
+
+    /**
+     * Select the PO, open a session reading the EventLog, close it and check the mutual
+     * authentication result
+     */
+    public static void processSession(int index, SeReader poReader, SamResource samResource)
+            throws Exception {
+        PoTransaction poTransaction =
+                new PoTransaction(selectPo(poReader), samResource, new SecuritySettings());
+
+        int readEventLogParserIndex = poTransaction.prepareReadRecordsCmd(SFI_EVENT_LOG,
+                ReadDataStructure.SINGLE_RECORD_DATA, RECORD_NUMBER_1, "EventLog");
+
+        Assert.assertTrue(poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                PoTransaction.SessionAccessLevel.SESSION_LVL_DEBIT, (byte) 0, (byte) 0));
+
+        byte[] eventLog =
+                ((ReadRecordsRespPars) poTransaction.getResponseParser(readEventLogParserIndex))
+                        .getRecords().get((int) RECORD_NUMBER_1);
+        Assert.assertEquals(eventLogData(index), ByteArrayUtil.toHex(eventLog));
+
+        Assert.assertTrue(poTransaction.processClosing(ChannelControl.CLOSE_AFTER));
+        Assert.assertTrue(poTransaction.isSuccessful());
+    }
+
+    /* data specific to a PO/SAM pair */
+
+    public static String pairByte(int index) {
+        return String.format("%02X", index);
+    }
+
+    public static String eventLogData(int index) {
+        return "00112233445566778899AABBCCDDEEFF00112233445566778899AABB" + pairByte(index);
+    }
+
+    public static String openSessionData(int index) {
+        return "030830" + pairByte(index)
+                + "00307E1D24B928480800000606F000120000000000000000000000000000000000";
+    }
+
+    public static StubSecureElement calypsoPoSE(final int index) {
+        StubSecureElement se = new StubSecureElement() {
+            @Override
+            public byte[] getATR() {
+                return ByteArrayUtil.fromHex("3B8880010000000000718100F9");
+            }
+
+            @Override
+            public String getSeProcotol() {
+                return "PROTOCOL_ISO14443_4";
+            }
+        };
+        /* Select Application */
+        se.addHexCommand("00A4 0400 09 " + AID + " 00",
+                "6F238409315449432E49434131A516BF0C13C708 00000000112233" + pairByte(index)
+                        + " 53070A3C23121410019000");
+        /* Open Secure Session V3.1 */
+        se.addHexCommand("008A030104 C1C2C3" + pairByte(index) + " 00",
+                openSessionData(index) + "9000");
+        /* Read Records - EventLog (SFI=08, recnbr=1)) */
+        se.addHexCommand("00B2014400", eventLogData(index) + "9000");
+        /* Close Secure Session (no ratification asked) */
+        se.addHexCommand("008E000004 050607" + pairByte(index) + " 00",
+                "010203" + pairByte(index) + "9000");
+        /* Ratification */
+        se.addHexCommand("00B2000000", "6B00");
+        return se;
+    }
+
+    public static StubSecureElement calypsoSamSE(final int index) {
+        StubSecureElement se = new StubSecureElement() {
+            @Override
+            public byte[] getATR() {
+                return ByteArrayUtil.fromHex("3B3F9600805A0080C120000012345678829000");
+            }
+
+            @Override
+            public String getSeProcotol() {
+                return "PROTOCOL_ISO7816_3";
+            }
+        };
+        /* Select Diversifier */
+        se.addHexCommand("8014 0000 08 00000000112233" + pairByte(index), "9000");
+        /* Get Challenge */
+        se.addHexCommand("8084000004", "C1C2C3" + pairByte(index) + "9000");
+        /* Digest Init */
+        se.addHexCommand("808A00FF27 307E " + openSessionData(index), "9000");
+        /* Digest Update (Read Records request) */
+        se.addHexCommand("808C000005 00B2014400", "9000");
+        /* Digest Update (Read Records response) */
+        se.addHexCommand("808C00001F " + eventLogData(index) + "9000", "9000");
+        /* Digest Close */
+        se.addHexCommand("808E000004", "050607" + pairByte(index) + "9000");
+        /* Digest Authenticate */
+        se.addHexCommand("8082000004 010203" + pairByte(index), "9000");
+        return se;
+    }
+
+    /**
+     * Stub SAM counting the processed APDUs, recording their instruction bytes and simulating a
+     * processing time
+     */
+    public static class CountingSamSE extends StubSecureElement {
+        private final StubSecureElement sam;
+        private final long apduDelayMs;
+        private int apduCount;
+        private final List<Byte> instructions = Collections.synchronizedList(new ArrayList<Byte>());
+
+        public CountingSamSE(StubSecureElement sam, long apduDelayMs) {
+            this.sam = sam;
+            this.apduDelayMs = apduDelayMs;
+        }
+
+        @Override
+        public byte[] getATR() {
+            return sam.getATR();
+        }
+
+        @Override
+        public String getSeProcotol() {
+            return sam.getSeProcotol();
+        }
+
+        @Override
+        public byte[] processApdu(byte[] apduIn) throws KeypleIOReaderException {
+            apduCount++;
+            instructions.add(apduIn[1]);
+            try {
+                Thread.sleep(apduDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sam.processApdu(apduIn);
+        }
+
+        public void resetApduCount() {
+            apduCount = 0;
+        }
+
+        public int getApduCount() {
+            return apduCount;
+        }
+
+        /**
+         * @return the instruction bytes of the processed APDUs, in their processing order
+         */
+        public List<Byte> getInstructions() {
+            synchronized (instructions) {
+                return new ArrayList<Byte>(instructions);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.command.po.parser.ReadRecordsRespPars;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs secure sessions whose digest is computed by the SAM during the session.
+ * <p>
+ * The session durations of the synchronous and asynchronous modes are compared by
+ * PoTransactionAsyncDigestBenchmark.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class PoTransactionAsyncDigestTest extends BaseStubTest {
+
+    /* number of processPoCommandsInSession calls in the session */
+    private static final int NB_STEPS = 3;
+    /* number of Read Records commands sent by each step */
+    private static final int NB_READS_PER_STEP = 2;
+    /* number of sessions run in each test */
+    private static final int NB_SESSIONS = 5;
+
+    private SeReader poReader;
+    private SamResource samResource;
+    private ExecutorService digestExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        stubPlugin.plugStubReader("poReader", true);
+        stubPlugin.plugStubReader("samReader", true);
+        poReader = stubPlugin.getReader("poReader");
+        SeReader samReader = stubPlugin.getReader("samReader");
+        poReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+        samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+
+        StubSecureElement poSE = calypsoPoSE(0);
+        StubSecureElement samSE = calypsoSamSE(0);
+        /* Digest Update Multiple with the Read Records commands and responses of a step */
+        StringBuilder digestData = new StringBuilder();
+        for (int i = 0; i < NB_READS_PER_STEP; i++) {
+            digestData.append("0500B2014400").append("1F").append(eventLogData(0)).append("9000");
+        }
+        samSE.addHexCommand(
+                "808C8000" + String.format("%02X", digestData.length() / 2) + digestData, "9000");
+
+        ((StubReader) poReader).insertSe(poSE);
+        ((StubReader) samReader).insertSe(samSE);
+
+        samResource = selectSam(samReader);
+
+        digestExecutor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        digestExecutor.shutdownNow();
+        this.clearStub();
+    }
+
+    @Test
+    public void processSession_asyncDigestUpdate_successful() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setDigestExecutor(digestExecutor);
+
+        runSessions(securitySettings, NB_SESSIONS);
+    }
+
+    @Test
+    public void processSession_asyncDigestUpdateMultiple_successful() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setDigestExecutor(digestExecutor);
+        securitySettings.setDigestMode(SecuritySettings.DigestMode.DIGEST_UPDATE_MULTIPLE);
+
+        runSessions(securitySettings, 1);
+    }
+
+    /**
+     * Runs sessions with the provided settings, checking the data read in session.
+     */
+    private void runSessions(SecuritySettings securitySettings, int nbSessions) throws Exception {
+        for (int session = 0; session < nbSessions; session++) {
+            PoTransaction poTransaction =
+                    new PoTransaction(selectPo(poReader), samResource, securitySettings);
+
+            Assert.assertTrue(poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                    PoTransaction.SessionAccessLevel.SESSION_LVL_DEBIT, (byte) 0, (byte) 0));
+
+            for (int step = 0; step < NB_STEPS; step++) {
+                int parserIndex = 0;
+                for (int i = 0; i < NB_READS_PER_STEP; i++) {
+                    parserIndex = poTransaction.prepareReadRecordsCmd(SFI_EVENT_LOG,
+                            ReadDataStructure.SINGLE_RECORD_DATA, RECORD_NUMBER_1, "EventLog");
+                }
+                Assert.assertTrue(poTransaction.processPoCommandsInSession());
+                byte[] eventLog =
+                        ((ReadRecordsRespPars) poTransaction.getResponseParser(parserIndex))
+                                .getRecords().get((int) RECORD_NUMBER_1);
+                Assert.assertEquals(eventLogData(0), ByteArrayUtil.toHex(eventLog));
+            }
+
+            Assert.assertTrue(poTransaction.processClosing(ChannelControl.CLOSE_AFTER));
+            Assert.assertTrue(poTransaction.isSuccessful());
+        }
+    }
+}
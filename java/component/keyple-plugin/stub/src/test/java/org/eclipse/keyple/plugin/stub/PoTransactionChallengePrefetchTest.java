@@ -0,0 +1,252 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.transaction.PoResource;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamChallengeCache;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks that the session opening does not exchange with the SAM when a challenge has been
+ * prefetched after a session with the same PO, that no Select Diversifier is sent between a
+ * Get Challenge and the Digest Init using it, and that the cached challenge is refreshed in the
+ * background or invalidated when the SAM discards it.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class PoTransactionChallengePrefetchTest extends BaseStubTest {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(PoTransactionChallengePrefetchTest.class);
+
+    /* number of sessions run in each test */
+    private static final int NB_SESSIONS = 5;
+    /* simulated SAM processing time per APDU */
+    private static final long SAM_APDU_DELAY_MS = 2;
+    /* SAM instruction bytes */
+    private static final byte INS_SELECT_DIVERSIFIER = (byte) 0x14;
+    private static final byte INS_GET_CHALLENGE = (byte) 0x84;
+    private static final byte INS_DIGEST_INIT = (byte) 0x8A;
+
+    private SeReader poReader;
+    private CalypsoTestUtils.CountingSamSE samSE;
+    private SamResource samResource;
+    private ExecutorService refreshExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        stubPlugin.plugStubReader("poReader", true);
+        stubPlugin.plugStubReader("samReader", true);
+        poReader = stubPlugin.getReader("poReader");
+        SeReader samReader = stubPlugin.getReader("samReader");
+        poReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+        samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+
+        samSE = new CalypsoTestUtils.CountingSamSE(calypsoSamSE(0), SAM_APDU_DELAY_MS);
+
+        ((StubReader) poReader).insertSe(calypsoPoSE(0));
+        ((StubReader) samReader).insertSe(samSE);
+
+        samResource = selectSam(samReader);
+
+        refreshExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        refreshExecutor.shutdownNow();
+        this.clearStub();
+    }
+
+    @Test
+    public void processOpening_prefetchedChallenge_noSamExchange() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setChallengePrefetch(true);
+        securitySettings.setChallengeRefreshExecutor(refreshExecutor);
+
+        /*
+         * a first session diversifies the SAM with the PO serial number and gets the challenge of
+         * the next one in the background
+         */
+        Assert.assertEquals(2, processSession(selectPo(poReader), securitySettings));
+
+        SamChallengeCache challengeCache = samResource.getChallengeCache();
+        Assert.assertTrue(challengeCache.isChallengeAvailable());
+
+        PoResource poResource = selectPo(poReader);
+        for (int session = 0; session < NB_SESSIONS; session++) {
+            int samApduCount = processSession(poResource, securitySettings);
+            Assert.assertEquals(0, samApduCount);
+            /* the challenge for the next session has been requested in the background */
+            Assert.assertTrue(challengeCache.isChallengeAvailable());
+            poResource = selectPo(poReader);
+        }
+
+        logger.info("Challenge prefetch: {}", challengeCache);
+
+        Assert.assertEquals(NB_SESSIONS, challengeCache.getHitCount());
+        Assert.assertEquals(1, challengeCache.getMissCount());
+        Assert.assertEquals((double) NB_SESSIONS / (NB_SESSIONS + 1), challengeCache.getHitRate(),
+                0);
+        Assert.assertTrue(challengeCache.getSavedOpeningTimeNanos() > 0);
+    }
+
+    @Test
+    public void processOpening_noPrefetchedChallenge_samExchange() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setChallengePrefetch(true);
+        securitySettings.setChallengeRefreshExecutor(refreshExecutor);
+
+        /* Select Diversifier + Get Challenge */
+        Assert.assertEquals(2, processSession(selectPo(poReader), securitySettings));
+        /* the next one benefits from the challenge requested at the end of the first session */
+        Assert.assertEquals(0, processSession(selectPo(poReader), securitySettings));
+
+        SamChallengeCache challengeCache = samResource.getChallengeCache();
+        Assert.assertEquals(1, challengeCache.getHitCount());
+        Assert.assertEquals(1, challengeCache.getMissCount());
+    }
+
+    @Test
+    public void processOpening_cacheCleared_samExchange() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setChallengePrefetch(true);
+        securitySettings.setChallengeRefreshExecutor(refreshExecutor);
+
+        Assert.assertEquals(2, processSession(selectPo(poReader), securitySettings));
+
+        /* the application sent its own commands to the SAM */
+        SamChallengeCache challengeCache = samResource.getChallengeCache();
+        Assert.assertTrue(challengeCache.isChallengeAvailable());
+        challengeCache.clear();
+
+        /* Select Diversifier + Get Challenge */
+        Assert.assertEquals(2, processSession(selectPo(poReader), securitySettings));
+        Assert.assertEquals(0, challengeCache.getHitCount());
+        Assert.assertEquals(2, challengeCache.getMissCount());
+    }
+
+    @Test
+    public void processSessions_prefetchedChallenge_samCommandOrder() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setChallengePrefetch(true);
+        securitySettings.setChallengeRefreshExecutor(refreshExecutor);
+
+        PoResource poResource = selectPo(poReader);
+        for (int session = 0; session < NB_SESSIONS; session++) {
+            processSession(poResource, securitySettings);
+            poResource = selectPo(poReader);
+        }
+        samResource.getChallengeCache().isChallengeAvailable();
+        Assert.assertEquals(NB_SESSIONS - 1, samResource.getChallengeCache().getHitCount());
+
+        /* each Digest Init uses a challenge the SAM has not discarded */
+        List<Byte> instructions = samSE.getInstructions();
+        boolean diversified = false;
+        boolean challengeValid = false;
+        int digestInitCount = 0;
+        for (Byte ins : instructions) {
+            if (ins == INS_SELECT_DIVERSIFIER) {
+                diversified = true;
+                challengeValid = false;
+            } else if (ins == INS_GET_CHALLENGE) {
+                challengeValid = true;
+            } else if (ins == INS_DIGEST_INIT) {
+                Assert.assertTrue("Digest Init without diversification: " + instructions,
+                        diversified);
+                Assert.assertTrue("Digest Init without valid challenge: " + instructions,
+                        challengeValid);
+                challengeValid = false;
+                digestInitCount++;
+            }
+        }
+        Assert.assertEquals(NB_SESSIONS, digestInitCount);
+    }
+
+    @Test
+    public void processOpening_prefetchDisabled_challengeIgnored() throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setChallengePrefetch(true);
+        securitySettings.setChallengeRefreshExecutor(refreshExecutor);
+
+        Assert.assertEquals(2, processSession(selectPo(poReader), securitySettings));
+        Assert.assertTrue(samResource.getChallengeCache().isChallengeAvailable());
+
+        Assert.assertEquals(2, processSession(selectPo(poReader), new SecuritySettings()));
+
+        SamChallengeCache challengeCache = samResource.getChallengeCache();
+        Assert.assertEquals(0, challengeCache.getHitCount());
+        Assert.assertEquals(1, challengeCache.getMissCount());
+        /* the Get Challenge of the session made the SAM discard the prefetched challenge */
+        Assert.assertFalse(challengeCache.isChallengeAvailable());
+    }
+
+    @Test
+    public void processClosing_noRefreshExecutor_noChallengeRequested() throws Exception {
+        SecuritySettings refreshSettings = new SecuritySettings();
+        refreshSettings.setChallengePrefetch(true);
+        refreshSettings.setChallengeRefreshExecutor(refreshExecutor);
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setChallengePrefetch(true);
+
+        Assert.assertEquals(2, processSession(selectPo(poReader), refreshSettings));
+
+        Assert.assertEquals(0, processSession(selectPo(poReader), securitySettings));
+        Assert.assertFalse(samResource.getChallengeCache().isChallengeAvailable());
+        /* Select Diversifier + Get Challenge */
+        Assert.assertEquals(2, processSession(selectPo(poReader), securitySettings));
+    }
+
+    /**
+     * Runs a session reading the EventLog
+     *
+     * @return the number of SAM APDUs exchanged during the opening
+     */
+    private int processSession(PoResource poResource, SecuritySettings securitySettings)
+            throws Exception {
+        PoTransaction poTransaction = new PoTransaction(poResource, samResource, securitySettings);
+        poTransaction.prepareReadRecordsCmd(SFI_EVENT_LOG, ReadDataStructure.SINGLE_RECORD_DATA,
+                RECORD_NUMBER_1, "EventLog");
+
+        /* waits for the background refresh of the previous session before counting */
+        samResource.getChallengeCache().isChallengeAvailable();
+        samSE.resetApduCount();
+        Assert.assertTrue(poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                PoTransaction.SessionAccessLevel.SESSION_LVL_DEBIT, (byte) 0, (byte) 0));
+        int samApduCount = samSE.getApduCount();
+
+        Assert.assertTrue(poTransaction.processClosing(ChannelControl.CLOSE_AFTER));
+        Assert.assertTrue(poTransaction.isSuccessful());
+        return samApduCount;
+    }
+}
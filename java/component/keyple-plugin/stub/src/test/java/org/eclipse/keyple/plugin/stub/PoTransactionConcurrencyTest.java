@@ -0,0 +1,107 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs several Calypso secure sessions at the same time, each on its own PO/SAM pair of stub
+ * readers.
+ * <p>
+ * Each pair of stub SEs only knows the APDUs of its own session (serial number, challenges, data
+ * and signatures are specific to the pair index), so any leak of digest or anticipated response
+ * data between two {@link PoTransaction} makes the SAM or the PO reject a command.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class PoTransactionConcurrencyTest extends BaseStubTest {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(PoTransactionConcurrencyTest.class);
+
+    /* number of PO/SAM pairs running in parallel */
+    private static final int NB_PAIRS = 8;
+    /* number of sessions run by each pair */
+    private static final int NB_SESSIONS = 20;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.clearStub();
+    }
+
+    @Test
+    public void processSecureSessions_inParallel_allSuccessful() throws Exception {
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<Throwable>());
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch endLatch = new CountDownLatch(NB_PAIRS);
+
+        for (int i = 0; i < NB_PAIRS; i++) {
+            final int index = i;
+            stubPlugin.plugStubReader("poReader" + index, true);
+            stubPlugin.plugStubReader("samReader" + index, true);
+
+            final SeReader poReader = stubPlugin.getReader("poReader" + index);
+            final SeReader samReader = stubPlugin.getReader("samReader" + index);
+
+            poReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                    StubProtocolSetting.STUB_PROTOCOL_SETTING
+                            .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+            samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                    StubProtocolSetting.STUB_PROTOCOL_SETTING
+                            .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+
+            ((StubReader) poReader).insertSe(calypsoPoSE(index));
+            ((StubReader) samReader).insertSe(calypsoSamSE(index));
+
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        startLatch.await();
+                        SamResource samResource = selectSam(samReader);
+                        for (int session = 0; session < NB_SESSIONS; session++) {
+                            processSession(index, poReader, samResource);
+                        }
+                    } catch (Throwable t) {
+                        logger.error("Session failure on pair {}", index, t);
+                        errors.add(t);
+                    } finally {
+                        endLatch.countDown();
+                    }
+                }
+            }, "session-" + index).start();
+        }
+
+        startLatch.countDown();
+
+        Assert.assertTrue(endLatch.await(60, TimeUnit.SECONDS));
+        Assert.assertTrue("Errors: " + errors, errors.isEmpty());
+    }
+}
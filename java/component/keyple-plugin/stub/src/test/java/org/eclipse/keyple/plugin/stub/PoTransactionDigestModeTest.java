@@ -0,0 +1,114 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.*;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.seproxy.ChannelControl;
+import org.eclipse.keyple.core.seproxy.SeReader;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the number of SAM APDUs exchanged at the session closing with single Digest Update
+ * commands and with Digest Update Multiple commands.
+ * <p>
+ * The closing latencies of both modes are compared by PoTransactionDigestModeBenchmark.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class PoTransactionDigestModeTest extends BaseStubTest {
+
+    /* number of Read Records commands in the session */
+    private static final int NB_READS = 5;
+
+    private SeReader poReader;
+    private CountingSamSE samSE;
+    private SamResource samResource;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        stubPlugin.plugStubReader("poReader", true);
+        stubPlugin.plugStubReader("samReader", true);
+        poReader = stubPlugin.getReader("poReader");
+        SeReader samReader = stubPlugin.getReader("samReader");
+        poReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+        samReader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO7816_3,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO7816_3));
+
+        StubSecureElement sam = calypsoSamSE(0);
+        /* Digest Update Multiple with all the Read Records commands and responses */
+        StringBuilder digestData = new StringBuilder();
+        for (int i = 0; i < NB_READS; i++) {
+            digestData.append("0500B2014400").append("1F").append(eventLogData(0)).append("9000");
+        }
+        sam.addHexCommand(
+                "808C8000" + String.format("%02X", digestData.length() / 2) + digestData, "9000");
+        samSE = new CountingSamSE(sam, 0);
+
+        ((StubReader) poReader).insertSe(calypsoPoSE(0));
+        ((StubReader) samReader).insertSe(samSE);
+
+        samResource = selectSam(samReader);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.clearStub();
+    }
+
+    @Test
+    public void processClosing_digestUpdate_oneDigestUpdatePerApdu() throws Exception {
+        /* Digest Init + 2 Digest Update per command + Digest Close + Digest Authenticate */
+        Assert.assertEquals(2 * NB_READS + 3,
+                processSession(SecuritySettings.DigestMode.DIGEST_UPDATE));
+    }
+
+    @Test
+    public void processClosing_digestUpdateMultiple_singleDigestUpdate() throws Exception {
+        /* Digest Init + 1 Digest Update Multiple + Digest Close + Digest Authenticate */
+        Assert.assertEquals(4, processSession(SecuritySettings.DigestMode.DIGEST_UPDATE_MULTIPLE));
+    }
+
+    /**
+     * Runs a session with the provided digest mode.
+     *
+     * @return the number of SAM APDUs exchanged during the closing
+     */
+    private int processSession(SecuritySettings.DigestMode digestMode) throws Exception {
+        SecuritySettings securitySettings = new SecuritySettings();
+        securitySettings.setDigestMode(digestMode);
+        PoTransaction poTransaction =
+                new PoTransaction(selectPo(poReader), samResource, securitySettings);
+        for (int i = 0; i < NB_READS; i++) {
+            poTransaction.prepareReadRecordsCmd(SFI_EVENT_LOG,
+                    ReadDataStructure.SINGLE_RECORD_DATA, RECORD_NUMBER_1, "EventLog");
+        }
+        Assert.assertTrue(poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                PoTransaction.SessionAccessLevel.SESSION_LVL_DEBIT, (byte) 0, (byte) 0));
+
+        samSE.resetApduCount();
+        Assert.assertTrue(poTransaction.processClosing(ChannelControl.CLOSE_AFTER));
+        Assert.assertTrue(poTransaction.isSuccessful());
+        return samSE.getApduCount();
+    }
+}
@@ -0,0 +1,189 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.calypsoSamSE;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
+import org.eclipse.keyple.calypso.transaction.SamAllocationStatistics;
+import org.eclipse.keyple.calypso.transaction.SamIdentifier;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SamResourceManager;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Reuse, check and re-selection of the SAM resources allocated from a reader pool plugin by the
+ * {@link SamResourceManager}.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class SamResourceManagerPoolTest extends BaseStubTest {
+
+    private static final String POOL_PLUGIN_NAME = "samPoolPlugin";
+    private static final String GROUP_REFERENCE = "samGroup";
+    private static final String SAM_READER_NAME = "poolSamReader";
+    /* idle time (in milliseconds) after which a SAM is checked in the validation tests */
+    private static final long IDLE_VALIDATION_PERIOD = 10;
+
+    private static final SamIdentifier GROUP_SAM =
+            new SamIdentifier(SamRevision.AUTO, null, GROUP_REFERENCE);
+
+    private StubPoolPluginImpl stubPoolPlugin;
+    private StubSecureElement samSE;
+    private CalypsoTestUtils.CountingSamSE countingSamSE;
+    private SamResourceManager samResourceManager;
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+
+        stubPoolPlugin = (StubPoolPluginImpl) new StubPoolPluginFactory(POOL_PLUGIN_NAME)
+                .getPluginInstance();
+        samSE = calypsoSamSE(0);
+        countingSamSE = new CalypsoTestUtils.CountingSamSE(samSE, 0);
+        stubPoolPlugin.plugStubPoolReader(GROUP_REFERENCE, SAM_READER_NAME, countingSamSE);
+
+        samResourceManager = new SamResourceManager(stubPoolPlugin, null);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        samResourceManager.releaseIdleSamResources();
+        stubPoolPlugin.unplugStubPoolReader(GROUP_REFERENCE);
+        this.clearStub();
+    }
+
+    @Test
+    public void warmUp_selectedSamReused() throws Exception {
+        Assert.assertEquals(1, samResourceManager.warmUp(GROUP_REFERENCE, 2));
+        Assert.assertTrue(stubPoolPlugin.listAllocatedReaders().containsKey(SAM_READER_NAME));
+
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+        Assert.assertNotNull(samResource);
+        samResourceManager.freeSamResource(samResource);
+
+        /* the reader is kept allocated with its SAM selected */
+        Assert.assertTrue(stubPoolPlugin.listAllocatedReaders().containsKey(SAM_READER_NAME));
+        Assert.assertSame(samResource, samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM));
+        /* the only reader of the group is in use */
+        Assert.assertNull(samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM));
+
+        samResourceManager.freeSamResource(samResource);
+        samResourceManager.releaseIdleSamResources();
+        Assert.assertTrue(stubPoolPlugin.listAllocatedReaders().isEmpty());
+
+        Assert.assertEquals(0, samResourceManager.getStatistics().getValidationCount());
+    }
+
+    @Test
+    public void free_maxIdleReached_readerReleased() throws Exception {
+        samResourceManager.setMaxIdlePoolSamResources(0);
+
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+        samResourceManager.freeSamResource(samResource);
+
+        Assert.assertTrue(stubPoolPlugin.listAllocatedReaders().isEmpty());
+    }
+
+    @Test
+    public void allocate_defaultSettings_noValidation() throws Exception {
+        samResourceManager.warmUp(GROUP_REFERENCE, 1);
+        Thread.sleep(IDLE_VALIDATION_PERIOD + 5);
+
+        countingSamSE.resetApduCount();
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+
+        Assert.assertEquals(0, countingSamSE.getApduCount());
+        Assert.assertEquals(0, samResourceManager.getStatistics().getValidationCount());
+        samResourceManager.freeSamResource(samResource);
+    }
+
+    @Test
+    public void allocate_idleValidation_getChallenge() throws Exception {
+        samResourceManager.setIdleValidationPeriod(IDLE_VALIDATION_PERIOD);
+        samResourceManager.warmUp(GROUP_REFERENCE, 1);
+        Thread.sleep(IDLE_VALIDATION_PERIOD + 5);
+
+        countingSamSE.resetApduCount();
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+
+        Assert.assertEquals(1, countingSamSE.getApduCount());
+        /* the challenge obtained is available for the next session */
+        Assert.assertTrue(samResource.getChallengeCache().isChallengeAvailable());
+
+        SamAllocationStatistics statistics = samResourceManager.getStatistics();
+        Assert.assertEquals(1, statistics.getValidationCount());
+        Assert.assertEquals(0, statistics.getFailedValidationCount());
+        samResourceManager.freeSamResource(samResource);
+    }
+
+    @Test
+    public void allocate_idleValidationFailed_samReselected() throws Exception {
+        samResourceManager.setIdleValidationPeriod(IDLE_VALIDATION_PERIOD);
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+        samResourceManager.freeSamResource(samResource);
+        Thread.sleep(IDLE_VALIDATION_PERIOD + 5);
+
+        /* the SAM no longer answers the Get Challenge command */
+        samSE.removeHexCommand("8084000004");
+
+        SamResource reselectedSamResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+        Assert.assertNotNull(reselectedSamResource);
+        Assert.assertNotSame(samResource, reselectedSamResource);
+
+        SamAllocationStatistics statistics = samResourceManager.getStatistics();
+        Assert.assertEquals(1, statistics.getFailedValidationCount());
+        Assert.assertEquals(1, statistics.getReselectionCount());
+        Assert.assertEquals(0, statistics.getEvictionCount());
+        samResourceManager.freeSamResource(reselectedSamResource);
+    }
+
+    @Test
+    public void free_ioError_samReselected() throws Exception {
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+        samResourceManager.freeSamResource(samResource, true);
+
+        SamResource reselectedSamResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+        Assert.assertNotSame(samResource, reselectedSamResource);
+        Assert.assertSame(samResource.getSeReader(), reselectedSamResource.getSeReader());
+        Assert.assertEquals(1, samResourceManager.getStatistics().getReselectionCount());
+        samResourceManager.freeSamResource(reselectedSamResource);
+    }
+
+    @Test
+    public void free_ioErrorSamRemoved_samEvicted() throws Exception {
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, GROUP_SAM);
+
+        ((StubReader) samResource.getSeReader()).removeSe();
+        samResourceManager.freeSamResource(samResource, true);
+
+        /* the reader has been released to the plugin */
+        Assert.assertTrue(stubPoolPlugin.listAllocatedReaders().isEmpty());
+        SamAllocationStatistics statistics = samResourceManager.getStatistics();
+        Assert.assertEquals(0, statistics.getReselectionCount());
+        Assert.assertEquals(1, statistics.getEvictionCount());
+
+        ((StubReader) samResource.getSeReader()).insertSe(countingSamSE);
+    }
+}
@@ -0,0 +1,265 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.plugin.stub;
+
+import static org.eclipse.keyple.plugin.stub.CalypsoTestUtils.calypsoSamSE;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.keyple.calypso.command.sam.SamRevision;
+import org.eclipse.keyple.calypso.transaction.SamAllocationStatistics;
+import org.eclipse.keyple.calypso.transaction.SamIdentifier;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SamResourceManager;
+import org.eclipse.keyple.core.seproxy.ReaderPlugin;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Allocation of local SAM resources by the {@link SamResourceManager}.
+ * <p>
+ * The SAM readers are stub readers exposed through a non observable plugin.
+ */
+@SuppressWarnings("PMD.SignatureDeclareThrowsException")
+public class SamResourceManagerTest extends BaseStubTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SamResourceManagerTest.class);
+
+    private static final SamIdentifier ANY_SAM = new SamIdentifier(SamRevision.AUTO, null, null);
+
+    @Before
+    public void setUp() throws Exception {
+        this.setupStub();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.clearStub();
+    }
+
+    @Test
+    public void allocate_nonBlocking_rejectedWhenAllBusy() throws Exception {
+        SamResourceManager samResourceManager = createSamResourceManager(2);
+
+        SamResource samResource1 = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM);
+        SamResource samResource2 = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM);
+        Assert.assertNotNull(samResource1);
+        Assert.assertNotNull(samResource2);
+        Assert.assertNotSame(samResource1, samResource2);
+
+        Assert.assertNull(samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM));
+
+        samResourceManager.freeSamResource(samResource1);
+        Assert.assertSame(samResource1, samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM));
+
+        SamAllocationStatistics statistics = samResourceManager.getStatistics();
+        Assert.assertEquals(3, statistics.getAllocationCount());
+        Assert.assertEquals(1, statistics.getRejectedAllocationCount());
+    }
+
+    @Test
+    public void free_twice_allocatedOnce() throws Exception {
+        SamResourceManager samResourceManager = createSamResourceManager(2);
+
+        SamResource samResource1 = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM);
+        SamResource samResource2 = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM);
+        samResourceManager.freeSamResource(samResource1);
+        samResourceManager.freeSamResource(samResource1);
+
+        Assert.assertSame(samResource1, samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM));
+        // the second free had no effect
+        Assert.assertNull(samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, ANY_SAM));
+        samResourceManager.freeSamResource(samResource2);
+        Assert.assertSame(samResource2, samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.NON_BLOCKING, null));
+    }
+
+    @Test
+    public void allocate_blocking_timeout() throws Exception {
+        SamResourceManager samResourceManager = createSamResourceManager(1);
+        samResourceManager.setAllocationTimeout(100);
+
+        Assert.assertNotNull(samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, ANY_SAM));
+
+        long start = System.currentTimeMillis();
+        Assert.assertNull(samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, ANY_SAM));
+        Assert.assertTrue(System.currentTimeMillis() - start >= 100);
+
+        Assert.assertEquals(1, samResourceManager.getStatistics().getRejectedAllocationCount());
+    }
+
+    @Test
+    public void allocate_blocking_servedWhenFreed() throws Exception {
+        final SamResourceManager samResourceManager = createSamResourceManager(1);
+
+        final SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, ANY_SAM);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                samResourceManager.freeSamResource(samResource);
+            }
+        }).start();
+
+        Assert.assertSame(samResource, samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, ANY_SAM));
+
+        SamAllocationStatistics statistics = samResourceManager.getStatistics();
+        Assert.assertEquals(2, statistics.getAllocationCount());
+        Assert.assertTrue(statistics.getMaxWaitTimeNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+        long histogramTotal = 0;
+        for (long count : statistics.getWaitTimeHistogram()) {
+            histogramTotal += count;
+        }
+        Assert.assertEquals(2, histogramTotal);
+
+        Map<String, Double> samUtilization = statistics.getSamUtilization();
+        Assert.assertEquals(1, samUtilization.size());
+        Assert.assertTrue(samUtilization.get("SAM_0") > 0);
+    }
+
+    @Test
+    public void allocate_blocking_fifo() throws Exception {
+        final SamResourceManager samResourceManager = createSamResourceManager(1);
+        final int nbWaiters = 4;
+
+        SamResource samResource = samResourceManager
+                .allocateSamResource(SamResourceManager.AllocationMode.BLOCKING, ANY_SAM);
+
+        final List<Integer> servedOrder = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch endLatch = new CountDownLatch(nbWaiters);
+        for (int i = 0; i < nbWaiters; i++) {
+            final int index = i;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        SamResource allocated = samResourceManager.allocateSamResource(
+                                SamResourceManager.AllocationMode.BLOCKING, ANY_SAM);
+                        servedOrder.add(index);
+                        samResourceManager.freeSamResource(allocated);
+                    } catch (Exception e) {
+                        logger.error("Allocation failure", e);
+                    } finally {
+                        endLatch.countDown();
+                    }
+                }
+            }).start();
+            /* let the waiter enqueue its request */
+            Thread.sleep(20);
+        }
+
+        samResourceManager.freeSamResource(samResource);
+
+        Assert.assertTrue(endLatch.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(nbWaiters, servedOrder.size());
+        for (int i = 0; i < nbWaiters; i++) {
+            Assert.assertEquals(Integer.valueOf(i), servedOrder.get(i));
+        }
+    }
+
+    @Test
+    public void allocate_blocking_contention() throws Exception {
+        final int nbSams = 16;
+        final int nbThreads = 48;
+        final int nbAllocations = 50;
+        final SamResourceManager samResourceManager = createSamResourceManager(nbSams);
+        samResourceManager.setAllocationTimeout(10000);
+
+        final Set<SamResource> busySamResources =
+                Collections.newSetFromMap(new ConcurrentHashMap<SamResource, Boolean>());
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch endLatch = new CountDownLatch(nbThreads);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < nbThreads; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < nbAllocations; j++) {
+                            SamResource samResource = samResourceManager.allocateSamResource(
+                                    SamResourceManager.AllocationMode.BLOCKING, ANY_SAM);
+                            /* a resource must never be allocated twice */
+                            if (samResource == null || !busySamResources.add(samResource)) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            Thread.sleep(1);
+                            busySamResources.remove(samResource);
+                            samResourceManager.freeSamResource(samResource);
+                        }
+                    } catch (Exception e) {
+                        logger.error("Allocation failure", e);
+                        errors.incrementAndGet();
+                    } finally {
+                        endLatch.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        Assert.assertTrue(endLatch.await(60, TimeUnit.SECONDS));
+        long duration = System.nanoTime() - start;
+
+        SamAllocationStatistics statistics = samResourceManager.getStatistics();
+        logger.info("{} allocations in {} ms: {}", nbThreads * nbAllocations, duration / 1000000,
+                statistics);
+        logger.info("SAM utilization: {}", statistics.getSamUtilization());
+
+        Assert.assertEquals(0, errors.get());
+        Assert.assertEquals(nbThreads * nbAllocations, statistics.getAllocationCount());
+        Assert.assertEquals(0, statistics.getRejectedAllocationCount());
+    }
+
+    /**
+     * Plug stub readers with a SAM and build a SamResourceManager over a non observable plugin
+     * exposing them
+     */
+    private SamResourceManager createSamResourceManager(int nbSams) throws Exception {
+        for (int i = 0; i < nbSams; i++) {
+            stubPlugin.plugStubReader("SAM_" + i, true);
+            ((StubReader) stubPlugin.getReader("SAM_" + i)).insertSe(calypsoSamSE(i));
+        }
+        ReaderPlugin samReaderPlugin = Mockito.mock(ReaderPlugin.class);
+        Mockito.when(samReaderPlugin.getName()).thenReturn("samPlugin");
+        Mockito.when(samReaderPlugin.getReaders()).thenReturn(stubPlugin.getReaders());
+        return new SamResourceManager(samReaderPlugin, "SAM_.*");
+    }
+}
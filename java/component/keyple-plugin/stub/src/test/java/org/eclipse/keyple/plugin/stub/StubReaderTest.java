@@ -35,6 +35,8 @@ import org.eclipse.keyple.core.seproxy.exception.KeypleChannelControlException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleIOReaderException;
 import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
 import org.eclipse.keyple.core.seproxy.message.*;
+import org.eclipse.keyple.core.seproxy.metrics.ReaderMetrics;
+import org.eclipse.keyple.core.seproxy.plugin.AbstractReader;
 import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
 import org.eclipse.keyple.core.seproxy.protocol.TransmissionMode;
 import org.eclipse.keyple.core.util.ByteArrayUtil;
@@ -750,6 +752,29 @@ public class StubReaderTest extends BaseStubTest {
     }
 
 
+    @Test
+    public void transmit_protocolFlag_physicalChannelReported() throws Exception {
+        stubPlugin.plugStubReader("StubReaderTest", true);
+        StubReader reader = (StubReader) stubPlugin.getReader("StubReaderTest");
+        ReaderMetrics metrics = new ReaderMetrics();
+        ((AbstractReader) reader).setMetricsListener(metrics);
+
+        reader.insertSe(hoplinkSE());
+        reader.addSeProtocolSetting(SeCommonProtocols.PROTOCOL_ISO14443_4,
+                StubProtocolSetting.STUB_PROTOCOL_SETTING
+                        .get(SeCommonProtocols.PROTOCOL_ISO14443_4));
+
+        // the physical channel is opened by the protocol filtering of the selection
+        genericSelectSe(reader);
+        ReaderMetrics.ReaderStatistics statistics =
+                metrics.getReaderStatistics("StubReaderTest");
+        Assert.assertEquals(1, statistics.getPhysicalChannelOpeningCount());
+
+        // the insertion of a new SE closes the physical channel
+        reader.insertSe(hoplinkSE());
+        Assert.assertEquals(1, statistics.getPhysicalChannelClosingCount());
+    }
+
     // @Test
     // public void transmit_null_Selection() throws KeypleReaderException {
     // // init SE
@@ -0,0 +1,214 @@
+/********************************************************************************
+ * Copyright (c) 2019 Calypso Networks Association https://www.calypsonet-asso.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information regarding copyright
+ * ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the Eclipse
+ * Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+package org.eclipse.keyple.example.remote.application;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.keyple.calypso.command.po.parser.ReadDataStructure;
+import org.eclipse.keyple.calypso.command.po.parser.ReadRecordsRespPars;
+import org.eclipse.keyple.calypso.transaction.CalypsoPo;
+import org.eclipse.keyple.calypso.transaction.PoResource;
+import org.eclipse.keyple.calypso.transaction.PoSelectionRequest;
+import org.eclipse.keyple.calypso.transaction.PoSelector;
+import org.eclipse.keyple.calypso.transaction.PoTransaction;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
+import org.eclipse.keyple.core.command.AbstractApduResponseParser;
+import org.eclipse.keyple.core.selection.SeSelection;
+import org.eclipse.keyple.core.selection.SelectionsResult;
+import org.eclipse.keyple.core.seproxy.SeSelector;
+import org.eclipse.keyple.core.seproxy.exception.KeypleReaderException;
+import org.eclipse.keyple.core.seproxy.message.ApduRequest;
+import org.eclipse.keyple.core.seproxy.message.ProxyReader;
+import org.eclipse.keyple.core.seproxy.message.SeResponse;
+import org.eclipse.keyple.core.seproxy.protocol.SeCommonProtocols;
+import org.eclipse.keyple.core.util.ByteArrayUtil;
+import org.eclipse.keyple.plugin.remotese.nativese.SessionPlanHandler;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlan;
+import org.eclipse.keyple.plugin.remotese.transport.model.SessionPlanResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs on the slave the Calypso secure sessions planned by the master, with a {@link PoTransaction}
+ * and a SAM located on the slave.
+ * <p>
+ * The PO is selected with the AID given by the {@link #PARAMETER_AID} parameter of the plan, the
+ * session is opened at the access level of the plan (name of a
+ * {@link PoTransaction.SessionAccessLevel}). The read commands are sent at the opening, the
+ * modification commands at the closing. The commands are Calypso PO commands: Read Records, Update
+ * Record, Write Record, Append Record, Increase and Decrease.
+ * <p>
+ * The data read are returned as values named "record.[SFI].[record number]" (SFI in hex, for
+ * example "record.08.1"). PoTransaction does not expose the SE responses, the result holds none.
+ */
+public class CalypsoSessionPlanHandler implements SessionPlanHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalypsoSessionPlanHandler.class);
+
+    public static final String NAME = "calypsoSession";
+
+    /** hex AID of the PO application */
+    public static final String PARAMETER_AID = "aid";
+
+    private static final byte INS_READ_RECORDS = (byte) 0xB2;
+    private static final byte INS_UPDATE_RECORD = (byte) 0xDC;
+    private static final byte INS_WRITE_RECORD = (byte) 0xD2;
+    private static final byte INS_APPEND_RECORD = (byte) 0xE2;
+    private static final byte INS_INCREASE = (byte) 0x32;
+    private static final byte INS_DECREASE = (byte) 0x30;
+
+    private final SamResource samResource;
+    private final SecuritySettings securitySettings;
+
+    /**
+     * @param samResource the SAM of the slave
+     * @param securitySettings the settings of the sessions
+     */
+    public CalypsoSessionPlanHandler(SamResource samResource, SecuritySettings securitySettings) {
+        this.samResource = samResource;
+        this.securitySettings = securitySettings;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public SessionPlanResult execute(ProxyReader seReader, SessionPlan sessionPlan)
+            throws KeypleReaderException {
+        String aid = sessionPlan.getParameter(PARAMETER_AID);
+        if (aid == null) {
+            throw new IllegalArgumentException("The parameter " + PARAMETER_AID + " is missing");
+        }
+        CalypsoPo calypsoPo = selectPo(seReader, aid);
+        if (calypsoPo == null) {
+            return new SessionPlanResult(false, new ArrayList<SeResponse>(), null);
+        }
+
+        PoTransaction poTransaction = new PoTransaction(new PoResource(seReader, calypsoPo),
+                samResource, securitySettings);
+
+        List<Integer> readParserIndexes = new ArrayList<Integer>();
+        for (ApduRequest apduRequest : sessionPlan.getReadCommands()) {
+            readParserIndexes.add(prepareCommand(poTransaction, apduRequest));
+        }
+
+        boolean successful = poTransaction.processOpening(PoTransaction.ModificationMode.ATOMIC,
+                PoTransaction.SessionAccessLevel.valueOf(sessionPlan.getAccessLevel()), (byte) 0,
+                (byte) 0);
+
+        Map<String, String> values = new HashMap<String, String>();
+        for (int i = 0; i < readParserIndexes.size(); i++) {
+            AbstractApduResponseParser parser =
+                    poTransaction.getResponseParser(readParserIndexes.get(i));
+            if (!(parser instanceof ReadRecordsRespPars)) {
+                continue;
+            }
+            byte sfi = getSfi(sessionPlan.getReadCommands().get(i));
+            for (Map.Entry<Integer, byte[]> record : ((ReadRecordsRespPars) parser).getRecords()
+                    .entrySet()) {
+                values.put("record." + String.format("%02X", sfi) + "." + record.getKey(),
+                        ByteArrayUtil.toHex(record.getValue()));
+            }
+        }
+
+        if (successful) {
+            for (ApduRequest apduRequest : sessionPlan.getModificationCommands()) {
+                prepareCommand(poTransaction, apduRequest);
+            }
+            successful = poTransaction.processClosing(sessionPlan.getChannelControl())
+                    && poTransaction.isSuccessful();
+        } else {
+            poTransaction.processCancel(sessionPlan.getChannelControl());
+        }
+
+        logger.info("Session plan executed, successful: {}", successful);
+        return new SessionPlanResult(successful, new ArrayList<SeResponse>(), values);
+    }
+
+    /*
+     * explicit selection of the PO application, null if it does not match
+     */
+    private static CalypsoPo selectPo(ProxyReader seReader, String aid)
+            throws KeypleReaderException {
+        SeSelection seSelection = new SeSelection();
+        seSelection.prepareSelection(new PoSelectionRequest(new PoSelector(
+                SeCommonProtocols.PROTOCOL_ISO14443_4, null,
+                new PoSelector.PoAidSelector(new SeSelector.AidSelector.IsoAid(aid),
+                        PoSelector.InvalidatedPo.REJECT),
+                "AID: " + aid)));
+        SelectionsResult selectionsResult = seSelection.processExplicitSelection(seReader);
+        if (!selectionsResult.hasActiveSelection()) {
+            return null;
+        }
+        return (CalypsoPo) selectionsResult.getActiveSelection().getMatchingSe();
+    }
+
+    /*
+     * prepare in the transaction the PO command carried by the APDU, returns its parser index
+     */
+    private static int prepareCommand(PoTransaction poTransaction, ApduRequest apduRequest) {
+        byte[] apdu = apduRequest.getBytes();
+        byte ins = apdu[1];
+        byte p1 = apdu[2];
+        byte sfi = getSfi(apduRequest);
+        switch (ins) {
+            case INS_READ_RECORDS:
+                ReadDataStructure readDataStructure = (apdu[3] & 0x07) == 0x05
+                        ? ReadDataStructure.MULTIPLE_RECORD_DATA
+                        : ReadDataStructure.SINGLE_RECORD_DATA;
+                int expectedLength = apdu.length > 4 ? apdu[4] & 0xFF : 0;
+                if (expectedLength == 0) {
+                    return poTransaction.prepareReadRecordsCmd(sfi, readDataStructure, p1,
+                            apduRequest.getName());
+                }
+                return poTransaction.prepareReadRecordsCmd(sfi, readDataStructure, p1,
+                        expectedLength, apduRequest.getName());
+            case INS_UPDATE_RECORD:
+                return poTransaction.prepareUpdateRecordCmd(sfi, p1, getData(apdu),
+                        apduRequest.getName());
+            case INS_WRITE_RECORD:
+                return poTransaction.prepareWriteRecordCmd(sfi, p1, getData(apdu),
+                        apduRequest.getName());
+            case INS_APPEND_RECORD:
+                return poTransaction.prepareAppendRecordCmd(sfi, getData(apdu),
+                        apduRequest.getName());
+            case INS_INCREASE:
+                return poTransaction.prepareIncreaseCmd(sfi, p1, getCounterValue(apdu),
+                        apduRequest.getName());
+            case INS_DECREASE:
+                return poTransaction.prepareDecreaseCmd(sfi, p1, getCounterValue(apdu),
+                        apduRequest.getName());
+            default:
+                throw new IllegalArgumentException(
+                        "Unsupported PO command: " + ByteArrayUtil.toHex(apdu));
+        }
+    }
+
+    private static byte getSfi(ApduRequest apduRequest) {
+        return (byte) ((apduRequest.getBytes()[3] & 0xF8) >> 3);
+    }
+
+    private static byte[] getData(byte[] apdu) {
+        byte[] data = new byte[apdu[4] & 0xFF];
+        System.arraycopy(apdu, 5, data, 0, data.length);
+        return data;
+    }
+
+    private static int getCounterValue(byte[] apdu) {
+        return ((apdu[5] & 0xFF) << 16) | ((apdu[6] & 0xFF) << 8) | (apdu[7] & 0xFF);
+    }
+}
@@ -12,6 +12,8 @@
 package org.eclipse.keyple.example.remote.application;
 
 import java.io.IOException;
+import org.eclipse.keyple.calypso.transaction.SamResource;
+import org.eclipse.keyple.calypso.transaction.SecuritySettings;
 import org.eclipse.keyple.core.seproxy.ReaderPlugin;
 import org.eclipse.keyple.core.seproxy.SeProxyService;
 import org.eclipse.keyple.core.seproxy.event.ObservablePlugin;
@@ -205,6 +207,16 @@ public class Demo_Slave {
 
     }
 
+    /**
+     * Run on this slave the Calypso sessions planned by the master, with a SAM of the slave
+     *
+     * @param samResource the SAM of the slave
+     */
+    public void registerCalypsoSessionPlanHandler(SamResource samResource) {
+        slaveAPI.registerSessionPlanHandler(
+                new CalypsoSessionPlanHandler(samResource, new SecuritySettings()));
+    }
+
     public void insertCalypsoSE() {
         logger.info(
                 "*****************************************************************************");
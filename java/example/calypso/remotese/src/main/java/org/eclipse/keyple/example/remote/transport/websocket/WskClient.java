@@ -12,7 +12,14 @@
 package org.eclipse.keyple.example.remote.transport.websocket;
 
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import org.eclipse.keyple.core.seproxy.exception.KeypleRuntimeException;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.transport.*;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonDtoCodec;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
@@ -25,6 +32,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Web socket client
+ * <p>
+ * The client offers its codecs in a header of the opening handshake, the server answers the chosen
+ * one in a header of its response. The json messages are sent as text frames, the others as
+ * binary frames.
  */
 public class WskClient extends WebSocketClient implements ClientNode {
 
@@ -32,21 +43,55 @@ public class WskClient extends WebSocketClient implements ClientNode {
     private DtoHandler dtoHandler;
     private final String clientNodeId;
     final private String serverNodeId;
+    private final DtoCodecNegotiator codecNegotiator;
+    // codec chosen by the server, json until the connection is open
+    private volatile DtoCodec codec = new JsonDtoCodec();
 
     public WskClient(URI url, String clientNodeId, String serverNodeId) {
-        super(url);
+        this(url, clientNodeId, serverNodeId, new DtoCodecNegotiator());
+    }
+
+    public WskClient(URI url, String clientNodeId, String serverNodeId,
+            DtoCodecNegotiator codecNegotiator) {
+        super(url, Collections.singletonMap(DtoCodecNegotiator.OFFER_HEADER,
+                codecNegotiator.getOffer()));
         this.clientNodeId = clientNodeId;
         this.serverNodeId = serverNodeId;
+        this.codecNegotiator = codecNegotiator;
     }
 
     @Override
     public void onOpen(ServerHandshake handshakedata) {
         logger.trace("Web socket onOpen {}", handshakedata);
-
+        String codecName = handshakedata.hasFieldValue(DtoCodecNegotiator.CHOICE_HEADER)
+                ? handshakedata.getFieldValue(DtoCodecNegotiator.CHOICE_HEADER)
+                : null;
+        try {
+            codec = codecNegotiator.getCodec(codecName);
+            logger.debug("Codec chosen by the server : {}", codec.getName());
+        } catch (KeypleRemoteException e) {
+            logger.error("Codec chosen by the server not supported, closing the connection", e);
+            this.close();
+        }
     }
 
     @Override
     public void onMessage(final String message) {
+        logger.trace("Web socket onMessage {}", message);
+        onMessage(message, null);
+    }
+
+    @Override
+    public void onMessage(ByteBuffer bytes) {
+        byte[] data = new byte[bytes.remaining()];
+        bytes.get(data);
+        onMessage(null, data);
+    }
+
+    /*
+     * process a text (json) or binary message
+     */
+    private void onMessage(final String message, final byte[] data) {
 
         final WskClient thisClient = this;
 
@@ -54,8 +99,17 @@ public class WskClient extends WebSocketClient implements ClientNode {
         new Thread(new Runnable() {
             @Override
             public void run() {
-                logger.trace("Web socket onMessage {}", message);
-                KeypleDto dto = KeypleDtoHelper.fromJson(message);
+                KeypleDto dto;
+                if (message != null) {
+                    dto = KeypleDtoHelper.fromJson(message);
+                } else {
+                    try {
+                        dto = codec.decode(data);
+                    } catch (KeypleRemoteException e) {
+                        logger.error("Unable to decode the message", e);
+                        return;
+                    }
+                }
 
                 // process dto
                 TransportDto transportDto = dtoHandler.onDTO(new WskTransportDTO(dto, null));
@@ -90,9 +144,17 @@ public class WskClient extends WebSocketClient implements ClientNode {
     public void sendDTO(KeypleDto keypleDto) {
         // if keypleDTO is no empty
         if (!KeypleDtoHelper.isNoResponse(keypleDto)) {
-            logger.trace("send message to server (KeypleDto) {}",
-                    KeypleDtoHelper.toJson(keypleDto));
-            this.send(KeypleDtoHelper.toJson(keypleDto));
+            logger.trace("send message to server (KeypleDto) {}", keypleDto);
+            DtoCodec currentCodec = codec;
+            if (JsonDtoCodec.NAME.equals(currentCodec.getName())) {
+                this.send(KeypleDtoHelper.toJson(keypleDto));
+            } else {
+                try {
+                    this.send(currentCodec.encode(keypleDto));
+                } catch (KeypleRemoteException e) {
+                    throw new KeypleRuntimeException("Unable to encode the message", e);
+                }
+            }
         } else {
             logger.debug("No message to send back");
         }
@@ -17,6 +17,8 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Random;
+import org.eclipse.keyple.plugin.remotese.transport.codec.BinaryDtoCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ClientNode;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ServerNode;
 import org.eclipse.keyple.plugin.remotese.transport.factory.TransportFactory;
@@ -25,6 +27,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Web socket factory, by default works at localhost
+ * <p>
+ * The client and the server negotiate the codec of the connection, the binary codec by default.
  */
 @SuppressWarnings("PMD.AvoidUsingHardCodedIP")
 public class WskFactory extends TransportFactory {
@@ -35,13 +39,20 @@ public class WskFactory extends TransportFactory {
     final private String protocol = "http://";
     private Boolean isMasterServer;
     private String serverNodeId;
+    private final DtoCodecNegotiator codecNegotiator;
 
     private static final Logger logger = LoggerFactory.getLogger(WskFactory.class);
 
 
     public WskFactory(Boolean isMasterServer, String serverNodeId) {
+        this(isMasterServer, serverNodeId, new DtoCodecNegotiator(new BinaryDtoCodec()));
+    }
+
+    public WskFactory(Boolean isMasterServer, String serverNodeId,
+            DtoCodecNegotiator codecNegotiator) {
         this.serverNodeId = serverNodeId;
         this.isMasterServer = isMasterServer;
+        this.codecNegotiator = codecNegotiator;
     }
 
     @Override
@@ -53,7 +64,7 @@ public class WskFactory extends TransportFactory {
         ClientNode wskClient;
         try {
             wskClient = new WskClient(new URI(protocol + "localhost:" + port + keypleUrl),
-                    clientNodeId, serverNodeId);
+                    clientNodeId, serverNodeId, codecNegotiator);
 
             return wskClient;
         } catch (URISyntaxException e) {
@@ -69,7 +80,7 @@ public class WskFactory extends TransportFactory {
         logger.info("*** Create Websocket Server ***");
 
         InetSocketAddress inet = new InetSocketAddress(Inet4Address.getByName(bindUrl), port);
-        return new WskServer(inet, this.isMasterServer, serverNodeId);
+        return new WskServer(inet, this.isMasterServer, serverNodeId, codecNegotiator);
 
     }
 
@@ -12,22 +12,35 @@
 package org.eclipse.keyple.example.remote.transport.websocket;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.keyple.core.seproxy.exception.KeypleRuntimeException;
+import org.eclipse.keyple.plugin.remotese.exception.KeypleRemoteException;
 import org.eclipse.keyple.plugin.remotese.transport.*;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodec;
+import org.eclipse.keyple.plugin.remotese.transport.codec.DtoCodecNegotiator;
+import org.eclipse.keyple.plugin.remotese.transport.codec.JsonDtoCodec;
 import org.eclipse.keyple.plugin.remotese.transport.factory.ServerNode;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDto;
 import org.eclipse.keyple.plugin.remotese.transport.model.KeypleDtoHelper;
 import org.eclipse.keyple.plugin.remotese.transport.model.TransportDto;
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.InvalidDataException;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.java_websocket.server.WebSocketServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Web socket server
+ * <p>
+ * The codec of each connection is chosen from the offer sent by the client in the opening
+ * handshake, and answered in the handshake response. The json messages are sent as text frames,
+ * the others as binary frames.
  */
 class WskServer extends WebSocketServer implements ServerNode {
 
@@ -38,18 +51,48 @@ class WskServer extends WebSocketServer implements ServerNode {
     private Boolean isMaster;
     private WebSocket masterWebSocket;
     final private String serverNodeId;
+    private final DtoCodecNegotiator codecNegotiator;
+    final private Map<WebSocket, DtoCodec> codecs = new ConcurrentHashMap<WebSocket, DtoCodec>();
 
     public WskServer(InetSocketAddress address, Boolean isMaster, String serverNodeId) {
+        this(address, isMaster, serverNodeId, new DtoCodecNegotiator());
+    }
+
+    public WskServer(InetSocketAddress address, Boolean isMaster, String serverNodeId,
+            DtoCodecNegotiator codecNegotiator) {
         super(address);
 
         logger.info("Create websocket server on address {}", address.toString());
         this.serverNodeId = serverNodeId;
         this.isMaster = isMaster;
+        this.codecNegotiator = codecNegotiator;
     }
 
     /*
      * WebSocketServer
      */
+
+    /**
+     * Choose the codec of the connection and answer it in the handshake response
+     */
+    @Override
+    public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(WebSocket conn,
+            Draft draft, ClientHandshake request) throws InvalidDataException {
+        ServerHandshakeBuilder response =
+                super.onWebsocketHandshakeReceivedAsServer(conn, draft, request);
+        String offer = request.hasFieldValue(DtoCodecNegotiator.OFFER_HEADER)
+                ? request.getFieldValue(DtoCodecNegotiator.OFFER_HEADER)
+                : null;
+        DtoCodec codec = codecNegotiator.negotiate(offer);
+        codecs.put(conn, codec);
+        if (offer != null) {
+            // a client not taking part in the negotiation uses json
+            response.put(DtoCodecNegotiator.CHOICE_HEADER, codec.getName());
+        }
+        logger.debug("Codec chosen for the connection {} : {}", conn, codec.getName());
+        return response;
+    }
+
     @Override
     public void onOpen(WebSocket conn, ClientHandshake handshake) {
         logger.debug("Web socket onOpen {} {}", conn, handshake);
@@ -59,6 +102,7 @@ class WskServer extends WebSocketServer implements ServerNode {
     @Override
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
         logger.debug("Web socket onClose {} {} {} {}", conn, code, reason, remote);
+        codecs.remove(conn);
     }
 
     /**
@@ -69,6 +113,27 @@ class WskServer extends WebSocketServer implements ServerNode {
      */
     @Override
     public void onMessage(final WebSocket conn, final String message) {
+        logger.trace("Server receive a message {} {}", conn, message);
+        onMessage(conn, message, null);
+    }
+
+    /**
+     * Incoming binary message, encoded with the codec of the connection
+     *
+     * @param conn : websocket connection used
+     * @param bytes : incoming message
+     */
+    @Override
+    public void onMessage(WebSocket conn, ByteBuffer bytes) {
+        byte[] data = new byte[bytes.remaining()];
+        bytes.get(data);
+        onMessage(conn, null, data);
+    }
+
+    /*
+     * process a text (json) or binary message
+     */
+    private void onMessage(final WebSocket conn, final String message, final byte[] data) {
 
         final WskServer thisServer = this;
 
@@ -76,8 +141,17 @@ class WskServer extends WebSocketServer implements ServerNode {
         new Thread(new Runnable() {
             @Override
             public void run() {
-                logger.trace("Server receive a message {} {}", conn, message);
-                KeypleDto keypleDto = KeypleDtoHelper.fromJson(message);
+                KeypleDto keypleDto;
+                if (message != null) {
+                    keypleDto = KeypleDtoHelper.fromJson(message);
+                } else {
+                    try {
+                        keypleDto = getCodec(conn).decode(data);
+                    } catch (KeypleRemoteException e) {
+                        logger.error("Unable to decode the message of {}", conn, e);
+                        return;
+                    }
+                }
 
                 if (dtoHandler != null) {
 
@@ -159,14 +233,14 @@ class WskServer extends WebSocketServer implements ServerNode {
             if (!isMaster) {
                 logger.trace("Wsk Server is slave, use the master web socket {}", masterWebSocket);
                 // if server is client -> use the master web socket
-                masterWebSocket.send(KeypleDtoHelper.toJson(transportDto.getKeypleDTO()));
+                sendTo(masterWebSocket, transportDto.getKeypleDTO());
             } else {
                 // server is master, can have numerous slave clients
                 logger.trace("Wsk Server is master, find to which client answer");
                 if (((WskTransportDTO) transportDto).getSocketWeb() != null) {
                     logger.trace("Use socketweb included in TransportDto");
-                    ((WskTransportDTO) transportDto).getSocketWeb()
-                            .send(KeypleDtoHelper.toJson(transportDto.getKeypleDTO()));
+                    sendTo(((WskTransportDTO) transportDto).getSocketWeb(),
+                            transportDto.getKeypleDTO());
                 } else {
                     // if there is no socketweb defined in the transport dto
                     // retrieve the socketweb by the sessionId
@@ -189,7 +263,7 @@ class WskServer extends WebSocketServer implements ServerNode {
                         logger.trace("send DTO with websocket {} {}",
                                 KeypleDtoHelper.toJson(transportDto.getKeypleDTO()), conn);
 
-                        conn.send(KeypleDtoHelper.toJson(transportDto.getKeypleDTO()));
+                        sendTo(conn, transportDto.getKeypleDTO());
                     }
                 }
 
@@ -212,5 +286,26 @@ class WskServer extends WebSocketServer implements ServerNode {
         return serverNodeId;
     }
 
+    private DtoCodec getCodec(WebSocket conn) {
+        DtoCodec codec = codecs.get(conn);
+        return codec != null ? codec : codecNegotiator.negotiate(null);
+    }
+
+    /*
+     * send a keypleDto with the codec of the connection
+     */
+    private void sendTo(WebSocket conn, KeypleDto keypleDto) {
+        DtoCodec codec = getCodec(conn);
+        if (JsonDtoCodec.NAME.equals(codec.getName())) {
+            conn.send(KeypleDtoHelper.toJson(keypleDto));
+        } else {
+            try {
+                conn.send(codec.encode(keypleDto));
+            } catch (KeypleRemoteException e) {
+                throw new KeypleRuntimeException("Unable to encode the message", e);
+            }
+        }
+    }
+
 
 }